@@ -0,0 +1,119 @@
+-- Compares order range-query latency on a plain heap table against the monthly partitioned layout of V6.
+--
+--   psql -v rows=100000000 -v tenants=1000 -v months=24 -f scripts/benchmark_orders_partitioning.sql <database>
+--
+-- Loading 100M rows per table takes a while and roughly 40 GB of disk for both copies; pass a smaller -v rows for
+-- a quick run. Everything lives in the orders_bench schema, which is dropped at the start of each run.
+
+\set ON_ERROR_STOP on
+\if :{?rows}
+\else
+  \set rows 100000000
+\endif
+\if :{?tenants}
+\else
+  \set tenants 1000
+\endif
+\if :{?months}
+\else
+  \set months 24
+\endif
+
+DROP SCHEMA IF EXISTS orders_bench CASCADE;
+CREATE SCHEMA orders_bench;
+SET search_path = orders_bench;
+
+CREATE TABLE tenant_ids AS
+SELECT i AS n, md5('tenant-' || i)::UUID AS id
+FROM generate_series(1, :tenants) AS i;
+
+CREATE TABLE orders_heap (
+    id UUID PRIMARY KEY,
+    tenant_id UUID NOT NULL,
+    shop_order_id BIGINT NOT NULL,
+    order_number VARCHAR(255) NOT NULL,
+    total_price NUMERIC(19,4),
+    currency VARCHAR(32) NOT NULL,
+    created_at TIMESTAMPTZ NOT NULL,
+    updated_at TIMESTAMPTZ,
+    shop_customer_id BIGINT
+);
+
+CREATE TABLE orders_part (LIKE orders_heap INCLUDING DEFAULTS, PRIMARY KEY (id, created_at))
+    PARTITION BY RANGE (created_at);
+
+SELECT format('CREATE TABLE orders_part_%s PARTITION OF orders_part FOR VALUES FROM (%L) TO (%L)',
+              to_char(m, 'YYYYMM'), m, m + INTERVAL '1 month')
+FROM generate_series(date_trunc('month', TIMESTAMPTZ '2024-01-01 00:00:00+00'),
+                     date_trunc('month', TIMESTAMPTZ '2024-01-01 00:00:00+00') + (:months - 1) * INTERVAL '1 month',
+                     INTERVAL '1 month') AS m
+\gexec
+
+\timing on
+
+INSERT INTO orders_heap
+SELECT md5('order-' || i)::UUID,
+       t.id,
+       i,
+       '#' || i,
+       round((random() * 500)::NUMERIC, 2),
+       'USD',
+       TIMESTAMPTZ '2024-01-01 00:00:00+00' + random() * (:months * INTERVAL '30 days'),
+       NULL,
+       (random() * 1000000)::BIGINT
+FROM generate_series(1, :rows) AS i
+JOIN tenant_ids t ON t.n = 1 + (i % :tenants);
+
+INSERT INTO orders_part SELECT * FROM orders_heap;
+
+CREATE INDEX ON orders_heap (tenant_id, created_at, id);
+CREATE INDEX ON orders_heap (tenant_id, shop_order_id);
+CREATE INDEX ON orders_part (tenant_id, created_at, id);
+CREATE INDEX ON orders_part (tenant_id, shop_order_id);
+VACUUM ANALYZE orders_heap;
+VACUUM ANALYZE orders_part;
+
+SELECT id AS bench_tenant FROM tenant_ids WHERE n = 1 \gset
+
+\echo '== one tenant, one month =='
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT count(*), sum(total_price) FROM orders_heap
+WHERE tenant_id = :'bench_tenant' AND created_at >= '2024-06-01' AND created_at < '2024-07-01';
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT count(*), sum(total_price) FROM orders_part
+WHERE tenant_id = :'bench_tenant' AND created_at >= '2024-06-01' AND created_at < '2024-07-01';
+
+\echo '== one tenant, one week, newest first (dashboard page) =='
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT * FROM orders_heap
+WHERE tenant_id = :'bench_tenant' AND created_at BETWEEN '2024-06-10' AND '2024-06-17'
+ORDER BY created_at DESC, id DESC LIMIT 50;
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT * FROM orders_part
+WHERE tenant_id = :'bench_tenant' AND created_at BETWEEN '2024-06-10' AND '2024-06-17'
+ORDER BY created_at DESC, id DESC LIMIT 50;
+
+\echo '== all tenants, one month =='
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT tenant_id, count(*) FROM orders_heap
+WHERE created_at >= '2024-06-01' AND created_at < '2024-07-01' GROUP BY tenant_id;
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT tenant_id, count(*) FROM orders_part
+WHERE created_at >= '2024-06-01' AND created_at < '2024-07-01' GROUP BY tenant_id;
+
+\echo '== prepared statement, runtime pruning (as issued by JPA with bind parameters) =='
+PREPARE heap_range(UUID, TIMESTAMPTZ, TIMESTAMPTZ) AS
+    SELECT count(*) FROM orders_heap WHERE tenant_id = $1 AND created_at BETWEEN $2 AND $3;
+PREPARE part_range(UUID, TIMESTAMPTZ, TIMESTAMPTZ) AS
+    SELECT count(*) FROM orders_part WHERE tenant_id = $1 AND created_at BETWEEN $2 AND $3;
+EXPLAIN (ANALYZE, BUFFERS) EXECUTE heap_range(:'bench_tenant', '2024-06-01', '2024-06-30');
+EXPLAIN (ANALYZE, BUFFERS) EXECUTE part_range(:'bench_tenant', '2024-06-01', '2024-06-30');
+
+\echo '== retention: dropping the oldest month =='
+BEGIN;
+DELETE FROM orders_heap WHERE created_at < '2024-02-01';
+ROLLBACK;
+BEGIN;
+ALTER TABLE orders_part DETACH PARTITION orders_part_202401;
+DROP TABLE orders_part_202401;
+ROLLBACK;
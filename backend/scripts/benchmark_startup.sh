@@ -0,0 +1,87 @@
+#!/usr/bin/env bash
+# Compares cold-start time to readiness and resident memory of the JVM jar, the AOT-processed jar on the JVM and the
+# native image.
+#
+#   mvn -Pnative -DskipTests package native:compile
+#   RUNS=10 scripts/benchmark_startup.sh [jvm] [jvm-aot] [native]
+#
+# Run from backend/ against a migrated database; the usual DB_* / JWT_SECRET environment is passed through to every
+# run. Build and benchmark with the same configuration: in AOT and native builds, bean conditions (Flyway,
+# app.reactive.enabled, VAULT_ENABLED) are evaluated at build time. Each run starts a fresh process, polls
+# /actuator/health/readiness every 20 ms and records the wall time until it answers 200, Spring's own "Started in"
+# time, and VmRSS/VmHWM from /proc once ready. Prints one CSV row per run and the median per mode.
+
+set -euo pipefail
+
+RUNS=${RUNS:-5}
+PORT=${PORT:-8080}
+JAR=${JAR:-target/dashboard-backend-0.0.1-SNAPSHOT.jar}
+NATIVE=${NATIVE:-target/dashboard-backend}
+TIMEOUT_SECONDS=${TIMEOUT_SECONDS:-120}
+READY_URL="http://localhost:${PORT}/actuator/health/readiness"
+MODES=("$@")
+if [ ${#MODES[@]} -eq 0 ]; then
+  MODES=(jvm jvm-aot native)
+fi
+
+launch() {
+  case "$1" in
+    jvm) exec java ${JAVA_OPTS:-} -jar "$JAR" --server.port="$PORT" ;;
+    jvm-aot) exec java ${JAVA_OPTS:-} -Dspring.aot.enabled=true -jar "$JAR" --server.port="$PORT" ;;
+    native) exec "$NATIVE" --server.port="$PORT" ;;
+    *) echo "unknown mode: $1" >&2; exit 2 ;;
+  esac
+}
+
+kb() {
+  awk -v key="$1:" '$1 == key { print $2 }' "/proc/$2/status"
+}
+
+median() {
+  sort -n | awk '{ v[NR] = $1 } END { if (NR % 2) print v[(NR + 1) / 2]; else print (v[NR / 2] + v[NR / 2 + 1]) / 2 }'
+}
+
+results=$(mktemp)
+trap 'rm -f "$results"' EXIT
+echo "mode,run,ready_ms,spring_started_s,rss_kb,hwm_kb"
+
+for mode in "${MODES[@]}"; do
+  for run in $(seq 1 "$RUNS"); do
+    log=$(mktemp)
+    start=$(date +%s%N)
+    (launch "$mode") >"$log" 2>&1 &
+    pid=$!
+    ready_ms=""
+    while [ $(( ($(date +%s%N) - start) / 1000000000 )) -lt "$TIMEOUT_SECONDS" ]; do
+      if ! kill -0 "$pid" 2>/dev/null; then
+        echo "$mode run $run exited before becoming ready, see $log" >&2
+        exit 1
+      fi
+      if [ "$(curl -s -o /dev/null -w '%{http_code}' "$READY_URL")" = "200" ]; then
+        ready_ms=$(( ($(date +%s%N) - start) / 1000000 ))
+        break
+      fi
+      sleep 0.02
+    done
+    if [ -z "$ready_ms" ]; then
+      kill "$pid"
+      echo "$mode run $run not ready after ${TIMEOUT_SECONDS}s, see $log" >&2
+      exit 1
+    fi
+    started=$(grep -o 'Started ShopifyDashboardApplication in [0-9.]*' "$log" | awk '{ print $NF }' | tail -1)
+    rss=$(kb VmRSS "$pid")
+    hwm=$(kb VmHWM "$pid")
+    kill "$pid"
+    wait "$pid" 2>/dev/null || true
+    rm -f "$log"
+    echo "$mode,$run,$ready_ms,$started,$rss,$hwm" | tee -a "$results"
+  done
+done
+
+echo
+echo "mode,median_ready_ms,median_rss_kb"
+for mode in "${MODES[@]}"; do
+  ready=$(awk -F, -v m="$mode" '$1 == m { print $3 }' "$results" | median)
+  rss=$(awk -F, -v m="$mode" '$1 == m { print $5 }' "$results" | median)
+  echo "$mode,$ready,$rss"
+done
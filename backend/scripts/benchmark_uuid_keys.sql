@@ -0,0 +1,83 @@
+-- Compares insert throughput and primary key index size for random (v4) and time-ordered (v7) UUID keys.
+--
+--   psql -v rows=10000000 -v batch=1000 -f scripts/benchmark_uuid_keys.sql <database>
+--
+-- Rows are inserted in batches of -v batch to mimic the ingestion path rather than one bulk INSERT ... SELECT, which
+-- would hide most of the index page splits. Everything lives in the uuid_bench schema, dropped on each run.
+
+\set ON_ERROR_STOP on
+\if :{?rows}
+\else
+  \set rows 10000000
+\endif
+\if :{?batch}
+\else
+  \set batch 1000
+\endif
+
+DROP SCHEMA IF EXISTS uuid_bench CASCADE;
+CREATE SCHEMA uuid_bench;
+SET search_path = uuid_bench;
+CREATE EXTENSION IF NOT EXISTS pgstattuple;
+
+-- Same layout as com.shopify.dashboard.util.UuidV7: 48-bit millisecond timestamp, version 7, sub-millisecond
+-- ordering from the clock, then random bits with the RFC 9562 variant.
+CREATE FUNCTION uuid_v7() RETURNS UUID AS $$
+DECLARE
+    ts_micros BIGINT := (extract(epoch FROM clock_timestamp()) * 1000000)::BIGINT;
+    bytes BYTEA := uuid_send(gen_random_uuid());
+BEGIN
+    bytes := overlay(bytes PLACING substring(int8send(ts_micros / 1000) FROM 3) FROM 1 FOR 6);
+    bytes := set_byte(bytes, 6, (x'70'::INT | (((ts_micros % 1000) * 4096 / 1000) >> 8)::INT));
+    bytes := set_byte(bytes, 7, (((ts_micros % 1000) * 4096 / 1000) & 255)::INT);
+    RETURN encode(bytes, 'hex')::UUID;
+END;
+$$ LANGUAGE plpgsql VOLATILE;
+
+CREATE TABLE orders_v4 (
+    id UUID PRIMARY KEY,
+    tenant_id UUID NOT NULL,
+    shop_order_id BIGINT NOT NULL,
+    total_price NUMERIC(19,4),
+    created_at TIMESTAMPTZ NOT NULL DEFAULT NOW()
+);
+CREATE TABLE orders_v7 (LIKE orders_v4 INCLUDING ALL);
+
+CREATE PROCEDURE load(target TEXT, generator TEXT, total BIGINT, batch_size INT) AS $$
+DECLARE
+    done BIGINT := 0;
+BEGIN
+    WHILE done < total LOOP
+        EXECUTE format('INSERT INTO %I (id, tenant_id, shop_order_id, total_price) '
+                       'SELECT %s, ''00000000-0000-0000-0000-000000000001'', $1 + i, 10 '
+                       'FROM generate_series(1, $2) AS i', target, generator)
+            USING done, batch_size;
+        done := done + batch_size;
+        COMMIT;
+    END LOOP;
+END;
+$$ LANGUAGE plpgsql;
+
+CHECKPOINT;
+\timing on
+\echo '== random v4 keys =='
+CALL load('orders_v4', 'gen_random_uuid()', :rows, :batch);
+\echo '== time-ordered v7 keys =='
+CALL load('orders_v7', 'uuid_v7()', :rows, :batch);
+\timing off
+
+\echo '== primary key index size and leaf density =='
+SELECT 'v4' AS keys, pg_size_pretty(pg_relation_size('orders_v4_pkey')) AS pk_size, s.avg_leaf_density,
+       s.leaf_fragmentation
+FROM pgstatindex('orders_v4_pkey') s
+UNION ALL
+SELECT 'v7', pg_size_pretty(pg_relation_size('orders_v7_pkey')), s.avg_leaf_density, s.leaf_fragmentation
+FROM pgstatindex('orders_v7_pkey') s;
+
+\echo '== WAL and buffer cost of one more batch =='
+EXPLAIN (ANALYZE, BUFFERS, WAL)
+INSERT INTO orders_v4 (id, tenant_id, shop_order_id, total_price)
+SELECT gen_random_uuid(), '00000000-0000-0000-0000-000000000001', -i, 10 FROM generate_series(1, :batch) AS i;
+EXPLAIN (ANALYZE, BUFFERS, WAL)
+INSERT INTO orders_v7 (id, tenant_id, shop_order_id, total_price)
+SELECT uuid_v7(), '00000000-0000-0000-0000-000000000001', -i, 10 FROM generate_series(1, :batch) AS i;
@@ -0,0 +1,69 @@
+// Holds thousands of concurrent dashboard readers against the metrics API, once per stack, so the servlet (MVC) and
+// reactive read paths can be compared on the same data.
+//
+//   k6 run -e TOKEN=<jwt> -e TENANT_ID=<uuid> -e TARGET=mvc      scripts/load_metrics_mvc_vs_reactive.js
+//   k6 run -e TOKEN=<jwt> -e TENANT_ID=<uuid> -e TARGET=reactive scripts/load_metrics_mvc_vs_reactive.js
+//
+// TARGET picks the port (mvc: 8080, reactive: 8081); BASE_URL overrides it. VUS sets the plateau (default 2000) and
+// THINK_MS the pause between a reader's requests (default 500), which is what keeps most connections idle the way
+// an open dashboard tab is. Run both targets against the same tenant and compare http_req_duration percentiles and
+// the server's jvm.threads.live gauge; the checks count non-200 responses, including 503s from the API executor.
+
+import http from 'k6/http';
+import { check, sleep } from 'k6';
+
+const target = __ENV.TARGET || 'reactive';
+const baseUrl = __ENV.BASE_URL || (target === 'mvc' ? 'http://localhost:8080' : 'http://localhost:8081');
+const tenantId = __ENV.TENANT_ID;
+const vus = parseInt(__ENV.VUS || '2000', 10);
+const thinkSeconds = parseInt(__ENV.THINK_MS || '500', 10) / 1000;
+
+if (!__ENV.TOKEN || !tenantId) {
+    throw new Error('TOKEN and TENANT_ID are required');
+}
+
+export const options = {
+    scenarios: {
+        dashboards: {
+            executor: 'ramping-vus',
+            startVUs: 0,
+            stages: [
+                { duration: '1m', target: vus },
+                { duration: '3m', target: vus },
+                { duration: '30s', target: 0 },
+            ],
+            gracefulRampDown: '10s',
+        },
+    },
+    tags: { target },
+    summaryTrendStats: ['avg', 'p(50)', 'p(95)', 'p(99)', 'max'],
+    thresholds: {
+        checks: ['rate>0.99'],
+        'http_req_duration{endpoint:overview}': ['p(99)<1000'],
+        'http_req_duration{endpoint:orders}': ['p(99)<1000'],
+        'http_req_duration{endpoint:recent_orders}': ['p(99)<1000'],
+    },
+};
+
+const params = (endpoint) => ({
+    headers: { Authorization: `Bearer ${__ENV.TOKEN}` },
+    tags: { endpoint },
+    timeout: '30s',
+});
+
+export default function () {
+    const metrics = `${baseUrl}/api/${tenantId}/metrics`;
+    const to = new Date();
+    const from = new Date(to.getTime() - 30 * 24 * 3600 * 1000);
+    const range = `from=${from.toISOString().slice(0, 10)}&to=${to.toISOString().slice(0, 10)}`;
+
+    const responses = http.batch([
+        ['GET', `${metrics}/overview`, null, params('overview')],
+        ['GET', `${metrics}/orders?${range}&interval=day`, null, params('orders')],
+        ['GET', `${metrics}/recent-orders?limit=10`, null, params('recent_orders')],
+    ]);
+    for (const response of responses) {
+        check(response, { 'status is 200': (r) => r.status === 200 });
+    }
+    sleep(thinkSeconds);
+}
@@ -0,0 +1,101 @@
+package com.shopify.dashboard.analytics;
+
+import com.shopify.dashboard.analytics.TenantOrderColumns.BucketTotals;
+import com.shopify.dashboard.dto.OrderMetricsPoint;
+import com.shopify.dashboard.dto.shopify.ShopifyOrdersResponse.ShopifyOrder;
+import com.shopify.dashboard.stub.SyntheticShopData;
+import com.shopify.dashboard.util.MoneyUnits;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * The grouping behind {@code MetricsService.getOrderMetrics}: bucket boundaries, totals from the resident columns or
+ * from rollup rows, point assembly and downsampling. The rollup rows are precomputed, so the query itself is left out.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class OrderMetricsBenchmark {
+
+    private static final ZoneId ZONE = ZoneId.of("America/New_York");
+    private static final LocalDate FROM = LocalDate.of(2025, 10, 1);
+    private static final LocalDate TO = LocalDate.of(2025, 12, 31);
+    private static final int MAX_BUCKETS = 10_000;
+    private static final int MAX_POINTS = 200;
+
+    @Param({"HOUR", "DAY", "MONTH"})
+    public MetricsInterval interval;
+
+    @Param({"100000"})
+    public int orders;
+
+    private final TenantOrderColumns columns = new TenantOrderColumns();
+    private List<RollupPoint> rollups;
+
+    @Setup
+    public void setUp() {
+        SyntheticShopData shop = new SyntheticShopData(42, 10_000, orders, 0,
+                TO.plusDays(1).atStartOfDay(ZONE).toInstant(), Duration.ofDays(92));
+        List<OrderFact> facts = IntStream.range(0, orders).mapToObj(index -> fact(shop.order(index))).toList();
+        columns.ensureLoaded(facts::stream);
+        rollups = rollup(facts);
+    }
+
+    @Benchmark
+    public List<OrderMetricsPoint> fromColumns() {
+        List<Instant> boundaries = interval.boundaries(FROM, TO, ZONE, MAX_BUCKETS);
+        BucketTotals totals = OrderSeriesService.fromColumns(columns, boundaries);
+        return OrderSeriesService.downsample(OrderSeriesService.points(totals, boundaries, ZONE), MAX_POINTS);
+    }
+
+    @Benchmark
+    public List<OrderMetricsPoint> fromRollups() {
+        List<Instant> boundaries = interval.boundaries(FROM, TO, ZONE, MAX_BUCKETS);
+        BucketTotals totals = OrderSeriesService.fromRollups(rollups, boundaries);
+        return OrderSeriesService.downsample(OrderSeriesService.points(totals, boundaries, ZONE), MAX_POINTS);
+    }
+
+    private static OrderFact fact(ShopifyOrder order) {
+        return new OrderFact(order.id(), order.customer() != null ? order.customer().id() : null,
+                Instant.parse(order.created_at()), MoneyUnits.parseMinor(order.total_price(), order.currency()),
+                order.currency());
+    }
+
+    /**
+     * Mirrors the rollup tables: hourly rows on whole UTC hours for the hour interval, tenant-local daily rows
+     * otherwise.
+     */
+    private List<RollupPoint> rollup(List<OrderFact> facts) {
+        Map<Instant, Map<String, long[]>> grouped = new TreeMap<>();
+        for (OrderFact fact : facts) {
+            Instant start = interval == MetricsInterval.HOUR
+                    ? fact.createdAt().truncatedTo(ChronoUnit.HOURS)
+                    : LocalDate.ofInstant(fact.createdAt(), ZONE).atStartOfDay(ZONE).toInstant();
+            long[] totals = grouped.computeIfAbsent(start, key -> new TreeMap<>())
+                    .computeIfAbsent(fact.currency(), key -> new long[2]);
+            totals[0]++;
+            totals[1] += fact.totalPriceMinor();
+        }
+        List<RollupPoint> rows = new ArrayList<>();
+        grouped.forEach((start, byCurrency) -> byCurrency.forEach((currency, totals) ->
+                rows.add(new RollupPoint(start, currency, totals[0], totals[1]))));
+        return rows;
+    }
+}
@@ -0,0 +1,52 @@
+package com.shopify.dashboard.security;
+
+import com.shopify.dashboard.config.AppProperties;
+import com.shopify.dashboard.entity.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.jsonwebtoken.Claims;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Per-request token verification, with the verified-token cache on (the steady state for a returning session) and
+ * off (a full HS256 verify and claims parse on every request).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtTokenServiceBenchmark {
+
+    @Param({"10000", "0"})
+    public long tokenCacheMaxSize;
+
+    private JwtTokenService tokenService;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        AppProperties properties = new AppProperties();
+        properties.getSecurity().getJwt().setSecret("0123456789abcdef0123456789abcdef");
+        properties.getSecurity().getJwt().setExpirationSeconds(3600);
+        properties.getSecurity().getJwt().setTokenCacheMaxSize(tokenCacheMaxSize);
+        tokenService = new JwtTokenService(properties, new SimpleMeterRegistry());
+        token = tokenService.generateToken(User.builder()
+                .id(UUID.randomUUID())
+                .tenantId(UUID.randomUUID())
+                .email("bench@example.com")
+                .role("ADMIN")
+                .build());
+    }
+
+    @Benchmark
+    public Claims parseToken() {
+        return tokenService.parseToken(token);
+    }
+}
@@ -0,0 +1,91 @@
+package com.shopify.dashboard.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shopify.dashboard.dto.shopify.ShopifyOrdersResponse.ShopifyOrder;
+import com.shopify.dashboard.entity.Order;
+import com.shopify.dashboard.stub.SyntheticShopData;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * The CPU side of ingesting an order: webhook JSON to DTO, and DTO to entity. Persistence is left out.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ShopifyPayloadBenchmark {
+
+    private static final int ORDERS = 256;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final UUID tenantId = UUID.randomUUID();
+    private final String[] webhookBodies = new String[ORDERS];
+    private List<ShopifyOrder> orders;
+
+    @Setup
+    public void setUp() throws Exception {
+        orders = new SyntheticShopData(42, 1_000, ORDERS, 0, Instant.parse("2026-01-01T00:00:00Z"),
+                Duration.ofDays(30)).orders(0, ORDERS);
+        for (int i = 0; i < ORDERS; i++) {
+            webhookBodies[i] = objectMapper.writeValueAsString(orders.get(i));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ORDERS)
+    public void parseOrderWebhook(Blackhole blackhole) throws Exception {
+        for (String body : webhookBodies) {
+            blackhole.consume(ShopifyIngestionService.orderFromWebhook(
+                    ShopifyIngestionService.readPayload(objectMapper, body, "order")));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ORDERS)
+    public void buildOrder(Blackhole blackhole) {
+        for (ShopifyOrder order : orders) {
+            blackhole.consume(ShopifyIngestionService.buildOrder(tenantId, order));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ORDERS)
+    public void webhookToEntity(Blackhole blackhole) throws Exception {
+        for (String body : webhookBodies) {
+            Order order = ShopifyIngestionService.buildOrder(tenantId, ShopifyIngestionService.orderFromWebhook(
+                    ShopifyIngestionService.readPayload(objectMapper, body, "order")));
+            blackhole.consume(order);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ORDERS)
+    public void parseInstant(Blackhole blackhole) {
+        for (ShopifyOrder order : orders) {
+            Instant createdAt = ShopifyIngestionService.parseInstant(order.created_at());
+            blackhole.consume(createdAt);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ORDERS)
+    public void parseBigDecimal(Blackhole blackhole) {
+        for (ShopifyOrder order : orders) {
+            BigDecimal total = ShopifyIngestionService.parseBigDecimal(order.total_price());
+            blackhole.consume(total);
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.shopify.dashboard.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shopify.dashboard.stub.SyntheticShopData;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class HmacVerifierBenchmark {
+
+    private static final String SECRET = "bench-webhook-secret";
+
+    @Param({"1", "100"})
+    public int orders;
+
+    private final HmacVerifier verifier = new HmacVerifier();
+    private String body;
+    private String signature;
+    private String forged;
+
+    @Setup
+    public void setUp() throws Exception {
+        SyntheticShopData shop = new SyntheticShopData(42, 1_000, orders, 10, Instant.parse("2026-01-01T00:00:00Z"),
+                Duration.ofDays(30));
+        body = new ObjectMapper().writeValueAsString(orders == 1 ? shop.order(0) : shop.orders(0, orders));
+        signature = verifier.sign(body, SECRET);
+        forged = verifier.sign(body, SECRET + "x");
+    }
+
+    @Benchmark
+    public boolean validSignature() {
+        return verifier.isValid(body, signature, SECRET);
+    }
+
+    @Benchmark
+    public boolean forgedSignature() {
+        return verifier.isValid(body, forged, SECRET);
+    }
+}
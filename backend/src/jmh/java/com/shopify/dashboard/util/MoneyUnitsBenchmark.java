@@ -0,0 +1,58 @@
+package com.shopify.dashboard.util;
+
+import com.shopify.dashboard.dto.shopify.ShopifyOrdersResponse.ShopifyOrder;
+import com.shopify.dashboard.stub.SyntheticShopData;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MoneyUnitsBenchmark {
+
+    private static final int AMOUNTS = 1_024;
+
+    private final String[] amounts = new String[AMOUNTS];
+    private final String[] currencies = new String[AMOUNTS];
+
+    @Setup
+    public void setUp() {
+        List<ShopifyOrder> orders = new SyntheticShopData(42, 100, AMOUNTS, 0, Instant.parse("2026-01-01T00:00:00Z"),
+                Duration.ofDays(30)).orders(0, AMOUNTS);
+        for (int i = 0; i < AMOUNTS; i++) {
+            amounts[i] = orders.get(i).total_price();
+            currencies[i] = orders.get(i).currency();
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(AMOUNTS)
+    public long parseMinor() {
+        long sum = 0;
+        for (int i = 0; i < AMOUNTS; i++) {
+            sum += MoneyUnits.parseMinor(amounts[i], currencies[i]);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(AMOUNTS)
+    public long bigDecimalToMinor() {
+        long sum = 0;
+        for (int i = 0; i < AMOUNTS; i++) {
+            sum += MoneyUnits.toMinor(new BigDecimal(amounts[i]), currencies[i]);
+        }
+        return sum;
+    }
+}
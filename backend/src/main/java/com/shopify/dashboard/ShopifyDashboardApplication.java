@@ -1,14 +1,17 @@
 package com.shopify.dashboard;
 
 import com.shopify.dashboard.config.AppProperties;
+import com.shopify.dashboard.config.NativeHints;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.ImportRuntimeHints;
 import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
 @EnableScheduling
 @EnableConfigurationProperties(AppProperties.class)
+@ImportRuntimeHints(NativeHints.class)
 public class ShopifyDashboardApplication {
 
     public static void main(String[] args) {
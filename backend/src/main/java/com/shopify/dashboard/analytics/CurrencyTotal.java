@@ -0,0 +1,4 @@
+package com.shopify.dashboard.analytics;
+
+public record CurrencyTotal(String currency, long orderCount, long amountMinor) {
+}
@@ -0,0 +1,63 @@
+package com.shopify.dashboard.analytics;
+
+import org.apache.datasketches.hll.HllSketch;
+import org.apache.datasketches.hll.Union;
+import org.apache.datasketches.kll.KllDoublesSketch;
+import org.apache.datasketches.memory.Memory;
+
+/**
+ * Mergeable per-day summaries of a tenant's orders: an HLL sketch of distinct customers and a KLL sketch of
+ * order values. Instances are not thread-safe.
+ */
+public final class DaySketches {
+
+    static final int HLL_LG_K = 12;
+    static final int KLL_K = 200;
+
+    private HllSketch customers;
+    private final KllDoublesSketch orderValues;
+
+    public DaySketches() {
+        this(new HllSketch(HLL_LG_K), KllDoublesSketch.newHeapInstance(KLL_K));
+    }
+
+    private DaySketches(HllSketch customers, KllDoublesSketch orderValues) {
+        this.customers = customers;
+        this.orderValues = orderValues;
+    }
+
+    public static DaySketches deserialize(byte[] customersHll, byte[] orderValuesKll) {
+        return new DaySketches(HllSketch.heapify(customersHll), KllDoublesSketch.heapify(Memory.wrap(orderValuesKll)));
+    }
+
+    public void record(Long shopCustomerId, double orderValue) {
+        if (shopCustomerId != null) {
+            customers.update(shopCustomerId);
+        }
+        orderValues.update(orderValue);
+    }
+
+    public void merge(DaySketches other) {
+        Union union = new Union(HLL_LG_K);
+        union.update(customers);
+        union.update(other.customers);
+        customers = union.getResult();
+        orderValues.merge(other.orderValues);
+    }
+
+    public HllSketch customers() {
+        return customers;
+    }
+
+    public KllDoublesSketch orderValues() {
+        return orderValues;
+    }
+
+    public byte[] customersBytes() {
+        return customers.toCompactByteArray();
+    }
+
+    public byte[] orderValuesBytes() {
+        return orderValues.toByteArray();
+    }
+}
@@ -0,0 +1,71 @@
+package com.shopify.dashboard.analytics;
+
+import com.shopify.dashboard.exception.ApiException;
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import org.springframework.http.HttpStatus;
+
+public enum MetricsInterval {
+    HOUR,
+    DAY,
+    WEEK,
+    MONTH;
+
+    public static MetricsInterval parse(String value) {
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException ex) {
+            throw new ApiException("Unsupported interval: " + value, HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    /**
+     * Bucket boundaries covering {@code from..to} in {@code zone}, clipped to the first and last local midnight.
+     * Hour buckets follow whole UTC hours so that they line up with the hourly rollups; in zones with a
+     * fractional offset the first bucket is therefore shorter than an hour.
+     */
+    public List<Instant> boundaries(LocalDate from, LocalDate to, ZoneId zone, int maxBuckets) {
+        ZonedDateTime start = from.atStartOfDay(zone);
+        Instant end = to.plusDays(1).atStartOfDay(zone).toInstant();
+        List<Instant> boundaries = new ArrayList<>();
+        boundaries.add(start.toInstant());
+        ZonedDateTime next = firstAfter(start);
+        while (next.toInstant().isBefore(end)) {
+            if (boundaries.size() > maxBuckets) {
+                throw new ApiException("Range holds more than %d %s buckets".formatted(maxBuckets,
+                        name().toLowerCase(Locale.ROOT)), HttpStatus.BAD_REQUEST);
+            }
+            boundaries.add(next.toInstant());
+            next = advance(next);
+        }
+        boundaries.add(end);
+        return boundaries;
+    }
+
+    private ZonedDateTime firstAfter(ZonedDateTime start) {
+        return switch (this) {
+            case HOUR -> start.withZoneSameInstant(ZoneOffset.UTC).truncatedTo(ChronoUnit.HOURS).plusHours(1);
+            case DAY -> start.plusDays(1);
+            case WEEK -> start.with(TemporalAdjusters.next(DayOfWeek.MONDAY));
+            case MONTH -> start.with(TemporalAdjusters.firstDayOfNextMonth());
+        };
+    }
+
+    private ZonedDateTime advance(ZonedDateTime boundary) {
+        return switch (this) {
+            case HOUR -> boundary.plusHours(1);
+            case DAY -> boundary.plusDays(1);
+            case WEEK -> boundary.plusWeeks(1);
+            case MONTH -> boundary.plusMonths(1);
+        };
+    }
+}
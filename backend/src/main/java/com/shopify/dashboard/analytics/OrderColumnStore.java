@@ -0,0 +1,202 @@
+package com.shopify.dashboard.analytics;
+
+import com.shopify.dashboard.archive.OrderArchiveService;
+import com.shopify.dashboard.config.AppProperties;
+import com.shopify.dashboard.event.OrderUpsertedEvent;
+import com.shopify.dashboard.event.TenantDeletedEvent;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Optional in-memory column store of order facts, loaded lazily per tenant and kept within
+ * {@code app.analytics.column-store.max-bytes} by evicting the least recently queried tenants. Room is made from
+ * the tenant's row count before it loads; a tenant that alone exceeds the budget is never loaded and its callers
+ * fall back to the database. Loads always read the primary: a lagging replica could miss orders whose upsert
+ * events were already delivered.
+ * <p>
+ * A load runs in its own transaction, so callers ask for columns before opening theirs; inside a transaction only
+ * resident columns are returned, since loading there would tie up a second connection.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class OrderColumnStore {
+
+    private final OrderArchiveService orderArchiveService;
+    private final PlatformTransactionManager transactionManager;
+    private final AppProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Map<UUID, TenantOrderColumns> tenants = new LinkedHashMap<>(16, 0.75f, true);
+    private final Set<UUID> oversized = ConcurrentHashMap.newKeySet();
+
+    @PostConstruct
+    void registerMetrics() {
+        Gauge.builder("analytics.column-store.tenants", this, store -> store.tenantCount()).register(meterRegistry);
+        Gauge.builder("analytics.column-store.bytes", this, store -> store.residentBytes())
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return properties.getAnalytics().getColumnStore().isEnabled();
+    }
+
+    public Optional<TenantOrderColumns> columns(UUID tenantId) {
+        if (!isEnabled() || oversized.contains(tenantId)) {
+            return Optional.empty();
+        }
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return resident(tenantId);
+        }
+        TenantOrderColumns columns;
+        synchronized (tenants) {
+            columns = tenants.computeIfAbsent(tenantId, id -> new TenantOrderColumns());
+        }
+        boolean fits;
+        try {
+            fits = columns.isLoaded() || load(tenantId, columns);
+        } catch (RuntimeException ex) {
+            synchronized (tenants) {
+                tenants.remove(tenantId, columns);
+            }
+            throw ex;
+        }
+        if (!fits) {
+            synchronized (tenants) {
+                tenants.remove(tenantId, columns);
+            }
+            return Optional.empty();
+        }
+        enforceBudget();
+        return Optional.of(columns);
+    }
+
+    /**
+     * Columns already in memory, without loading anything; for callers that must not block.
+     */
+    public Optional<TenantOrderColumns> resident(UUID tenantId) {
+        if (!isEnabled()) {
+            return Optional.empty();
+        }
+        TenantOrderColumns columns;
+        synchronized (tenants) {
+            columns = tenants.get(tenantId);
+        }
+        return columns != null && columns.isLoaded() ? Optional.of(columns) : Optional.empty();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrderUpserted(OrderUpsertedEvent event) {
+        TenantOrderColumns columns;
+        synchronized (tenants) {
+            columns = tenants.get(event.tenantId());
+        }
+        if (columns == null || event.createdAt() == null) {
+            return;
+        }
+        if (event.moved()) {
+            // the columns are sorted by created_at and cannot move one order, so they reload on the next query
+            synchronized (tenants) {
+                tenants.remove(event.tenantId(), columns);
+            }
+            return;
+        }
+        columns.upsert(event.shopOrderId(), event.createdAt().getEpochSecond(),
+                event.totalPriceMinor(), event.currency());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTenantDeleted(TenantDeletedEvent event) {
+        synchronized (tenants) {
+            tenants.remove(event.tenantId());
+        }
+        oversized.remove(event.tenantId());
+    }
+
+    private boolean load(UUID tenantId, TenantOrderColumns columns) {
+        TransactionTemplate primary = new TransactionTemplate(transactionManager);
+        primary.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        return columns.loadExclusively(() -> Boolean.TRUE.equals(primary.execute(status -> {
+            if (!reserve(tenantId, columns, orderArchiveService.countFacts(tenantId))) {
+                return false;
+            }
+            columns.ensureLoaded(() -> {
+                log.debug("Loading order columns for tenant {}", tenantId);
+                return orderArchiveService.streamFacts(tenantId);
+            });
+            return true;
+        })));
+    }
+
+    /**
+     * Evicts the least recently queried other tenants until {@code rows} more fit, and claims that room by sizing
+     * the columns before they load, so concurrent loads cannot both count on the same free space.
+     */
+    private boolean reserve(UUID tenantId, TenantOrderColumns columns, long rows) {
+        long maxBytes = properties.getAnalytics().getColumnStore().getMaxBytes();
+        long needed = TenantOrderColumns.bytesFor(rows);
+        if (needed > maxBytes) {
+            oversized.add(tenantId);
+            log.info("Order columns for tenant {} would take ~{} bytes, over the {} byte budget; not loading them",
+                    tenantId, needed, maxBytes);
+            return false;
+        }
+        synchronized (tenants) {
+            long others = residentBytes() - columns.estimatedBytes();
+            Iterator<Map.Entry<UUID, TenantOrderColumns>> eldest = tenants.entrySet().iterator();
+            while (others + needed > maxBytes && eldest.hasNext()) {
+                Map.Entry<UUID, TenantOrderColumns> entry = eldest.next();
+                if (entry.getKey().equals(tenantId)) {
+                    continue;
+                }
+                others -= entry.getValue().estimatedBytes();
+                eldest.remove();
+                log.debug("Evicted order columns for tenant {} to make room for tenant {}", entry.getKey(), tenantId);
+            }
+            columns.reserve(rows);
+        }
+        return true;
+    }
+
+    private void enforceBudget() {
+        long maxBytes = properties.getAnalytics().getColumnStore().getMaxBytes();
+        synchronized (tenants) {
+            long resident = residentBytes();
+            Iterator<Map.Entry<UUID, TenantOrderColumns>> eldest = tenants.entrySet().iterator();
+            while (resident > maxBytes && eldest.hasNext()) {
+                Map.Entry<UUID, TenantOrderColumns> entry = eldest.next();
+                resident -= entry.getValue().estimatedBytes();
+                eldest.remove();
+                log.debug("Evicted order columns for tenant {}", entry.getKey());
+            }
+        }
+    }
+
+    private long residentBytes() {
+        synchronized (tenants) {
+            return tenants.values().stream().mapToLong(TenantOrderColumns::estimatedBytes).sum();
+        }
+    }
+
+    private int tenantCount() {
+        synchronized (tenants) {
+            return tenants.size();
+        }
+    }
+}
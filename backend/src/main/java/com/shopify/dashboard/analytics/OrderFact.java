@@ -0,0 +1,7 @@
+package com.shopify.dashboard.analytics;
+
+import java.time.Instant;
+
+public record OrderFact(Long shopOrderId, Long shopCustomerId, Instant createdAt, long totalPriceMinor,
+                        String currency) {
+}
@@ -0,0 +1,115 @@
+package com.shopify.dashboard.analytics;
+
+import com.shopify.dashboard.analytics.TenantOrderColumns.BucketTotals;
+import com.shopify.dashboard.dto.OrderMetricsPoint;
+import com.shopify.dashboard.exception.ApiException;
+import com.shopify.dashboard.repository.OrderRollupRepository;
+import com.shopify.dashboard.util.Downsampling;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Builds order time series from the resident column store when available, otherwise from the hourly rollups
+ * (hour interval) or the tenant-local daily rollups (day, week and month intervals). Callers must not be in a
+ * transaction, so that loading the column store does not hold two connections; the rollups are read in a read-only
+ * one of their own.
+ */
+@Component
+@RequiredArgsConstructor
+public class OrderSeriesService {
+
+    private static final int MIN_DOWNSAMPLED_POINTS = 3;
+
+    private final OrderRollupRepository rollupRepository;
+    private final OrderColumnStore orderColumnStore;
+    private final PlatformTransactionManager transactionManager;
+
+    public List<OrderMetricsPoint> series(UUID tenantId, ZoneId zone, LocalDate from, LocalDate to,
+                                          MetricsInterval interval, int maxBuckets) {
+        List<Instant> boundaries = interval.boundaries(from, to, zone, maxBuckets);
+        int buckets = boundaries.size() - 1;
+        Optional<TenantOrderColumns> columns = orderColumnStore.columns(tenantId);
+        BucketTotals totals;
+        if (columns.isPresent()) {
+            totals = fromColumns(columns.get(), boundaries);
+        } else {
+            TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+            readOnly.setReadOnly(true);
+            List<RollupPoint> rows = readOnly.execute(status -> interval == MetricsInterval.HOUR
+                    ? rollupRepository.findHourly(tenantId, boundaries.get(0), boundaries.get(buckets))
+                    : rollupRepository.findDaily(tenantId, zone, from, to));
+            totals = fromRollups(rows, boundaries);
+        }
+        return points(totals, boundaries, zone);
+    }
+
+    public static void validate(LocalDate from, LocalDate to, Integer maxPoints) {
+        if (from.isAfter(to)) {
+            throw new ApiException("from must not be after to", HttpStatus.BAD_REQUEST);
+        }
+        if (maxPoints != null && maxPoints < MIN_DOWNSAMPLED_POINTS) {
+            throw new ApiException("maxPoints must be at least " + MIN_DOWNSAMPLED_POINTS, HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    public static List<OrderMetricsPoint> downsample(List<OrderMetricsPoint> points, Integer maxPoints) {
+        if (maxPoints == null) {
+            return points;
+        }
+        return Downsampling.lttb(points, maxPoints, point -> point.bucketStart().getEpochSecond(),
+                point -> point.totalSales().doubleValue());
+    }
+
+    public static BucketTotals fromColumns(TenantOrderColumns columns, List<Instant> boundaries) {
+        return columns.totals(boundaries.stream().mapToLong(Instant::getEpochSecond).toArray());
+    }
+
+    public static List<OrderMetricsPoint> points(BucketTotals totals, List<Instant> boundaries, ZoneId zone) {
+        int buckets = boundaries.size() - 1;
+        List<OrderMetricsPoint> points = new ArrayList<>(buckets);
+        for (int bucket = 0; bucket < buckets; bucket++) {
+            Instant start = boundaries.get(bucket);
+            points.add(new OrderMetricsPoint(LocalDate.ofInstant(start, zone), start, totals.counts()[bucket],
+                    totals.amount(bucket)));
+        }
+        return points;
+    }
+
+    public static BucketTotals fromRollups(List<RollupPoint> rows, List<Instant> boundaries) {
+        int buckets = boundaries.size() - 1;
+        long[] counts = new long[buckets];
+        List<String> currencies = new ArrayList<>();
+        List<long[]> minorByCurrency = new ArrayList<>();
+        for (RollupPoint row : rows) {
+            int bucket = bucketOf(boundaries, row.start());
+            if (bucket >= buckets) {
+                continue;
+            }
+            int currency = currencies.indexOf(row.currency());
+            if (currency < 0) {
+                currencies.add(row.currency());
+                minorByCurrency.add(new long[buckets]);
+                currency = currencies.size() - 1;
+            }
+            counts[bucket] += row.orderCount();
+            minorByCurrency.get(currency)[bucket] += row.revenueMinor();
+        }
+        return new BucketTotals(counts, currencies, minorByCurrency.toArray(long[][]::new));
+    }
+
+    private static int bucketOf(List<Instant> boundaries, Instant start) {
+        int index = Collections.binarySearch(boundaries, start);
+        return Math.max(index >= 0 ? index : -index - 2, 0);
+    }
+}
@@ -0,0 +1,237 @@
+package com.shopify.dashboard.analytics;
+
+import com.shopify.dashboard.archive.OrderArchiveService;
+import com.shopify.dashboard.dto.OrderValuePercentilesDto;
+import com.shopify.dashboard.dto.OrderValuePercentilesDto.CurrencyPercentiles;
+import com.shopify.dashboard.dto.UniqueCustomersDto;
+import com.shopify.dashboard.dto.UniqueCustomersDto.DailyUniqueCustomersPoint;
+import com.shopify.dashboard.entity.Tenant;
+import com.shopify.dashboard.event.OrderUpsertedEvent;
+import com.shopify.dashboard.event.TenantDeletedEvent;
+import com.shopify.dashboard.repository.OrderSketchRepository;
+import com.shopify.dashboard.tenant.TenantRegistry;
+import com.shopify.dashboard.util.MoneyUnits;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.datasketches.hll.HllSketch;
+import org.apache.datasketches.hll.Union;
+import org.apache.datasketches.kll.KllDoublesSketch;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Maintains per-day, per-currency HLL/KLL sketches of orders in {@code order_daily_sketches}, bucketed by the
+ * tenant's local day like the rollups. The orders an ingestion transaction creates are summarised per day and merged
+ * into the stored sketches just before it commits, so the sketches never hold an order that was rolled back nor lose
+ * one that was committed. Sketches cannot remove a value, so a day holding an order whose value or currency changed
+ * is rebuilt from its orders instead.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class OrderSketchService {
+
+    private static final Comparator<SketchKey> MERGE_ORDER = Comparator.comparing(SketchKey::tenantId)
+            .thenComparing(SketchKey::day)
+            .thenComparing(SketchKey::currency);
+
+    private final OrderSketchRepository sketchRepository;
+    private final OrderArchiveService orderArchiveService;
+    private final TenantRegistry tenantRegistry;
+    private final PlatformTransactionManager transactionManager;
+    private final Set<UUID> backfilledTenants = ConcurrentHashMap.newKeySet();
+
+    @EventListener
+    public void onOrderUpserted(OrderUpsertedEvent event) {
+        if (event.createdAt() == null || !(event.created() || event.moved() || valueChanged(event))) {
+            return;
+        }
+        boolean inTransaction = TransactionSynchronizationManager.isActualTransactionActive()
+                && TransactionSynchronizationManager.isSynchronizationActive();
+        PendingSketches pending = inTransaction ? transactionPending() : new PendingSketches();
+        ZoneId zone = tenantRegistry.get(event.tenantId()).zoneId();
+        LocalDate day = LocalDate.ofInstant(event.createdAt(), zone);
+        if (event.created()) {
+            pending.deltas.computeIfAbsent(new SketchKey(event.tenantId(), day, event.currency()),
+                    key -> new DaySketches()).record(event.shopCustomerId(), event.totalPriceMinor());
+        } else {
+            pending.rebuilds.put(new TenantDay(event.tenantId(), day), zone);
+            if (event.moved()) {
+                pending.rebuilds.put(new TenantDay(event.tenantId(),
+                        LocalDate.ofInstant(event.previousCreatedAt(), zone)), zone);
+            }
+        }
+        if (!inTransaction) {
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> apply(pending));
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTenantDeleted(TenantDeletedEvent event) {
+        backfilledTenants.remove(event.tenantId());
+    }
+
+    private static boolean valueChanged(OrderUpsertedEvent event) {
+        return !Objects.equals(event.previousTotalPriceMinor(), event.totalPriceMinor())
+                || !Objects.equals(event.previousCurrency(), event.currency());
+    }
+
+    private PendingSketches transactionPending() {
+        PendingSketches pending = (PendingSketches) TransactionSynchronizationManager.getResource(this);
+        if (pending != null) {
+            return pending;
+        }
+        PendingSketches created = new PendingSketches();
+        TransactionSynchronizationManager.bindResource(this, created);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                apply(created);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(OrderSketchService.this);
+            }
+        });
+        return created;
+    }
+
+    /**
+     * Tenants are locked in a fixed order so concurrent ingestion transactions cannot deadlock on them. A tenant
+     * with days to rebuild is locked exclusively, so the orders read for a day include every committed delta and
+     * no other transaction merges into the day until this one commits.
+     */
+    private void apply(PendingSketches pending) {
+        Set<UUID> tenants = new TreeSet<>();
+        pending.deltas.keySet().forEach(key -> tenants.add(key.tenantId()));
+        pending.rebuilds.keySet().forEach(key -> tenants.add(key.tenantId()));
+        Set<UUID> rebuilding = new HashSet<>();
+        pending.rebuilds.keySet().forEach(key -> rebuilding.add(key.tenantId()));
+        tenants.forEach(tenantId -> sketchRepository.lockTenant(tenantId, rebuilding.contains(tenantId)));
+
+        pending.rebuilds.forEach((key, zone) -> rebuildDay(key.tenantId(), key.day(), zone));
+        for (SketchKey key : pending.deltas.keySet().stream().sorted(MERGE_ORDER).toList()) {
+            if (!pending.rebuilds.containsKey(new TenantDay(key.tenantId(), key.day()))) {
+                sketchRepository.merge(key.tenantId(), key.day(), key.currency(), pending.deltas.get(key));
+            }
+        }
+    }
+
+    private void rebuildDay(UUID tenantId, LocalDate day, ZoneId zone) {
+        Map<String, DaySketches> currencies = new HashMap<>();
+        orderArchiveService.findFacts(tenantId, day.atStartOfDay(zone).toInstant(),
+                        day.plusDays(1).atStartOfDay(zone).toInstant())
+                .forEach(fact -> record(currencies, fact));
+        sketchRepository.replaceDay(tenantId, day, currencies);
+    }
+
+    public UniqueCustomersDto uniqueCustomers(Tenant tenant, LocalDate from, LocalDate to) {
+        Map<LocalDate, Map<String, DaySketches>> days = sketchesFor(tenant, from, to);
+        Union range = new Union(DaySketches.HLL_LG_K);
+        List<DailyUniqueCustomersPoint> daily = new ArrayList<>();
+        for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+            Union dayUnion = new Union(DaySketches.HLL_LG_K);
+            days.getOrDefault(day, Map.of()).values().forEach(sketches -> {
+                dayUnion.update(sketches.customers());
+                range.update(sketches.customers());
+            });
+            daily.add(new DailyUniqueCustomersPoint(day, Math.round(dayUnion.getResult().getEstimate())));
+        }
+        HllSketch result = range.getResult();
+        return new UniqueCustomersDto(from, to, Math.round(result.getEstimate()),
+                (long) Math.floor(result.getLowerBound(2)), (long) Math.ceil(result.getUpperBound(2)), daily);
+    }
+
+    public OrderValuePercentilesDto orderValuePercentiles(Tenant tenant, LocalDate from, LocalDate to) {
+        Map<String, KllDoublesSketch> merged = new TreeMap<>();
+        sketchesFor(tenant, from, to).values().forEach(currencies -> currencies.forEach((currency, sketches) ->
+                merged.computeIfAbsent(currency, key -> KllDoublesSketch.newHeapInstance(DaySketches.KLL_K))
+                        .merge(sketches.orderValues())));
+        List<CurrencyPercentiles> percentiles = new ArrayList<>();
+        merged.forEach((currency, values) -> {
+            if (!values.isEmpty()) {
+                percentiles.add(new CurrencyPercentiles(currency, values.getN(),
+                        amount(values.getQuantile(0.50), currency), amount(values.getQuantile(0.90), currency),
+                        amount(values.getQuantile(0.99), currency)));
+            }
+        });
+        return new OrderValuePercentilesDto(from, to, percentiles);
+    }
+
+    private Map<LocalDate, Map<String, DaySketches>> sketchesFor(Tenant tenant, LocalDate from, LocalDate to) {
+        ensureBackfilled(tenant);
+        return sketchRepository.findRange(tenant.getId(), from, to);
+    }
+
+    private void ensureBackfilled(Tenant tenant) {
+        UUID tenantId = tenant.getId();
+        if (backfilledTenants.contains(tenantId)) {
+            return;
+        }
+        ZoneId zone = tenant.zoneId();
+        TransactionTemplate primary = new TransactionTemplate(transactionManager);
+        primary.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        primary.executeWithoutResult(status -> {
+            // read committed: the scan below must see every transaction that merged before the lock was granted
+            sketchRepository.lockTenant(tenantId, true);
+            if (sketchRepository.isBackfilled(tenantId)) {
+                return;
+            }
+            log.info("Backfilling order sketches for tenant {}", tenantId);
+            Map<LocalDate, Map<String, DaySketches>> days = new HashMap<>();
+            try (Stream<OrderFact> facts = orderArchiveService.streamFacts(tenantId)) {
+                facts.forEach(fact -> record(days.computeIfAbsent(LocalDate.ofInstant(fact.createdAt(), zone),
+                        day -> new HashMap<>()), fact));
+            }
+            sketchRepository.replaceAll(tenantId, days);
+            sketchRepository.markBackfilled(tenantId);
+        });
+        backfilledTenants.add(tenantId);
+    }
+
+    /**
+     * Order values are recorded in minor units of their currency and only scaled when they leave through the API.
+     */
+    private static void record(Map<String, DaySketches> currencies, OrderFact fact) {
+        currencies.computeIfAbsent(fact.currency(), currency -> new DaySketches())
+                .record(fact.shopCustomerId(), fact.totalPriceMinor());
+    }
+
+    private static BigDecimal amount(double minor, String currency) {
+        return MoneyUnits.toMajor(Math.round(minor), currency);
+    }
+
+    private record SketchKey(UUID tenantId, LocalDate day, String currency) {
+    }
+
+    private record TenantDay(UUID tenantId, LocalDate day) {
+    }
+
+    private static final class PendingSketches {
+        private final Map<SketchKey, DaySketches> deltas = new HashMap<>();
+        private final Map<TenantDay, ZoneId> rebuilds = new HashMap<>();
+    }
+}
@@ -0,0 +1,6 @@
+package com.shopify.dashboard.analytics;
+
+import java.time.Instant;
+
+public record RollupPoint(Instant start, String currency, long orderCount, long revenueMinor) {
+}
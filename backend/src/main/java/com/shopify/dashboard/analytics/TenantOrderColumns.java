@@ -0,0 +1,276 @@
+package com.shopify.dashboard.analytics;
+
+import com.shopify.dashboard.util.MoneyUnits;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Order facts of one tenant held as parallel primitive columns sorted by {@code created_at}. Amounts are kept in
+ * minor units of their own currency, so sums are exact and only converted to decimals per bucket.
+ */
+public final class TenantOrderColumns {
+
+    private static final int INITIAL_CAPACITY = 256;
+    private static final int BYTES_PER_ROW = Long.BYTES * 3 + Short.BYTES;
+    private static final int LOAD_BATCH_SIZE = 4_096;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final ReentrantLock loadLock = new ReentrantLock();
+    private final List<String> currencies = new ArrayList<>();
+    private final List<PendingUpsert> pending = new ArrayList<>();
+
+    private long[] createdAt = new long[0];
+    private long[] shopOrderIds = new long[0];
+    private long[] totalMinor = new long[0];
+    private short[] currencyIndex = new short[0];
+    private int size;
+    private volatile boolean loaded;
+
+    /**
+     * Runs {@code loader} holding the load lock unless the columns are already loaded, and reports whether they are
+     * loaded afterwards. Threads that find another one loading wait here, before opening a transaction of their own.
+     */
+    public boolean loadExclusively(BooleanSupplier loader) {
+        if (loaded) {
+            return true;
+        }
+        loadLock.lock();
+        try {
+            return loaded || loader.getAsBoolean();
+        } finally {
+            loadLock.unlock();
+        }
+    }
+
+    public void ensureLoaded(Supplier<Stream<OrderFact>> source) {
+        if (loaded) {
+            return;
+        }
+        loadLock.lock();
+        try {
+            if (loaded) {
+                return;
+            }
+            List<OrderFact> batch = new ArrayList<>(LOAD_BATCH_SIZE);
+            try (Stream<OrderFact> facts = source.get()) {
+                facts.forEach(fact -> {
+                    batch.add(fact);
+                    if (batch.size() == LOAD_BATCH_SIZE) {
+                        appendBatch(batch);
+                    }
+                });
+            }
+            lock.writeLock().lock();
+            try {
+                appendAll(batch);
+                pending.forEach(upsert -> apply(upsert.shopOrderId(), upsert.createdAtEpochSecond(),
+                        upsert.totalMinor(), upsert.currency()));
+                pending.clear();
+                loaded = true;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        } finally {
+            loadLock.unlock();
+        }
+    }
+
+    /**
+     * Sizes the columns for {@code rows} facts up front, so a load neither overshoots its budget by growing nor
+     * copies the arrays on the way.
+     */
+    public void reserve(long rows) {
+        lock.writeLock().lock();
+        try {
+            if (rows > createdAt.length) {
+                resize((int) Math.min(rows, Integer.MAX_VALUE - 8));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public static long bytesFor(long rows) {
+        return rows * BYTES_PER_ROW;
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    public void upsert(long shopOrderId, long createdAtEpochSecond, long minor, String currency) {
+        lock.writeLock().lock();
+        try {
+            if (!loaded) {
+                pending.add(new PendingUpsert(shopOrderId, createdAtEpochSecond, minor, currency));
+                return;
+            }
+            apply(shopOrderId, createdAtEpochSecond, minor, currency);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public BucketTotals totals(long[] boundaries) {
+        int buckets = Math.max(0, boundaries.length - 1);
+        lock.readLock().lock();
+        try {
+            long[] counts = new long[buckets];
+            long[][] minor = new long[currencies.size()][buckets];
+            if (buckets == 0) {
+                return new BucketTotals(counts, List.copyOf(currencies), minor);
+            }
+            int end = lowerBound(boundaries[buckets]);
+            int bucket = 0;
+            for (int i = lowerBound(boundaries[0]); i < end; i++) {
+                while (createdAt[i] >= boundaries[bucket + 1]) {
+                    bucket++;
+                }
+                counts[bucket]++;
+                minor[currencyIndex[i]][bucket] += totalMinor[i];
+            }
+            return new BucketTotals(counts, List.copyOf(currencies), minor);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public BucketTotals totals() {
+        lock.readLock().lock();
+        try {
+            long[][] minor = new long[currencies.size()][1];
+            for (int i = 0; i < size; i++) {
+                minor[currencyIndex[i]][0] += totalMinor[i];
+            }
+            return new BucketTotals(new long[] {size}, List.copyOf(currencies), minor);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long estimatedBytes() {
+        return (long) createdAt.length * BYTES_PER_ROW;
+    }
+
+    private void appendBatch(List<OrderFact> batch) {
+        lock.writeLock().lock();
+        try {
+            appendAll(batch);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void appendAll(List<OrderFact> batch) {
+        for (OrderFact fact : batch) {
+            appendSorted(fact.shopOrderId(), fact.createdAt().getEpochSecond(), fact.totalPriceMinor(),
+                    fact.currency());
+        }
+        batch.clear();
+    }
+
+    private void apply(long shopOrderId, long createdAtEpochSecond, long minor, String currency) {
+        for (int i = lowerBound(createdAtEpochSecond); i < size && createdAt[i] == createdAtEpochSecond; i++) {
+            if (shopOrderIds[i] == shopOrderId) {
+                totalMinor[i] = minor;
+                currencyIndex[i] = currencyIndexOf(currency);
+                return;
+            }
+        }
+        appendSorted(shopOrderId, createdAtEpochSecond, minor, currency);
+    }
+
+    private void appendSorted(long shopOrderId, long createdAtEpochSecond, long minor, String currency) {
+        if (size == createdAt.length) {
+            grow();
+        }
+        int position = size == 0 || createdAt[size - 1] <= createdAtEpochSecond
+                ? size
+                : upperBound(createdAtEpochSecond);
+        if (position < size) {
+            int tail = size - position;
+            System.arraycopy(createdAt, position, createdAt, position + 1, tail);
+            System.arraycopy(shopOrderIds, position, shopOrderIds, position + 1, tail);
+            System.arraycopy(totalMinor, position, totalMinor, position + 1, tail);
+            System.arraycopy(currencyIndex, position, currencyIndex, position + 1, tail);
+        }
+        createdAt[position] = createdAtEpochSecond;
+        shopOrderIds[position] = shopOrderId;
+        totalMinor[position] = minor;
+        currencyIndex[position] = currencyIndexOf(currency);
+        size++;
+    }
+
+    private short currencyIndexOf(String currency) {
+        String code = currency == null ? "" : currency;
+        int index = currencies.indexOf(code);
+        if (index < 0) {
+            currencies.add(code);
+            index = currencies.size() - 1;
+        }
+        return (short) index;
+    }
+
+    private void grow() {
+        resize(Math.max(INITIAL_CAPACITY, createdAt.length + (createdAt.length >> 1)));
+    }
+
+    private void resize(int capacity) {
+        createdAt = Arrays.copyOf(createdAt, capacity);
+        shopOrderIds = Arrays.copyOf(shopOrderIds, capacity);
+        totalMinor = Arrays.copyOf(totalMinor, capacity);
+        currencyIndex = Arrays.copyOf(currencyIndex, capacity);
+    }
+
+    private int lowerBound(long epochSecond) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (createdAt[mid] < epochSecond) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private int upperBound(long epochSecond) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (createdAt[mid] <= epochSecond) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    public record BucketTotals(long[] counts, List<String> currencies, long[][] minorByCurrency) {
+
+        public BigDecimal amount(int bucket) {
+            BigDecimal amount = BigDecimal.ZERO;
+            for (int c = 0; c < currencies.size(); c++) {
+                long minor = minorByCurrency[c][bucket];
+                if (minor != 0) {
+                    amount = amount.add(MoneyUnits.toMajor(minor, currencies.get(c)));
+                }
+            }
+            return amount;
+        }
+    }
+
+    private record PendingUpsert(long shopOrderId, long createdAtEpochSecond, long totalMinor, String currency) {
+    }
+}
@@ -0,0 +1,9 @@
+package com.shopify.dashboard.archive;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.UUID;
+
+public record ArchiveSegment(UUID id, LocalDate month, String currency, long rowCount, Instant minCreatedAt,
+                             Instant maxCreatedAt) {
+}
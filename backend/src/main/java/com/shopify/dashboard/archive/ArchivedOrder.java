@@ -0,0 +1,34 @@
+package com.shopify.dashboard.archive;
+
+import com.shopify.dashboard.analytics.OrderFact;
+import com.shopify.dashboard.entity.Order;
+import java.time.Instant;
+import java.util.UUID;
+
+public record ArchivedOrder(UUID id,
+                            long shopOrderId,
+                            Long shopCustomerId,
+                            String orderNumber,
+                            long totalPriceMinor,
+                            String currency,
+                            Instant createdAt,
+                            Instant updatedAt) {
+
+    public OrderFact toFact() {
+        return new OrderFact(shopOrderId, shopCustomerId, createdAt, totalPriceMinor, currency);
+    }
+
+    public Order toOrder(UUID tenantId) {
+        return Order.builder()
+                .id(id)
+                .tenantId(tenantId)
+                .shopOrderId(shopOrderId)
+                .shopCustomerId(shopCustomerId)
+                .orderNumber(orderNumber)
+                .totalPriceMinor(totalPriceMinor)
+                .currency(currency)
+                .createdAt(createdAt)
+                .updatedAt(updatedAt)
+                .build();
+    }
+}
@@ -0,0 +1,299 @@
+package com.shopify.dashboard.archive;
+
+import com.shopify.dashboard.analytics.CurrencyTotal;
+import com.shopify.dashboard.analytics.OrderFact;
+import com.shopify.dashboard.config.AppProperties;
+import com.shopify.dashboard.dto.PageCursor;
+import com.shopify.dashboard.entity.Order;
+import com.shopify.dashboard.entity.Tenant;
+import com.shopify.dashboard.event.TenantChangedEvent;
+import com.shopify.dashboard.repository.OrderArchiveRepository;
+import com.shopify.dashboard.repository.OrderPartitionRepository;
+import com.shopify.dashboard.repository.OrderRepository;
+import com.shopify.dashboard.repository.TenantRepository;
+import com.shopify.dashboard.util.UuidV7;
+import com.shopify.dashboard.workload.Workload;
+import com.shopify.dashboard.workload.WorkloadContext;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Moves whole UTC months of orders older than each tenant's retention horizon from the hot {@code orders} table into
+ * compressed segments, and serves the archived orders back to readers that need the full history.
+ */
+@Service
+@Slf4j
+public class OrderArchiveService {
+
+    private static final int TENANT_BATCH_SIZE = 100;
+    private static final Comparator<ArchivedOrder> OLDEST_FIRST = Comparator.comparing(ArchivedOrder::createdAt)
+            .thenComparing(ArchivedOrder::id, OrderArchiveService::compareUnsigned);
+    private static final Comparator<ArchivedOrder> NEWEST_FIRST = OLDEST_FIRST.reversed();
+
+    private final OrderArchiveRepository archiveRepository;
+    private final OrderRepository orderRepository;
+    private final OrderPartitionRepository partitionRepository;
+    private final TenantRepository tenantRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final AppProperties properties;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Counter archivedOrders;
+    private final Counter archivedBytes;
+
+    public OrderArchiveService(OrderArchiveRepository archiveRepository, OrderRepository orderRepository,
+                               OrderPartitionRepository partitionRepository, TenantRepository tenantRepository,
+                               PlatformTransactionManager transactionManager, AppProperties properties,
+                               ApplicationEventPublisher eventPublisher, MeterRegistry meterRegistry) {
+        this.archiveRepository = archiveRepository;
+        this.orderRepository = orderRepository;
+        this.partitionRepository = partitionRepository;
+        this.tenantRepository = tenantRepository;
+        this.transactionManager = transactionManager;
+        this.properties = properties;
+        this.eventPublisher = eventPublisher;
+        this.archivedOrders = Counter.builder("orders.archived").register(meterRegistry);
+        this.archivedBytes = Counter.builder("orders.archive.bytes").baseUnit("bytes").register(meterRegistry);
+    }
+
+    @Scheduled(cron = "${app.orders.archive.cron}", zone = "UTC")
+    public void archive() {
+        if (properties.getOrders().getArchive().isEnabled()) {
+            WorkloadContext.run(Workload.INGESTION, this::archiveAll);
+        }
+    }
+
+    private void archiveAll() {
+        Instant now = Instant.now();
+        List<Tenant> page = tenantRepository.findFirstPage(TENANT_BATCH_SIZE);
+        while (!page.isEmpty()) {
+            for (Tenant tenant : page) {
+                try {
+                    archiveTenant(tenant.getId(), horizonOf(tenant, now));
+                } catch (RuntimeException ex) {
+                    log.warn("Failed to archive orders for tenant {}", tenant.getId(), ex);
+                }
+            }
+            Tenant last = page.get(page.size() - 1);
+            page = tenantRepository.findPageAfter(last.getCreatedAt(), last.getId(), TENANT_BATCH_SIZE);
+        }
+        dropEmptyPartitions();
+    }
+
+    LocalDate horizonOf(Tenant tenant, Instant now) {
+        int retentionDays = tenant.getOrderRetentionDays() != null
+                ? tenant.getOrderRetentionDays()
+                : properties.getOrders().getArchive().getDefaultRetentionDays();
+        return LocalDate.ofInstant(now, ZoneOffset.UTC).minusDays(retentionDays).withDayOfMonth(1);
+    }
+
+    /**
+     * The horizon moves through plain JDBC, which the JPA change listener never sees, so the cached tenant is evicted
+     * here, even when a month fails half way through.
+     */
+    void archiveTenant(UUID tenantId, LocalDate horizon) {
+        try {
+            Instant oldest = archiveRepository.findOldestHotOrder(tenantId, startOf(horizon));
+            LocalDate month = oldest == null ? horizon : LocalDate.ofInstant(oldest, ZoneOffset.UTC).withDayOfMonth(1);
+            for (; month.isBefore(horizon); month = month.plusMonths(1)) {
+                archiveMonth(tenantId, month);
+            }
+            new TransactionTemplate(transactionManager).executeWithoutResult(
+                    status -> archiveRepository.markArchivedBefore(tenantId, startOf(horizon)));
+        } finally {
+            eventPublisher.publishEvent(new TenantChangedEvent(tenantId));
+        }
+    }
+
+    private void archiveMonth(UUID tenantId, LocalDate month) {
+        Instant from = startOf(month);
+        Instant to = startOf(month.plusMonths(1));
+        Integer archived = new TransactionTemplate(transactionManager).execute(status -> {
+            List<ArchivedOrder> orders = archiveRepository.lockHotOrders(tenantId, from, to);
+            if (!orders.isEmpty()) {
+                Map<String, List<ArchivedOrder>> byCurrency = orders.stream().collect(
+                        Collectors.groupingBy(ArchivedOrder::currency, TreeMap::new, Collectors.toList()));
+                byCurrency.forEach((currency, segment) -> {
+                    byte[] payload = OrderSegmentCodec.encode(segment);
+                    archiveRepository.insertSegment(UuidV7.next(), tenantId, month, currency, segment, payload);
+                    archivedBytes.increment(payload.length);
+                });
+                archiveRepository.insertKeys(tenantId, orders);
+                archiveRepository.deleteHotOrders(tenantId, from, to);
+            }
+            archiveRepository.markArchivedBefore(tenantId, to);
+            return orders.size();
+        });
+        if (archived != null && archived > 0) {
+            archivedOrders.increment(archived);
+            log.info("Archived {} orders of tenant {} for {}", archived, tenantId, month);
+        }
+    }
+
+    private void dropEmptyPartitions() {
+        try {
+            Instant horizon = archiveRepository.findGlobalArchiveHorizon();
+            if (horizon == null) {
+                return;
+            }
+            for (LocalDate month : partitionRepository.partitionMonths()) {
+                if (startOf(month.plusMonths(1)).isAfter(horizon)) {
+                    break;
+                }
+                if (partitionRepository.dropIfEmpty(month)) {
+                    log.info("Dropped archived orders partition for {}", month);
+                }
+            }
+        } catch (RuntimeException ex) {
+            log.warn("Failed to drop archived order partitions", ex);
+        }
+    }
+
+    /**
+     * Archived facts in {@code created_at} order followed by the hot ones. Callers run it in a repeatable-read
+     * transaction so a concurrent archive run can neither hide nor duplicate a month.
+     */
+    public Stream<OrderFact> streamFacts(UUID tenantId) {
+        Stream<OrderFact> archived = segmentsByMonth(tenantId).values().stream()
+                .flatMap(segments -> decode(segments).stream()
+                        .sorted(OLDEST_FIRST)
+                        .map(ArchivedOrder::toFact));
+        return Stream.concat(archived, orderRepository.streamFactsByTenantId(tenantId));
+    }
+
+    /**
+     * Archived and hot facts created in {@code [from, toExclusive)}, in no particular order. Only the archived months
+     * overlapping the window are decoded.
+     */
+    public List<OrderFact> findFacts(UUID tenantId, Instant from, Instant toExclusive) {
+        List<OrderFact> facts = new ArrayList<>();
+        segmentsByMonth(tenantId).forEach((month, segments) -> {
+            Instant monthStart = month.atStartOfDay(ZoneOffset.UTC).toInstant();
+            Instant monthEnd = month.plusMonths(1).atStartOfDay(ZoneOffset.UTC).toInstant();
+            if (monthStart.isBefore(toExclusive) && monthEnd.isAfter(from)) {
+                decode(segments).stream()
+                        .filter(order -> !order.createdAt().isBefore(from) && order.createdAt().isBefore(toExclusive))
+                        .map(ArchivedOrder::toFact)
+                        .forEach(facts::add);
+            }
+        });
+        facts.addAll(orderRepository.findFacts(tenantId, from, toExclusive));
+        return facts;
+    }
+
+    /**
+     * Number of facts {@link #streamFacts} yields when run in the same transaction.
+     */
+    public long countFacts(UUID tenantId) {
+        long archived = archiveRepository.totalsByCurrency(tenantId).stream().mapToLong(CurrencyTotal::orderCount).sum();
+        return archived + orderRepository.countByTenantId(tenantId);
+    }
+
+    public void forEachArchived(UUID tenantId, Consumer<ArchivedOrder> consumer) {
+        segmentsByMonth(tenantId).values().forEach(segments -> decode(segments).stream()
+                .sorted(OLDEST_FIRST)
+                .forEach(consumer));
+    }
+
+    /**
+     * Continues a newest-first order listing into the archive, returning up to {@code limit} orders strictly before
+     * {@code before}, or the newest archived ones when it is null.
+     */
+    public List<Order> findPageBefore(UUID tenantId, PageCursor before, int limit) {
+        List<ArchiveSegment> segments;
+        if (before == null) {
+            segments = new ArrayList<>(archiveRepository.findSegments(tenantId));
+            Collections.reverse(segments);
+        } else {
+            segments = archiveRepository.findSegmentsStartingBefore(tenantId, before.createdAt());
+        }
+        Map<LocalDate, List<ArchiveSegment>> months = segments.stream()
+                .collect(Collectors.groupingBy(ArchiveSegment::month, LinkedHashMap::new, Collectors.toList()));
+        List<Order> page = new ArrayList<>(limit);
+        for (List<ArchiveSegment> month : months.values()) {
+            List<ArchivedOrder> orders = decode(month).stream()
+                    .filter(order -> before == null || isBefore(order, before))
+                    .sorted(NEWEST_FIRST)
+                    .toList();
+            for (ArchivedOrder order : orders) {
+                if (page.size() == limit) {
+                    return page;
+                }
+                page.add(order.toOrder(tenantId));
+            }
+        }
+        return page;
+    }
+
+    /**
+     * Whether an order has already been moved into the archive, so ingestion must not put it back into the hot table.
+     * The tenant's {@code ordersArchivedBefore} may come from a cache or from the start of a long sync and lag behind
+     * a run that just moved the horizon, so while archiving is enabled any order older than the current retention
+     * horizon has its key looked up as well.
+     */
+    public boolean isArchived(Tenant tenant, long shopOrderId, Instant createdAt) {
+        Instant archivedBefore = archivedBefore(tenant, Instant.now());
+        if (archivedBefore == null || (createdAt != null && !createdAt.isBefore(archivedBefore))) {
+            return false;
+        }
+        return archiveRepository.isArchived(tenant.getId(), shopOrderId);
+    }
+
+    private Instant archivedBefore(Tenant tenant, Instant now) {
+        Instant recorded = tenant.getOrdersArchivedBefore();
+        if (!properties.getOrders().getArchive().isEnabled()) {
+            return recorded;
+        }
+        Instant retention = startOf(horizonOf(tenant, now));
+        return recorded == null || recorded.isBefore(retention) ? retention : recorded;
+    }
+
+    private Map<LocalDate, List<ArchiveSegment>> segmentsByMonth(UUID tenantId) {
+        return archiveRepository.findSegments(tenantId).stream()
+                .collect(Collectors.groupingBy(ArchiveSegment::month, TreeMap::new, Collectors.toList()));
+    }
+
+    private List<ArchivedOrder> decode(List<ArchiveSegment> segments) {
+        List<ArchivedOrder> orders = new ArrayList<>();
+        for (ArchiveSegment segment : segments) {
+            orders.addAll(OrderSegmentCodec.decode(archiveRepository.findPayload(segment.id()), segment.currency()));
+        }
+        return orders;
+    }
+
+    private static boolean isBefore(ArchivedOrder order, PageCursor cursor) {
+        int byTime = order.createdAt().compareTo(cursor.createdAt());
+        return byTime < 0 || (byTime == 0 && compareUnsigned(order.id(), cursor.id()) < 0);
+    }
+
+    /**
+     * Orders UUIDs the way PostgreSQL does (unsigned, byte by byte), unlike {@link UUID#compareTo}.
+     */
+    private static int compareUnsigned(UUID left, UUID right) {
+        int high = Long.compareUnsigned(left.getMostSignificantBits(), right.getMostSignificantBits());
+        return high != 0 ? high : Long.compareUnsigned(left.getLeastSignificantBits(), right.getLeastSignificantBits());
+    }
+
+    private static Instant startOf(LocalDate day) {
+        return day.atStartOfDay(ZoneOffset.UTC).toInstant();
+    }
+}
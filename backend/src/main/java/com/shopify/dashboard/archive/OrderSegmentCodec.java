@@ -0,0 +1,156 @@
+package com.shopify.dashboard.archive;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Encodes the orders of one segment column by column: timestamps (microseconds, as stored by PostgreSQL) and shop
+ * ids as zigzag varint deltas, amounts as zigzag varints, the whole stream deflated. Orders must share the segment's currency and be sorted by
+ * {@code created_at}, which keeps the deltas small.
+ */
+public final class OrderSegmentCodec {
+
+    private static final int FORMAT_VERSION = 1;
+
+    private OrderSegmentCodec() {
+    }
+
+    public static byte[] encode(List<ArchivedOrder> orders) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        try (DataOutputStream out = new DataOutputStream(new DeflaterOutputStream(bytes, deflater))) {
+            out.writeByte(FORMAT_VERSION);
+            writeVarint(out, orders.size());
+            long previous = 0;
+            for (ArchivedOrder order : orders) {
+                long createdAt = micros(order.createdAt());
+                writeVarint(out, zigzag(createdAt - previous));
+                previous = createdAt;
+            }
+            previous = 0;
+            for (ArchivedOrder order : orders) {
+                writeVarint(out, zigzag(order.shopOrderId() - previous));
+                previous = order.shopOrderId();
+            }
+            for (ArchivedOrder order : orders) {
+                writeVarint(out, order.shopCustomerId() == null ? 0 : zigzag(order.shopCustomerId()) + 1);
+            }
+            for (ArchivedOrder order : orders) {
+                writeVarint(out, zigzag(order.totalPriceMinor()));
+            }
+            for (ArchivedOrder order : orders) {
+                writeVarint(out, order.updatedAt() == null
+                        ? 0
+                        : zigzag(micros(order.updatedAt()) - micros(order.createdAt())) + 1);
+            }
+            for (ArchivedOrder order : orders) {
+                out.writeUTF(order.orderNumber());
+            }
+            for (ArchivedOrder order : orders) {
+                out.writeLong(order.id().getMostSignificantBits());
+                out.writeLong(order.id().getLeastSignificantBits());
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        } finally {
+            deflater.end();
+        }
+        return bytes.toByteArray();
+    }
+
+    public static List<ArchivedOrder> decode(byte[] payload, String currency) {
+        try (DataInputStream in = new DataInputStream(new InflaterInputStream(new ByteArrayInputStream(payload)))) {
+            int version = in.readUnsignedByte();
+            if (version != FORMAT_VERSION) {
+                throw new IllegalStateException("Unsupported order segment format " + version);
+            }
+            int size = (int) readVarint(in);
+            long[] createdAt = new long[size];
+            long[] shopOrderIds = new long[size];
+            Long[] shopCustomerIds = new Long[size];
+            long[] totals = new long[size];
+            Instant[] updatedAt = new Instant[size];
+            String[] orderNumbers = new String[size];
+            long previous = 0;
+            for (int i = 0; i < size; i++) {
+                previous += unzigzag(readVarint(in));
+                createdAt[i] = previous;
+            }
+            previous = 0;
+            for (int i = 0; i < size; i++) {
+                previous += unzigzag(readVarint(in));
+                shopOrderIds[i] = previous;
+            }
+            for (int i = 0; i < size; i++) {
+                long value = readVarint(in);
+                shopCustomerIds[i] = value == 0 ? null : unzigzag(value - 1);
+            }
+            for (int i = 0; i < size; i++) {
+                totals[i] = unzigzag(readVarint(in));
+            }
+            for (int i = 0; i < size; i++) {
+                long value = readVarint(in);
+                updatedAt[i] = value == 0 ? null : ofMicros(createdAt[i] + unzigzag(value - 1));
+            }
+            for (int i = 0; i < size; i++) {
+                orderNumbers[i] = in.readUTF();
+            }
+            List<ArchivedOrder> orders = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                UUID id = new UUID(in.readLong(), in.readLong());
+                orders.add(new ArchivedOrder(id, shopOrderIds[i], shopCustomerIds[i], orderNumbers[i], totals[i],
+                        currency, ofMicros(createdAt[i]), updatedAt[i]));
+            }
+            return orders;
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private static long micros(Instant instant) {
+        return Math.addExact(Math.multiplyExact(instant.getEpochSecond(), 1_000_000L), instant.getNano() / 1_000);
+    }
+
+    private static Instant ofMicros(long micros) {
+        return Instant.ofEpochSecond(Math.floorDiv(micros, 1_000_000L), Math.floorMod(micros, 1_000_000L) * 1_000);
+    }
+
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static void writeVarint(DataOutputStream out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    private static long readVarint(DataInputStream in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed varint in order segment");
+    }
+}
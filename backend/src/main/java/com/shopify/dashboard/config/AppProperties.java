@@ -1,6 +1,10 @@
 package com.shopify.dashboard.config;
 
+import java.util.ArrayList;
+import java.util.List;
+import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
 @Data
@@ -10,15 +14,41 @@ public class AppProperties {
     private final Security security = new Security();
     private final Shopify shopify = new Shopify();
     private final Admin admin = new Admin();
+    private final Metrics metrics = new Metrics();
+    private final Analytics analytics = new Analytics();
+    private final Pagination pagination = new Pagination();
+    private final Export export = new Export();
+    private final Datasource datasource = new Datasource();
+    private final Workloads workloads = new Workloads();
+    private final Live live = new Live();
+    private final Dashboard dashboard = new Dashboard();
+    private final Observability observability = new Observability();
+    private final Orders orders = new Orders();
+    private final Tenants tenants = new Tenants();
+    private final Reactive reactive = new Reactive();
 
     @Data
     public static class Security {
         private final Jwt jwt = new Jwt();
+        private final PasswordHashing passwordHashing = new PasswordHashing();
 
         @Data
         public static class Jwt {
             private String secret;
             private long expirationSeconds;
+            private boolean claimsOnly = true;
+            private long userCacheTtlMs = 60000;
+            private long userCacheMaxSize = 10_000;
+            private long tokenCacheMaxSize = 10_000;
+        }
+
+        @Data
+        public static class PasswordHashing {
+            private int threads = 2;
+            private int queueCapacity = 32;
+            private int maxInFlightPerAddress = 4;
+            private int maxInFlightPerEmail = 2;
+            private long retryAfterMs = 1000;
         }
     }
 
@@ -29,6 +59,27 @@ public class AppProperties {
         private long requestTimeoutMs;
         private int maxRetries = 3;
         private long rateLimitBackoffSeconds = 5;
+        private String baseUrl = "https://{shop}";
+        private int pageSize = 250;
+        private int callLimitHeadroom = 4;
+        private double leakRatePerSecond = 2;
+        private final Stub stub = new Stub();
+
+        @Data
+        public static class Stub {
+            private boolean enabled;
+            private int port = 8089;
+            private long seed = 42;
+            private long customers = 10_000;
+            private long orders = 100_000;
+            private long products = 1_000;
+            private int historyDays = 365;
+            private String endDate;
+            private int bucketCapacity = 40;
+            private double leakRatePerSecond = 2;
+            private String webhookTarget = "http://localhost:8080/api/webhooks/shopify";
+            private int webhookConcurrency = 16;
+        }
     }
 
     @Data
@@ -36,4 +87,162 @@ public class AppProperties {
         private String email;
         private String password;
     }
+
+    @Data
+    public static class Metrics {
+        private int topCustomersCapacity = 50;
+        private int maxSeriesBuckets = 10_000;
+    }
+
+    @Data
+    public static class Analytics {
+        private final ColumnStore columnStore = new ColumnStore();
+
+        @Data
+        public static class ColumnStore {
+            private boolean enabled;
+            private long maxBytes = 64L * 1024 * 1024;
+        }
+    }
+
+    @Data
+    public static class Pagination {
+        private int defaultPageSize = 50;
+        private int maxPageSize = 200;
+
+        public int resolve(Integer requested) {
+            if (requested == null) {
+                return defaultPageSize;
+            }
+            return Math.min(Math.max(requested, 1), maxPageSize);
+        }
+    }
+
+    @Data
+    public static class Export {
+        private int fetchSize = 1000;
+        private int maxConcurrent = 2;
+    }
+
+    @Data
+    public static class Datasource {
+        private List<Replica> replicas = new ArrayList<>();
+        private long maxReplicationLagMs = 5000;
+        private long lagCheckIntervalMs = 2000;
+        private final Pools pools = new Pools();
+
+        @Data
+        public static class Pools {
+            private final Pool api = new Pool(10, 2000);
+            private final Pool ingestion = new Pool(4, 30000);
+            private final Pool webhook = new Pool(4, 5000);
+            private final Pool export = new Pool(2, 5000);
+        }
+
+        @Data
+        @NoArgsConstructor
+        @AllArgsConstructor
+        public static class Pool {
+            private int maximumPoolSize;
+            private long connectionTimeoutMs;
+        }
+
+        @Data
+        public static class Replica {
+            private String url;
+            private String username;
+            private String password;
+            private int maximumPoolSize = 10;
+        }
+    }
+
+    @Data
+    public static class Workloads {
+        private final Executor api = new Executor(8, 200);
+        private final Executor ingestion = new Executor(2, 50);
+        private final Executor webhook = new Executor(4, 500);
+
+        @Data
+        @NoArgsConstructor
+        @AllArgsConstructor
+        public static class Executor {
+            private int threads;
+            private int queueCapacity;
+        }
+    }
+
+    @Data
+    public static class Live {
+        private long heartbeatIntervalMs = 15000;
+        private int queueCapacity = 256;
+        private int maxSubscribers = 10_000;
+        private int dispatcherThreads = 4;
+    }
+
+    @Data
+    public static class Dashboard {
+        private int maxWidgets = 16;
+        private long widgetTimeoutMs = 10000;
+    }
+
+    @Data
+    public static class Observability {
+        private long slowQueryThresholdMs = 500;
+        private long slowRequestThresholdMs = 1000;
+        private long slowRequestLogIntervalMs = 10000;
+        private List<Long> requestSloMs = new ArrayList<>(List.of(50L, 100L, 250L, 500L, 1000L, 2500L));
+    }
+
+    @Data
+    public static class Orders {
+        private final Partitions partitions = new Partitions();
+        private final Archive archive = new Archive();
+
+        @Data
+        public static class Partitions {
+            private int monthsAhead = 3;
+            private String maintenanceCron = "0 15 3 * * *";
+        }
+
+        @Data
+        public static class Archive {
+            private boolean enabled;
+            private int defaultRetentionDays = 730;
+            private String cron = "0 45 3 * * *";
+        }
+    }
+
+    @Data
+    public static class Tenants {
+        private final Purge purge = new Purge();
+        private final Sync sync = new Sync();
+        private final Registry registry = new Registry();
+
+        @Data
+        public static class Purge {
+            private int batchSize = 1000;
+            private long intervalMs = 200;
+            private long leaseMs = 30000;
+            private long maxReplicaLagMs = 2000;
+        }
+
+        @Data
+        public static class Sync {
+            private long leaseMs = 120000;
+            private long renewIntervalMs = 30000;
+        }
+
+        @Data
+        public static class Registry {
+            private long maxSize = 10_000;
+            private long ttlMs = 60000;
+        }
+    }
+
+    @Data
+    public static class Reactive {
+        private boolean enabled;
+        private int port = 8081;
+        private int eventLoopThreads = 4;
+    }
 }
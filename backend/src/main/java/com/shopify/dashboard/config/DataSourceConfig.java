@@ -0,0 +1,113 @@
+package com.shopify.dashboard.config;
+
+import com.shopify.dashboard.datasource.ReplicaRoutingDataSource;
+import com.shopify.dashboard.datasource.ReplicaTarget;
+import com.shopify.dashboard.monitoring.HibernateQueryStatsIntegrator;
+import com.shopify.dashboard.monitoring.QueryMetricsListener;
+import com.shopify.dashboard.workload.Workload;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import javax.sql.DataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.hibernate.jpa.boot.spi.IntegratorProvider;
+import org.hibernate.jpa.boot.spi.JpaSettings;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.transaction.TransactionManagerCustomizers;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.transaction.TransactionManager;
+
+@Configuration
+public class DataSourceConfig {
+
+    @Bean
+    public ReplicaRoutingDataSource routingDataSource(DataSourceProperties dataSourceProperties, AppProperties properties,
+                                                     Environment environment, MeterRegistry meterRegistry) {
+        MicrometerMetricsTrackerFactory metrics = new MicrometerMetricsTrackerFactory(meterRegistry);
+        HikariConfig base = new HikariConfig();
+        base.setJdbcUrl(dataSourceProperties.determineUrl());
+        base.setUsername(dataSourceProperties.determineUsername());
+        base.setPassword(dataSourceProperties.determinePassword());
+        base.setDriverClassName(dataSourceProperties.determineDriverClassName());
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(base));
+
+        Map<Workload, DataSource> primaries = new EnumMap<>(Workload.class);
+        AppProperties.Datasource.Pools pools = properties.getDatasource().getPools();
+        primaries.put(Workload.API, primaryPool(base, Workload.API, pools.getApi(), metrics));
+        primaries.put(Workload.INGESTION, primaryPool(base, Workload.INGESTION, pools.getIngestion(), metrics));
+        primaries.put(Workload.WEBHOOK, primaryPool(base, Workload.WEBHOOK, pools.getWebhook(), metrics));
+        primaries.put(Workload.EXPORT, primaryPool(base, Workload.EXPORT, pools.getExport(), metrics));
+
+        List<ReplicaTarget> replicas = new ArrayList<>();
+        List<AppProperties.Datasource.Replica> configured = properties.getDatasource().getReplicas();
+        for (int i = 0; i < configured.size(); i++) {
+            AppProperties.Datasource.Replica replica = configured.get(i);
+            HikariConfig config = new HikariConfig();
+            base.copyStateTo(config);
+            config.setPoolName("replica-" + i);
+            config.setJdbcUrl(replica.getUrl());
+            config.setUsername(replica.getUsername() != null ? replica.getUsername() : base.getUsername());
+            config.setPassword(replica.getPassword() != null ? replica.getPassword() : base.getPassword());
+            config.setMaximumPoolSize(replica.getMaximumPoolSize());
+            config.setReadOnly(true);
+            config.setInitializationFailTimeout(-1);
+            config.setMetricsTrackerFactory(metrics);
+            replicas.add(new ReplicaTarget(config.getPoolName(), new HikariDataSource(config)));
+        }
+        return new ReplicaRoutingDataSource(primaries, replicas);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource routingDataSource, QueryMetricsListener queryMetricsListener) {
+        return ProxyDataSourceBuilder.create("routing", new LazyConnectionDataSourceProxy(routingDataSource))
+                .listener(queryMetricsListener)
+                .build();
+    }
+
+    /**
+     * Declared explicitly because R2DBC contributes a reactive transaction manager as well; without this JPA's would
+     * be skipped depending on auto-configuration order, and {@code @Transactional} needs a primary to choose.
+     */
+    @Bean
+    @Primary
+    public JpaTransactionManager transactionManager(EntityManagerFactory entityManagerFactory,
+                                                    ObjectProvider<TransactionManagerCustomizers> customizers) {
+        JpaTransactionManager transactionManager = new JpaTransactionManager(entityManagerFactory);
+        customizers.ifAvailable(customizer -> customizer.customize((TransactionManager) transactionManager));
+        return transactionManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer queryStatsHibernateCustomizer() {
+        return hibernateProperties -> hibernateProperties.put(JpaSettings.INTEGRATOR_PROVIDER,
+                (IntegratorProvider) () -> List.of(new HibernateQueryStatsIntegrator()));
+    }
+
+    private static HikariDataSource primaryPool(HikariConfig base, Workload workload, AppProperties.Datasource.Pool pool,
+                                                MicrometerMetricsTrackerFactory metrics) {
+        HikariConfig config = new HikariConfig();
+        base.copyStateTo(config);
+        config.setPoolName(ReplicaRoutingDataSource.primaryKey(workload));
+        config.setMaximumPoolSize(pool.getMaximumPoolSize());
+        config.setMinimumIdle(Math.min(config.getMinimumIdle(), pool.getMaximumPoolSize()));
+        config.setConnectionTimeout(pool.getConnectionTimeoutMs());
+        config.setMetricsTrackerFactory(metrics);
+        return new HikariDataSource(config);
+    }
+}
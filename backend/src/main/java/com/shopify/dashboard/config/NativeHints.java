@@ -0,0 +1,80 @@
+package com.shopify.dashboard.config;
+
+import com.shopify.dashboard.dto.ApiResponse;
+import com.shopify.dashboard.dto.LiveMetricsDelta;
+import com.shopify.dashboard.dto.MetricsOverviewDto;
+import com.shopify.dashboard.dto.OrderMetricsPoint;
+import com.shopify.dashboard.dto.OrderValuePercentilesDto;
+import com.shopify.dashboard.dto.RecentOrderDto;
+import com.shopify.dashboard.dto.TopCustomerDto;
+import com.shopify.dashboard.dto.UniqueCustomersDto;
+import com.shopify.dashboard.dto.shopify.ShopifyCustomersResponse;
+import com.shopify.dashboard.dto.shopify.ShopifyOrdersResponse;
+import com.shopify.dashboard.dto.shopify.ShopifyProductsResponse;
+import com.shopify.dashboard.entity.Customer;
+import com.shopify.dashboard.entity.Order;
+import com.shopify.dashboard.entity.Product;
+import com.shopify.dashboard.entity.Tenant;
+import com.shopify.dashboard.entity.User;
+import com.shopify.dashboard.entity.UuidV7Generator;
+import java.util.List;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Hints Spring AOT cannot infer for the native image: payloads Jackson binds outside controller signatures (Shopify
+ * responses, reactive and SSE bodies, the bundled mock data), reflective entity and id generator access, and the
+ * jjwt implementation classes it loads by name.
+ */
+public class NativeHints implements RuntimeHintsRegistrar {
+
+    private static final List<Class<?>> BOUND_TYPES = List.of(
+            ShopifyCustomersResponse.class,
+            ShopifyOrdersResponse.class,
+            ShopifyProductsResponse.class,
+            ApiResponse.class,
+            MetricsOverviewDto.class,
+            OrderMetricsPoint.class,
+            RecentOrderDto.class,
+            UniqueCustomersDto.class,
+            OrderValuePercentilesDto.class,
+            TopCustomerDto.class,
+            LiveMetricsDelta.class);
+
+    private static final List<String> BOUND_TYPE_NAMES = List.of(
+            "com.shopify.dashboard.service.MockShopifyDataService$MockTenantFile",
+            "com.shopify.dashboard.service.MockShopifyDataService$MockTenantData");
+
+    private static final List<Class<?>> ENTITIES = List.of(
+            Customer.class, Order.class, Product.class, Tenant.class, User.class);
+
+    private static final List<String> JJWT_TYPES = List.of(
+            "io.jsonwebtoken.impl.DefaultJwtBuilder",
+            "io.jsonwebtoken.impl.DefaultJwtParserBuilder",
+            "io.jsonwebtoken.impl.DefaultJwtParser",
+            "io.jsonwebtoken.impl.compression.DefaultCompressionCodecResolver",
+            "io.jsonwebtoken.jackson.io.JacksonSerializer",
+            "io.jsonwebtoken.jackson.io.JacksonDeserializer");
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        BindingReflectionHintsRegistrar binding = new BindingReflectionHintsRegistrar();
+        BOUND_TYPES.forEach(type -> binding.registerReflectionHints(hints.reflection(), type));
+        BOUND_TYPE_NAMES.forEach(name -> binding.registerReflectionHints(hints.reflection(),
+                ClassUtils.resolveClassName(name, classLoader)));
+        ENTITIES.forEach(entity -> hints.reflection().registerType(entity,
+                MemberCategory.DECLARED_FIELDS,
+                MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                MemberCategory.INVOKE_DECLARED_METHODS));
+        hints.reflection().registerType(UuidV7Generator.class, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+        JJWT_TYPES.forEach(name -> hints.reflection().registerType(TypeReference.of(name),
+                MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS,
+                MemberCategory.INVOKE_DECLARED_CONSTRUCTORS));
+        hints.resources().registerPattern("mock-data/*.json");
+        hints.resources().registerPattern("db/migration/*.sql");
+    }
+}
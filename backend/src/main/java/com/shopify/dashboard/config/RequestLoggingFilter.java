@@ -1,28 +0,0 @@
-package com.shopify.dashboard.config;
-
-import jakarta.servlet.FilterChain;
-import jakarta.servlet.ServletException;
-import jakarta.servlet.http.HttpServletRequest;
-import jakarta.servlet.http.HttpServletResponse;
-import java.io.IOException;
-import java.time.Instant;
-import lombok.extern.slf4j.Slf4j;
-import org.springframework.core.annotation.Order;
-import org.springframework.stereotype.Component;
-import org.springframework.web.filter.OncePerRequestFilter;
-
-@Slf4j
-@Component
-@Order(1)
-public class RequestLoggingFilter extends OncePerRequestFilter {
-
-    @Override
-    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
-            throws ServletException, IOException {
-        long start = System.currentTimeMillis();
-        filterChain.doFilter(request, response);
-        long took = System.currentTimeMillis() - start;
-        log.debug("{} {} -> {} ({} ms at {})", request.getMethod(), request.getRequestURI(), response.getStatus(), took,
-                Instant.now());
-    }
-}
@@ -5,7 +5,9 @@ import com.shopify.dashboard.dto.AuthRequest;
 import com.shopify.dashboard.dto.AuthResponse;
 import com.shopify.dashboard.dto.RegisterRequest;
 import com.shopify.dashboard.service.AuthService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
+import java.util.concurrent.CompletableFuture;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -21,12 +23,16 @@ public class AuthController {
     private final AuthService authService;
 
     @PostMapping("/login")
-    public ResponseEntity<ApiResponse<AuthResponse>> login(@Valid @RequestBody AuthRequest request) {
-        return ResponseEntity.ok(ApiResponse.success(authService.login(request)));
+    public CompletableFuture<ResponseEntity<ApiResponse<AuthResponse>>> login(
+            @Valid @RequestBody AuthRequest request, HttpServletRequest httpRequest) {
+        return authService.login(request, httpRequest.getRemoteAddr())
+                .thenApply(response -> ResponseEntity.ok(ApiResponse.success(response)));
     }
 
     @PostMapping("/register")
-    public ResponseEntity<ApiResponse<AuthResponse>> register(@Valid @RequestBody RegisterRequest request) {
-        return ResponseEntity.ok(ApiResponse.success(authService.register(request)));
+    public CompletableFuture<ResponseEntity<ApiResponse<AuthResponse>>> register(
+            @Valid @RequestBody RegisterRequest request, HttpServletRequest httpRequest) {
+        return authService.register(request, httpRequest.getRemoteAddr())
+                .thenApply(response -> ResponseEntity.ok(ApiResponse.success(response)));
     }
 }
@@ -0,0 +1,29 @@
+package com.shopify.dashboard.controller;
+
+import com.shopify.dashboard.dto.ApiResponse;
+import com.shopify.dashboard.dto.DashboardRequest;
+import com.shopify.dashboard.dto.WidgetResult;
+import com.shopify.dashboard.entity.Tenant;
+import com.shopify.dashboard.service.DashboardService;
+import jakarta.validation.Valid;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/{tenantId}/dashboard")
+@RequiredArgsConstructor
+public class DashboardController {
+
+    private final DashboardService dashboardService;
+
+    @PostMapping
+    public ResponseEntity<ApiResponse<Map<String, WidgetResult>>> dashboard(Tenant tenant,
+                                                                            @Valid @RequestBody DashboardRequest request) {
+        return ResponseEntity.ok(ApiResponse.success(dashboardService.load(tenant, request)));
+    }
+}
@@ -0,0 +1,45 @@
+package com.shopify.dashboard.controller;
+
+import com.shopify.dashboard.entity.Tenant;
+import com.shopify.dashboard.export.ExportDataset;
+import com.shopify.dashboard.export.ExportFormat;
+import com.shopify.dashboard.export.ExportSlot;
+import com.shopify.dashboard.export.TenantExportService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+@RestController
+@RequestMapping("/api/{tenantId}/export")
+@RequiredArgsConstructor
+public class ExportController {
+
+    private final TenantExportService exportService;
+
+    @GetMapping("/{dataset}")
+    public ResponseEntity<StreamingResponseBody> export(Tenant tenant,
+                                                        @PathVariable String dataset,
+                                                        @RequestParam(defaultValue = "ndjson") String format,
+                                                        @RequestParam(defaultValue = "false") boolean gzip) {
+        ExportDataset exportDataset = ExportDataset.parse(dataset);
+        ExportFormat exportFormat = ExportFormat.parse(format);
+        String fileName = exportDataset.fileName() + "." + exportFormat.extension() + (gzip ? ".gz" : "");
+        ExportSlot slot = exportService.reserveSlot();
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(gzip ? "application/gzip" : exportFormat.contentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(fileName).build().toString())
+                .body(out -> {
+                    try (slot) {
+                        exportService.export(tenant.getId(), exportDataset, exportFormat, gzip, out);
+                    }
+                });
+    }
+}
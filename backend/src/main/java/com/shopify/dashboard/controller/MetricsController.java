@@ -1,22 +1,30 @@
 package com.shopify.dashboard.controller;
 
+import com.shopify.dashboard.analytics.MetricsInterval;
 import com.shopify.dashboard.dto.ApiResponse;
 import com.shopify.dashboard.dto.MetricsOverviewDto;
 import com.shopify.dashboard.dto.OrderMetricsPoint;
+import com.shopify.dashboard.dto.OrderValuePercentilesDto;
 import com.shopify.dashboard.dto.RecentOrderDto;
 import com.shopify.dashboard.dto.TopCustomerDto;
+import com.shopify.dashboard.dto.UniqueCustomersDto;
+import com.shopify.dashboard.entity.Tenant;
+import com.shopify.dashboard.live.LiveMetricsHub;
+import com.shopify.dashboard.security.JwtAuthenticationFilter;
 import com.shopify.dashboard.service.MetricsService;
+import io.jsonwebtoken.Claims;
 import java.time.LocalDate;
 import java.util.List;
-import java.util.UUID;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
-import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestAttribute;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 @RestController
 @RequestMapping("/api/{tenantId}/metrics")
@@ -24,29 +32,55 @@ import org.springframework.web.bind.annotation.RestController;
 public class MetricsController {
 
     private final MetricsService metricsService;
+    private final LiveMetricsHub liveMetricsHub;
 
     @GetMapping("/overview")
-    public ResponseEntity<ApiResponse<MetricsOverviewDto>> overview(@PathVariable UUID tenantId) {
-        return ResponseEntity.ok(ApiResponse.success(metricsService.getOverview(tenantId)));
+    public ResponseEntity<ApiResponse<MetricsOverviewDto>> overview(Tenant tenant) {
+        return ResponseEntity.ok(ApiResponse.success(metricsService.getOverview(tenant)));
     }
 
     @GetMapping("/orders")
     public ResponseEntity<ApiResponse<List<OrderMetricsPoint>>> orders(
-            @PathVariable UUID tenantId,
+            Tenant tenant,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "day") String interval,
+            @RequestParam(required = false) Integer maxPoints) {
+        return ResponseEntity.ok(ApiResponse.success(metricsService.getOrderMetrics(tenant, from, to,
+                MetricsInterval.parse(interval), maxPoints)));
+    }
+
+    @GetMapping("/unique-customers")
+    public ResponseEntity<ApiResponse<UniqueCustomersDto>> uniqueCustomers(
+            Tenant tenant,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
-        return ResponseEntity.ok(ApiResponse.success(metricsService.getOrderMetrics(tenantId, from, to)));
+        return ResponseEntity.ok(ApiResponse.success(metricsService.getUniqueCustomers(tenant, from, to)));
+    }
+
+    @GetMapping("/order-value-percentiles")
+    public ResponseEntity<ApiResponse<OrderValuePercentilesDto>> orderValuePercentiles(
+            Tenant tenant,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(ApiResponse.success(metricsService.getOrderValuePercentiles(tenant, from, to)));
     }
 
     @GetMapping("/top-customers")
-    public ResponseEntity<ApiResponse<List<TopCustomerDto>>> topCustomers(@PathVariable UUID tenantId,
+    public ResponseEntity<ApiResponse<List<TopCustomerDto>>> topCustomers(Tenant tenant,
                                                                           @RequestParam(defaultValue = "5") int limit) {
-        return ResponseEntity.ok(ApiResponse.success(metricsService.getTopCustomers(tenantId, limit)));
+        return ResponseEntity.ok(ApiResponse.success(metricsService.getTopCustomers(tenant.getId(), limit)));
     }
 
     @GetMapping("/recent-orders")
-    public ResponseEntity<ApiResponse<List<RecentOrderDto>>> recentOrders(@PathVariable UUID tenantId,
+    public ResponseEntity<ApiResponse<List<RecentOrderDto>>> recentOrders(Tenant tenant,
                                                                           @RequestParam(defaultValue = "10") int limit) {
-        return ResponseEntity.ok(ApiResponse.success(metricsService.getRecentOrders(tenantId, limit)));
+        return ResponseEntity.ok(ApiResponse.success(metricsService.getRecentOrders(tenant.getId(), limit)));
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(Tenant tenant,
+                             @RequestAttribute(JwtAuthenticationFilter.CLAIMS_ATTRIBUTE) Claims claims) {
+        return liveMetricsHub.subscribe(tenant.getId(), claims);
     }
 }
@@ -0,0 +1,28 @@
+package com.shopify.dashboard.controller;
+
+import com.shopify.dashboard.dto.ApiResponse;
+import com.shopify.dashboard.dto.CursorPage;
+import com.shopify.dashboard.dto.OrderResponse;
+import com.shopify.dashboard.entity.Tenant;
+import com.shopify.dashboard.service.OrderService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/{tenantId}/orders")
+@RequiredArgsConstructor
+public class OrderController {
+
+    private final OrderService orderService;
+
+    @GetMapping
+    public ResponseEntity<ApiResponse<CursorPage<OrderResponse>>> list(Tenant tenant,
+                                                                       @RequestParam(required = false) String cursor,
+                                                                       @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(ApiResponse.success(orderService.listOrders(tenant, cursor, limit)));
+    }
+}
@@ -2,18 +2,18 @@ package com.shopify.dashboard.controller;
 
 import com.shopify.dashboard.dto.ApiResponse;
 import com.shopify.dashboard.dto.CreateProductRequest;
+import com.shopify.dashboard.dto.CursorPage;
 import com.shopify.dashboard.dto.ProductResponse;
+import com.shopify.dashboard.entity.Tenant;
 import com.shopify.dashboard.service.ProductService;
 import jakarta.validation.Valid;
-import java.util.List;
-import java.util.UUID;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
-import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 @RestController
@@ -24,14 +24,16 @@ public class ProductController {
     private final ProductService productService;
 
     @GetMapping
-    public ResponseEntity<ApiResponse<List<ProductResponse>>> list(@PathVariable UUID tenantId) {
-        return ResponseEntity.ok(ApiResponse.success(productService.listProducts(tenantId)));
+    public ResponseEntity<ApiResponse<CursorPage<ProductResponse>>> list(Tenant tenant,
+                                                                         @RequestParam(required = false) String cursor,
+                                                                         @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(ApiResponse.success(productService.listProducts(tenant, cursor, limit)));
     }
 
     @PostMapping
-    public ResponseEntity<ApiResponse<ProductResponse>> create(@PathVariable UUID tenantId,
+    public ResponseEntity<ApiResponse<ProductResponse>> create(Tenant tenant,
                                                                @Valid @RequestBody CreateProductRequest request) {
-        ProductResponse response = productService.createProduct(tenantId, request);
+        ProductResponse response = productService.createProduct(tenant, request);
         return ResponseEntity.ok(ApiResponse.success(response, "Product created"));
     }
 }
@@ -1,14 +1,18 @@
 package com.shopify.dashboard.controller;
 
 import com.shopify.dashboard.dto.ApiResponse;
+import com.shopify.dashboard.dto.CursorPage;
 import com.shopify.dashboard.dto.SyncResponse;
 import com.shopify.dashboard.dto.TenantOnboardRequest;
+import com.shopify.dashboard.dto.TenantPurgeStatus;
 import com.shopify.dashboard.dto.TenantResponse;
+import com.shopify.dashboard.entity.Tenant;
 import com.shopify.dashboard.service.TenantService;
+import com.shopify.dashboard.tenant.TenantContextInterceptor;
 import jakarta.validation.Valid;
-import java.util.List;
 import java.util.UUID;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -16,6 +20,7 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 @RestController
@@ -31,23 +36,33 @@ public class TenantController {
     }
 
     @GetMapping
-    public ResponseEntity<ApiResponse<List<TenantResponse>>> list() {
-        return ResponseEntity.ok(ApiResponse.success(tenantService.listTenants()));
+    public ResponseEntity<ApiResponse<CursorPage<TenantResponse>>> list(@RequestParam(required = false) String cursor,
+                                                                        @RequestParam(required = false) Integer limit) {
+        TenantContextInterceptor.requirePlatformAdmin();
+        return ResponseEntity.ok(ApiResponse.success(tenantService.listTenants(cursor, limit)));
     }
 
-    @GetMapping("/{id}")
-    public ResponseEntity<ApiResponse<TenantResponse>> get(@PathVariable UUID id) {
-        return ResponseEntity.ok(ApiResponse.success(tenantService.getTenant(id)));
+    @GetMapping("/{tenantId}")
+    public ResponseEntity<ApiResponse<TenantResponse>> get(Tenant tenant) {
+        return ResponseEntity.ok(ApiResponse.success(tenantService.getTenant(tenant)));
     }
 
-    @DeleteMapping("/{id}")
-    public ResponseEntity<ApiResponse<Void>> delete(@PathVariable UUID id) {
-        tenantService.deleteTenant(id);
-        return ResponseEntity.ok(ApiResponse.success(null, "Tenant deleted"));
+    @DeleteMapping("/{tenantId}")
+    public ResponseEntity<ApiResponse<TenantPurgeStatus>> delete(Tenant tenant) {
+        TenantContextInterceptor.requirePlatformAdmin();
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(ApiResponse.success(tenantService.deleteTenant(tenant), "Tenant deletion scheduled"));
     }
 
-    @PostMapping("/{id}/sync")
-    public ResponseEntity<ApiResponse<SyncResponse>> sync(@PathVariable UUID id) {
-        return ResponseEntity.ok(ApiResponse.success(tenantService.triggerSync(id)));
+    // Not {tenantId}: the tenant is already hidden once deleted, so the interceptor could not resolve it.
+    @GetMapping("/{id}/deletion")
+    public ResponseEntity<ApiResponse<TenantPurgeStatus>> deletion(@PathVariable UUID id) {
+        TenantContextInterceptor.requirePlatformAdmin();
+        return ResponseEntity.ok(ApiResponse.success(tenantService.getPurgeStatus(id)));
+    }
+
+    @PostMapping("/{tenantId}/sync")
+    public ResponseEntity<ApiResponse<SyncResponse>> sync(Tenant tenant) {
+        return ResponseEntity.ok(ApiResponse.success(tenantService.triggerSync(tenant)));
     }
 }
@@ -8,6 +8,8 @@ import com.shopify.dashboard.monitoring.SyncMetrics;
 import com.shopify.dashboard.service.ShopifyIngestionService;
 import com.shopify.dashboard.service.TenantService;
 import com.shopify.dashboard.util.HmacVerifier;
+import com.shopify.dashboard.workload.Workload;
+import com.shopify.dashboard.workload.WorkloadExecutors;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
@@ -29,6 +31,7 @@ public class WebhookController {
     private final TenantService tenantService;
     private final ShopifyIngestionService ingestionService;
     private final SyncMetrics syncMetrics;
+    private final WorkloadExecutors workloadExecutors;
 
     @PostMapping("/shopify")
     public ResponseEntity<ApiResponse<Void>> handleWebhook(@RequestHeader("X-Shopify-Hmac-Sha256") String hmac,
@@ -46,19 +49,27 @@ public class WebhookController {
                 log.warn("Webhook topic missing for tenant {}", tenant.getShopDomain());
                 return ResponseEntity.ok(ApiResponse.success(null, "Ignored"));
             }
-            if (topic.startsWith("customers")) {
-                ingestionService.upsertCustomerFromWebhook(tenant, payload);
-            } else if (topic.startsWith("orders")) {
-                ingestionService.upsertOrderFromWebhook(tenant, payload);
-            } else if (topic.startsWith("products")) {
-                ingestionService.upsertProductFromWebhook(tenant, payload);
-            } else {
-                log.info("Unhandled Shopify topic {}", topic);
-            }
+            // Wait for the webhook pool so a failed upsert is answered with an error and Shopify redelivers it.
+            workloadExecutors.call(Workload.WEBHOOK, () -> {
+                process(tenant, topic, payload);
+                return null;
+            });
             success = true;
             return ResponseEntity.ok(ApiResponse.success(null, "Webhook processed"));
         } finally {
             syncMetrics.recordWebhookEvent(topicLabel, success);
         }
     }
+
+    private void process(Tenant tenant, String topic, String payload) {
+        if (topic.startsWith("customers")) {
+            ingestionService.upsertCustomerFromWebhook(tenant, payload);
+        } else if (topic.startsWith("orders")) {
+            ingestionService.upsertOrderFromWebhook(tenant, payload);
+        } else if (topic.startsWith("products")) {
+            ingestionService.upsertProductFromWebhook(tenant, payload);
+        } else {
+            log.info("Unhandled Shopify topic {}", topic);
+        }
+    }
 }
@@ -0,0 +1,87 @@
+package com.shopify.dashboard.datasource;
+
+import com.shopify.dashboard.workload.Workload;
+import com.shopify.dashboard.workload.WorkloadContext;
+import com.zaxxer.hikari.HikariDataSource;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.sql.DataSource;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Sends connections requested inside read-only API transactions to a healthy replica, round robin, and everything
+ * else to the primary pool of the current {@link Workload}. Must be wrapped in a
+ * {@code LazyConnectionDataSourceProxy} so that the connection is only fetched once the transaction's read-only
+ * flag is known.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+
+    private final Map<Workload, DataSource> primaries;
+    private final List<ReplicaTarget> replicas;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReplicaRoutingDataSource(Map<Workload, DataSource> primaries, List<ReplicaTarget> replicas) {
+        if (!primaries.containsKey(Workload.API)) {
+            throw new IllegalArgumentException("An API primary pool is required");
+        }
+        this.primaries = new EnumMap<>(primaries);
+        this.replicas = List.copyOf(replicas);
+        Map<Object, Object> targets = new HashMap<>();
+        this.primaries.forEach((workload, dataSource) -> targets.put(primaryKey(workload), dataSource));
+        this.replicas.forEach(replica -> targets.put(replica.name(), replica.dataSource()));
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(this.primaries.get(Workload.API));
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    public static String primaryKey(Workload workload) {
+        return "primary-" + workload.label();
+    }
+
+    public List<ReplicaTarget> replicas() {
+        return replicas;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        Workload workload = WorkloadContext.current();
+        if (workload == Workload.API && TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            ReplicaTarget replica = nextHealthyReplica();
+            if (replica != null) {
+                return replica.name();
+            }
+        }
+        return primaryKey(primaries.containsKey(workload) ? workload : Workload.API);
+    }
+
+    @Override
+    public void close() {
+        replicas.forEach(replica -> closePool(replica.dataSource()));
+        primaries.values().forEach(ReplicaRoutingDataSource::closePool);
+    }
+
+    private ReplicaTarget nextHealthyReplica() {
+        if (replicas.isEmpty()) {
+            return null;
+        }
+        int start = Math.floorMod(next.getAndIncrement(), replicas.size());
+        for (int i = 0; i < replicas.size(); i++) {
+            ReplicaTarget replica = replicas.get((start + i) % replicas.size());
+            if (replica.isHealthy()) {
+                return replica;
+            }
+        }
+        return null;
+    }
+
+    private static void closePool(DataSource dataSource) {
+        if (dataSource instanceof HikariDataSource hikari) {
+            hikari.close();
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.shopify.dashboard.datasource;
+
+import javax.sql.DataSource;
+
+public final class ReplicaTarget {
+
+    private final String name;
+    private final DataSource dataSource;
+    private volatile boolean healthy;
+    private volatile long lagMillis = -1;
+
+    public ReplicaTarget(String name, DataSource dataSource) {
+        this.name = name;
+        this.dataSource = dataSource;
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public DataSource dataSource() {
+        return dataSource;
+    }
+
+    public boolean isHealthy() {
+        return healthy;
+    }
+
+    public long lagMillis() {
+        return lagMillis;
+    }
+
+    void update(long lagMillis, boolean healthy) {
+        this.lagMillis = lagMillis;
+        this.healthy = healthy;
+    }
+}
@@ -0,0 +1,73 @@
+package com.shopify.dashboard.datasource;
+
+import com.shopify.dashboard.config.AppProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Takes replicas out of rotation while their replay lag exceeds {@code app.datasource.max-replication-lag-ms} or
+ * they cannot be reached. A replica that has replayed everything it received counts as zero lag, so an idle
+ * primary does not make it look stale.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ReplicationLagMonitor {
+
+    static final String LAG_QUERY = """
+            SELECT CASE
+                WHEN NOT pg_is_in_recovery() OR pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000, 0)
+            END
+            """;
+
+    private final ReplicaRoutingDataSource routingDataSource;
+    private final AppProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    @PostConstruct
+    void registerMetrics() {
+        for (ReplicaTarget replica : routingDataSource.replicas()) {
+            Gauge.builder("datasource.replica.lag", replica, ReplicaTarget::lagMillis)
+                    .tag("pool", replica.name())
+                    .baseUnit("milliseconds")
+                    .register(meterRegistry);
+            Gauge.builder("datasource.replica.healthy", replica, target -> target.isHealthy() ? 1 : 0)
+                    .tag("pool", replica.name())
+                    .register(meterRegistry);
+        }
+        checkReplicas();
+    }
+
+    @Scheduled(fixedDelayString = "${app.datasource.lag-check-interval-ms}")
+    public void checkReplicas() {
+        long maxLag = properties.getDatasource().getMaxReplicationLagMs();
+        for (ReplicaTarget replica : routingDataSource.replicas()) {
+            try (Connection connection = replica.dataSource().getConnection();
+                 Statement statement = connection.createStatement();
+                 ResultSet rs = statement.executeQuery(LAG_QUERY)) {
+                rs.next();
+                long lag = Math.round(rs.getDouble(1));
+                boolean healthy = lag <= maxLag;
+                if (replica.isHealthy() && !healthy) {
+                    log.warn("Replica {} is {} ms behind, routing reads to the primary", replica.name(), lag);
+                }
+                replica.update(lag, healthy);
+            } catch (SQLException | RuntimeException ex) {
+                if (replica.isHealthy()) {
+                    log.warn("Replica {} is unreachable, routing reads to the primary", replica.name(), ex);
+                }
+                replica.update(-1, false);
+            }
+        }
+    }
+}
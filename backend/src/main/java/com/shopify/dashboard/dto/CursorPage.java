@@ -0,0 +1,19 @@
+package com.shopify.dashboard.dto;
+
+import java.util.List;
+import java.util.function.Function;
+
+public record CursorPage<T>(List<T> items, String nextCursor) {
+
+    /**
+     * Builds a page from {@code rows} fetched with {@code limit + 1}; the extra row only signals that another
+     * page exists.
+     */
+    public static <E, T> CursorPage<T> of(List<E> rows, int limit, Function<E, PageCursor> cursorOf,
+                                          Function<E, T> mapper) {
+        boolean hasMore = rows.size() > limit;
+        List<E> page = hasMore ? rows.subList(0, limit) : rows;
+        String nextCursor = hasMore ? cursorOf.apply(page.get(page.size() - 1)).encode() : null;
+        return new CursorPage<>(page.stream().map(mapper).toList(), nextCursor);
+    }
+}
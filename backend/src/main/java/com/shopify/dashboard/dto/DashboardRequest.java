@@ -0,0 +1,27 @@
+package com.shopify.dashboard.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import java.time.LocalDate;
+import java.util.List;
+
+public record DashboardRequest(
+        @NotEmpty @Valid List<WidgetSpec> widgets
+) {
+
+    public record WidgetSpec(
+            String id,
+            @NotBlank String type,
+            LocalDate from,
+            LocalDate to,
+            String interval,
+            Integer maxPoints,
+            Integer limit
+    ) {
+
+        public String key() {
+            return id == null || id.isBlank() ? type : id;
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.shopify.dashboard.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Change to a tenant's dashboard metrics pushed over the live stream. Counts and revenue are increments to apply on
+ * top of the last fetched overview; {@code order} is set when the change also belongs in the recent orders list.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record LiveMetricsDelta(long orderCountDelta,
+                               long customerCountDelta,
+                               BigDecimal revenueDelta,
+                               RecentOrderDto order,
+                               Instant emittedAt) {
+
+    public static LiveMetricsDelta order(UUID orderId, String orderNumber, BigDecimal totalPrice, String currency,
+                                         Instant createdAt, boolean created, BigDecimal revenueDelta) {
+        RecentOrderDto order = new RecentOrderDto(orderId, orderNumber, totalPrice, currency, createdAt);
+        return new LiveMetricsDelta(created ? 1 : 0, 0, revenueDelta, order, Instant.now());
+    }
+
+    public static LiveMetricsDelta newCustomer() {
+        return new LiveMetricsDelta(0, 1, null, null, Instant.now());
+    }
+}
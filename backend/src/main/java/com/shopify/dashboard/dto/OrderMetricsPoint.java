@@ -1,7 +1,8 @@
 package com.shopify.dashboard.dto;
 
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.time.LocalDate;
 
-public record OrderMetricsPoint(LocalDate date, long orderCount, BigDecimal totalSales) {
+public record OrderMetricsPoint(LocalDate date, Instant bucketStart, long orderCount, BigDecimal totalSales) {
 }
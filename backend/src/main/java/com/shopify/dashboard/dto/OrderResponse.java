@@ -0,0 +1,15 @@
+package com.shopify.dashboard.dto;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+public record OrderResponse(
+        UUID id,
+        Long shopOrderId,
+        String orderNumber,
+        BigDecimal totalPrice,
+        String currency,
+        Instant createdAt,
+        Instant updatedAt
+) {}
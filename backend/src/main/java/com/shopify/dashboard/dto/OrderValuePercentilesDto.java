@@ -0,0 +1,17 @@
+package com.shopify.dashboard.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+public record OrderValuePercentilesDto(LocalDate from,
+                                       LocalDate to,
+                                       List<CurrencyPercentiles> currencies) {
+
+    public record CurrencyPercentiles(String currency,
+                                      long orderCount,
+                                      BigDecimal p50,
+                                      BigDecimal p90,
+                                      BigDecimal p99) {
+    }
+}
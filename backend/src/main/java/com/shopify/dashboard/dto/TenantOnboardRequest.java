@@ -3,9 +3,12 @@ package com.shopify.dashboard.dto;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Positive;
 
 public record TenantOnboardRequest(
         @NotBlank @JsonProperty("shopDomain") String shopDomain,
         @NotBlank @JsonProperty("accessToken") String accessToken,
-        @Email @NotBlank @JsonProperty("contactEmail") String contactEmail
+        @Email @NotBlank @JsonProperty("contactEmail") String contactEmail,
+        @JsonProperty("timeZone") String timeZone,
+        @Positive @JsonProperty("orderRetentionDays") Integer orderRetentionDays
 ) {}
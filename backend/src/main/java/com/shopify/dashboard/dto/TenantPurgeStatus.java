@@ -0,0 +1,9 @@
+package com.shopify.dashboard.dto;
+
+import com.shopify.dashboard.purge.PurgeState;
+import java.time.Instant;
+import java.util.UUID;
+
+public record TenantPurgeStatus(UUID tenantId, String shopDomain, PurgeState state, Instant requestedAt,
+                                Instant startedAt, Instant completedAt, String currentTable, long rowsDeleted) {
+}
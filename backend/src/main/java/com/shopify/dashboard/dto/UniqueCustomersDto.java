@@ -0,0 +1,15 @@
+package com.shopify.dashboard.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public record UniqueCustomersDto(LocalDate from,
+                                 LocalDate to,
+                                 long estimate,
+                                 long lowerBound,
+                                 long upperBound,
+                                 List<DailyUniqueCustomersPoint> daily) {
+
+    public record DailyUniqueCustomersPoint(LocalDate date, long estimate) {
+    }
+}
@@ -0,0 +1,12 @@
+package com.shopify.dashboard.dto;
+
+public record WidgetResult(boolean success, Object data, String message) {
+
+    public static WidgetResult success(Object data) {
+        return new WidgetResult(true, data, null);
+    }
+
+    public static WidgetResult failure(String message) {
+        return new WidgetResult(false, null, message);
+    }
+}
@@ -10,6 +10,10 @@ public record ShopifyOrdersResponse(List<ShopifyOrder> orders) {
             String total_price,
             String currency,
             String created_at,
-            String updated_at
+            String updated_at,
+            String email,
+            ShopifyOrderCustomer customer
     ) {}
+
+    public record ShopifyOrderCustomer(Long id) {}
 }
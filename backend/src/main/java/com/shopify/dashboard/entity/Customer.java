@@ -2,8 +2,6 @@ package com.shopify.dashboard.entity;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Index;
 import jakarta.persistence.PrePersist;
@@ -21,7 +19,8 @@ import lombok.Setter;
 @Entity
 @Table(name = "customers", indexes = {
         @Index(name = "idx_customers_tenant", columnList = "tenant_id"),
-        @Index(name = "idx_customers_shop_id", columnList = "shop_customer_id")
+        @Index(name = "idx_customers_shop_id", columnList = "shop_customer_id"),
+        @Index(name = "idx_customers_tenant_total_spent", columnList = "tenant_id, total_spent DESC")
 })
 @Getter
 @Setter
@@ -31,7 +30,7 @@ import lombok.Setter;
 public class Customer {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @GeneratedUuidV7
     private UUID id;
 
     @Column(name = "tenant_id", nullable = false)
@@ -2,13 +2,12 @@ package com.shopify.dashboard.entity;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Index;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
+import com.shopify.dashboard.util.MoneyUnits;
 import java.math.BigDecimal;
 import java.time.Instant;
 import java.util.UUID;
@@ -17,11 +16,12 @@ import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.PartitionKey;
 
 @Entity
 @Table(name = "orders", indexes = {
-        @Index(name = "idx_orders_tenant", columnList = "tenant_id"),
-        @Index(name = "idx_orders_shop_id", columnList = "shop_order_id")
+        @Index(name = "idx_orders_tenant_created", columnList = "tenant_id, created_at, id"),
+        @Index(name = "idx_orders_tenant_shop_order", columnList = "tenant_id, shop_order_id")
 })
 @Getter
 @Setter
@@ -31,7 +31,7 @@ import lombok.Setter;
 public class Order {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @GeneratedUuidV7
     private UUID id;
 
     @Column(name = "tenant_id", nullable = false)
@@ -40,25 +40,45 @@ public class Order {
     @Column(name = "shop_order_id", nullable = false)
     private Long shopOrderId;
 
+    @Column(name = "shop_customer_id")
+    private Long shopCustomerId;
+
     @Column(name = "order_number", nullable = false)
     private String orderNumber;
 
-    @Column(name = "total_price", precision = 19, scale = 4)
-    private BigDecimal totalPrice;
+    @Column(name = "total_price_minor", nullable = false)
+    private long totalPriceMinor;
 
     @Column(nullable = false)
     private String currency;
 
-    @Column(name = "created_at", nullable = false)
+    /**
+     * The orders table is partitioned by month of {@code created_at}, so Hibernate adds it to the {@code WHERE} of
+     * its updates and deletes to touch a single partition. Moving an order between partitions is left to
+     * {@code OrderRepository.correctCreatedAt}.
+     */
+    @PartitionKey
+    @Column(name = "created_at", nullable = false, updatable = false)
     private Instant createdAt;
 
+    /**
+     * Set when Shopify sent no {@code created_at} and {@link #createdAt} holds the ingestion time instead.
+     */
+    @Column(name = "created_at_fallback", nullable = false)
+    private boolean createdAtFallback;
+
     @Column(name = "updated_at")
     private Instant updatedAt;
 
+    public BigDecimal getTotalPrice() {
+        return MoneyUnits.toMajor(totalPriceMinor, currency);
+    }
+
     @PrePersist
     public void onCreate() {
         if (createdAt == null) {
             createdAt = Instant.now();
+            createdAtFallback = true;
         }
         updatedAt = createdAt;
     }
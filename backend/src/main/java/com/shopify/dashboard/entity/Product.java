@@ -2,8 +2,6 @@ package com.shopify.dashboard.entity;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Index;
 import jakarta.persistence.PrePersist;
@@ -21,7 +19,8 @@ import lombok.Setter;
 @Entity
 @Table(name = "products", indexes = {
         @Index(name = "idx_products_tenant", columnList = "tenant_id"),
-        @Index(name = "idx_products_shop_id", columnList = "shop_product_id")
+        @Index(name = "idx_products_shop_id", columnList = "shop_product_id"),
+        @Index(name = "idx_products_tenant_created", columnList = "tenant_id, created_at, id")
 })
 @Getter
 @Setter
@@ -31,7 +30,7 @@ import lombok.Setter;
 public class Product {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @GeneratedUuidV7
     private UUID id;
 
     @Column(name = "tenant_id", nullable = false)
@@ -1,22 +1,31 @@
 package com.shopify.dashboard.entity;
 
+import com.shopify.dashboard.tenant.TenantChangeListener;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.Table;
 import java.time.Instant;
+import java.time.ZoneId;
 import java.util.UUID;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.SQLRestriction;
 
 @Entity
-@Table(name = "tenants")
+@Table(name = "tenants", indexes = {
+        @Index(name = "idx_tenants_created", columnList = "created_at, id")
+})
+@SQLRestriction("deleted_at IS NULL")
+@EntityListeners(TenantChangeListener.class)
 @Getter
 @Setter
 @Builder
@@ -42,10 +51,29 @@ public class Tenant {
 
     private Instant lastSyncAt;
 
+    @Column(name = "time_zone", nullable = false)
+    private String timeZone;
+
+    @Column(name = "order_retention_days")
+    private Integer orderRetentionDays;
+
+    @Column(name = "orders_archived_before", insertable = false, updatable = false)
+    private Instant ordersArchivedBefore;
+
+    @Column(name = "deleted_at")
+    private Instant deletedAt;
+
     @PrePersist
     public void onCreate() {
         if (createdAt == null) {
             createdAt = Instant.now();
         }
+        if (timeZone == null) {
+            timeZone = "UTC";
+        }
+    }
+
+    public ZoneId zoneId() {
+        return ZoneId.of(timeZone == null ? "UTC" : timeZone);
     }
 }
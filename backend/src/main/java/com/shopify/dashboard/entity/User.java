@@ -1,12 +1,17 @@
 package com.shopify.dashboard.entity;
 
+import com.shopify.dashboard.security.UserChangeListener;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
+import java.time.Instant;
+import java.util.Objects;
 import java.util.UUID;
+import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
@@ -15,6 +20,7 @@ import lombok.Setter;
 
 @Entity
 @Table(name = "users")
+@EntityListeners(UserChangeListener.class)
 @Getter
 @Setter
 @Builder
@@ -37,4 +43,34 @@ public class User {
 
     @Column(nullable = false)
     private String role;
+
+    /**
+     * Tokens issued before this instant are rejected. Only the setters for the password hash, role and tenant move it;
+     * other edits leave issued tokens valid.
+     */
+    @Column(name = "credentials_updated_at", nullable = false)
+    @Builder.Default
+    @Setter(AccessLevel.NONE)
+    private Instant credentialsUpdatedAt = Instant.now();
+
+    public void setPasswordHash(String passwordHash) {
+        if (!Objects.equals(this.passwordHash, passwordHash)) {
+            this.passwordHash = passwordHash;
+            credentialsUpdatedAt = Instant.now();
+        }
+    }
+
+    public void setTenantId(UUID tenantId) {
+        if (!Objects.equals(this.tenantId, tenantId)) {
+            this.tenantId = tenantId;
+            credentialsUpdatedAt = Instant.now();
+        }
+    }
+
+    public void setRole(String role) {
+        if (!Objects.equals(this.role, role)) {
+            this.role = role;
+            credentialsUpdatedAt = Instant.now();
+        }
+    }
 }
@@ -0,0 +1,22 @@
+package com.shopify.dashboard.event;
+
+import com.shopify.dashboard.entity.Customer;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+public record CustomerUpsertedEvent(UUID tenantId,
+                                    UUID customerId,
+                                    String email,
+                                    String firstName,
+                                    String lastName,
+                                    BigDecimal totalSpent,
+                                    Instant updatedAt,
+                                    boolean created) {
+
+    public static CustomerUpsertedEvent from(Customer customer, boolean created) {
+        return new CustomerUpsertedEvent(customer.getTenantId(), customer.getId(), customer.getEmail(),
+                customer.getFirstName(), customer.getLastName(), customer.getTotalSpent(), customer.getUpdatedAt(),
+                created);
+    }
+}
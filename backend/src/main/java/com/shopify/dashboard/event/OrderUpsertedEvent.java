@@ -0,0 +1,44 @@
+package com.shopify.dashboard.event;
+
+import com.shopify.dashboard.entity.Order;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * {@code previousTotalPriceMinor}, {@code previousCurrency} and {@code previousCreatedAt} describe the order before an
+ * update and are null when it was created. {@code createdAt} only differs from {@code previousCreatedAt} when an order
+ * first stored with its ingestion time learns its real creation time.
+ */
+public record OrderUpsertedEvent(UUID tenantId,
+                                 UUID orderId,
+                                 Long shopOrderId,
+                                 Long shopCustomerId,
+                                 String orderNumber,
+                                 long totalPriceMinor,
+                                 String currency,
+                                 Instant createdAt,
+                                 boolean created,
+                                 Long previousTotalPriceMinor,
+                                 String previousCurrency,
+                                 Instant previousCreatedAt) {
+
+    public static OrderUpsertedEvent created(Order order) {
+        return from(order, true, null, null, null);
+    }
+
+    public static OrderUpsertedEvent updated(Order order, long previousTotalPriceMinor, String previousCurrency,
+                                             Instant previousCreatedAt) {
+        return from(order, false, previousTotalPriceMinor, previousCurrency, previousCreatedAt);
+    }
+
+    public boolean moved() {
+        return previousCreatedAt != null && !previousCreatedAt.equals(createdAt);
+    }
+
+    private static OrderUpsertedEvent from(Order order, boolean created, Long previousTotalPriceMinor,
+                                           String previousCurrency, Instant previousCreatedAt) {
+        return new OrderUpsertedEvent(order.getTenantId(), order.getId(), order.getShopOrderId(),
+                order.getShopCustomerId(), order.getOrderNumber(), order.getTotalPriceMinor(), order.getCurrency(),
+                order.getCreatedAt(), created, previousTotalPriceMinor, previousCurrency, previousCreatedAt);
+    }
+}
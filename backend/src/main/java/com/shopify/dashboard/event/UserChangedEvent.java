@@ -0,0 +1,6 @@
+package com.shopify.dashboard.event;
+
+import java.util.UUID;
+
+public record UserChangedEvent(UUID userId) {
+}
@@ -0,0 +1,18 @@
+package com.shopify.dashboard.exception;
+
+import java.time.Duration;
+import org.springframework.http.HttpStatus;
+
+public class TooManyRequestsException extends ApiException {
+
+    private final Duration retryAfter;
+
+    public TooManyRequestsException(String message, Duration retryAfter) {
+        super(message, HttpStatus.TOO_MANY_REQUESTS);
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
@@ -0,0 +1,54 @@
+package com.shopify.dashboard.export;
+
+import com.shopify.dashboard.exception.ApiException;
+import java.util.List;
+import java.util.Locale;
+import org.springframework.http.HttpStatus;
+
+public enum ExportDataset {
+    ORDERS("""
+            SELECT id, shop_order_id, shop_customer_id, order_number,
+                   total_price_minor / power(10::NUMERIC, currency_minor_scale(currency)) AS total_price, currency,
+                   created_at, updated_at
+            FROM orders
+            WHERE tenant_id = ?
+            ORDER BY created_at, id
+            """,
+            List.of("id", "shop_order_id", "shop_customer_id", "order_number", "total_price", "currency", "created_at",
+                    "updated_at")),
+    CUSTOMERS("""
+            SELECT id, shop_customer_id, email, first_name, last_name, total_spent, created_at, updated_at
+            FROM customers
+            WHERE tenant_id = ?
+            """,
+            List.of("id", "shop_customer_id", "email", "first_name", "last_name", "total_spent", "created_at",
+                    "updated_at"));
+
+    private final String sql;
+    private final List<String> columns;
+
+    ExportDataset(String sql, List<String> columns) {
+        this.sql = sql;
+        this.columns = columns;
+    }
+
+    public String sql() {
+        return sql;
+    }
+
+    public List<String> columns() {
+        return columns;
+    }
+
+    public String fileName() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    public static ExportDataset parse(String value) {
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException ex) {
+            throw new ApiException("Unsupported export dataset: " + value, HttpStatus.BAD_REQUEST);
+        }
+    }
+}
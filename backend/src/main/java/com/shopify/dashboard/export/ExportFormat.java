@@ -0,0 +1,117 @@
+package com.shopify.dashboard.export;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shopify.dashboard.exception.ApiException;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Locale;
+import org.springframework.http.HttpStatus;
+
+public enum ExportFormat {
+    NDJSON("application/x-ndjson", "ndjson") {
+        @Override
+        public RowWriter open(OutputStream out, List<String> columns, ObjectMapper objectMapper) throws IOException {
+            JsonGenerator generator = objectMapper.getFactory().createGenerator(out, JsonEncoding.UTF8);
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+            return new RowWriter() {
+                @Override
+                public void write(Object[] values) throws IOException {
+                    generator.writeStartObject();
+                    for (int i = 0; i < values.length; i++) {
+                        generator.writeFieldName(columns.get(i));
+                        Object value = values[i];
+                        if (value == null) {
+                            generator.writeNull();
+                        } else if (value instanceof BigDecimal decimal) {
+                            generator.writeNumber(decimal);
+                        } else if (value instanceof Long number) {
+                            generator.writeNumber(number);
+                        } else {
+                            generator.writeString(value.toString());
+                        }
+                    }
+                    generator.writeEndObject();
+                    generator.writeRaw('\n');
+                }
+
+                @Override
+                public void finish() throws IOException {
+                    generator.flush();
+                }
+            };
+        }
+    },
+    CSV("text/csv", "csv") {
+        @Override
+        public RowWriter open(OutputStream out, List<String> columns, ObjectMapper objectMapper) throws IOException {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            writeCsvLine(writer, columns.toArray());
+            return new RowWriter() {
+                @Override
+                public void write(Object[] values) throws IOException {
+                    writeCsvLine(writer, values);
+                }
+
+                @Override
+                public void finish() throws IOException {
+                    writer.flush();
+                }
+            };
+        }
+    };
+
+    private final String contentType;
+    private final String extension;
+
+    ExportFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public abstract RowWriter open(OutputStream out, List<String> columns, ObjectMapper objectMapper)
+            throws IOException;
+
+    public String contentType() {
+        return contentType;
+    }
+
+    public String extension() {
+        return extension;
+    }
+
+    public static ExportFormat parse(String value) {
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException ex) {
+            throw new ApiException("Unsupported export format: " + value, HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    private static void writeCsvLine(Writer writer, Object[] values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            if (values[i] != null) {
+                writer.write(escapeCsv(values[i].toString()));
+            }
+        }
+        writer.write("\r\n");
+    }
+
+    private static String escapeCsv(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,25 @@
+package com.shopify.dashboard.export;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * One of the concurrent export slots handed out by {@link TenantExportService#reserveSlot}; closing it more than once
+ * releases it only once.
+ */
+public final class ExportSlot implements AutoCloseable {
+
+    private final Semaphore slots;
+    private final AtomicBoolean released = new AtomicBoolean();
+
+    ExportSlot(Semaphore slots) {
+        this.slots = slots;
+    }
+
+    @Override
+    public void close() {
+        if (released.compareAndSet(false, true)) {
+            slots.release();
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.shopify.dashboard.export;
+
+import java.io.IOException;
+
+public interface RowWriter {
+
+    void write(Object[] values) throws IOException;
+
+    void finish() throws IOException;
+}
@@ -0,0 +1,140 @@
+package com.shopify.dashboard.export;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shopify.dashboard.archive.ArchivedOrder;
+import com.shopify.dashboard.archive.OrderArchiveService;
+import com.shopify.dashboard.config.AppProperties;
+import com.shopify.dashboard.exception.TooManyRequestsException;
+import com.shopify.dashboard.monitoring.ExportMetrics;
+import com.shopify.dashboard.util.MoneyUnits;
+import com.shopify.dashboard.workload.Workload;
+import com.shopify.dashboard.workload.WorkloadContext;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Streams a tenant dataset row by row from a forward-only cursor. PostgreSQL only honours the fetch size inside a
+ * transaction, so the query runs in a read-only one for the duration of the download. Order exports start with the
+ * archived months, read in the same snapshot.
+ * <p>
+ * A download can hold its transaction for minutes, so exports take their connection from the export pool rather
+ * than the API's, and at most {@code app.export.max-concurrent} run at once.
+ */
+@Service
+@Slf4j
+public class TenantExportService {
+
+    private static final int GZIP_BUFFER_BYTES = 64 * 1024;
+    private static final Duration RETRY_AFTER = Duration.ofSeconds(30);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+    private final ObjectMapper objectMapper;
+    private final AppProperties properties;
+    private final ExportMetrics exportMetrics;
+    private final OrderArchiveService orderArchiveService;
+    private final Semaphore slots;
+
+    public TenantExportService(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                               ObjectMapper objectMapper, AppProperties properties, ExportMetrics exportMetrics,
+                               OrderArchiveService orderArchiveService) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionManager = transactionManager;
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+        this.exportMetrics = exportMetrics;
+        this.orderArchiveService = orderArchiveService;
+        this.slots = new Semaphore(properties.getExport().getMaxConcurrent());
+    }
+
+    /**
+     * Claims an export slot before the response starts, so a full house is answered with a 429 rather than a
+     * download that stalls waiting for a connection.
+     */
+    public ExportSlot reserveSlot() {
+        if (!slots.tryAcquire()) {
+            throw new TooManyRequestsException("Too many exports running, retry later", RETRY_AFTER);
+        }
+        return new ExportSlot(slots);
+    }
+
+    public void export(UUID tenantId, ExportDataset dataset, ExportFormat format, boolean gzip, OutputStream out)
+            throws IOException {
+        long startedAt = System.nanoTime();
+        AtomicLong rows = new AtomicLong();
+        OutputStream target = gzip ? new GZIPOutputStream(out, GZIP_BUFFER_BYTES) : out;
+        RowWriter writer = format.open(target, dataset.columns(), objectMapper);
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        readOnly.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        try {
+            WorkloadContext.run(Workload.EXPORT, () -> readOnly.executeWithoutResult(status -> {
+                if (dataset == ExportDataset.ORDERS) {
+                    orderArchiveService.forEachArchived(tenantId, order -> {
+                        write(writer, archivedRow(order));
+                        rows.incrementAndGet();
+                    });
+                }
+                streamRows(tenantId, dataset, writer, rows);
+            }));
+        } catch (UncheckedIOException ex) {
+            throw ex.getCause();
+        }
+        writer.finish();
+        if (target instanceof GZIPOutputStream compressed) {
+            compressed.finish();
+        }
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - startedAt);
+        double rowsPerSecond = exportMetrics.recordExport(dataset, format, rows.get(), elapsed);
+        log.info("Exported {} {} rows for tenant {} as {} in {} ms ({} rows/s)", rows.get(), dataset.fileName(),
+                tenantId, format.extension(), elapsed.toMillis(), Math.round(rowsPerSecond));
+    }
+
+    private void streamRows(UUID tenantId, ExportDataset dataset, RowWriter writer, AtomicLong rows) {
+        int columnCount = dataset.columns().size();
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(dataset.sql(), ResultSet.TYPE_FORWARD_ONLY,
+                    ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(properties.getExport().getFetchSize());
+            statement.setObject(1, tenantId);
+            return statement;
+        }, (ResultSet rs) -> {
+            Object[] values = new Object[columnCount];
+            for (int i = 0; i < columnCount; i++) {
+                Object value = rs.getObject(i + 1);
+                values[i] = value instanceof Timestamp timestamp ? timestamp.toInstant() : value;
+            }
+            write(writer, values);
+            rows.incrementAndGet();
+        });
+    }
+
+    private static Object[] archivedRow(ArchivedOrder order) {
+        return new Object[] {order.id(), order.shopOrderId(), order.shopCustomerId(), order.orderNumber(),
+                MoneyUnits.toMajor(order.totalPriceMinor(), order.currency()), order.currency(), order.createdAt(),
+                order.updatedAt()};
+    }
+
+    private static void write(RowWriter writer, Object[] values) {
+        try {
+            writer.write(values);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+}
@@ -0,0 +1,265 @@
+package com.shopify.dashboard.live;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shopify.dashboard.config.AppProperties;
+import com.shopify.dashboard.dto.LiveMetricsDelta;
+import com.shopify.dashboard.event.CustomerUpsertedEvent;
+import com.shopify.dashboard.event.OrderUpsertedEvent;
+import com.shopify.dashboard.event.TenantDeletedEvent;
+import com.shopify.dashboard.event.UserChangedEvent;
+import com.shopify.dashboard.exception.ApiException;
+import com.shopify.dashboard.security.JwtTokenService;
+import com.shopify.dashboard.security.UserAuthState;
+import com.shopify.dashboard.security.UserAuthStateCache;
+import com.shopify.dashboard.util.MoneyUnits;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.Date;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Fans committed ingestion events out to every open metrics stream of a tenant. Each event is serialized once and
+ * the same frame is queued on every subscriber; a small dispatcher pool does the writes, so ingestion threads never
+ * block on slow clients and no delta causes a database query. A stream never outlives the token it was opened with,
+ * and is closed once the user's auth state no longer accepts that token.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class LiveMetricsHub {
+
+    private static final Set<DataWithMediaType> RESYNC = SseEmitter.event().name("resync").data("{}").build();
+    private static final Set<DataWithMediaType> HEARTBEAT = SseEmitter.event().comment("heartbeat").build();
+
+    private final ObjectMapper objectMapper;
+    private final AppProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final JwtTokenService tokenService;
+    private final UserAuthStateCache userAuthStateCache;
+    private final Map<UUID, Set<LiveSubscriber>> tenants = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final AtomicBoolean sweeping = new AtomicBoolean();
+    private ExecutorService dispatcher;
+    private Counter resyncs;
+
+    @PostConstruct
+    void start() {
+        dispatcher = ExecutorServiceMetrics.monitor(meterRegistry,
+                Executors.newFixedThreadPool(Math.max(properties.getLive().getDispatcherThreads(), 1),
+                        new CustomizableThreadFactory("live-dispatch-")),
+                "live-dispatch");
+        resyncs = meterRegistry.counter("live.resyncs");
+        Gauge.builder("live.subscribers", subscriberCount, AtomicInteger::get).register(meterRegistry);
+    }
+
+    @PreDestroy
+    void stop() {
+        tenants.values().forEach(subscribers -> subscribers.forEach(this::complete));
+        dispatcher.shutdownNow();
+    }
+
+    public SseEmitter subscribe(UUID tenantId, Claims claims) {
+        if (subscriberCount.incrementAndGet() > properties.getLive().getMaxSubscribers()) {
+            subscriberCount.decrementAndGet();
+            throw new ApiException("Too many live metric streams, retry later", HttpStatus.SERVICE_UNAVAILABLE);
+        }
+        try {
+            return register(tenantId, claims);
+        } catch (RuntimeException ex) {
+            subscriberCount.decrementAndGet();
+            throw ex;
+        }
+    }
+
+    /**
+     * The slot taken in {@link #subscribe} is released by {@link #remove} once the subscriber is registered, and by
+     * the caller if this throws before then.
+     */
+    private SseEmitter register(UUID tenantId, Claims claims) {
+        UUID claimedTenantId = tokenService.extractTenantId(claims);
+        String claimedRole = tokenService.extractRole(claims);
+        Date issuedAt = claims.getIssuedAt();
+        SseEmitter emitter = new SseEmitter(untilExpiry(claims));
+        LiveSubscriber subscriber = new LiveSubscriber(tenantId, tokenService.extractUserId(claims),
+                state -> state.accepts(issuedAt, claimedTenantId, claimedRole),
+                emitter, properties.getLive().getQueueCapacity());
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(() -> complete(subscriber));
+        emitter.onError(ex -> remove(subscriber));
+        tenants.compute(tenantId, (id, subscribers) -> {
+            Set<LiveSubscriber> target = subscribers == null ? ConcurrentHashMap.newKeySet() : subscribers;
+            target.add(subscriber);
+            return target;
+        });
+        return emitter;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrderUpserted(OrderUpsertedEvent event) {
+        BigDecimal totalPrice = MoneyUnits.toMajor(event.totalPriceMinor(), event.currency());
+        BigDecimal revenueDelta = event.created()
+                ? totalPrice
+                : totalPrice.subtract(MoneyUnits.toMajor(event.previousTotalPriceMinor(), event.previousCurrency()));
+        if (!event.created() && revenueDelta.signum() == 0) {
+            return;
+        }
+        publish(event.tenantId(), "order", () -> LiveMetricsDelta.order(event.orderId(), event.orderNumber(),
+                totalPrice, event.currency(), event.createdAt(), event.created(), revenueDelta));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCustomerUpserted(CustomerUpsertedEvent event) {
+        if (event.created()) {
+            publish(event.tenantId(), "customer", LiveMetricsDelta::newCustomer);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTenantDeleted(TenantDeletedEvent event) {
+        Set<LiveSubscriber> subscribers = tenants.get(event.tenantId());
+        if (subscribers != null) {
+            subscribers.forEach(this::complete);
+        }
+    }
+
+    /**
+     * Closes the user's streams on any local change to the user; the client reconnects if its token is still valid.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        tenants.values().forEach(subscribers -> subscribers.stream()
+                .filter(subscriber -> subscriber.userId().equals(event.userId()))
+                .forEach(this::complete));
+    }
+
+    /**
+     * Hands the sweep to the dispatcher pool: its auth state lookups may hit the database, and the shared scheduler
+     * thread also runs the purger, partition maintenance and tenant syncs. A sweep still running is not doubled.
+     */
+    @Scheduled(fixedDelayString = "${app.live.heartbeat-interval-ms}")
+    public void heartbeat() {
+        if (sweeping.compareAndSet(false, true)) {
+            try {
+                dispatcher.execute(() -> {
+                    try {
+                        sweep();
+                    } finally {
+                        sweeping.set(false);
+                    }
+                });
+            } catch (RejectedExecutionException ex) {
+                sweeping.set(false);
+            }
+        }
+    }
+
+    /**
+     * Also re-checks each stream against the auth state cache, which catches changes made on other instances
+     * within the cache TTL.
+     */
+    void sweep() {
+        tenants.values().forEach(subscribers -> subscribers.forEach(subscriber -> {
+            Optional<UserAuthState> state = userAuthStateCache.get(subscriber.userId());
+            if (state.filter(subscriber::authorizedBy).isEmpty()) {
+                complete(subscriber);
+            } else {
+                enqueue(subscriber, HEARTBEAT);
+            }
+        }));
+    }
+
+    private long untilExpiry(Claims claims) {
+        Date expiration = claims.getExpiration();
+        long millis = expiration == null
+                ? TimeUnit.SECONDS.toMillis(tokenService.getExpirationSeconds())
+                : expiration.getTime() - System.currentTimeMillis();
+        // SseEmitter treats 0 as no timeout
+        return Math.max(millis, 1);
+    }
+
+    private void publish(UUID tenantId, String name, Supplier<LiveMetricsDelta> delta) {
+        Set<LiveSubscriber> subscribers = tenants.get(tenantId);
+        if (subscribers == null || subscribers.isEmpty()) {
+            return;
+        }
+        Set<DataWithMediaType> frame;
+        try {
+            frame = SseEmitter.event()
+                    .name(name)
+                    .data(objectMapper.writeValueAsString(delta.get()), MediaType.APPLICATION_JSON)
+                    .build();
+        } catch (JsonProcessingException ex) {
+            log.warn("Failed to serialize live {} delta for tenant {}", name, tenantId, ex);
+            return;
+        }
+        subscribers.forEach(subscriber -> enqueue(subscriber, frame));
+    }
+
+    private void enqueue(LiveSubscriber subscriber, Set<DataWithMediaType> frame) {
+        if (subscriber.offer(frame, RESYNC)) {
+            resyncs.increment();
+        }
+        if (subscriber.claim()) {
+            dispatcher.execute(() -> drain(subscriber));
+        }
+    }
+
+    private void drain(LiveSubscriber subscriber) {
+        try {
+            for (Set<DataWithMediaType> frame = subscriber.next(); frame != null; frame = subscriber.next()) {
+                subscriber.emitter().send(frame);
+            }
+        } catch (IOException | IllegalStateException ex) {
+            log.debug("Dropping live metrics subscriber of tenant {}: {}", subscriber.tenantId(), ex.getMessage());
+            complete(subscriber);
+        }
+    }
+
+    private void complete(LiveSubscriber subscriber) {
+        remove(subscriber);
+        try {
+            subscriber.emitter().complete();
+        } catch (IllegalStateException ignored) {
+            // already completed by the container
+        }
+    }
+
+    private void remove(LiveSubscriber subscriber) {
+        subscriber.close();
+        tenants.computeIfPresent(subscriber.tenantId(), (id, subscribers) -> {
+            if (subscribers.remove(subscriber)) {
+                subscriberCount.decrementAndGet();
+            }
+            return subscribers.isEmpty() ? null : subscribers;
+        });
+    }
+}
@@ -0,0 +1,99 @@
+package com.shopify.dashboard.live;
+
+import com.shopify.dashboard.security.UserAuthState;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Predicate;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * One open stream with its own bounded outbox. A subscriber that falls {@code capacity} frames behind loses its
+ * queued deltas and gets a single resync frame instead, so a slow client never holds memory for the whole tenant.
+ */
+final class LiveSubscriber {
+
+    private final UUID tenantId;
+    private final UUID userId;
+    private final Predicate<UserAuthState> authorized;
+    private final SseEmitter emitter;
+    private final int capacity;
+    private final Deque<Set<DataWithMediaType>> outbox = new ArrayDeque<>();
+    private boolean draining;
+    private boolean closed;
+
+    LiveSubscriber(UUID tenantId, UUID userId, Predicate<UserAuthState> authorized, SseEmitter emitter,
+                   int capacity) {
+        this.tenantId = tenantId;
+        this.userId = userId;
+        this.authorized = authorized;
+        this.emitter = emitter;
+        this.capacity = Math.max(capacity, 1);
+    }
+
+    UUID tenantId() {
+        return tenantId;
+    }
+
+    UUID userId() {
+        return userId;
+    }
+
+    /**
+     * Whether the user's current auth state still accepts the token the stream was opened with.
+     */
+    boolean authorizedBy(UserAuthState state) {
+        return authorized.test(state);
+    }
+
+    SseEmitter emitter() {
+        return emitter;
+    }
+
+    /**
+     * Queues a frame and returns whether the queue overflowed, in which case it now holds only {@code resync}.
+     */
+    synchronized boolean offer(Set<DataWithMediaType> frame, Set<DataWithMediaType> resync) {
+        if (closed) {
+            return false;
+        }
+        if (outbox.size() < capacity) {
+            outbox.addLast(frame);
+            return false;
+        }
+        outbox.clear();
+        outbox.addLast(resync);
+        return true;
+    }
+
+    /**
+     * Claims the right to drain the outbox; at most one dispatcher thread writes to the emitter at a time.
+     */
+    synchronized boolean claim() {
+        if (draining || closed || outbox.isEmpty()) {
+            return false;
+        }
+        draining = true;
+        return true;
+    }
+
+    synchronized Set<DataWithMediaType> next() {
+        Set<DataWithMediaType> frame = closed ? null : outbox.pollFirst();
+        if (frame == null) {
+            draining = false;
+        }
+        return frame;
+    }
+
+    synchronized void close() {
+        closed = true;
+        draining = false;
+        outbox.clear();
+    }
+
+    synchronized int queued() {
+        return outbox.size();
+    }
+}
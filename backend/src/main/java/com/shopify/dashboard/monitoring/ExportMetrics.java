@@ -0,0 +1,30 @@
+package com.shopify.dashboard.monitoring;
+
+import com.shopify.dashboard.export.ExportDataset;
+import com.shopify.dashboard.export.ExportFormat;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import java.time.Duration;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class ExportMetrics {
+
+    private final MeterRegistry meterRegistry;
+
+    public double recordExport(ExportDataset dataset, ExportFormat format, long rows, Duration duration) {
+        Tags tags = Tags.of("dataset", dataset.fileName(), "format", format.extension());
+        double rowsPerSecond = duration.isZero() ? rows : rows / (duration.toNanos() / 1_000_000_000d);
+        meterRegistry.counter("export.rows", tags).increment(rows);
+        meterRegistry.timer("export.duration", tags).record(duration);
+        DistributionSummary.builder("export.throughput")
+                .baseUnit("rows_per_second")
+                .tags(tags)
+                .register(meterRegistry)
+                .record(rowsPerSecond);
+        return rowsPerSecond;
+    }
+}
@@ -0,0 +1,61 @@
+package com.shopify.dashboard.monitoring;
+
+import com.shopify.dashboard.config.AppProperties;
+import com.shopify.dashboard.workload.WorkloadContext;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Times every statement with {@link System#nanoTime()} rather than the proxy's millisecond elapsed time, which rounds
+ * the sub-millisecond statements that make up most requests down to nothing.
+ */
+@Component
+@Slf4j
+public class QueryMetricsListener implements QueryExecutionListener {
+
+    private static final String STARTED_AT = QueryMetricsListener.class.getName() + ".startedAt";
+
+    private final AppProperties properties;
+    private final Counter slowQueries;
+
+    public QueryMetricsListener(AppProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.slowQueries = meterRegistry.counter("db.slow-queries");
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        execInfo.addCustomValue(STARTED_AT, System.nanoTime());
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        Long startedAt = execInfo.getCustomValue(STARTED_AT, Long.class);
+        long elapsedNanos = startedAt != null
+                ? System.nanoTime() - startedAt
+                : TimeUnit.MILLISECONDS.toNanos(execInfo.getElapsedTime());
+        RequestQueryStats.statementExecuted(elapsedNanos);
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(elapsedNanos);
+        long thresholdMs = properties.getObservability().getSlowQueryThresholdMs();
+        if (thresholdMs < 0 || elapsedMs < thresholdMs) {
+            return;
+        }
+        slowQueries.increment();
+        if (log.isWarnEnabled()) {
+            log.warn("Slow {} query took {} ms ({}): {} params={}", WorkloadContext.current().label(), elapsedMs,
+                    execInfo.isSuccess() ? "ok" : "failed",
+                    queryInfoList.stream().map(query -> SqlRedaction.redact(query.getQuery()))
+                            .collect(Collectors.joining("; ")),
+                    queryInfoList.stream().map(query -> SqlRedaction.describeParameters(query.getParametersList()))
+                            .collect(Collectors.joining("; ")));
+        }
+    }
+}
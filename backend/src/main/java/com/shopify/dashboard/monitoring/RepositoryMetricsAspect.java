@@ -0,0 +1,45 @@
+package com.shopify.dashboard.monitoring;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+/**
+ * Times the JdbcTemplate repositories under the metric and tags Spring Data already uses for JPA repositories, so
+ * every repository method shows up in one {@code spring.data.repository.invocations} timer.
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class RepositoryMetricsAspect {
+
+    private static final String METRIC = "spring.data.repository.invocations";
+
+    private final MeterRegistry meterRegistry;
+
+    @Around("within(com.shopify.dashboard.repository..*) && @within(org.springframework.stereotype.Repository)"
+            + " && execution(public * *(..))")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String state = "SUCCESS";
+        String exception = "None";
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable ex) {
+            state = "ERROR";
+            exception = ex.getClass().getSimpleName();
+            throw ex;
+        } finally {
+            sample.stop(Timer.builder(METRIC)
+                    .tag("repository", joinPoint.getSignature().getDeclaringType().getSimpleName())
+                    .tag("method", joinPoint.getSignature().getName())
+                    .tag("state", state)
+                    .tag("exception", exception)
+                    .register(meterRegistry));
+        }
+    }
+}
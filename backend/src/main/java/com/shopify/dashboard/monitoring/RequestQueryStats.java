@@ -0,0 +1,89 @@
+package com.shopify.dashboard.monitoring;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Database work done for the current request. Statements are counted at the JDBC proxy so JdbcTemplate repositories
+ * are included; entity loads and flushes come from Hibernate event listeners. Work the request hands to other threads
+ * counts too when the task is wrapped with {@link #propagate}, so the counters are safe to update concurrently.
+ */
+public final class RequestQueryStats {
+
+    private static final ThreadLocal<RequestQueryStats> CURRENT = new ThreadLocal<>();
+
+    private final LongAdder statements = new LongAdder();
+    private final LongAdder statementNanos = new LongAdder();
+    private final LongAdder entityLoads = new LongAdder();
+    private final LongAdder flushes = new LongAdder();
+
+    public static RequestQueryStats begin() {
+        RequestQueryStats stats = new RequestQueryStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    public static void end() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Binds the calling thread's stats, if any, to {@code task} wherever it runs.
+     */
+    public static Runnable propagate(Runnable task) {
+        RequestQueryStats stats = CURRENT.get();
+        if (stats == null) {
+            return task;
+        }
+        return () -> {
+            RequestQueryStats previous = CURRENT.get();
+            CURRENT.set(stats);
+            try {
+                task.run();
+            } finally {
+                if (previous == null) {
+                    CURRENT.remove();
+                } else {
+                    CURRENT.set(previous);
+                }
+            }
+        };
+    }
+
+    static void statementExecuted(long elapsedNanos) {
+        RequestQueryStats stats = CURRENT.get();
+        if (stats != null) {
+            stats.statements.increment();
+            stats.statementNanos.add(elapsedNanos);
+        }
+    }
+
+    static void entityLoaded() {
+        RequestQueryStats stats = CURRENT.get();
+        if (stats != null) {
+            stats.entityLoads.increment();
+        }
+    }
+
+    static void flushed() {
+        RequestQueryStats stats = CURRENT.get();
+        if (stats != null) {
+            stats.flushes.increment();
+        }
+    }
+
+    public long statements() {
+        return statements.sum();
+    }
+
+    public long statementNanos() {
+        return statementNanos.sum();
+    }
+
+    public long entityLoads() {
+        return entityLoads.sum();
+    }
+
+    public long flushes() {
+        return flushes.sum();
+    }
+}
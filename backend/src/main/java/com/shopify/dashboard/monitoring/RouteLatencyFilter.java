@@ -0,0 +1,184 @@
+package com.shopify.dashboard.monitoring;
+
+import com.shopify.dashboard.config.AppProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Records request latency per route template and status class, plus the database work done for the request.
+ * Meters are resolved once per route and cached, so the per-request cost is a map lookup and a few histogram
+ * updates. Requests over the slow threshold are logged at most once per route per log interval; the rest only count
+ * towards {@code request.slow}.
+ */
+@Slf4j
+@Component
+@Order(1)
+public class RouteLatencyFilter extends OncePerRequestFilter {
+
+    private static final String UNKNOWN_ROUTE = "UNKNOWN";
+    private static final String[] STATUS_CLASSES = {"1xx", "2xx", "3xx", "4xx", "5xx"};
+
+    private final MeterRegistry meterRegistry;
+    private final Duration[] slos;
+    private final long slowThresholdNanos;
+    private final long slowLogIntervalNanos;
+    private final Map<String, RouteMeters> routes = new ConcurrentHashMap<>();
+
+    public RouteLatencyFilter(MeterRegistry meterRegistry, AppProperties properties) {
+        AppProperties.Observability observability = properties.getObservability();
+        this.meterRegistry = meterRegistry;
+        this.slos = observability.getRequestSloMs().stream().map(Duration::ofMillis).toArray(Duration[]::new);
+        this.slowThresholdNanos = observability.getSlowRequestThresholdMs() < 0
+                ? Long.MAX_VALUE
+                : TimeUnit.MILLISECONDS.toNanos(observability.getSlowRequestThresholdMs());
+        this.slowLogIntervalNanos = TimeUnit.MILLISECONDS.toNanos(observability.getSlowRequestLogIntervalMs());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        long start = System.nanoTime();
+        RequestQueryStats stats = RequestQueryStats.begin();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            RequestQueryStats.end();
+            RouteMeters meters = meters(routeOf(request));
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new CompletionListener(meters, stats, request, response, start));
+            } else {
+                meters.record(stats);
+                complete(meters, request, response.getStatus(), start);
+            }
+        }
+    }
+
+    private void complete(RouteMeters meters, HttpServletRequest request, int status, long start) {
+        long took = System.nanoTime() - start;
+        meters.latency(status).record(took, TimeUnit.NANOSECONDS);
+        if (took >= slowThresholdNanos) {
+            meters.slowRequests.increment();
+            if (meters.shouldLogSlow(System.nanoTime(), slowLogIntervalNanos) && log.isWarnEnabled()) {
+                log.warn("Slow request {} {} -> {} took {} ms", request.getMethod(), request.getRequestURI(), status,
+                        TimeUnit.NANOSECONDS.toMillis(took));
+            }
+        }
+    }
+
+    private RouteMeters meters(String route) {
+        RouteMeters meters = routes.get(route);
+        return meters != null ? meters : routes.computeIfAbsent(route, RouteMeters::new);
+    }
+
+    private static String routeOf(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? pattern.toString() : UNKNOWN_ROUTE;
+    }
+
+    private final class RouteMeters {
+
+        private final String route;
+        private final Timer[] latencies = new Timer[STATUS_CLASSES.length];
+        private final DistributionSummary statements;
+        private final Timer dbTime;
+        private final DistributionSummary entityLoads;
+        private final DistributionSummary flushes;
+        private final Counter slowRequests;
+        private final AtomicLong nextSlowLogAt = new AtomicLong(System.nanoTime());
+
+        RouteMeters(String route) {
+            this.route = route;
+            this.statements = DistributionSummary.builder("request.db.statements").tag("uri", route)
+                    .register(meterRegistry);
+            this.dbTime = Timer.builder("request.db.time").tag("uri", route).register(meterRegistry);
+            this.entityLoads = DistributionSummary.builder("request.entity.loads").tag("uri", route)
+                    .register(meterRegistry);
+            this.flushes = DistributionSummary.builder("request.flushes").tag("uri", route).register(meterRegistry);
+            this.slowRequests = meterRegistry.counter("request.slow", "uri", route);
+        }
+
+        void record(RequestQueryStats stats) {
+            statements.record(stats.statements());
+            dbTime.record(stats.statementNanos(), TimeUnit.NANOSECONDS);
+            entityLoads.record(stats.entityLoads());
+            flushes.record(stats.flushes());
+        }
+
+        Timer latency(int status) {
+            int index = Math.min(Math.max(status / 100 - 1, 0), STATUS_CLASSES.length - 1);
+            Timer timer = latencies[index];
+            if (timer == null) {
+                timer = Timer.builder("request.latency")
+                        .tag("uri", route)
+                        .tag("status", STATUS_CLASSES[index])
+                        .publishPercentiles(0.5, 0.95, 0.99)
+                        .serviceLevelObjectives(slos)
+                        .register(meterRegistry);
+                latencies[index] = timer;
+            }
+            return timer;
+        }
+
+        boolean shouldLogSlow(long now, long intervalNanos) {
+            long next = nextSlowLogAt.get();
+            return now - next >= 0 && nextSlowLogAt.compareAndSet(next, now + intervalNanos);
+        }
+    }
+
+    private final class CompletionListener implements AsyncListener {
+
+        private final RouteMeters meters;
+        private final RequestQueryStats stats;
+        private final HttpServletRequest request;
+        private final HttpServletResponse response;
+        private final long start;
+
+        CompletionListener(RouteMeters meters, RequestQueryStats stats, HttpServletRequest request,
+                           HttpServletResponse response, long start) {
+            this.meters = meters;
+            this.stats = stats;
+            this.request = request;
+            this.response = response;
+            this.start = start;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            // async work finishes after the filter returns, so its database work is only complete now
+            meters.record(stats);
+            complete(meters, request, response.getStatus(), start);
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            event.getAsyncContext().addListener(this);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.shopify.dashboard.monitoring;
+
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+
+/**
+ * Makes SQL safe to log: literals become {@code ?} and bound parameters are reduced to their types, so slow query
+ * logs never carry customer emails, tokens or amounts.
+ */
+public final class SqlRedaction {
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMERIC_LITERAL = Pattern.compile("(?<![\\w.$])-?\\d+(?:\\.\\d+)?(?![\\w.])");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private SqlRedaction() {
+    }
+
+    public static String redact(String sql) {
+        String redacted = STRING_LITERAL.matcher(sql).replaceAll("?");
+        redacted = NUMERIC_LITERAL.matcher(redacted).replaceAll("?");
+        return WHITESPACE.matcher(redacted).replaceAll(" ").trim();
+    }
+
+    public static String describeParameters(List<List<ParameterSetOperation>> parameterSets) {
+        if (parameterSets == null || parameterSets.isEmpty()) {
+            return "[]";
+        }
+        String first = parameterSets.get(0).stream()
+                .map(SqlRedaction::typeOf)
+                .collect(Collectors.joining(", ", "[", "]"));
+        return parameterSets.size() == 1 ? first : first + " x" + parameterSets.size();
+    }
+
+    private static String typeOf(ParameterSetOperation operation) {
+        if (ParameterSetOperation.isSetNullParameterOperation(operation)) {
+            return "null";
+        }
+        Object[] args = operation.getArgs();
+        if (args == null || args.length < 2 || args[1] == null) {
+            return "null";
+        }
+        return args[1].getClass().getSimpleName();
+    }
+}
@@ -0,0 +1,7 @@
+package com.shopify.dashboard.purge;
+
+public enum PurgeState {
+    PENDING,
+    RUNNING,
+    COMPLETED
+}
@@ -0,0 +1,46 @@
+package com.shopify.dashboard.purge;
+
+import java.util.Locale;
+
+/**
+ * Tenant-owned tables in the order they are emptied, each with the key used to pick a batch. Orders are keyed by
+ * {@code (id, created_at)} because {@code ctid} is not unique across partitions.
+ */
+public enum PurgeTable {
+    ARCHIVED_ORDER_KEYS("tenant_id, shop_order_id", Integer.MAX_VALUE),
+    ORDER_ARCHIVE_SEGMENTS("id", 20),
+    ORDER_DAILY_SKETCHES("tenant_id, day", Integer.MAX_VALUE),
+    ORDER_HOURLY_ROLLUPS("tenant_id, bucket_start, currency", Integer.MAX_VALUE),
+    ORDER_DAILY_ROLLUPS("tenant_id, day, currency", Integer.MAX_VALUE),
+    ORDERS("id, created_at", Integer.MAX_VALUE),
+    CUSTOMERS("id", Integer.MAX_VALUE),
+    PRODUCTS("id", Integer.MAX_VALUE);
+
+    private final String key;
+    private final int maxBatchSize;
+
+    PurgeTable(String key, int maxBatchSize) {
+        this.key = key;
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    public String tableName() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    public String deleteBatchSql() {
+        return "DELETE FROM " + tableName() + " WHERE (" + key + ") IN (SELECT " + key + " FROM " + tableName()
+                + " WHERE tenant_id = ? LIMIT ?)";
+    }
+
+    /**
+     * Segments carry up to a month of orders each in TOAST, so they go a few at a time.
+     */
+    public int batchSize(int configured) {
+        return Math.min(configured, maxBatchSize);
+    }
+
+    public static PurgeTable fromTableName(String tableName) {
+        return tableName == null ? values()[0] : valueOf(tableName.toUpperCase(Locale.ROOT));
+    }
+}
@@ -0,0 +1,104 @@
+package com.shopify.dashboard.purge;
+
+import com.shopify.dashboard.config.AppProperties;
+import com.shopify.dashboard.datasource.ReplicaRoutingDataSource;
+import com.shopify.dashboard.datasource.ReplicaTarget;
+import com.shopify.dashboard.dto.TenantPurgeStatus;
+import com.shopify.dashboard.repository.TenantPurgeRepository;
+import com.shopify.dashboard.workload.Workload;
+import com.shopify.dashboard.workload.WorkloadContext;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Empties soft-deleted tenants one small batch per tick, each batch in its own short transaction, so locks stay
+ * brief and WAL is spread out. Ticks are skipped while a replica lags behind the configured threshold.
+ */
+@Component
+@Slf4j
+public class TenantPurger {
+
+    private final TenantPurgeRepository purgeRepository;
+    private final ReplicaRoutingDataSource routingDataSource;
+    private final PlatformTransactionManager transactionManager;
+    private final AppProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Counter throttled;
+    private final UUID instanceId = UUID.randomUUID();
+
+    public TenantPurger(TenantPurgeRepository purgeRepository, ReplicaRoutingDataSource routingDataSource,
+                        PlatformTransactionManager transactionManager, AppProperties properties,
+                        MeterRegistry meterRegistry) {
+        this.purgeRepository = purgeRepository;
+        this.routingDataSource = routingDataSource;
+        this.transactionManager = transactionManager;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.throttled = Counter.builder("tenant.purge.throttled").register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.tenants.purge.interval-ms}")
+    public void purge() {
+        WorkloadContext.run(Workload.INGESTION, this::purgeNextBatch);
+    }
+
+    void purgeNextBatch() {
+        try {
+            if (replicasLagging()) {
+                throttled.increment();
+                return;
+            }
+            AppProperties.Tenants.Purge settings = properties.getTenants().getPurge();
+            TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+            Optional<TenantPurgeStatus> claimed = transaction.execute(status -> purgeRepository.claim(instanceId,
+                    Instant.now().plusMillis(settings.getLeaseMs())));
+            if (claimed == null || claimed.isEmpty()) {
+                return;
+            }
+            TenantPurgeStatus purge = claimed.get();
+            for (PurgeTable table = PurgeTable.fromTableName(purge.currentTable()); table != null; table = next(table)) {
+                PurgeTable current = table;
+                Integer deleted = transaction.execute(status -> {
+                    int rows = purgeRepository.deleteBatch(current, purge.tenantId(),
+                            current.batchSize(settings.getBatchSize()));
+                    if (rows > 0) {
+                        purgeRepository.recordProgress(purge.tenantId(), current, rows);
+                    }
+                    return rows;
+                });
+                if (deleted != null && deleted > 0) {
+                    meterRegistry.counter("tenant.purge.rows", "table", current.tableName()).increment(deleted);
+                    return;
+                }
+            }
+            transaction.executeWithoutResult(status -> purgeRepository.complete(purge.tenantId()));
+            log.info("Purged tenant {} ({}), {} rows removed", purge.tenantId(), purge.shopDomain(),
+                    purge.rowsDeleted());
+        } catch (RuntimeException ex) {
+            log.warn("Tenant purge batch failed", ex);
+        }
+    }
+
+    private boolean replicasLagging() {
+        long maxLag = properties.getTenants().getPurge().getMaxReplicaLagMs();
+        for (ReplicaTarget replica : routingDataSource.replicas()) {
+            if (replica.lagMillis() > maxLag) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static PurgeTable next(PurgeTable table) {
+        PurgeTable[] tables = PurgeTable.values();
+        return table.ordinal() + 1 < tables.length ? tables[table.ordinal() + 1] : null;
+    }
+}
@@ -0,0 +1,114 @@
+package com.shopify.dashboard.reactive;
+
+import com.shopify.dashboard.dto.ApiResponse;
+import com.shopify.dashboard.entity.Tenant;
+import com.shopify.dashboard.exception.ApiException;
+import com.shopify.dashboard.exception.NotFoundException;
+import com.shopify.dashboard.exception.UnauthorizedException;
+import com.shopify.dashboard.repository.ReactiveMetricsRepository;
+import com.shopify.dashboard.security.JwtTokenService;
+import com.shopify.dashboard.security.UserAuthState;
+import com.shopify.dashboard.security.UserAuthStateCache;
+import com.shopify.dashboard.security.UserPrincipal;
+import com.shopify.dashboard.tenant.TenantContextInterceptor;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import java.util.Optional;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.HandlerFilterFunction;
+import org.springframework.web.reactive.function.server.HandlerFunction;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+
+/**
+ * The reactive counterpart of the JWT filter and tenant interceptor: verifies the bearer token, checks it against
+ * the shared {@link UserAuthStateCache} (loading misses over R2DBC), authorizes the path tenant and resolves it for
+ * the handler. Also renders errors in the same {@link ApiResponse} shape as the servlet exception handler.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ReactiveAuthFilter implements HandlerFilterFunction<ServerResponse, ServerResponse> {
+
+    private static final String TENANT_ATTRIBUTE = ReactiveAuthFilter.class.getName() + ".tenant";
+
+    private final JwtTokenService tokenService;
+    private final UserAuthStateCache userAuthStateCache;
+    private final ReactiveMetricsRepository repository;
+
+    public static Tenant tenant(ServerRequest request) {
+        return (Tenant) request.attribute(TENANT_ATTRIBUTE)
+                .orElseThrow(() -> new IllegalStateException("No tenant resolved for " + request.path()));
+    }
+
+    @Override
+    public Mono<ServerResponse> filter(ServerRequest request, HandlerFunction<ServerResponse> next) {
+        return Mono.defer(() -> authorize(request))
+                .flatMap(tenant -> {
+                    request.attributes().put(TENANT_ATTRIBUTE, tenant);
+                    return next.handle(request);
+                })
+                .onErrorResume(this::error);
+    }
+
+    private Mono<Tenant> authorize(ServerRequest request) {
+        String header = request.headers().firstHeader(HttpHeaders.AUTHORIZATION);
+        if (header == null || !header.startsWith("Bearer ")) {
+            return Mono.error(new UnauthorizedException("Missing bearer token"));
+        }
+        Claims claims;
+        try {
+            claims = tokenService.parseToken(header.substring(7));
+        } catch (JwtException | IllegalArgumentException ex) {
+            return Mono.error(new UnauthorizedException("Invalid token"));
+        }
+        UUID tenantId = pathTenant(request);
+        UUID userId = tokenService.extractUserId(claims);
+        UUID claimedTenantId = tokenService.extractTenantId(claims);
+        String role = tokenService.extractRole(claims);
+        return Mono.fromFuture(() -> userAuthStateCache.getAsync(userId, id -> repository.findUserAuthState(id)
+                        .map(Optional::of)
+                        .defaultIfEmpty(Optional.empty())
+                        .toFuture()))
+                .flatMap(state -> Mono.justOrEmpty(
+                        state.filter(candidate -> candidate.accepts(claims.getIssuedAt(), claimedTenantId, role))))
+                .switchIfEmpty(Mono.error(() -> new UnauthorizedException("Invalid token")))
+                .flatMap((UserAuthState state) -> {
+                    UserPrincipal principal = new UserPrincipal(userId, state.email(), null, claimedTenantId, role);
+                    if (!TenantContextInterceptor.canAccess(principal, tenantId)) {
+                        return Mono.error(new ApiException("Access to tenant denied", HttpStatus.FORBIDDEN));
+                    }
+                    return repository.findTenant(tenantId)
+                            .switchIfEmpty(Mono.error(() -> new NotFoundException("Tenant not found")));
+                });
+    }
+
+    private static UUID pathTenant(ServerRequest request) {
+        try {
+            return UUID.fromString(request.pathVariable("tenantId"));
+        } catch (IllegalArgumentException ex) {
+            throw new ApiException("Invalid tenant id", HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    private Mono<ServerResponse> error(Throwable error) {
+        if (error instanceof ApiException api) {
+            return respond(api.getStatus(), api.getMessage());
+        }
+        log.error("Reactive metrics request failed", error);
+        return respond(HttpStatus.INTERNAL_SERVER_ERROR, "Unexpected error: " + error.getMessage());
+    }
+
+    private static Mono<ServerResponse> respond(HttpStatus status, String message) {
+        return ServerResponse.status(status)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(ApiResponse.failure(message));
+    }
+}
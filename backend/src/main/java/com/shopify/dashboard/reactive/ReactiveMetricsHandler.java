@@ -0,0 +1,155 @@
+package com.shopify.dashboard.reactive;
+
+import com.shopify.dashboard.analytics.CurrencyTotal;
+import com.shopify.dashboard.analytics.MetricsInterval;
+import com.shopify.dashboard.analytics.OrderColumnStore;
+import com.shopify.dashboard.analytics.OrderSeriesService;
+import com.shopify.dashboard.analytics.RollupPoint;
+import com.shopify.dashboard.analytics.TenantOrderColumns;
+import com.shopify.dashboard.analytics.TenantOrderColumns.BucketTotals;
+import com.shopify.dashboard.config.AppProperties;
+import com.shopify.dashboard.dto.ApiResponse;
+import com.shopify.dashboard.dto.MetricsOverviewDto;
+import com.shopify.dashboard.entity.Tenant;
+import com.shopify.dashboard.exception.ApiException;
+import com.shopify.dashboard.repository.ReactiveMetricsRepository;
+import com.shopify.dashboard.service.MetricsService;
+import com.shopify.dashboard.util.MoneyUnits;
+import com.shopify.dashboard.workload.Workload;
+import com.shopify.dashboard.workload.WorkloadExecutors;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Metrics endpoints of the reactive read server. Overview, order series and recent orders are answered from resident
+ * column stores or R2DBC without blocking; the sketch-backed endpoints and top customers reuse the servlet services
+ * on the bounded API executor, since their caches load through JDBC.
+ */
+@Component
+@RequiredArgsConstructor
+public class ReactiveMetricsHandler {
+
+    private final ReactiveMetricsRepository repository;
+    private final OrderColumnStore orderColumnStore;
+    private final MetricsService metricsService;
+    private final WorkloadExecutors workloadExecutors;
+    private final AppProperties properties;
+
+    public Mono<ServerResponse> overview(ServerRequest request) {
+        Tenant tenant = ReactiveAuthFilter.tenant(request);
+        Optional<TenantOrderColumns> columns = orderColumnStore.resident(tenant.getId());
+        Mono<OrderTotals> orders = columns
+                .map(resident -> {
+                    BucketTotals totals = resident.totals();
+                    return Mono.just(new OrderTotals(totals.counts()[0], totals.amount(0)));
+                })
+                .orElseGet(() -> repository.totalsByCurrency(tenant.getId())
+                        .reduce(new OrderTotals(0, BigDecimal.ZERO), OrderTotals::add));
+        return Mono.zip(repository.countCustomers(tenant.getId()), repository.countProducts(tenant.getId()), orders)
+                .map(result -> new MetricsOverviewDto(result.getT1(), result.getT3().orders(), result.getT2(),
+                        result.getT3().revenue(), tenant.getLastSyncAt()))
+                .flatMap(ReactiveMetricsHandler::ok);
+    }
+
+    public Mono<ServerResponse> orders(ServerRequest request) {
+        Tenant tenant = ReactiveAuthFilter.tenant(request);
+        LocalDate from = date(request, "from");
+        LocalDate to = date(request, "to");
+        MetricsInterval interval = MetricsInterval.parse(request.queryParam("interval").orElse("day"));
+        Integer maxPoints = integer(request, "maxPoints").orElse(null);
+        OrderSeriesService.validate(from, to, maxPoints);
+        ZoneId zone = tenant.zoneId();
+        List<Instant> boundaries = interval.boundaries(from, to, zone, properties.getMetrics().getMaxSeriesBuckets());
+        Mono<BucketTotals> totals = orderColumnStore.resident(tenant.getId())
+                .map(columns -> Mono.just(OrderSeriesService.fromColumns(columns, boundaries)))
+                .orElseGet(() -> rollups(tenant, zone, from, to, interval, boundaries).collectList()
+                        .map(rows -> OrderSeriesService.fromRollups(rows, boundaries)));
+        return totals
+                .map(bucketTotals -> OrderSeriesService.downsample(
+                        OrderSeriesService.points(bucketTotals, boundaries, zone), maxPoints))
+                .flatMap(ReactiveMetricsHandler::ok);
+    }
+
+    public Mono<ServerResponse> uniqueCustomers(ServerRequest request) {
+        Tenant tenant = ReactiveAuthFilter.tenant(request);
+        LocalDate from = date(request, "from");
+        LocalDate to = date(request, "to");
+        return offload(() -> metricsService.getUniqueCustomers(tenant, from, to));
+    }
+
+    public Mono<ServerResponse> orderValuePercentiles(ServerRequest request) {
+        Tenant tenant = ReactiveAuthFilter.tenant(request);
+        LocalDate from = date(request, "from");
+        LocalDate to = date(request, "to");
+        return offload(() -> metricsService.getOrderValuePercentiles(tenant, from, to));
+    }
+
+    public Mono<ServerResponse> topCustomers(ServerRequest request) {
+        Tenant tenant = ReactiveAuthFilter.tenant(request);
+        int limit = integer(request, "limit").orElse(5);
+        return offload(() -> metricsService.getTopCustomers(tenant.getId(), limit));
+    }
+
+    public Mono<ServerResponse> recentOrders(ServerRequest request) {
+        Tenant tenant = ReactiveAuthFilter.tenant(request);
+        int limit = Math.max(integer(request, "limit").orElse(10), 1);
+        return repository.findRecentOrders(tenant.getId(), limit).collectList().flatMap(ReactiveMetricsHandler::ok);
+    }
+
+    private Flux<RollupPoint> rollups(Tenant tenant, ZoneId zone, LocalDate from, LocalDate to,
+                                      MetricsInterval interval, List<Instant> boundaries) {
+        return interval == MetricsInterval.HOUR
+                ? repository.findHourly(tenant.getId(), boundaries.get(0), boundaries.get(boundaries.size() - 1))
+                : repository.findDaily(tenant.getId(), zone, from, to);
+    }
+
+    private <T> Mono<ServerResponse> offload(Supplier<T> task) {
+        return Mono.fromFuture(() -> workloadExecutors.submit(Workload.API, task)).flatMap(ReactiveMetricsHandler::ok);
+    }
+
+    private static Mono<ServerResponse> ok(Object data) {
+        return ServerResponse.ok().contentType(MediaType.APPLICATION_JSON).bodyValue(ApiResponse.success(data));
+    }
+
+    private static LocalDate date(ServerRequest request, String name) {
+        String value = request.queryParam(name)
+                .orElseThrow(() -> new ApiException("Missing parameter: " + name, HttpStatus.BAD_REQUEST));
+        try {
+            return LocalDate.parse(value);
+        } catch (DateTimeParseException ex) {
+            throw new ApiException("Invalid date for " + name + ": " + value, HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    private static Optional<Integer> integer(ServerRequest request, String name) {
+        return request.queryParam(name).map(value -> {
+            try {
+                return Integer.valueOf(value);
+            } catch (NumberFormatException ex) {
+                throw new ApiException("Invalid number for " + name + ": " + value, HttpStatus.BAD_REQUEST);
+            }
+        });
+    }
+
+    private record OrderTotals(long orders, BigDecimal revenue) {
+
+        OrderTotals add(CurrencyTotal total) {
+            return new OrderTotals(orders + total.orderCount(),
+                    revenue.add(MoneyUnits.toMajor(total.amountMinor(), total.currency())));
+        }
+    }
+}
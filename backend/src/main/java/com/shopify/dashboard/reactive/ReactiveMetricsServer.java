@@ -0,0 +1,90 @@
+package com.shopify.dashboard.reactive;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shopify.dashboard.config.AppProperties;
+import java.time.Duration;
+import java.util.regex.Pattern;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.http.server.reactive.HttpHandler;
+import org.springframework.http.server.reactive.ReactorHttpHandlerAdapter;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.HandlerStrategies;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.resources.LoopResources;
+
+/**
+ * Serves {@code /api/{tenantId}/metrics/*} on its own Reactor Netty port next to the servlet container, so dashboard
+ * polling can be held on a few event-loop threads while writes, ingestion and the remaining API stay on Tomcat.
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.reactive", name = "enabled", havingValue = "true")
+@Slf4j
+public class ReactiveMetricsServer implements SmartLifecycle {
+
+    private static final Pattern UUID_SEGMENT = Pattern.compile("/[0-9a-fA-F-]{36}(?=/|$)");
+
+    private final AppProperties.Reactive settings;
+    private final HttpHandler httpHandler;
+    private LoopResources loops;
+    private DisposableServer server;
+
+    public ReactiveMetricsServer(ReactiveMetricsHandler handler, ReactiveAuthFilter authFilter,
+                                 ObjectMapper objectMapper, AppProperties properties) {
+        this.settings = properties.getReactive();
+        RouterFunction<ServerResponse> routes = RouterFunctions.route()
+                .path("/api/{tenantId}/metrics", metrics -> metrics
+                        .GET("/overview", handler::overview)
+                        .GET("/orders", handler::orders)
+                        .GET("/unique-customers", handler::uniqueCustomers)
+                        .GET("/order-value-percentiles", handler::orderValuePercentiles)
+                        .GET("/top-customers", handler::topCustomers)
+                        .GET("/recent-orders", handler::recentOrders))
+                .filter(authFilter)
+                .build();
+        HandlerStrategies strategies = HandlerStrategies.builder()
+                .codecs(codecs -> {
+                    codecs.defaultCodecs().jackson2JsonEncoder(new Jackson2JsonEncoder(objectMapper));
+                    codecs.defaultCodecs().jackson2JsonDecoder(new Jackson2JsonDecoder(objectMapper));
+                })
+                .build();
+        this.httpHandler = RouterFunctions.toHttpHandler(routes, strategies);
+    }
+
+    @Override
+    public synchronized void start() {
+        loops = LoopResources.create("reactive-metrics", settings.getEventLoopThreads(), true);
+        server = HttpServer.create()
+                .port(settings.getPort())
+                .runOn(loops)
+                .metrics(true, uri -> UUID_SEGMENT.matcher(uri).replaceAll("/{id}"))
+                .handle(new ReactorHttpHandlerAdapter(httpHandler))
+                .bindNow();
+        log.info("Reactive metrics server listening on port {} with {} event-loop threads", server.port(),
+                settings.getEventLoopThreads());
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (server != null) {
+            server.disposeNow(Duration.ofSeconds(10));
+            server = null;
+        }
+        if (loops != null) {
+            loops.disposeLater().block(Duration.ofSeconds(10));
+            loops = null;
+        }
+    }
+
+    @Override
+    public synchronized boolean isRunning() {
+        return server != null;
+    }
+}
@@ -0,0 +1,151 @@
+package com.shopify.dashboard.repository;
+
+import com.shopify.dashboard.analytics.CurrencyTotal;
+import com.shopify.dashboard.archive.ArchiveSegment;
+import com.shopify.dashboard.archive.ArchivedOrder;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+@Repository
+@RequiredArgsConstructor
+public class OrderArchiveRepository {
+
+    private static final String SEGMENT_COLUMNS =
+            "id, month, currency, row_count, min_created_at, max_created_at";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public Instant findOldestHotOrder(UUID tenantId, Instant before) {
+        Timestamp oldest = jdbcTemplate.queryForObject(
+                "SELECT MIN(created_at) FROM orders WHERE tenant_id = ? AND created_at < ?", Timestamp.class,
+                tenantId, utc(before));
+        return oldest == null ? null : oldest.toInstant();
+    }
+
+    public List<ArchivedOrder> lockHotOrders(UUID tenantId, Instant from, Instant toExclusive) {
+        return jdbcTemplate.query("""
+                        SELECT id, shop_order_id, shop_customer_id, order_number, total_price_minor, currency,
+                               created_at, updated_at
+                        FROM orders
+                        WHERE tenant_id = ? AND created_at >= ? AND created_at < ?
+                        ORDER BY created_at, id
+                        FOR UPDATE
+                        """,
+                (rs, rowNum) -> new ArchivedOrder(rs.getObject("id", UUID.class), rs.getLong("shop_order_id"),
+                        rs.getObject("shop_customer_id", Long.class), rs.getString("order_number"),
+                        rs.getLong("total_price_minor"), rs.getString("currency"), instant(rs, "created_at"),
+                        instant(rs, "updated_at")),
+                tenantId, utc(from), utc(toExclusive));
+    }
+
+    public void insertSegment(UUID id, UUID tenantId, LocalDate month, String currency, List<ArchivedOrder> orders,
+                              byte[] payload) {
+        long revenueMinor = orders.stream().mapToLong(ArchivedOrder::totalPriceMinor).sum();
+        jdbcTemplate.update("""
+                        INSERT INTO order_archive_segments (id, tenant_id, month, currency, row_count, revenue_minor,
+                                                            min_created_at, max_created_at, payload)
+                        VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)
+                        """,
+                id, tenantId, month, currency, orders.size(), revenueMinor, utc(orders.get(0).createdAt()),
+                utc(orders.get(orders.size() - 1).createdAt()), payload);
+    }
+
+    public void insertKeys(UUID tenantId, List<ArchivedOrder> orders) {
+        jdbcTemplate.batchUpdate("""
+                        INSERT INTO archived_order_keys (tenant_id, shop_order_id, created_at)
+                        VALUES (?, ?, ?)
+                        ON CONFLICT (tenant_id, shop_order_id) DO NOTHING
+                        """,
+                orders, 1000, (statement, order) -> {
+                    statement.setObject(1, tenantId);
+                    statement.setLong(2, order.shopOrderId());
+                    statement.setObject(3, utc(order.createdAt()));
+                });
+    }
+
+    public int deleteHotOrders(UUID tenantId, Instant from, Instant toExclusive) {
+        return jdbcTemplate.update("DELETE FROM orders WHERE tenant_id = ? AND created_at >= ? AND created_at < ?",
+                tenantId, utc(from), utc(toExclusive));
+    }
+
+    public void markArchivedBefore(UUID tenantId, Instant horizon) {
+        jdbcTemplate.update("""
+                        UPDATE tenants
+                        SET orders_archived_before = GREATEST(COALESCE(orders_archived_before, ?), ?)
+                        WHERE id = ?
+                        """,
+                utc(horizon), utc(horizon), tenantId);
+    }
+
+    /**
+     * The horizon below which every tenant has been archived, or null while some tenant has not been archived yet.
+     */
+    public Instant findGlobalArchiveHorizon() {
+        Timestamp horizon = jdbcTemplate.queryForObject("""
+                SELECT CASE WHEN bool_or(orders_archived_before IS NULL) THEN NULL
+                            ELSE MIN(orders_archived_before) END
+                FROM tenants
+                WHERE deleted_at IS NULL
+                """, Timestamp.class);
+        return horizon == null ? null : horizon.toInstant();
+    }
+
+    public boolean isArchived(UUID tenantId, long shopOrderId) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM archived_order_keys WHERE tenant_id = ? AND shop_order_id = ?)",
+                Boolean.class, tenantId, shopOrderId));
+    }
+
+    public List<CurrencyTotal> totalsByCurrency(UUID tenantId) {
+        return jdbcTemplate.query("""
+                        SELECT currency, SUM(row_count) AS row_count, SUM(revenue_minor) AS revenue_minor
+                        FROM order_archive_segments
+                        WHERE tenant_id = ?
+                        GROUP BY currency
+                        """,
+                (rs, rowNum) -> new CurrencyTotal(rs.getString("currency"), rs.getLong("row_count"),
+                        rs.getLong("revenue_minor")),
+                tenantId);
+    }
+
+    public List<ArchiveSegment> findSegments(UUID tenantId) {
+        return jdbcTemplate.query("SELECT " + SEGMENT_COLUMNS + " FROM order_archive_segments WHERE tenant_id = ? "
+                + "ORDER BY month, currency, min_created_at", this::segment, tenantId);
+    }
+
+    public List<ArchiveSegment> findSegmentsStartingBefore(UUID tenantId, Instant before) {
+        return jdbcTemplate.query("SELECT " + SEGMENT_COLUMNS + " FROM order_archive_segments WHERE tenant_id = ? "
+                + "AND min_created_at <= ? ORDER BY month DESC, currency, min_created_at", this::segment, tenantId,
+                utc(before));
+    }
+
+    public byte[] findPayload(UUID segmentId) {
+        return jdbcTemplate.queryForObject("SELECT payload FROM order_archive_segments WHERE id = ?", byte[].class,
+                segmentId);
+    }
+
+    private ArchiveSegment segment(ResultSet rs, int rowNum) throws SQLException {
+        return new ArchiveSegment(rs.getObject("id", UUID.class), rs.getObject("month", LocalDate.class),
+                rs.getString("currency"), rs.getLong("row_count"), instant(rs, "min_created_at"),
+                instant(rs, "max_created_at"));
+    }
+
+    private static Instant instant(ResultSet rs, String column) throws SQLException {
+        Timestamp timestamp = rs.getTimestamp(column);
+        return timestamp == null ? null : timestamp.toInstant();
+    }
+
+    private static OffsetDateTime utc(Instant instant) {
+        return OffsetDateTime.ofInstant(instant, ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,42 @@
+package com.shopify.dashboard.repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+@Repository
+@RequiredArgsConstructor
+public class OrderPartitionRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public boolean ensureMonth(LocalDate month) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject("SELECT ensure_orders_partition(?)", Boolean.class,
+                month));
+    }
+
+    public List<LocalDate> monthsInDefaultPartition() {
+        return jdbcTemplate.queryForList("""
+                SELECT DISTINCT date_trunc('month', created_at AT TIME ZONE 'UTC')::DATE
+                FROM orders_default
+                ORDER BY 1
+                """, LocalDate.class);
+    }
+
+    public List<LocalDate> partitionMonths() {
+        return jdbcTemplate.queryForList("""
+                SELECT to_date(substring(c.relname FROM 9), 'YYYYMM')
+                FROM pg_inherits i
+                JOIN pg_class c ON c.oid = i.inhrelid
+                WHERE i.inhparent = 'orders'::regclass AND c.relname ~ '^orders_p[0-9]{6}$'
+                ORDER BY 1
+                """, LocalDate.class);
+    }
+
+    public boolean dropIfEmpty(LocalDate month) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject("SELECT drop_orders_partition_if_empty(?)",
+                Boolean.class, month));
+    }
+}
@@ -1,22 +1,29 @@
 package com.shopify.dashboard.repository;
 
+import com.shopify.dashboard.analytics.CurrencyTotal;
+import com.shopify.dashboard.analytics.OrderFact;
 import com.shopify.dashboard.entity.Order;
-import java.math.BigDecimal;
+import jakarta.persistence.QueryHint;
 import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
 public interface OrderRepository extends JpaRepository<Order, UUID> {
 
     long countByTenantId(UUID tenantId);
 
-    @Query("select coalesce(sum(o.totalPrice), 0) from Order o where o.tenantId = :tenantId")
-    BigDecimal sumTotalPriceByTenantId(@Param("tenantId") UUID tenantId);
+    @Query("select new com.shopify.dashboard.analytics.CurrencyTotal(o.currency, count(o), "
+            + "coalesce(sum(o.totalPriceMinor), 0)) from Order o where o.tenantId = :tenantId group by o.currency")
+    List<CurrencyTotal> totalsByCurrency(@Param("tenantId") UUID tenantId);
 
     List<Order> findByTenantIdOrderByCreatedAtDesc(UUID tenantId, Pageable pageable);
 
@@ -25,4 +32,34 @@ public interface OrderRepository extends JpaRepository<Order, UUID> {
     List<Order> findAllByTenantIdAndCreatedAtBetween(UUID tenantId, Instant from, Instant to);
 
     Optional<Order> findByTenantIdAndShopOrderId(UUID tenantId, Long shopOrderId);
+
+    Optional<Order> findByTenantIdAndShopOrderIdAndCreatedAt(UUID tenantId, Long shopOrderId, Instant createdAt);
+
+    Optional<Order> findByTenantIdAndShopOrderIdAndCreatedAtFallbackTrue(UUID tenantId, Long shopOrderId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "UPDATE orders SET created_at = :createdAt, created_at_fallback = FALSE "
+            + "WHERE tenant_id = :tenantId AND id = :id AND created_at = :previous", nativeQuery = true)
+    int correctCreatedAt(@Param("tenantId") UUID tenantId, @Param("id") UUID id, @Param("previous") Instant previous,
+                         @Param("createdAt") Instant createdAt);
+
+    @Query(value = "SELECT * FROM orders WHERE tenant_id = :tenantId ORDER BY created_at DESC, id DESC LIMIT :limit",
+            nativeQuery = true)
+    List<Order> findFirstPage(@Param("tenantId") UUID tenantId, @Param("limit") int limit);
+
+    @Query(value = "SELECT * FROM orders WHERE tenant_id = :tenantId AND (created_at, id) < (:createdAt, :id) "
+            + "ORDER BY created_at DESC, id DESC LIMIT :limit", nativeQuery = true)
+    List<Order> findPageBefore(@Param("tenantId") UUID tenantId, @Param("createdAt") Instant createdAt,
+                               @Param("id") UUID id, @Param("limit") int limit);
+
+    @Query("select new com.shopify.dashboard.analytics.OrderFact(o.shopOrderId, o.shopCustomerId, o.createdAt, "
+            + "o.totalPriceMinor, o.currency) from Order o where o.tenantId = :tenantId order by o.createdAt")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    Stream<OrderFact> streamFactsByTenantId(@Param("tenantId") UUID tenantId);
+
+    @Query("select new com.shopify.dashboard.analytics.OrderFact(o.shopOrderId, o.shopCustomerId, o.createdAt, "
+            + "o.totalPriceMinor, o.currency) from Order o where o.tenantId = :tenantId "
+            + "and o.createdAt >= :from and o.createdAt < :toExclusive")
+    List<OrderFact> findFacts(@Param("tenantId") UUID tenantId, @Param("from") Instant from,
+                              @Param("toExclusive") Instant toExclusive);
 }
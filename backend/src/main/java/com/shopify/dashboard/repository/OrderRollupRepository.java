@@ -0,0 +1,70 @@
+package com.shopify.dashboard.repository;
+
+import com.shopify.dashboard.analytics.RollupPoint;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+@Repository
+@RequiredArgsConstructor
+public class OrderRollupRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void apply(UUID tenantId, ZoneId zone, Instant createdAt, String currency, long orderCount,
+                      long revenueMinor) {
+        jdbcTemplate.update("""
+                        INSERT INTO order_hourly_rollups (tenant_id, bucket_start, currency, order_count, revenue_minor)
+                        VALUES (?, ?, ?, ?, ?)
+                        ON CONFLICT (tenant_id, bucket_start, currency) DO UPDATE
+                        SET order_count = order_hourly_rollups.order_count + EXCLUDED.order_count,
+                            revenue_minor = order_hourly_rollups.revenue_minor + EXCLUDED.revenue_minor
+                        """,
+                tenantId, utc(createdAt.truncatedTo(ChronoUnit.HOURS)), currency,
+                orderCount, revenueMinor);
+        jdbcTemplate.update("""
+                        INSERT INTO order_daily_rollups (tenant_id, day, currency, order_count, revenue_minor)
+                        VALUES (?, ?, ?, ?, ?)
+                        ON CONFLICT (tenant_id, day, currency) DO UPDATE
+                        SET order_count = order_daily_rollups.order_count + EXCLUDED.order_count,
+                            revenue_minor = order_daily_rollups.revenue_minor + EXCLUDED.revenue_minor
+                        """,
+                tenantId, LocalDate.ofInstant(createdAt, zone), currency, orderCount, revenueMinor);
+    }
+
+    public List<RollupPoint> findHourly(UUID tenantId, Instant from, Instant toExclusive) {
+        return jdbcTemplate.query("""
+                        SELECT bucket_start, currency, order_count, revenue_minor
+                        FROM order_hourly_rollups
+                        WHERE tenant_id = ? AND bucket_start >= ? AND bucket_start < ?
+                        ORDER BY bucket_start
+                        """,
+                (rs, rowNum) -> new RollupPoint(rs.getTimestamp("bucket_start").toInstant(), rs.getString("currency"),
+                        rs.getLong("order_count"), rs.getLong("revenue_minor")),
+                tenantId, utc(from.truncatedTo(ChronoUnit.HOURS)), utc(toExclusive));
+    }
+
+    public List<RollupPoint> findDaily(UUID tenantId, ZoneId zone, LocalDate from, LocalDate to) {
+        return jdbcTemplate.query("""
+                        SELECT day, currency, order_count, revenue_minor
+                        FROM order_daily_rollups
+                        WHERE tenant_id = ? AND day BETWEEN ? AND ?
+                        ORDER BY day
+                        """,
+                (rs, rowNum) -> new RollupPoint(rs.getObject("day", LocalDate.class).atStartOfDay(zone).toInstant(),
+                        rs.getString("currency"), rs.getLong("order_count"), rs.getLong("revenue_minor")),
+                tenantId, from, to);
+    }
+
+    private static OffsetDateTime utc(Instant instant) {
+        return OffsetDateTime.ofInstant(instant, ZoneOffset.UTC);
+    }
+}
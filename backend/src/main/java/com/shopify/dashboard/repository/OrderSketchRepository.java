@@ -0,0 +1,123 @@
+package com.shopify.dashboard.repository;
+
+import com.shopify.dashboard.analytics.DaySketches;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+@Repository
+@RequiredArgsConstructor
+public class OrderSketchRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Stored sketches by day, then by currency.
+     */
+    public Map<LocalDate, Map<String, DaySketches>> findRange(UUID tenantId, LocalDate from, LocalDate to) {
+        Map<LocalDate, Map<String, DaySketches>> days = new TreeMap<>();
+        jdbcTemplate.query("""
+                        SELECT day, currency, customers_hll, order_values_kll
+                        FROM order_daily_sketches
+                        WHERE tenant_id = ? AND day BETWEEN ? AND ?
+                        """,
+                rs -> {
+                    DaySketches sketches =
+                            DaySketches.deserialize(rs.getBytes("customers_hll"), rs.getBytes("order_values_kll"));
+                    days.computeIfAbsent(rs.getObject("day", LocalDate.class), day -> new TreeMap<>())
+                            .put(rs.getString("currency"), sketches);
+                },
+                tenantId, from, to);
+        return days;
+    }
+
+    public void merge(UUID tenantId, LocalDate day, String currency, DaySketches delta) {
+        int inserted = jdbcTemplate.update("""
+                        INSERT INTO order_daily_sketches
+                            (tenant_id, day, currency, customers_hll, order_values_kll, updated_at)
+                        VALUES (?, ?, ?, ?, ?, NOW())
+                        ON CONFLICT (tenant_id, day, currency) DO NOTHING
+                        """,
+                tenantId, day, currency, delta.customersBytes(), delta.orderValuesBytes());
+        if (inserted == 1) {
+            return;
+        }
+        DaySketches stored = jdbcTemplate.queryForObject("""
+                        SELECT customers_hll, order_values_kll
+                        FROM order_daily_sketches
+                        WHERE tenant_id = ? AND day = ? AND currency = ?
+                        FOR UPDATE
+                        """,
+                (rs, rowNum) -> DaySketches.deserialize(rs.getBytes("customers_hll"), rs.getBytes("order_values_kll")),
+                tenantId, day, currency);
+        stored.merge(delta);
+        jdbcTemplate.update("""
+                        UPDATE order_daily_sketches
+                        SET customers_hll = ?, order_values_kll = ?, updated_at = NOW()
+                        WHERE tenant_id = ? AND day = ? AND currency = ?
+                        """,
+                stored.customersBytes(), stored.orderValuesBytes(), tenantId, day, currency);
+    }
+
+    public void replaceAll(UUID tenantId, Map<LocalDate, Map<String, DaySketches>> days) {
+        jdbcTemplate.update("DELETE FROM order_daily_sketches WHERE tenant_id = ?", tenantId);
+        insert(tenantId, days);
+    }
+
+    public void replaceDay(UUID tenantId, LocalDate day, Map<String, DaySketches> currencies) {
+        jdbcTemplate.update("DELETE FROM order_daily_sketches WHERE tenant_id = ? AND day = ?", tenantId, day);
+        insert(tenantId, Map.of(day, currencies));
+    }
+
+    private void insert(UUID tenantId, Map<LocalDate, Map<String, DaySketches>> days) {
+        List<SketchRow> rows = new ArrayList<>();
+        days.forEach((day, currencies) -> currencies.forEach((currency, sketches) ->
+                rows.add(new SketchRow(day, currency, sketches))));
+        jdbcTemplate.batchUpdate("""
+                        INSERT INTO order_daily_sketches
+                            (tenant_id, day, currency, customers_hll, order_values_kll, updated_at)
+                        VALUES (?, ?, ?, ?, ?, NOW())
+                        """,
+                rows, 500, (ps, row) -> {
+                    ps.setObject(1, tenantId);
+                    ps.setObject(2, row.day());
+                    ps.setString(3, row.currency());
+                    ps.setBytes(4, row.sketches().customersBytes());
+                    ps.setBytes(5, row.sketches().orderValuesBytes());
+                });
+    }
+
+    /**
+     * Held exclusively by a backfill and shared by every transaction merging deltas, so a backfill sees either all
+     * or none of a transaction's orders and deltas. Released when the transaction ends.
+     */
+    public void lockTenant(UUID tenantId, boolean exclusive) {
+        jdbcTemplate.query(exclusive
+                        ? "SELECT pg_advisory_xact_lock(hashtextextended('order_sketches:' || ?, 0))"
+                        : "SELECT pg_advisory_xact_lock_shared(hashtextextended('order_sketches:' || ?, 0))",
+                rs -> { }, tenantId.toString());
+    }
+
+    public boolean isBackfilled(UUID tenantId) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM order_sketch_backfills WHERE tenant_id = ?)", Boolean.class, tenantId));
+    }
+
+    public void markBackfilled(UUID tenantId) {
+        jdbcTemplate.update("""
+                        INSERT INTO order_sketch_backfills (tenant_id, backfilled_at)
+                        SELECT id, NOW() FROM tenants WHERE id = ?
+                        ON CONFLICT (tenant_id) DO UPDATE SET backfilled_at = EXCLUDED.backfilled_at
+                        """,
+                tenantId);
+    }
+
+    private record SketchRow(LocalDate day, String currency, DaySketches sketches) {
+    }
+}
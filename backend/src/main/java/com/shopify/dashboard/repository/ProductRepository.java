@@ -1,10 +1,13 @@
 package com.shopify.dashboard.repository;
 
 import com.shopify.dashboard.entity.Product;
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 public interface ProductRepository extends JpaRepository<Product, UUID> {
 
@@ -13,4 +16,13 @@ public interface ProductRepository extends JpaRepository<Product, UUID> {
     Optional<Product> findByTenantIdAndShopProductId(UUID tenantId, Long shopProductId);
 
     List<Product> findAllByTenantId(UUID tenantId);
+
+    @Query(value = "SELECT * FROM products WHERE tenant_id = :tenantId ORDER BY created_at, id LIMIT :limit",
+            nativeQuery = true)
+    List<Product> findFirstPage(@Param("tenantId") UUID tenantId, @Param("limit") int limit);
+
+    @Query(value = "SELECT * FROM products WHERE tenant_id = :tenantId AND (created_at, id) > (:createdAt, :id) "
+            + "ORDER BY created_at, id LIMIT :limit", nativeQuery = true)
+    List<Product> findPageAfter(@Param("tenantId") UUID tenantId, @Param("createdAt") Instant createdAt,
+                                @Param("id") UUID id, @Param("limit") int limit);
 }
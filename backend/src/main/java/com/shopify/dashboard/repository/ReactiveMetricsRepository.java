@@ -0,0 +1,140 @@
+package com.shopify.dashboard.repository;
+
+import com.shopify.dashboard.analytics.CurrencyTotal;
+import com.shopify.dashboard.analytics.RollupPoint;
+import com.shopify.dashboard.dto.RecentOrderDto;
+import com.shopify.dashboard.entity.Tenant;
+import com.shopify.dashboard.security.UserAuthState;
+import com.shopify.dashboard.util.MoneyUnits;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * R2DBC reads behind the reactive metrics server; each query mirrors its JDBC or JPA counterpart on the servlet path.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ReactiveMetricsRepository {
+
+    private final DatabaseClient databaseClient;
+
+    public Mono<Tenant> findTenant(UUID tenantId) {
+        return databaseClient.sql("""
+                        SELECT id, shop_domain, time_zone, last_sync_at
+                        FROM tenants
+                        WHERE id = :id AND deleted_at IS NULL
+                        """)
+                .bind("id", tenantId)
+                .map(row -> Tenant.builder()
+                        .id(row.get("id", UUID.class))
+                        .shopDomain(row.get("shop_domain", String.class))
+                        .timeZone(row.get("time_zone", String.class))
+                        .lastSyncAt(row.get("last_sync_at", Instant.class))
+                        .build())
+                .one();
+    }
+
+    public Mono<UserAuthState> findUserAuthState(UUID userId) {
+        return databaseClient.sql("SELECT email, tenant_id, role, credentials_updated_at FROM users WHERE id = :id")
+                .bind("id", userId)
+                .map(row -> new UserAuthState(row.get("email", String.class), row.get("tenant_id", UUID.class),
+                        row.get("role", String.class), row.get("credentials_updated_at", Instant.class)))
+                .one();
+    }
+
+    public Mono<Long> countCustomers(UUID tenantId) {
+        return count("SELECT COUNT(*) AS total FROM customers WHERE tenant_id = :tenantId", tenantId);
+    }
+
+    public Mono<Long> countProducts(UUID tenantId) {
+        return count("SELECT COUNT(*) AS total FROM products WHERE tenant_id = :tenantId", tenantId);
+    }
+
+    public Flux<CurrencyTotal> totalsByCurrency(UUID tenantId) {
+        return databaseClient.sql("""
+                        SELECT currency, SUM(order_count) AS order_count, SUM(amount_minor) AS amount_minor
+                        FROM (
+                            SELECT currency, COUNT(*) AS order_count, SUM(total_price_minor) AS amount_minor
+                            FROM orders
+                            WHERE tenant_id = :tenantId
+                            GROUP BY currency
+                            UNION ALL
+                            SELECT currency, SUM(row_count), SUM(revenue_minor)
+                            FROM order_archive_segments
+                            WHERE tenant_id = :tenantId
+                            GROUP BY currency
+                        ) totals
+                        GROUP BY currency
+                        """)
+                .bind("tenantId", tenantId)
+                .map(row -> new CurrencyTotal(row.get("currency", String.class),
+                        row.get("order_count", Number.class).longValue(),
+                        row.get("amount_minor", Number.class).longValue()))
+                .all();
+    }
+
+    public Flux<RollupPoint> findHourly(UUID tenantId, Instant from, Instant toExclusive) {
+        return databaseClient.sql("""
+                        SELECT bucket_start, currency, order_count, revenue_minor
+                        FROM order_hourly_rollups
+                        WHERE tenant_id = :tenantId AND bucket_start >= :from AND bucket_start < :to
+                        ORDER BY bucket_start
+                        """)
+                .bind("tenantId", tenantId)
+                .bind("from", from.truncatedTo(ChronoUnit.HOURS))
+                .bind("to", toExclusive)
+                .map(row -> new RollupPoint(row.get("bucket_start", Instant.class), row.get("currency", String.class),
+                        row.get("order_count", Long.class), row.get("revenue_minor", Long.class)))
+                .all();
+    }
+
+    public Flux<RollupPoint> findDaily(UUID tenantId, ZoneId zone, LocalDate from, LocalDate to) {
+        return databaseClient.sql("""
+                        SELECT day, currency, order_count, revenue_minor
+                        FROM order_daily_rollups
+                        WHERE tenant_id = :tenantId AND day BETWEEN :from AND :to
+                        ORDER BY day
+                        """)
+                .bind("tenantId", tenantId)
+                .bind("from", from)
+                .bind("to", to)
+                .map(row -> new RollupPoint(row.get("day", LocalDate.class).atStartOfDay(zone).toInstant(),
+                        row.get("currency", String.class), row.get("order_count", Long.class),
+                        row.get("revenue_minor", Long.class)))
+                .all();
+    }
+
+    public Flux<RecentOrderDto> findRecentOrders(UUID tenantId, int limit) {
+        return databaseClient.sql("""
+                        SELECT id, order_number, total_price_minor, currency, created_at
+                        FROM orders
+                        WHERE tenant_id = :tenantId
+                        ORDER BY created_at DESC, id DESC
+                        LIMIT :limit
+                        """)
+                .bind("tenantId", tenantId)
+                .bind("limit", limit)
+                .map(row -> {
+                    String currency = row.get("currency", String.class);
+                    return new RecentOrderDto(row.get("id", UUID.class), row.get("order_number", String.class),
+                            MoneyUnits.toMajor(row.get("total_price_minor", Long.class), currency), currency,
+                            row.get("created_at", Instant.class));
+                })
+                .all();
+    }
+
+    private Mono<Long> count(String sql, UUID tenantId) {
+        return databaseClient.sql(sql)
+                .bind("tenantId", tenantId)
+                .map(row -> row.get("total", Long.class))
+                .one();
+    }
+}
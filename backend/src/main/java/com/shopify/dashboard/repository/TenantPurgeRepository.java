@@ -0,0 +1,102 @@
+package com.shopify.dashboard.repository;
+
+import com.shopify.dashboard.dto.TenantPurgeStatus;
+import com.shopify.dashboard.purge.PurgeState;
+import com.shopify.dashboard.purge.PurgeTable;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+@Repository
+@RequiredArgsConstructor
+public class TenantPurgeRepository {
+
+    private static final String STATUS_COLUMNS =
+            "tenant_id, shop_domain, state, requested_at, started_at, completed_at, current_table, rows_deleted";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void schedule(UUID tenantId, String shopDomain) {
+        jdbcTemplate.update("""
+                        INSERT INTO tenant_purges (tenant_id, shop_domain, state)
+                        VALUES (?, ?, ?)
+                        ON CONFLICT (tenant_id) DO NOTHING
+                        """,
+                tenantId, shopDomain, PurgeState.PENDING.name());
+    }
+
+    public Optional<TenantPurgeStatus> find(UUID tenantId) {
+        return jdbcTemplate.query("SELECT " + STATUS_COLUMNS + " FROM tenant_purges WHERE tenant_id = ?",
+                this::status, tenantId).stream().findFirst();
+    }
+
+    /**
+     * Takes or renews the lease on the oldest unfinished purge, so only one instance works on a tenant at a time.
+     */
+    public Optional<TenantPurgeStatus> claim(UUID owner, Instant leaseUntil) {
+        List<TenantPurgeStatus> claimed = jdbcTemplate.query("""
+                        UPDATE tenant_purges
+                        SET state = ?, lease_owner = ?, lease_until = ?, started_at = COALESCE(started_at, NOW())
+                        WHERE tenant_id = (
+                            SELECT tenant_id FROM tenant_purges
+                            WHERE completed_at IS NULL
+                              AND (lease_owner IS NULL OR lease_owner = ? OR lease_until < NOW())
+                            ORDER BY requested_at
+                            LIMIT 1
+                            FOR UPDATE SKIP LOCKED)
+                        RETURNING tenant_id, shop_domain, state, requested_at, started_at, completed_at,
+                                  current_table, rows_deleted
+                        """,
+                this::status, PurgeState.RUNNING.name(), owner, utc(leaseUntil), owner);
+        return claimed.stream().findFirst();
+    }
+
+    public int deleteBatch(PurgeTable table, UUID tenantId, int batchSize) {
+        return jdbcTemplate.update(table.deleteBatchSql(), tenantId, batchSize);
+    }
+
+    public void recordProgress(UUID tenantId, PurgeTable table, int deleted) {
+        jdbcTemplate.update("""
+                        UPDATE tenant_purges SET current_table = ?, rows_deleted = rows_deleted + ?
+                        WHERE tenant_id = ?
+                        """,
+                table.tableName(), deleted, tenantId);
+    }
+
+    public void complete(UUID tenantId) {
+        jdbcTemplate.update("UPDATE users SET tenant_id = NULL, credentials_updated_at = NOW() WHERE tenant_id = ?",
+                tenantId);
+        jdbcTemplate.update("DELETE FROM tenants WHERE id = ?", tenantId);
+        jdbcTemplate.update("""
+                        UPDATE tenant_purges
+                        SET state = ?, completed_at = NOW(), current_table = NULL, lease_owner = NULL,
+                            lease_until = NULL
+                        WHERE tenant_id = ?
+                        """,
+                PurgeState.COMPLETED.name(), tenantId);
+    }
+
+    private TenantPurgeStatus status(ResultSet rs, int rowNum) throws SQLException {
+        return new TenantPurgeStatus(rs.getObject("tenant_id", UUID.class), rs.getString("shop_domain"),
+                PurgeState.valueOf(rs.getString("state")), instant(rs, "requested_at"), instant(rs, "started_at"),
+                instant(rs, "completed_at"), rs.getString("current_table"), rs.getLong("rows_deleted"));
+    }
+
+    private static Instant instant(ResultSet rs, String column) throws SQLException {
+        Timestamp timestamp = rs.getTimestamp(column);
+        return timestamp == null ? null : timestamp.toInstant();
+    }
+
+    private static OffsetDateTime utc(Instant instant) {
+        return OffsetDateTime.ofInstant(instant, ZoneOffset.UTC);
+    }
+}
@@ -1,10 +1,32 @@
 package com.shopify.dashboard.repository;
 
 import com.shopify.dashboard.entity.Tenant;
+import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 public interface TenantRepository extends JpaRepository<Tenant, UUID> {
     Optional<Tenant> findByShopDomain(String shopDomain);
+
+    @Query(value = "SELECT EXISTS (SELECT 1 FROM tenants WHERE shop_domain = :shopDomain AND deleted_at IS NOT NULL)",
+            nativeQuery = true)
+    boolean existsDeletedByShopDomain(@Param("shopDomain") String shopDomain);
+
+    @Query(value = "SELECT * FROM tenants WHERE deleted_at IS NULL ORDER BY created_at, id LIMIT :limit",
+            nativeQuery = true)
+    List<Tenant> findFirstPage(@Param("limit") int limit);
+
+    @Query(value = "SELECT * FROM tenants WHERE deleted_at IS NULL AND (created_at, id) > (:createdAt, :id) "
+            + "ORDER BY created_at, id LIMIT :limit", nativeQuery = true)
+    List<Tenant> findPageAfter(@Param("createdAt") Instant createdAt, @Param("id") UUID id, @Param("limit") int limit);
+
+    @Modifying
+    @Query(value = "UPDATE tenants SET deleted_at = :deletedAt WHERE id = :id AND deleted_at IS NULL",
+            nativeQuery = true)
+    int markDeleted(@Param("id") UUID id, @Param("deletedAt") Instant deletedAt);
 }
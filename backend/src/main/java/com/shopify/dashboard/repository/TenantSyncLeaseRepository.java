@@ -0,0 +1,50 @@
+package com.shopify.dashboard.repository;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+@Repository
+@RequiredArgsConstructor
+public class TenantSyncLeaseRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Takes the sync lease on a tenant unless another owner holds one that has not run out yet.
+     */
+    public boolean acquire(UUID tenantId, UUID owner, Instant leaseUntil) {
+        return jdbcTemplate.update("""
+                        INSERT INTO tenant_sync_leases (tenant_id, lease_owner, lease_until)
+                        VALUES (?, ?, ?)
+                        ON CONFLICT (tenant_id) DO UPDATE
+                        SET lease_owner = EXCLUDED.lease_owner, lease_until = EXCLUDED.lease_until
+                        WHERE tenant_sync_leases.lease_until < NOW()
+                        """,
+                tenantId, owner, utc(leaseUntil)) == 1;
+    }
+
+    public void renew(UUID owner, Instant leaseUntil) {
+        jdbcTemplate.update("UPDATE tenant_sync_leases SET lease_until = ? WHERE lease_owner = ?",
+                utc(leaseUntil), owner);
+    }
+
+    public void release(UUID tenantId, UUID owner) {
+        jdbcTemplate.update("DELETE FROM tenant_sync_leases WHERE tenant_id = ? AND lease_owner = ?",
+                tenantId, owner);
+    }
+
+    public boolean isLeased(UUID tenantId) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM tenant_sync_leases WHERE tenant_id = ? AND lease_until >= NOW())",
+                Boolean.class, tenantId));
+    }
+
+    private static OffsetDateTime utc(Instant instant) {
+        return OffsetDateTime.ofInstant(instant, ZoneOffset.UTC);
+    }
+}
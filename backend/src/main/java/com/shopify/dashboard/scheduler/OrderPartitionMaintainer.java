@@ -0,0 +1,55 @@
+package com.shopify.dashboard.scheduler;
+
+import com.shopify.dashboard.config.AppProperties;
+import com.shopify.dashboard.repository.OrderPartitionRepository;
+import com.shopify.dashboard.workload.Workload;
+import com.shopify.dashboard.workload.WorkloadContext;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps monthly {@code orders} partitions created ahead of time, and splits months that historical syncs wrote into
+ * {@code orders_default} out into partitions of their own so range queries can prune them.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class OrderPartitionMaintainer {
+
+    private final OrderPartitionRepository partitionRepository;
+    private final AppProperties properties;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        maintain();
+    }
+
+    @Scheduled(cron = "${app.orders.partitions.maintenance-cron}", zone = "UTC")
+    public void maintain() {
+        WorkloadContext.run(Workload.INGESTION, this::maintainPartitions);
+    }
+
+    private void maintainPartitions() {
+        try {
+            LocalDate month = LocalDate.now(ZoneOffset.UTC).withDayOfMonth(1);
+            for (int ahead = 0; ahead <= properties.getOrders().getPartitions().getMonthsAhead(); ahead++) {
+                create(month.plusMonths(ahead));
+            }
+            partitionRepository.monthsInDefaultPartition().forEach(this::create);
+        } catch (RuntimeException ex) {
+            log.warn("Order partition maintenance failed", ex);
+        }
+    }
+
+    private void create(LocalDate month) {
+        if (partitionRepository.ensureMonth(month)) {
+            log.info("Created orders partition for {}", month);
+        }
+    }
+}
@@ -1,6 +1,9 @@
 package com.shopify.dashboard.scheduler;
 
-import com.shopify.dashboard.service.ShopifyIngestionService;
+import com.shopify.dashboard.entity.Tenant;
+import com.shopify.dashboard.exception.ApiException;
+import com.shopify.dashboard.repository.TenantRepository;
+import com.shopify.dashboard.service.TenantSyncRunner;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.scheduling.annotation.Scheduled;
@@ -11,11 +14,26 @@ import org.springframework.stereotype.Component;
 @Slf4j
 public class TenantSyncScheduler {
 
-    private final ShopifyIngestionService ingestionService;
+    private final TenantRepository tenantRepository;
+    private final TenantSyncRunner syncRunner;
 
     @Scheduled(fixedDelay = 300000)
     public void syncTenants() {
         log.debug("Starting scheduled tenant sync");
-        ingestionService.syncAllTenants();
+        for (Tenant tenant : tenantRepository.findAll()) {
+            if (syncRunner.isRunning(tenant.getId())) {
+                log.debug("Tenant {} is still syncing, skipping this round", tenant.getShopDomain());
+                continue;
+            }
+            try {
+                syncRunner.submit(tenant)
+                        .exceptionally(ex -> {
+                            log.error("Failed to sync tenant {}", tenant.getShopDomain(), ex);
+                            return null;
+                        });
+            } catch (ApiException ex) {
+                log.warn("Skipping scheduled sync of tenant {}: {}", tenant.getShopDomain(), ex.getMessage());
+            }
+        }
     }
 }
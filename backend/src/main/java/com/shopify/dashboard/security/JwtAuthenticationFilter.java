@@ -1,7 +1,10 @@
 package com.shopify.dashboard.security;
 
+import com.shopify.dashboard.config.AppProperties;
 import com.shopify.dashboard.repository.UserRepository;
 import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -9,7 +12,7 @@ import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
 import java.util.Optional;
 import java.util.UUID;
-import lombok.RequiredArgsConstructor;
+import java.util.concurrent.TimeUnit;
 import org.springframework.http.HttpHeaders;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -19,11 +22,30 @@ import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 @Component
-@RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
+    /**
+     * Request attribute holding the verified claims of an authenticated request.
+     */
+    public static final String CLAIMS_ATTRIBUTE = "jwtClaims";
+
     private final JwtTokenService tokenService;
     private final UserRepository userRepository;
+    private final UserAuthStateCache userAuthStateCache;
+    private final AppProperties properties;
+    private final Timer authenticatedTimer;
+    private final Timer rejectedTimer;
+
+    public JwtAuthenticationFilter(JwtTokenService tokenService, UserRepository userRepository,
+                                   UserAuthStateCache userAuthStateCache, AppProperties properties,
+                                   MeterRegistry meterRegistry) {
+        this.tokenService = tokenService;
+        this.userRepository = userRepository;
+        this.userAuthStateCache = userAuthStateCache;
+        this.properties = properties;
+        this.authenticatedTimer = authTimer(meterRegistry, "authenticated");
+        this.rejectedTimer = authTimer(meterRegistry, "rejected");
+    }
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
@@ -31,20 +53,46 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         String header = request.getHeader(HttpHeaders.AUTHORIZATION);
         if (StringUtils.hasText(header) && header.startsWith("Bearer ") && SecurityContextHolder.getContext().getAuthentication() == null) {
             String token = header.substring(7);
+            long start = System.nanoTime();
+            boolean authenticated = false;
             try {
                 Claims claims = tokenService.parseToken(token);
-                UUID userId = tokenService.extractUserId(claims);
-                Optional<UserPrincipal> principal = userRepository.findById(userId).map(UserPrincipal::from);
+                Optional<UserPrincipal> principal = properties.getSecurity().getJwt().isClaimsOnly()
+                        ? principalFromClaims(claims)
+                        : userRepository.findById(tokenService.extractUserId(claims)).map(UserPrincipal::from);
                 if (principal.isPresent()) {
                     UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
                             principal.get(), null, principal.get().getAuthorities());
                     authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                     SecurityContextHolder.getContext().setAuthentication(authentication);
+                    request.setAttribute(CLAIMS_ATTRIBUTE, claims);
+                    authenticated = true;
                 }
             } catch (Exception ignored) {
                 SecurityContextHolder.clearContext();
             }
+            (authenticated ? authenticatedTimer : rejectedTimer).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
         }
         filterChain.doFilter(request, response);
     }
+
+    private static Timer authTimer(MeterRegistry meterRegistry, String outcome) {
+        return Timer.builder("auth.filter")
+                .description("Time spent authenticating bearer tokens")
+                .tag("outcome", outcome)
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+    }
+
+    private Optional<UserPrincipal> principalFromClaims(Claims claims) {
+        UUID userId = tokenService.extractUserId(claims);
+        UUID tenantId = tokenService.extractTenantId(claims);
+        String role = tokenService.extractRole(claims);
+        return userAuthStateCache.get(userId)
+                .filter(state -> state.accepts(claims.getIssuedAt(), tenantId, role))
+                .map(state -> {
+                    String email = tokenService.extractEmail(claims);
+                    return new UserPrincipal(userId, email != null ? email : state.email(), null, tenantId, role);
+                });
+    }
 }
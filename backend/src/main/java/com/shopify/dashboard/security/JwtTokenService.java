@@ -1,17 +1,27 @@
 package com.shopify.dashboard.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import com.shopify.dashboard.config.AppProperties;
 import com.shopify.dashboard.entity.User;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.Instant;
+import java.util.Base64;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 import javax.crypto.SecretKey;
 import org.springframework.stereotype.Service;
 
@@ -20,10 +30,20 @@ public class JwtTokenService {
 
     private final SecretKey secretKey;
     private final long expirationSeconds;
+    private final JwtParser parser;
+    private final Cache<String, Claims> verifiedTokens;
 
-    public JwtTokenService(AppProperties properties) {
-        this.secretKey = Keys.hmacShaKeyFor(properties.getSecurity().getJwt().getSecret().getBytes(StandardCharsets.UTF_8));
-        this.expirationSeconds = properties.getSecurity().getJwt().getExpirationSeconds();
+    public JwtTokenService(AppProperties properties, MeterRegistry meterRegistry) {
+        AppProperties.Security.Jwt jwt = properties.getSecurity().getJwt();
+        this.secretKey = Keys.hmacShaKeyFor(jwt.getSecret().getBytes(StandardCharsets.UTF_8));
+        this.expirationSeconds = jwt.getExpirationSeconds();
+        this.parser = Jwts.parserBuilder().setSigningKey(secretKey).build();
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(jwt.getTokenCacheMaxSize())
+                .expireAfter(new UntilTokenExpiry())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, verifiedTokens, "auth.tokens");
     }
 
     public String generateToken(User user) {
@@ -31,6 +51,7 @@ public class JwtTokenService {
         Map<String, Object> claims = new HashMap<>();
         claims.put("role", user.getRole());
         claims.put("tenantId", user.getTenantId());
+        claims.put("email", user.getEmail());
         return Jwts.builder()
                 .setClaims(claims)
                 .setSubject(user.getId().toString())
@@ -40,12 +61,18 @@ public class JwtTokenService {
                 .compact();
     }
 
+    /**
+     * Verifies the token once and serves its claims from cache until it expires. Only tokens that passed signature
+     * verification are cached, under a SHA-256 of the full token, so a forged token can never hit.
+     */
     public Claims parseToken(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(secretKey)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        String key = digest(token);
+        Claims claims = verifiedTokens.getIfPresent(key);
+        if (claims == null) {
+            claims = parser.parseClaimsJws(token).getBody();
+            verifiedTokens.put(key, claims);
+        }
+        return claims;
     }
 
     public long getExpirationSeconds() {
@@ -55,4 +82,48 @@ public class JwtTokenService {
     public UUID extractUserId(Claims claims) {
         return UUID.fromString(claims.getSubject());
     }
+
+    public UUID extractTenantId(Claims claims) {
+        String tenantId = claims.get("tenantId", String.class);
+        return tenantId == null ? null : UUID.fromString(tenantId);
+    }
+
+    public String extractRole(Claims claims) {
+        return claims.get("role", String.class);
+    }
+
+    public String extractEmail(Claims claims) {
+        return claims.get("email", String.class);
+    }
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 not available", ex);
+        }
+    }
+
+    private final class UntilTokenExpiry implements Expiry<String, Claims> {
+
+        @Override
+        public long expireAfterCreate(String key, Claims claims, long currentTime) {
+            Date expiration = claims.getExpiration();
+            long millis = expiration == null
+                    ? TimeUnit.SECONDS.toMillis(expirationSeconds)
+                    : expiration.getTime() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0, millis));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(String key, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
 }
@@ -0,0 +1,133 @@
+package com.shopify.dashboard.security;
+
+import com.shopify.dashboard.config.AppProperties;
+import com.shopify.dashboard.exception.TooManyRequestsException;
+import com.shopify.dashboard.monitoring.RequestQueryStats;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+/**
+ * Runs BCrypt on a small dedicated pool so a login storm cannot occupy the request threads. Admission is refused
+ * with a 429 when the queue is full or when one client address or one account already has
+ * {@code max-in-flight-per-*} hashes pending, before any hashing work is spent on it.
+ */
+@Component
+@Slf4j
+public class PasswordHashingExecutor {
+
+    private static final String NAME = "password-hashing";
+
+    private final PasswordEncoder passwordEncoder;
+    private final AppProperties.Security.PasswordHashing settings;
+    private final ExecutorService executor;
+    private final Map<String, Integer> inFlight = new ConcurrentHashMap<>();
+    private final Timer hashTimer;
+    private final MeterRegistry meterRegistry;
+
+    public PasswordHashingExecutor(PasswordEncoder passwordEncoder, AppProperties properties,
+                                   MeterRegistry meterRegistry) {
+        this.passwordEncoder = passwordEncoder;
+        this.settings = properties.getSecurity().getPasswordHashing();
+        this.meterRegistry = meterRegistry;
+        this.hashTimer = Timer.builder("auth.password.hash")
+                .description("Time spent hashing or checking a single password")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(settings.getThreads(), settings.getThreads(),
+                60, TimeUnit.SECONDS, new ArrayBlockingQueue<>(settings.getQueueCapacity()),
+                new CustomizableThreadFactory(NAME + "-"), (task, executor) -> {
+                    throw new RejectedExecutionException(NAME + " executor saturated");
+                });
+        this.executor = ExecutorServiceMetrics.monitor(meterRegistry, pool, NAME);
+    }
+
+    public CompletableFuture<Boolean> matches(String clientAddress, String email, String rawPassword,
+                                              String passwordHash) {
+        return submit(clientAddress, email, () -> passwordEncoder.matches(rawPassword, passwordHash));
+    }
+
+    public CompletableFuture<String> encode(String clientAddress, String email, String rawPassword) {
+        return submit(clientAddress, email, () -> passwordEncoder.encode(rawPassword));
+    }
+
+    private <T> CompletableFuture<T> submit(String clientAddress, String email, Supplier<T> hashing) {
+        String addressKey = "ip:" + clientAddress;
+        String emailKey = "email:" + email.toLowerCase(Locale.ROOT);
+        acquire(addressKey, settings.getMaxInFlightPerAddress(), "address");
+        try {
+            acquire(emailKey, settings.getMaxInFlightPerEmail(), "email");
+        } catch (TooManyRequestsException ex) {
+            release(addressKey);
+            throw ex;
+        }
+        AtomicBoolean released = new AtomicBoolean();
+        Runnable releaseAll = () -> {
+            if (released.compareAndSet(false, true)) {
+                release(addressKey);
+                release(emailKey);
+            }
+        };
+        try {
+            // the request's stats travel with the task so the hop back to the API pool still counts towards it
+            return CompletableFuture.supplyAsync(() -> hashTimer.record(hashing),
+                            command -> executor.execute(RequestQueryStats.propagate(command)))
+                    .whenComplete((result, error) -> releaseAll.run());
+        } catch (RejectedExecutionException ex) {
+            releaseAll.run();
+            throw rejected("saturated");
+        }
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        executor.shutdown();
+        if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+            log.warn("Password hashing executor did not drain in time");
+            executor.shutdownNow();
+        }
+    }
+
+    private void acquire(String key, int limit, String reason) {
+        boolean[] admitted = {false};
+        inFlight.compute(key, (k, count) -> {
+            int current = count == null ? 0 : count;
+            if (current >= limit) {
+                return count;
+            }
+            admitted[0] = true;
+            return current + 1;
+        });
+        if (!admitted[0]) {
+            throw rejected(reason);
+        }
+    }
+
+    private void release(String key) {
+        inFlight.computeIfPresent(key, (k, count) -> count > 1 ? count - 1 : null);
+    }
+
+    private TooManyRequestsException rejected(String reason) {
+        Counter.builder("auth.password.rejected").tag("reason", reason).register(meterRegistry).increment();
+        return new TooManyRequestsException("Too many login attempts, retry later",
+                Duration.ofMillis(settings.getRetryAfterMs()));
+    }
+}
@@ -0,0 +1,27 @@
+package com.shopify.dashboard.security;
+
+import com.shopify.dashboard.entity.User;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * What a token's claims are checked against: the user's current role and tenant, and the moment its credentials last
+ * changed. JWT {@code iat} only has second precision, so changes are compared at that precision too.
+ */
+public record UserAuthState(String email, UUID tenantId, String role, Instant credentialsUpdatedAt) {
+
+    public static UserAuthState from(User user) {
+        return new UserAuthState(user.getEmail(), user.getTenantId(), user.getRole(), user.getCredentialsUpdatedAt());
+    }
+
+    public boolean accepts(Date issuedAt, UUID claimedTenantId, String claimedRole) {
+        if (issuedAt == null || !Objects.equals(tenantId, claimedTenantId) || !Objects.equals(role, claimedRole)) {
+            return false;
+        }
+        return credentialsUpdatedAt == null
+                || !issuedAt.toInstant().isBefore(credentialsUpdatedAt.truncatedTo(ChronoUnit.SECONDS));
+    }
+}
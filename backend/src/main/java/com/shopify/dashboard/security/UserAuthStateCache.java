@@ -0,0 +1,56 @@
+package com.shopify.dashboard.security;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.shopify.dashboard.config.AppProperties;
+import com.shopify.dashboard.event.UserChangedEvent;
+import com.shopify.dashboard.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Small cache of {@link UserAuthState} behind claims-only authentication, shared by the servlet filter and the
+ * reactive read server. Local user changes evict their entry on commit; the TTL bounds how long a change made by
+ * another instance can go unnoticed.
+ */
+@Component
+public class UserAuthStateCache {
+
+    private final UserRepository userRepository;
+    private final AsyncCache<UUID, Optional<UserAuthState>> states;
+
+    public UserAuthStateCache(UserRepository userRepository, AppProperties properties, MeterRegistry meterRegistry) {
+        AppProperties.Security.Jwt jwt = properties.getSecurity().getJwt();
+        this.userRepository = userRepository;
+        this.states = Caffeine.newBuilder()
+                .maximumSize(jwt.getUserCacheMaxSize())
+                .expireAfterWrite(Duration.ofMillis(jwt.getUserCacheTtlMs()))
+                .recordStats()
+                .buildAsync();
+        CaffeineCacheMetrics.monitor(meterRegistry, states, "auth.users");
+    }
+
+    public Optional<UserAuthState> get(UUID userId) {
+        return states.synchronous().get(userId, id -> userRepository.findById(id).map(UserAuthState::from));
+    }
+
+    /**
+     * Non-blocking lookup; {@code loader} only runs on a miss and must not block the calling thread.
+     */
+    public CompletableFuture<Optional<UserAuthState>> getAsync(
+            UUID userId, Function<UUID, CompletableFuture<Optional<UserAuthState>>> loader) {
+        return states.get(userId, (id, executor) -> loader.apply(id));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        states.synchronous().invalidate(event.userId());
+    }
+}
@@ -9,12 +9,16 @@ import com.shopify.dashboard.exception.ApiException;
 import com.shopify.dashboard.exception.UnauthorizedException;
 import com.shopify.dashboard.repository.UserRepository;
 import com.shopify.dashboard.security.JwtTokenService;
+import com.shopify.dashboard.security.PasswordHashingExecutor;
+import com.shopify.dashboard.workload.Workload;
+import com.shopify.dashboard.workload.WorkloadExecutors;
 import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 @Service
 @RequiredArgsConstructor
@@ -22,32 +26,49 @@ public class AuthService {
 
     private final UserRepository userRepository;
     private final TenantService tenantService;
-    private final PasswordEncoder passwordEncoder;
     private final JwtTokenService jwtTokenService;
+    private final PasswordHashingExecutor passwordHashingExecutor;
+    private final WorkloadExecutors workloadExecutors;
+    private final PlatformTransactionManager transactionManager;
 
-    public AuthResponse login(AuthRequest request) {
+    public CompletableFuture<AuthResponse> login(AuthRequest request, String clientAddress) {
         User user = userRepository.findByEmail(request.email())
                 .orElseThrow(() -> new UnauthorizedException("Invalid credentials"));
-        if (!passwordEncoder.matches(request.password(), user.getPasswordHash())) {
-            throw new UnauthorizedException("Invalid credentials");
-        }
-        return buildAuthResponse(user);
+        return passwordHashingExecutor.matches(clientAddress, request.email(), request.password(), user.getPasswordHash())
+                .thenApply(matches -> {
+                    if (!matches) {
+                        throw new UnauthorizedException("Invalid credentials");
+                    }
+                    return buildAuthResponse(user);
+                });
     }
 
-    @Transactional
-    public AuthResponse register(RegisterRequest request) {
+    /**
+     * Checks are repeated after hashing because the hash takes long enough for a concurrent registration or a tenant
+     * deletion to land in between. The writes hop back to the API pool so they run on its connections, in one
+     * transaction.
+     */
+    public CompletableFuture<AuthResponse> register(RegisterRequest request, String clientAddress) {
+        checkRegistration(request);
+        return passwordHashingExecutor.encode(clientAddress, request.email(), request.password())
+                .thenCompose(passwordHash -> workloadExecutors.submit(Workload.API, () ->
+                        new TransactionTemplate(transactionManager).execute(status -> {
+                            Tenant tenant = checkRegistration(request);
+                            User user = User.builder()
+                                    .email(request.email())
+                                    .passwordHash(passwordHash)
+                                    .tenantId(tenant.getId())
+                                    .role("TENANT_ADMIN")
+                                    .build();
+                            return buildAuthResponse(userRepository.save(user));
+                        })));
+    }
+
+    private Tenant checkRegistration(RegisterRequest request) {
         userRepository.findByEmail(request.email()).ifPresent(existing -> {
             throw new ApiException("User already exists", HttpStatus.CONFLICT);
         });
-        Tenant tenant = tenantService.getTenantEntity(request.tenantId());
-        User user = User.builder()
-                .email(request.email())
-                .passwordHash(passwordEncoder.encode(request.password()))
-                .tenantId(tenant.getId())
-                .role("TENANT_ADMIN")
-                .build();
-        User saved = userRepository.save(user);
-        return buildAuthResponse(saved);
+        return tenantService.getTenantEntity(request.tenantId());
     }
 
     private AuthResponse buildAuthResponse(User user) {
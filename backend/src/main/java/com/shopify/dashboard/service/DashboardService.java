@@ -0,0 +1,110 @@
+package com.shopify.dashboard.service;
+
+import com.shopify.dashboard.analytics.MetricsInterval;
+import com.shopify.dashboard.config.AppProperties;
+import com.shopify.dashboard.dto.DashboardRequest;
+import com.shopify.dashboard.dto.DashboardRequest.WidgetSpec;
+import com.shopify.dashboard.dto.WidgetResult;
+import com.shopify.dashboard.entity.Tenant;
+import com.shopify.dashboard.exception.ApiException;
+import com.shopify.dashboard.workload.Workload;
+import com.shopify.dashboard.workload.WorkloadExecutors;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+/**
+ * Runs the widgets of one dashboard request in parallel on the API executor. Every spec is validated before anything
+ * runs; after that a failing or slow widget only fails itself. Widgets still running at the deadline are interrupted
+ * so they do not keep holding API threads and connections.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class DashboardService {
+
+    private static final int DEFAULT_TOP_CUSTOMERS = 5;
+    private static final int DEFAULT_RECENT_ORDERS = 10;
+
+    private final MetricsService metricsService;
+    private final WorkloadExecutors workloadExecutors;
+    private final AppProperties properties;
+
+    public Map<String, WidgetResult> load(Tenant tenant, DashboardRequest request) {
+        int maxWidgets = properties.getDashboard().getMaxWidgets();
+        if (request.widgets().size() > maxWidgets) {
+            throw new ApiException("At most " + maxWidgets + " widgets per request", HttpStatus.BAD_REQUEST);
+        }
+        Map<String, Supplier<Object>> tasks = new LinkedHashMap<>();
+        for (WidgetSpec spec : request.widgets()) {
+            if (tasks.put(spec.key(), task(tenant, spec)) != null) {
+                throw new ApiException("Duplicate widget id: " + spec.key(), HttpStatus.BAD_REQUEST);
+            }
+        }
+        Map<String, Future<Object>> running = new LinkedHashMap<>();
+        tasks.forEach((key, task) -> running.put(key, submit(task)));
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(properties.getDashboard().getWidgetTimeoutMs());
+        Map<String, WidgetResult> results = new LinkedHashMap<>();
+        running.forEach((key, future) -> results.put(key, await(key, future, deadline)));
+        return results;
+    }
+
+    private Supplier<Object> task(Tenant tenant, WidgetSpec spec) {
+        DashboardWidget widget = DashboardWidget.parse(spec.type());
+        if (widget.ranged() && (spec.from() == null || spec.to() == null)) {
+            throw new ApiException("Widget " + spec.key() + " requires from and to", HttpStatus.BAD_REQUEST);
+        }
+        return switch (widget) {
+            case OVERVIEW -> () -> metricsService.getOverview(tenant);
+            case ORDERS -> {
+                MetricsInterval interval = MetricsInterval.parse(spec.interval() == null ? "day" : spec.interval());
+                yield () -> metricsService.getOrderMetrics(tenant, spec.from(), spec.to(), interval, spec.maxPoints());
+            }
+            case UNIQUE_CUSTOMERS -> () -> metricsService.getUniqueCustomers(tenant, spec.from(), spec.to());
+            case ORDER_VALUE_PERCENTILES -> () -> metricsService.getOrderValuePercentiles(tenant, spec.from(), spec.to());
+            case TOP_CUSTOMERS -> () -> metricsService.getTopCustomers(tenant.getId(),
+                    limitOf(spec, DEFAULT_TOP_CUSTOMERS));
+            case RECENT_ORDERS -> () -> metricsService.getRecentOrders(tenant.getId(),
+                    limitOf(spec, DEFAULT_RECENT_ORDERS));
+        };
+    }
+
+    private Future<Object> submit(Supplier<Object> task) {
+        try {
+            return workloadExecutors.submitInterruptible(Workload.API, task::get);
+        } catch (ApiException ex) {
+            return CompletableFuture.failedFuture(ex);
+        }
+    }
+
+    private WidgetResult await(String key, Future<Object> future, long deadline) {
+        try {
+            return WidgetResult.success(future.get(Math.max(deadline - System.nanoTime(), 0), TimeUnit.NANOSECONDS));
+        } catch (TimeoutException ex) {
+            future.cancel(true);
+            return WidgetResult.failure("Widget timed out");
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof ApiException cause) {
+                return WidgetResult.failure(cause.getMessage());
+            }
+            log.warn("Dashboard widget {} failed", key, ex.getCause());
+            return WidgetResult.failure("Widget failed");
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return WidgetResult.failure("Widget interrupted");
+        }
+    }
+
+    private static int limitOf(WidgetSpec spec, int defaultLimit) {
+        return spec.limit() == null ? defaultLimit : spec.limit();
+    }
+}
@@ -0,0 +1,32 @@
+package com.shopify.dashboard.service;
+
+import com.shopify.dashboard.exception.ApiException;
+import java.util.Locale;
+import org.springframework.http.HttpStatus;
+
+public enum DashboardWidget {
+    OVERVIEW(false),
+    ORDERS(true),
+    UNIQUE_CUSTOMERS(true),
+    ORDER_VALUE_PERCENTILES(true),
+    TOP_CUSTOMERS(false),
+    RECENT_ORDERS(false);
+
+    private final boolean ranged;
+
+    DashboardWidget(boolean ranged) {
+        this.ranged = ranged;
+    }
+
+    public boolean ranged() {
+        return ranged;
+    }
+
+    public static DashboardWidget parse(String value) {
+        try {
+            return valueOf(value.trim().replace('-', '_').toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException ex) {
+            throw new ApiException("Unsupported widget: " + value, HttpStatus.BAD_REQUEST);
+        }
+    }
+}
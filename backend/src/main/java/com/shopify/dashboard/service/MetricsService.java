@@ -1,27 +1,37 @@
 package com.shopify.dashboard.service;
 
+import com.shopify.dashboard.analytics.CurrencyTotal;
+import com.shopify.dashboard.analytics.MetricsInterval;
+import com.shopify.dashboard.analytics.OrderColumnStore;
+import com.shopify.dashboard.analytics.OrderSeriesService;
+import com.shopify.dashboard.analytics.OrderSketchService;
+import com.shopify.dashboard.analytics.TenantOrderColumns;
+import com.shopify.dashboard.analytics.TenantOrderColumns.BucketTotals;
+import com.shopify.dashboard.config.AppProperties;
 import com.shopify.dashboard.dto.MetricsOverviewDto;
 import com.shopify.dashboard.dto.OrderMetricsPoint;
+import com.shopify.dashboard.dto.OrderValuePercentilesDto;
 import com.shopify.dashboard.dto.RecentOrderDto;
 import com.shopify.dashboard.dto.TopCustomerDto;
-import com.shopify.dashboard.entity.Customer;
+import com.shopify.dashboard.dto.UniqueCustomersDto;
 import com.shopify.dashboard.entity.Order;
-import com.shopify.dashboard.entity.Product;
 import com.shopify.dashboard.entity.Tenant;
 import com.shopify.dashboard.repository.CustomerRepository;
+import com.shopify.dashboard.repository.OrderArchiveRepository;
 import com.shopify.dashboard.repository.OrderRepository;
 import com.shopify.dashboard.repository.ProductRepository;
+import com.shopify.dashboard.util.MoneyUnits;
 import java.math.BigDecimal;
-import java.time.Instant;
 import java.time.LocalDate;
-import java.time.ZoneOffset;
-import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
-import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.data.domain.PageRequest;
 
 @Service
@@ -30,48 +40,70 @@ public class MetricsService {
 
     private final CustomerRepository customerRepository;
     private final OrderRepository orderRepository;
+    private final OrderArchiveRepository orderArchiveRepository;
     private final ProductRepository productRepository;
-    private final TenantService tenantService;
+    private final TopCustomersTracker topCustomersTracker;
+    private final OrderColumnStore orderColumnStore;
+    private final OrderSketchService orderSketchService;
+    private final OrderSeriesService orderSeriesService;
+    private final AppProperties properties;
+    private final PlatformTransactionManager transactionManager;
 
-    public MetricsOverviewDto getOverview(UUID tenantId) {
-        Tenant tenant = tenantService.getTenantEntity(tenantId);
-        long customers = customerRepository.countByTenantId(tenantId);
-        long orders = orderRepository.countByTenantId(tenantId);
-        long products = productRepository.countByTenantId(tenantId);
-        BigDecimal totalRevenue = orderRepository.sumTotalPriceByTenantId(tenantId);
-        if (totalRevenue == null) {
-            totalRevenue = BigDecimal.ZERO;
-        }
-        return new MetricsOverviewDto(customers, orders, products, totalRevenue, tenant.getLastSyncAt());
+    /**
+     * Not transactional itself: a cold column store loads in a transaction of its own, which must not run while this
+     * request already holds a connection.
+     */
+    public MetricsOverviewDto getOverview(Tenant tenant) {
+        UUID tenantId = tenant.getId();
+        Optional<TenantOrderColumns> columns = orderColumnStore.columns(tenantId);
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        return readOnly.execute(status -> {
+            long customers = customerRepository.countByTenantId(tenantId);
+            long products = productRepository.countByTenantId(tenantId);
+            long orders;
+            BigDecimal totalRevenue;
+            if (columns.isPresent()) {
+                BucketTotals totals = columns.get().totals();
+                orders = totals.counts()[0];
+                totalRevenue = totals.amount(0);
+            } else {
+                orders = 0;
+                totalRevenue = BigDecimal.ZERO;
+                List<CurrencyTotal> hot = orderRepository.totalsByCurrency(tenantId);
+                List<CurrencyTotal> archived = orderArchiveRepository.totalsByCurrency(tenantId);
+                for (CurrencyTotal total : Stream.concat(hot.stream(), archived.stream()).toList()) {
+                    orders += total.orderCount();
+                    totalRevenue = totalRevenue.add(MoneyUnits.toMajor(total.amountMinor(), total.currency()));
+                }
+            }
+            return new MetricsOverviewDto(customers, orders, products, totalRevenue, tenant.getLastSyncAt());
+        });
     }
 
-    public List<OrderMetricsPoint> getOrderMetrics(UUID tenantId, LocalDate from, LocalDate to) {
-        Instant fromInstant = from.atStartOfDay().toInstant(ZoneOffset.UTC);
-        Instant toInstant = to.plusDays(1).atStartOfDay().toInstant(ZoneOffset.UTC);
-        List<Order> orders = orderRepository.findAllByTenantIdAndCreatedAtBetween(tenantId, fromInstant, toInstant);
-        Map<LocalDate, List<Order>> grouped = orders.stream()
-                .collect(Collectors.groupingBy(order -> LocalDate.ofInstant(order.getCreatedAt(), ZoneOffset.UTC)));
-        List<OrderMetricsPoint> points = new ArrayList<>();
-        LocalDate cursor = from;
-        while (!cursor.isAfter(to)) {
-            List<Order> dayOrders = grouped.getOrDefault(cursor, List.of());
-            long count = dayOrders.size();
-            BigDecimal sum = dayOrders.stream()
-                    .map(order -> order.getTotalPrice() == null ? BigDecimal.ZERO : order.getTotalPrice())
-                    .reduce(BigDecimal.ZERO, BigDecimal::add);
-            points.add(new OrderMetricsPoint(cursor, count, sum));
-            cursor = cursor.plusDays(1);
-        }
-        return points;
+    public List<OrderMetricsPoint> getOrderMetrics(Tenant tenant, LocalDate from, LocalDate to,
+                                                   MetricsInterval interval, Integer maxPoints) {
+        OrderSeriesService.validate(from, to, maxPoints);
+        List<OrderMetricsPoint> points = orderSeriesService.series(tenant.getId(), tenant.zoneId(), from, to, interval,
+                properties.getMetrics().getMaxSeriesBuckets());
+        return OrderSeriesService.downsample(points, maxPoints);
+    }
+
+    @Transactional(readOnly = true)
+    public UniqueCustomersDto getUniqueCustomers(Tenant tenant, LocalDate from, LocalDate to) {
+        return orderSketchService.uniqueCustomers(tenant, from, to);
+    }
+
+    @Transactional(readOnly = true)
+    public OrderValuePercentilesDto getOrderValuePercentiles(Tenant tenant, LocalDate from, LocalDate to) {
+        return orderSketchService.orderValuePercentiles(tenant, from, to);
     }
 
     public List<TopCustomerDto> getTopCustomers(UUID tenantId, int limit) {
-        int pageSize = Math.max(limit, 1);
-        return customerRepository.findByTenantIdOrderByTotalSpentDesc(tenantId, PageRequest.of(0, pageSize)).stream()
-                .map(this::toTopCustomerDto)
-                .toList();
+        return topCustomersTracker.topCustomers(tenantId, Math.max(limit, 1));
     }
 
+    @Transactional(readOnly = true)
     public List<RecentOrderDto> getRecentOrders(UUID tenantId, int limit) {
         int pageSize = Math.max(limit, 1);
         return orderRepository.findByTenantIdOrderByCreatedAtDesc(tenantId, PageRequest.of(0, pageSize)).stream()
@@ -79,11 +111,6 @@ public class MetricsService {
                 .toList();
     }
 
-    private TopCustomerDto toTopCustomerDto(Customer customer) {
-        return new TopCustomerDto(customer.getId(), customer.getEmail(), customer.getFirstName(), customer.getLastName(),
-                customer.getTotalSpent(), customer.getUpdatedAt());
-    }
-
     private RecentOrderDto toRecentOrderDto(Order order) {
         return new RecentOrderDto(order.getId(), order.getOrderNumber(), order.getTotalPrice(), order.getCurrency(), order.getCreatedAt());
     }
@@ -0,0 +1,64 @@
+package com.shopify.dashboard.service;
+
+import com.shopify.dashboard.archive.OrderArchiveService;
+import com.shopify.dashboard.config.AppProperties;
+import com.shopify.dashboard.dto.CursorPage;
+import com.shopify.dashboard.dto.OrderResponse;
+import com.shopify.dashboard.dto.PageCursor;
+import com.shopify.dashboard.entity.Order;
+import com.shopify.dashboard.entity.Tenant;
+import com.shopify.dashboard.repository.OrderRepository;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+@RequiredArgsConstructor
+public class OrderService {
+
+    private final OrderRepository orderRepository;
+    private final OrderArchiveService orderArchiveService;
+    private final AppProperties properties;
+
+    @Transactional(readOnly = true)
+    public CursorPage<OrderResponse> listOrders(Tenant tenant, String cursor, Integer limit) {
+        UUID tenantId = tenant.getId();
+        int pageSize = properties.getPagination().resolve(limit);
+        PageCursor before = PageCursor.decode(cursor);
+        List<Order> rows = before == null
+                ? orderRepository.findFirstPage(tenantId, pageSize + 1)
+                : orderRepository.findPageBefore(tenantId, before.createdAt(), before.id(), pageSize + 1);
+        if (rows.size() <= pageSize) {
+            rows = withArchived(tenantId, rows, before, pageSize + 1);
+        }
+        return CursorPage.of(rows, pageSize, order -> new PageCursor(order.getCreatedAt(), order.getId()),
+                this::toResponse);
+    }
+
+    private List<Order> withArchived(UUID tenantId, List<Order> hot, PageCursor before, int limit) {
+        PageCursor archiveCursor = hot.isEmpty()
+                ? before
+                : new PageCursor(hot.get(hot.size() - 1).getCreatedAt(), hot.get(hot.size() - 1).getId());
+        List<Order> archived = orderArchiveService.findPageBefore(tenantId, archiveCursor, limit - hot.size());
+        if (archived.isEmpty()) {
+            return hot;
+        }
+        List<Order> rows = new ArrayList<>(hot);
+        rows.addAll(archived);
+        return rows;
+    }
+
+    private OrderResponse toResponse(Order order) {
+        return new OrderResponse(
+                order.getId(),
+                order.getShopOrderId(),
+                order.getOrderNumber(),
+                order.getTotalPrice(),
+                order.getCurrency(),
+                order.getCreatedAt(),
+                order.getUpdatedAt());
+    }
+}
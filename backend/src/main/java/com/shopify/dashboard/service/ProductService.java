@@ -1,8 +1,12 @@
 package com.shopify.dashboard.service;
 
+import com.shopify.dashboard.config.AppProperties;
 import com.shopify.dashboard.dto.CreateProductRequest;
+import com.shopify.dashboard.dto.CursorPage;
+import com.shopify.dashboard.dto.PageCursor;
 import com.shopify.dashboard.dto.ProductResponse;
 import com.shopify.dashboard.entity.Product;
+import com.shopify.dashboard.entity.Tenant;
 import com.shopify.dashboard.exception.ApiException;
 import com.shopify.dashboard.repository.ProductRepository;
 import java.util.List;
@@ -11,23 +15,29 @@ import java.util.concurrent.ThreadLocalRandom;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
 @RequiredArgsConstructor
 public class ProductService {
 
     private final ProductRepository productRepository;
-    private final TenantService tenantService;
+    private final AppProperties properties;
 
-    public List<ProductResponse> listProducts(UUID tenantId) {
-        tenantService.getTenantEntity(tenantId);
-        return productRepository.findAllByTenantId(tenantId).stream()
-                .map(this::toResponse)
-                .toList();
+    @Transactional(readOnly = true)
+    public CursorPage<ProductResponse> listProducts(Tenant tenant, String cursor, Integer limit) {
+        UUID tenantId = tenant.getId();
+        int pageSize = properties.getPagination().resolve(limit);
+        PageCursor after = PageCursor.decode(cursor);
+        List<Product> rows = after == null
+                ? productRepository.findFirstPage(tenantId, pageSize + 1)
+                : productRepository.findPageAfter(tenantId, after.createdAt(), after.id(), pageSize + 1);
+        return CursorPage.of(rows, pageSize, product -> new PageCursor(product.getCreatedAt(), product.getId()),
+                this::toResponse);
     }
 
-    public ProductResponse createProduct(UUID tenantId, CreateProductRequest request) {
-        tenantService.getTenantEntity(tenantId);
+    public ProductResponse createProduct(Tenant tenant, CreateProductRequest request) {
+        UUID tenantId = tenant.getId();
         Long shopProductId = pickShopProductId(tenantId, request.shopProductId());
         Product product = Product.builder()
                 .tenantId(tenantId)
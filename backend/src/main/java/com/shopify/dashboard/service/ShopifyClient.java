@@ -6,12 +6,20 @@ import com.shopify.dashboard.dto.shopify.ShopifyOrdersResponse;
 import com.shopify.dashboard.dto.shopify.ShopifyProductsResponse;
 import com.shopify.dashboard.exception.ShopifyClientException;
 import com.shopify.dashboard.exception.ShopifyRateLimitException;
+import java.net.URI;
 import java.time.Duration;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.HttpStatusCode;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.ClientResponse;
 import org.springframework.web.reactive.function.client.WebClient;
@@ -23,29 +31,66 @@ import reactor.util.retry.Retry;
 @Slf4j
 public class ShopifyClient {
 
+    private static final String CALL_LIMIT_HEADER = "X-Shopify-Shop-Api-Call-Limit";
+    private static final Pattern NEXT_LINK = Pattern.compile("<([^>]+)>;\\s*rel=\"next\"");
+
     private final WebClient shopifyWebClient;
     private final AppProperties properties;
 
-    public ShopifyCustomersResponse fetchCustomers(String shopDomain, String accessToken) {
-        String uri = "/admin/api/%s/customers.json".formatted(properties.getShopify().getApiVersion());
-        return get(shopDomain, uri, accessToken, ShopifyCustomersResponse.class);
+    public long fetchCustomers(String shopDomain, String accessToken,
+                               Consumer<List<ShopifyCustomersResponse.ShopifyCustomer>> pages) {
+        return paginate(shopDomain, "customers.json", accessToken, ShopifyCustomersResponse.class,
+                ShopifyCustomersResponse::customers, pages);
+    }
+
+    public long fetchOrders(String shopDomain, String accessToken,
+                            Consumer<List<ShopifyOrdersResponse.ShopifyOrder>> pages) {
+        return paginate(shopDomain, "orders.json?status=any", accessToken, ShopifyOrdersResponse.class,
+                ShopifyOrdersResponse::orders, pages);
     }
 
-    public ShopifyOrdersResponse fetchOrders(String shopDomain, String accessToken) {
-        String uri = "/admin/api/%s/orders.json?status=any".formatted(properties.getShopify().getApiVersion());
-        return get(shopDomain, uri, accessToken, ShopifyOrdersResponse.class);
+    public long fetchProducts(String shopDomain, String accessToken,
+                              Consumer<List<ShopifyProductsResponse.ShopifyProduct>> pages) {
+        return paginate(shopDomain, "products.json", accessToken, ShopifyProductsResponse.class,
+                ShopifyProductsResponse::products, pages);
     }
 
-    public ShopifyProductsResponse fetchProducts(String shopDomain, String accessToken) {
-        String uri = "/admin/api/%s/products.json".formatted(properties.getShopify().getApiVersion());
-        return get(shopDomain, uri, accessToken, ShopifyProductsResponse.class);
+    /**
+     * Follows Shopify's cursor pagination: each page's {@code Link: <...>; rel="next"} header holds the complete URL
+     * of the next page. Pages are handed to {@code consumer} one at a time as they arrive; the consumer is expected to
+     * commit each page itself, since the client may pause for the call limit between pages. The access token goes
+     * with every request, so links leading anywhere but the shop the first page came from are refused.
+     */
+    private <T, R> long paginate(String shopDomain, String resource, String token, Class<T> type,
+                                 Function<T, List<R>> items, Consumer<List<R>> consumer) {
+        AppProperties.Shopify shopify = properties.getShopify();
+        String separator = resource.contains("?") ? "&" : "?";
+        URI first = URI.create(shopify.getBaseUrl().replace("{shop}", shopDomain)
+                + "/admin/api/%s/%s%slimit=%d".formatted(shopify.getApiVersion(), resource, separator,
+                shopify.getPageSize()));
+        URI next = first;
+        long total = 0;
+        while (next != null) {
+            ResponseEntity<T> response = get(next, token, type);
+            List<R> page = response.getBody() == null ? null : items.apply(response.getBody());
+            if (page != null && !page.isEmpty()) {
+                consumer.accept(page);
+                total += page.size();
+            }
+            HttpHeaders headers = response.getHeaders();
+            next = nextPage(headers.getFirst(HttpHeaders.LINK), first);
+            if (next != null) {
+                throttle(headers.getFirst(CALL_LIMIT_HEADER));
+            }
+        }
+        return total;
     }
 
-    private <T> T get(String shopDomain, String path, String token, Class<T> type) {
-        String fullUrl = "https://" + shopDomain + path;
-        Mono<T> requestMono = shopifyWebClient
+    private <T> ResponseEntity<T> get(URI uri, String token, Class<T> type) {
+        String path = uri.getPath();
+        Mono<ResponseEntity<T>> requestMono = shopifyWebClient
                 .get()
-                .uri(fullUrl)
+                .uri(uri)
                 .accept(MediaType.APPLICATION_JSON)
                 .headers(headers -> headers.setBearerAuth(token))
                 .retrieve()
@@ -55,7 +100,7 @@ public class ShopifyClient {
                         response -> buildError(path, response, HttpStatus.BAD_GATEWAY))
                 .onStatus(HttpStatusCode::is4xxClientError,
                         response -> buildError(path, response, HttpStatus.BAD_REQUEST))
-                .bodyToMono(type)
+                .toEntity(type)
                 .timeout(Duration.ofMillis(Math.max(properties.getShopify().getRequestTimeoutMs(), 1000L)));
 
         if (properties.getShopify().getMaxRetries() > 0) {
@@ -65,6 +110,72 @@ public class ShopifyClient {
         return requestMono.block();
     }
 
+    static URI nextPage(String linkHeader, URI first) {
+        if (linkHeader == null) {
+            return null;
+        }
+        Matcher matcher = NEXT_LINK.matcher(linkHeader);
+        if (!matcher.find()) {
+            return null;
+        }
+        URI next = first.resolve(matcher.group(1));
+        if (!sameOrigin(first, next)) {
+            throw new ShopifyClientException("Shopify linked the next page of %s to another host"
+                    .formatted(first.getPath()), HttpStatus.BAD_GATEWAY);
+        }
+        return next;
+    }
+
+    private static boolean sameOrigin(URI first, URI next) {
+        return first.getScheme().equalsIgnoreCase(String.valueOf(next.getScheme()))
+                && first.getHost().equalsIgnoreCase(String.valueOf(next.getHost()))
+                && portOf(first) == portOf(next);
+    }
+
+    private static int portOf(URI uri) {
+        if (uri.getPort() != -1) {
+            return uri.getPort();
+        }
+        return "https".equalsIgnoreCase(uri.getScheme()) ? 443 : 80;
+    }
+
+    /**
+     * Shopify reports its leaky bucket as {@code X-Shopify-Shop-Api-Call-Limit: used/capacity}. When fewer than
+     * {@code call-limit-headroom} calls are left, waits for the bucket to drain back to that headroom instead of
+     * running into 429s.
+     */
+    private void throttle(String callLimit) {
+        if (callLimit == null) {
+            return;
+        }
+        int slash = callLimit.indexOf('/');
+        if (slash < 0) {
+            return;
+        }
+        int used;
+        int capacity;
+        try {
+            used = Integer.parseInt(callLimit.substring(0, slash).trim());
+            capacity = Integer.parseInt(callLimit.substring(slash + 1).trim());
+        } catch (NumberFormatException ex) {
+            return;
+        }
+        AppProperties.Shopify shopify = properties.getShopify();
+        int missing = shopify.getCallLimitHeadroom() - (capacity - used);
+        if (missing <= 0 || shopify.getLeakRatePerSecond() <= 0) {
+            return;
+        }
+        long pauseMs = (long) Math.ceil(missing * 1000 / shopify.getLeakRatePerSecond());
+        log.debug("Shopify call limit at {}, pausing {} ms", callLimit, pauseMs);
+        try {
+            Thread.sleep(pauseMs);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new ShopifyClientException("Interrupted while waiting for the Shopify call limit",
+                    HttpStatus.SERVICE_UNAVAILABLE);
+        }
+    }
+
     private Retry createRetrySpec() {
         long retries = Math.max(properties.getShopify().getMaxRetries(), 0);
         Duration backoff = Duration.ofSeconds(Math.max(properties.getShopify().getRateLimitBackoffSeconds(), 1));
@@ -111,7 +222,7 @@ public class ShopifyClient {
             return Duration.ofSeconds(Math.max(properties.getShopify().getRateLimitBackoffSeconds(), 1));
         }
         try {
-            return Duration.ofSeconds(Long.parseLong(headerValue));
+            return Duration.ofMillis((long) Math.ceil(Double.parseDouble(headerValue) * 1000));
         } catch (NumberFormatException ex) {
             return Duration.ofSeconds(Math.max(properties.getShopify().getRateLimitBackoffSeconds(), 1));
         }
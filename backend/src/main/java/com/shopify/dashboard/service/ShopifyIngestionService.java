@@ -1,7 +1,9 @@
 package com.shopify.dashboard.service;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shopify.dashboard.archive.OrderArchiveService;
 import com.shopify.dashboard.dto.SyncResponse;
 import com.shopify.dashboard.dto.shopify.ShopifyCustomersResponse;
 import com.shopify.dashboard.dto.shopify.ShopifyOrdersResponse;
@@ -10,23 +12,34 @@ import com.shopify.dashboard.entity.Customer;
 import com.shopify.dashboard.entity.Order;
 import com.shopify.dashboard.entity.Product;
 import com.shopify.dashboard.entity.Tenant;
+import com.shopify.dashboard.event.CustomerUpsertedEvent;
+import com.shopify.dashboard.event.OrderUpsertedEvent;
+import com.shopify.dashboard.exception.ApiException;
 import com.shopify.dashboard.monitoring.SyncMetrics;
 import com.shopify.dashboard.repository.CustomerRepository;
 import com.shopify.dashboard.repository.OrderRepository;
+import com.shopify.dashboard.repository.OrderRollupRepository;
 import com.shopify.dashboard.repository.ProductRepository;
 import com.shopify.dashboard.repository.TenantRepository;
-import jakarta.transaction.Transactional;
+import com.shopify.dashboard.util.MoneyUnits;
 import java.math.BigDecimal;
 import java.time.Instant;
 import java.time.Duration;
 import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.function.LongSupplier;
 import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.util.CollectionUtils;
 
 @Service
@@ -42,8 +55,16 @@ public class ShopifyIngestionService {
     private final TenantRepository tenantRepository;
     private final ObjectMapper objectMapper;
     private final SyncMetrics syncMetrics;
+    private final ApplicationEventPublisher eventPublisher;
+    private final OrderRollupRepository rollupRepository;
+    private final OrderArchiveService orderArchiveService;
+    private final PlatformTransactionManager transactionManager;
 
-    @Transactional
+    /**
+     * Not transactional: each page commits on its own, so a long sync never keeps a connection or a growing
+     * persistence context open, and no transaction is open while the client waits out Shopify's call limit. A
+     * failed sync keeps the pages it committed; upserts are idempotent, so the next sync picks up from there.
+     */
     @Timed(value = "shopify.sync.tenant", extraTags = {"operation", "full"})
     public SyncResponse syncTenant(Tenant tenant) {
         Instant startedAt = Instant.now();
@@ -52,8 +73,7 @@ public class ShopifyIngestionService {
             long orderCount = syncOrders(tenant);
             long productCount = syncProducts(tenant);
             Instant finishedAt = Instant.now();
-            tenant.setLastSyncAt(finishedAt);
-            tenantRepository.save(tenant);
+            recordSyncFinished(tenant.getId(), finishedAt);
             syncMetrics.recordSyncSuccess(tenant.getId(), customerCount, orderCount, productCount,
                     Duration.between(startedAt, finishedAt));
             return new SyncResponse(tenant.getId(), startedAt, finishedAt, customerCount, orderCount, productCount);
@@ -63,112 +83,148 @@ public class ShopifyIngestionService {
         }
     }
 
-    @Transactional
-    @Timed(value = "shopify.sync.all-tenants", extraTags = {"operation", "scheduler"})
-    public void syncAllTenants() {
-        List<Tenant> tenants = tenantRepository.findAll();
-        tenants.forEach(tenant -> {
-            try {
-                syncTenant(tenant);
-            } catch (Exception ex) {
-                log.error("Failed to sync tenant {}", tenant.getShopDomain(), ex);
-            }
-        });
+    /**
+     * The tenant passed to a sync may be the registry's shared copy, so the stored row is updated instead of it.
+     */
+    private void recordSyncFinished(UUID tenantId, Instant finishedAt) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> tenantRepository.findById(tenantId)
+                .ifPresent(stored -> stored.setLastSyncAt(finishedAt)));
     }
 
     public long syncCustomers(Tenant tenant) {
-        ShopifyCustomersResponse response = mockShopifyDataService.customersFor(tenant.getShopDomain())
-                .orElseGet(() -> shopifyClient.fetchCustomers(tenant.getShopDomain(), tenant.getAccessToken()));
-        if (response == null || CollectionUtils.isEmpty(response.customers())) {
-            return 0;
+        Optional<ShopifyCustomersResponse> mock = mockShopifyDataService.customersFor(tenant.getShopDomain());
+        if (mock.isPresent()) {
+            return inTransaction(() -> upsertCustomers(tenant.getId(), mock.get().customers()));
         }
-        response.customers().forEach(customer -> upsertCustomer(tenant.getId(), customer));
-        return response.customers().size();
+        return shopifyClient.fetchCustomers(tenant.getShopDomain(), tenant.getAccessToken(),
+                page -> inTransaction(() -> upsertCustomers(tenant.getId(), page)));
     }
 
     public long syncOrders(Tenant tenant) {
-        ShopifyOrdersResponse response = mockShopifyDataService.ordersFor(tenant.getShopDomain())
-                .orElseGet(() -> shopifyClient.fetchOrders(tenant.getShopDomain(), tenant.getAccessToken()));
-        if (response == null || CollectionUtils.isEmpty(response.orders())) {
-            return 0;
+        Optional<ShopifyOrdersResponse> mock = mockShopifyDataService.ordersFor(tenant.getShopDomain());
+        if (mock.isPresent()) {
+            return inTransaction(() -> upsertOrders(tenant, mock.get().orders()));
         }
-        response.orders().forEach(order -> upsertOrder(tenant.getId(), order));
-        return response.orders().size();
+        return shopifyClient.fetchOrders(tenant.getShopDomain(), tenant.getAccessToken(),
+                page -> inTransaction(() -> upsertOrders(tenant, page)));
     }
 
     public long syncProducts(Tenant tenant) {
-        ShopifyProductsResponse response = mockShopifyDataService.productsFor(tenant.getShopDomain())
-                .orElseGet(() -> shopifyClient.fetchProducts(tenant.getShopDomain(), tenant.getAccessToken()));
-        if (response == null || CollectionUtils.isEmpty(response.products())) {
+        Optional<ShopifyProductsResponse> mock = mockShopifyDataService.productsFor(tenant.getShopDomain());
+        if (mock.isPresent()) {
+            return inTransaction(() -> upsertProducts(tenant.getId(), mock.get().products()));
+        }
+        return shopifyClient.fetchProducts(tenant.getShopDomain(), tenant.getAccessToken(),
+                page -> inTransaction(() -> upsertProducts(tenant.getId(), page)));
+    }
+
+    private long inTransaction(LongSupplier work) {
+        Long count = new TransactionTemplate(transactionManager).execute(status -> work.getAsLong());
+        return count == null ? 0 : count;
+    }
+
+    private long upsertCustomers(UUID tenantId, List<ShopifyCustomersResponse.ShopifyCustomer> customers) {
+        if (CollectionUtils.isEmpty(customers)) {
             return 0;
         }
-        response.products().forEach(product -> upsertProduct(tenant.getId(), product));
-        return response.products().size();
+        customers.forEach(customer -> upsertCustomer(tenantId, customer));
+        return customers.size();
     }
 
-    public void upsertCustomerFromWebhook(Tenant tenant, String payload) {
-        try {
-            JsonNode node = readPayload(payload, "customer");
-            ShopifyCustomersResponse.ShopifyCustomer dto = new ShopifyCustomersResponse.ShopifyCustomer(
-                    node.path("id").asLong(),
-                    textOrNull(node, "email"),
-                    textOrNull(node, "first_name"),
-                    textOrNull(node, "last_name"),
-                    textOrNull(node, "total_spent"),
-                    textOrNull(node, "created_at"),
-                    textOrNull(node, "updated_at")
-            );
-            upsertCustomer(tenant.getId(), dto);
-        } catch (Exception ex) {
-            log.error("Failed to process customer webhook for tenant {}", tenant.getShopDomain(), ex);
+    private long upsertOrders(Tenant tenant, List<ShopifyOrdersResponse.ShopifyOrder> orders) {
+        if (CollectionUtils.isEmpty(orders)) {
+            return 0;
         }
+        orders.forEach(order -> upsertOrder(tenant, order));
+        return orders.size();
     }
 
-    public void upsertOrderFromWebhook(Tenant tenant, String payload) {
-        try {
-            JsonNode node = readPayload(payload, "order");
-            ShopifyOrdersResponse.ShopifyOrder dto = new ShopifyOrdersResponse.ShopifyOrder(
-                    node.path("id").asLong(),
-                    textOrNull(node, "name"),
-                    textOrNull(node, "total_price"),
-                    textOrNull(node, "currency"),
-                    textOrNull(node, "created_at"),
-                    textOrNull(node, "updated_at")
-            );
-            upsertOrder(tenant.getId(), dto);
-        } catch (Exception ex) {
-            log.error("Failed to process order webhook for tenant {}", tenant.getShopDomain(), ex);
+    private long upsertProducts(UUID tenantId, List<ShopifyProductsResponse.ShopifyProduct> products) {
+        if (CollectionUtils.isEmpty(products)) {
+            return 0;
         }
+        products.forEach(product -> upsertProduct(tenantId, product));
+        return products.size();
+    }
+
+    /**
+     * Webhook upserts let failures propagate so the webhook is answered with an error and Shopify retries it. Each
+     * runs in its own transaction, so listeners of the events it publishes see them once it has committed.
+     */
+    public void upsertCustomerFromWebhook(Tenant tenant, String payload) {
+        ShopifyCustomersResponse.ShopifyCustomer dto = customerFromWebhook(webhookPayload(payload, "customer"));
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> upsertCustomer(tenant.getId(), dto));
+    }
+
+    public void upsertOrderFromWebhook(Tenant tenant, String payload) {
+        ShopifyOrdersResponse.ShopifyOrder dto = orderFromWebhook(webhookPayload(payload, "order"));
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> upsertOrder(tenant, dto));
     }
 
     public void upsertProductFromWebhook(Tenant tenant, String payload) {
+        ShopifyProductsResponse.ShopifyProduct dto = productFromWebhook(webhookPayload(payload, "product"));
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> upsertProduct(tenant.getId(), dto));
+    }
+
+    private JsonNode webhookPayload(String payload, String primaryNode) {
         try {
-            JsonNode node = readPayload(payload, "product");
-            List<ShopifyProductsResponse.ShopifyVariant> variants = new ArrayList<>();
-            if (node.has("variants") && node.get("variants").isArray()) {
-                node.get("variants").forEach(variantNode -> variants.add(
-                        new ShopifyProductsResponse.ShopifyVariant(textOrNull(variantNode, "price"))));
-            }
-            ShopifyProductsResponse.ShopifyProduct dto = new ShopifyProductsResponse.ShopifyProduct(
-                    node.path("id").asLong(),
-                    textOrNull(node, "title"),
-                    variants,
-                    textOrNull(node, "created_at"),
-                    textOrNull(node, "updated_at")
-            );
-            upsertProduct(tenant.getId(), dto);
-        } catch (Exception ex) {
-            log.error("Failed to process product webhook for tenant {}", tenant.getShopDomain(), ex);
+            return readPayload(objectMapper, payload, primaryNode);
+        } catch (JsonProcessingException ex) {
+            throw new ApiException("Malformed %s webhook payload".formatted(primaryNode), HttpStatus.BAD_REQUEST);
         }
     }
 
+    static ShopifyCustomersResponse.ShopifyCustomer customerFromWebhook(JsonNode node) {
+        return new ShopifyCustomersResponse.ShopifyCustomer(
+                node.path("id").asLong(),
+                textOrNull(node, "email"),
+                textOrNull(node, "first_name"),
+                textOrNull(node, "last_name"),
+                textOrNull(node, "total_spent"),
+                textOrNull(node, "created_at"),
+                textOrNull(node, "updated_at")
+        );
+    }
+
+    static ShopifyOrdersResponse.ShopifyOrder orderFromWebhook(JsonNode node) {
+        return new ShopifyOrdersResponse.ShopifyOrder(
+                node.path("id").asLong(),
+                textOrNull(node, "name"),
+                textOrNull(node, "total_price"),
+                textOrNull(node, "currency"),
+                textOrNull(node, "created_at"),
+                textOrNull(node, "updated_at"),
+                textOrNull(node, "email"),
+                node.path("customer").hasNonNull("id")
+                        ? new ShopifyOrdersResponse.ShopifyOrderCustomer(node.path("customer").path("id").asLong())
+                        : null
+        );
+    }
+
+    static ShopifyProductsResponse.ShopifyProduct productFromWebhook(JsonNode node) {
+        List<ShopifyProductsResponse.ShopifyVariant> variants = new ArrayList<>();
+        if (node.has("variants") && node.get("variants").isArray()) {
+            node.get("variants").forEach(variantNode -> variants.add(
+                    new ShopifyProductsResponse.ShopifyVariant(textOrNull(variantNode, "price"))));
+        }
+        return new ShopifyProductsResponse.ShopifyProduct(
+                node.path("id").asLong(),
+                textOrNull(node, "title"),
+                variants,
+                textOrNull(node, "created_at"),
+                textOrNull(node, "updated_at")
+        );
+    }
+
     private void upsertCustomer(UUID tenantId, ShopifyCustomersResponse.ShopifyCustomer dto) {
-        customerRepository.findByTenantIdAndShopCustomerId(tenantId, dto.id())
-                .ifPresentOrElse(customer -> updateCustomer(customer, dto),
-                        () -> customerRepository.save(buildCustomer(tenantId, dto)));
+        Optional<Customer> existing = customerRepository.findByTenantIdAndShopCustomerId(tenantId, dto.id());
+        Customer customer = existing
+                .map(current -> updateCustomer(current, dto))
+                .orElseGet(() -> customerRepository.save(buildCustomer(tenantId, dto)));
+        eventPublisher.publishEvent(CustomerUpsertedEvent.from(customer, existing.isEmpty()));
     }
 
-    private Customer buildCustomer(UUID tenantId, ShopifyCustomersResponse.ShopifyCustomer dto) {
+    static Customer buildCustomer(UUID tenantId, ShopifyCustomersResponse.ShopifyCustomer dto) {
         return Customer.builder()
                 .tenantId(tenantId)
                 .shopCustomerId(dto.id())
@@ -181,39 +237,100 @@ public class ShopifyIngestionService {
                 .build();
     }
 
-    private void updateCustomer(Customer customer, ShopifyCustomersResponse.ShopifyCustomer dto) {
+    private Customer updateCustomer(Customer customer, ShopifyCustomersResponse.ShopifyCustomer dto) {
         customer.setEmail(dto.email());
         customer.setFirstName(dto.first_name());
         customer.setLastName(dto.last_name());
         customer.setTotalSpent(parseBigDecimal(dto.total_spent()));
         customer.setUpdatedAt(parseInstant(dto.updated_at()));
-        customerRepository.save(customer);
+        return customerRepository.save(customer);
+    }
+
+    private void upsertOrder(Tenant tenant, ShopifyOrdersResponse.ShopifyOrder dto) {
+        Optional<Order> existing = findOrder(tenant.getId(), dto);
+        if (existing.isEmpty()) {
+            if (orderArchiveService.isArchived(tenant, dto.id(), parseInstantOrNull(dto.created_at()))) {
+                log.debug("Ignoring update to archived order {} of tenant {}", dto.id(), tenant.getId());
+                return;
+            }
+            Order order = orderRepository.save(buildOrder(tenant.getId(), dto));
+            rollupRepository.apply(tenant.getId(), tenant.zoneId(), order.getCreatedAt(), order.getCurrency(), 1,
+                    order.getTotalPriceMinor());
+            eventPublisher.publishEvent(OrderUpsertedEvent.created(order));
+            return;
+        }
+        Order current = existing.get();
+        long previousMinor = current.getTotalPriceMinor();
+        String previousCurrency = current.getCurrency();
+        Instant previousCreatedAt = current.getCreatedAt();
+        Instant createdAt = parseInstantOrNull(dto.created_at());
+        if (current.isCreatedAtFallback() && createdAt != null) {
+            correctCreatedAt(current, createdAt);
+        }
+        Order order = updateOrder(current, dto);
+        if (!previousCreatedAt.equals(order.getCreatedAt()) || !Objects.equals(previousCurrency, order.getCurrency())) {
+            rollupRepository.apply(tenant.getId(), tenant.zoneId(), previousCreatedAt, previousCurrency, -1,
+                    -previousMinor);
+            rollupRepository.apply(tenant.getId(), tenant.zoneId(), order.getCreatedAt(), order.getCurrency(), 1,
+                    order.getTotalPriceMinor());
+        } else if (order.getTotalPriceMinor() != previousMinor) {
+            rollupRepository.apply(tenant.getId(), tenant.zoneId(), order.getCreatedAt(), order.getCurrency(), 0,
+                    order.getTotalPriceMinor() - previousMinor);
+        }
+        eventPublisher.publishEvent(OrderUpsertedEvent.updated(order, previousMinor, previousCurrency,
+                previousCreatedAt));
+    }
+
+    /**
+     * Shopify's {@code created_at} never changes, so when it is known the lookup is pruned to one orders partition.
+     * A miss only falls back to the orders first stored without {@code created_at}: those were stamped with their
+     * ingestion time, which a later payload carrying the real value would never match.
+     */
+    private Optional<Order> findOrder(UUID tenantId, ShopifyOrdersResponse.ShopifyOrder dto) {
+        Instant createdAt = parseInstantOrNull(dto.created_at());
+        if (createdAt == null) {
+            return orderRepository.findByTenantIdAndShopOrderId(tenantId, dto.id());
+        }
+        return orderRepository.findByTenantIdAndShopOrderIdAndCreatedAt(tenantId, dto.id(), createdAt)
+                .or(() -> orderRepository.findByTenantIdAndShopOrderIdAndCreatedAtFallbackTrue(tenantId, dto.id()));
     }
 
-    private void upsertOrder(UUID tenantId, ShopifyOrdersResponse.ShopifyOrder dto) {
-        orderRepository.findByTenantIdAndShopOrderId(tenantId, dto.id())
-                .ifPresentOrElse(order -> updateOrder(order, dto),
-                        () -> orderRepository.save(buildOrder(tenantId, dto)));
+    /**
+     * Moves an order stamped with its ingestion time to the partition of its real {@code created_at}. The update
+     * detaches every loaded entity, so the order is merged back by the save that follows.
+     */
+    private void correctCreatedAt(Order order, Instant createdAt) {
+        orderRepository.correctCreatedAt(order.getTenantId(), order.getId(), order.getCreatedAt(), createdAt);
+        order.setCreatedAt(createdAt);
+        order.setCreatedAtFallback(false);
     }
 
-    private Order buildOrder(UUID tenantId, ShopifyOrdersResponse.ShopifyOrder dto) {
+    static Order buildOrder(UUID tenantId, ShopifyOrdersResponse.ShopifyOrder dto) {
+        Instant createdAt = parseInstantOrNull(dto.created_at());
         return Order.builder()
                 .tenantId(tenantId)
                 .shopOrderId(dto.id())
+                .shopCustomerId(shopCustomerIdOf(dto))
                 .orderNumber(dto.name())
-                .totalPrice(parseBigDecimal(dto.total_price()))
+                .totalPriceMinor(MoneyUnits.parseMinor(dto.total_price(), dto.currency()))
                 .currency(dto.currency())
-                .createdAt(parseInstant(dto.created_at()))
+                .createdAt(createdAt != null ? createdAt : Instant.now())
+                .createdAtFallback(createdAt == null)
                 .updatedAt(parseInstant(dto.updated_at()))
                 .build();
     }
 
-    private void updateOrder(Order order, ShopifyOrdersResponse.ShopifyOrder dto) {
+    private Order updateOrder(Order order, ShopifyOrdersResponse.ShopifyOrder dto) {
         order.setOrderNumber(dto.name());
-        order.setTotalPrice(parseBigDecimal(dto.total_price()));
+        order.setTotalPriceMinor(MoneyUnits.parseMinor(dto.total_price(), dto.currency()));
         order.setCurrency(dto.currency());
+        order.setShopCustomerId(shopCustomerIdOf(dto));
         order.setUpdatedAt(parseInstant(dto.updated_at()));
-        orderRepository.save(order);
+        return orderRepository.save(order);
+    }
+
+    static Long shopCustomerIdOf(ShopifyOrdersResponse.ShopifyOrder dto) {
+        return dto.customer() != null ? dto.customer().id() : null;
     }
 
     private void upsertProduct(UUID tenantId, ShopifyProductsResponse.ShopifyProduct dto) {
@@ -222,7 +339,7 @@ public class ShopifyIngestionService {
                         () -> productRepository.save(buildProduct(tenantId, dto)));
     }
 
-    private Product buildProduct(UUID tenantId, ShopifyProductsResponse.ShopifyProduct dto) {
+    static Product buildProduct(UUID tenantId, ShopifyProductsResponse.ShopifyProduct dto) {
         return Product.builder()
                 .tenantId(tenantId)
                 .shopProductId(dto.id())
@@ -240,25 +357,30 @@ public class ShopifyIngestionService {
         productRepository.save(product);
     }
 
-    private BigDecimal extractPrice(ShopifyProductsResponse.ShopifyProduct dto) {
+    static BigDecimal extractPrice(ShopifyProductsResponse.ShopifyProduct dto) {
         if (dto.variants() != null && !dto.variants().isEmpty()) {
             return parseBigDecimal(dto.variants().get(0).price());
         }
         return BigDecimal.ZERO;
     }
 
-    private Instant parseInstant(String value) {
+    static Instant parseInstant(String value) {
+        Instant parsed = parseInstantOrNull(value);
+        return parsed != null ? parsed : Instant.now();
+    }
+
+    static Instant parseInstantOrNull(String value) {
         if (value == null || value.isBlank()) {
-            return Instant.now();
+            return null;
         }
         try {
             return Instant.parse(value);
         } catch (DateTimeParseException ex) {
-            return Instant.now();
+            return null;
         }
     }
 
-    private BigDecimal parseBigDecimal(String value) {
+    static BigDecimal parseBigDecimal(String value) {
         if (value == null || value.isBlank()) {
             return BigDecimal.ZERO;
         }
@@ -269,7 +391,8 @@ public class ShopifyIngestionService {
         }
     }
 
-    private JsonNode readPayload(String payload, String primaryNode) throws Exception {
+    static JsonNode readPayload(ObjectMapper objectMapper, String payload, String primaryNode)
+            throws JsonProcessingException {
         JsonNode node = objectMapper.readTree(payload);
         if (node.has(primaryNode)) {
             return node.get(primaryNode);
@@ -277,7 +400,7 @@ public class ShopifyIngestionService {
         return node;
     }
 
-    private String textOrNull(JsonNode node, String field) {
+    static String textOrNull(JsonNode node, String field) {
         JsonNode child = node.get(field);
         return child != null && !child.isNull() ? child.asText() : null;
     }
@@ -1,17 +1,26 @@
 package com.shopify.dashboard.service;
 
+import com.shopify.dashboard.config.AppProperties;
+import com.shopify.dashboard.dto.CursorPage;
+import com.shopify.dashboard.dto.PageCursor;
 import com.shopify.dashboard.dto.SyncResponse;
 import com.shopify.dashboard.dto.TenantOnboardRequest;
+import com.shopify.dashboard.dto.TenantPurgeStatus;
 import com.shopify.dashboard.dto.TenantResponse;
 import com.shopify.dashboard.entity.Tenant;
+import com.shopify.dashboard.event.TenantDeletedEvent;
 import com.shopify.dashboard.exception.ApiException;
 import com.shopify.dashboard.exception.NotFoundException;
+import com.shopify.dashboard.repository.TenantPurgeRepository;
 import com.shopify.dashboard.repository.TenantRepository;
+import com.shopify.dashboard.workload.WorkloadExecutors;
+import java.time.DateTimeException;
 import java.time.Instant;
+import java.time.ZoneId;
 import java.util.List;
 import java.util.UUID;
-import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -21,41 +30,72 @@ import org.springframework.transaction.annotation.Transactional;
 public class TenantService {
 
     private final TenantRepository tenantRepository;
-    private final ShopifyIngestionService ingestionService;
+    private final TenantPurgeRepository tenantPurgeRepository;
+    private final TenantSyncRunner syncRunner;
+    private final ApplicationEventPublisher eventPublisher;
+    private final AppProperties properties;
 
     @Transactional
     public TenantResponse onboardTenant(TenantOnboardRequest request) {
         if (tenantRepository.findByShopDomain(request.shopDomain()).isPresent()) {
             throw new ApiException("Tenant already exists for domain", HttpStatus.CONFLICT);
         }
+        if (tenantRepository.existsDeletedByShopDomain(request.shopDomain())) {
+            throw new ApiException("Tenant for domain is still being deleted", HttpStatus.CONFLICT);
+        }
         Tenant tenant = Tenant.builder()
                 .shopDomain(request.shopDomain())
                 .accessToken(request.accessToken())
                 .contactEmail(request.contactEmail())
+                .timeZone(resolveTimeZone(request.timeZone()))
+                .orderRetentionDays(request.orderRetentionDays())
                 .createdAt(Instant.now())
                 .build();
         Tenant saved = tenantRepository.save(tenant);
         return toResponse(saved);
     }
 
-    public List<TenantResponse> listTenants() {
-        return tenantRepository.findAll().stream().map(this::toResponse).collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public CursorPage<TenantResponse> listTenants(String cursor, Integer limit) {
+        int pageSize = properties.getPagination().resolve(limit);
+        PageCursor after = PageCursor.decode(cursor);
+        List<Tenant> rows = after == null
+                ? tenantRepository.findFirstPage(pageSize + 1)
+                : tenantRepository.findPageAfter(after.createdAt(), after.id(), pageSize + 1);
+        return CursorPage.of(rows, pageSize, tenant -> new PageCursor(tenant.getCreatedAt(), tenant.getId()),
+                this::toResponse);
     }
 
-    public TenantResponse getTenant(UUID id) {
-        return toResponse(getTenantEntity(id));
+    public TenantResponse getTenant(Tenant tenant) {
+        return toResponse(tenant);
     }
 
+    /**
+     * Hides the tenant at once and leaves removing its data to {@link com.shopify.dashboard.purge.TenantPurger}.
+     * The tenant comes from the registry and is shared, so it is marked deleted in the database rather than modified.
+     */
     @Transactional
-    public void deleteTenant(UUID id) {
-        Tenant tenant = getTenantEntity(id);
-        tenantRepository.delete(tenant);
+    public TenantPurgeStatus deleteTenant(Tenant tenant) {
+        if (tenantRepository.markDeleted(tenant.getId(), Instant.now()) == 0) {
+            throw new NotFoundException("Tenant not found");
+        }
+        tenantPurgeRepository.schedule(tenant.getId(), tenant.getShopDomain());
+        eventPublisher.publishEvent(new TenantDeletedEvent(tenant.getId()));
+        return getPurgeStatus(tenant.getId());
     }
 
-    @Transactional
-    public SyncResponse triggerSync(UUID tenantId) {
-        Tenant tenant = getTenantEntity(tenantId);
-        return ingestionService.syncTenant(tenant);
+    @Transactional(readOnly = true)
+    public TenantPurgeStatus getPurgeStatus(UUID id) {
+        return tenantPurgeRepository.find(id)
+                .orElseThrow(() -> new NotFoundException("No deletion found for tenant"));
+    }
+
+    /**
+     * Not transactional: the sync runs on the ingestion pool, and a transaction here would hold an API connection
+     * for its whole duration. Answers 409 while the scheduler or another request is already syncing the tenant.
+     */
+    public SyncResponse triggerSync(Tenant tenant) {
+        return WorkloadExecutors.await(syncRunner.submit(tenant));
     }
 
     public Tenant getTenantEntity(UUID tenantId) {
@@ -68,7 +108,19 @@ public class TenantService {
                 .orElseThrow(() -> new NotFoundException("Tenant not found"));
     }
 
+    private String resolveTimeZone(String timeZone) {
+        if (timeZone == null || timeZone.isBlank()) {
+            return "UTC";
+        }
+        try {
+            return ZoneId.of(timeZone).getId();
+        } catch (DateTimeException ex) {
+            throw new ApiException("Unknown time zone: " + timeZone, HttpStatus.BAD_REQUEST);
+        }
+    }
+
     private TenantResponse toResponse(Tenant tenant) {
-        return new TenantResponse(tenant.getId(), tenant.getShopDomain(), tenant.getContactEmail(), tenant.getCreatedAt(), tenant.getLastSyncAt());
+        return new TenantResponse(tenant.getId(), tenant.getShopDomain(), tenant.getContactEmail(), tenant.getCreatedAt(),
+                tenant.getLastSyncAt(), tenant.getTimeZone(), tenant.getOrderRetentionDays());
     }
 }
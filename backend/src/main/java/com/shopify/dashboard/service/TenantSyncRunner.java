@@ -0,0 +1,97 @@
+package com.shopify.dashboard.service;
+
+import com.shopify.dashboard.config.AppProperties;
+import com.shopify.dashboard.dto.SyncResponse;
+import com.shopify.dashboard.entity.Tenant;
+import com.shopify.dashboard.exception.ApiException;
+import com.shopify.dashboard.repository.TenantSyncLeaseRepository;
+import com.shopify.dashboard.workload.Workload;
+import com.shopify.dashboard.workload.WorkloadContext;
+import com.shopify.dashboard.workload.WorkloadExecutors;
+import java.time.Instant;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Runs tenant syncs on the ingestion pool, at most one per tenant at a time across all instances. Two overlapping
+ * syncs of the same tenant would both miss the same new orders and insert them twice. Each sync holds a lease row
+ * that this instance renews while it runs, so a crashed instance only blocks the tenant until the lease runs out.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TenantSyncRunner {
+
+    private final ShopifyIngestionService ingestionService;
+    private final WorkloadExecutors workloadExecutors;
+    private final TenantSyncLeaseRepository leaseRepository;
+    private final AppProperties properties;
+    private final Set<UUID> inFlight = ConcurrentHashMap.newKeySet();
+    private final UUID instanceId = UUID.randomUUID();
+
+    public CompletableFuture<SyncResponse> submit(Tenant tenant) {
+        UUID tenantId = tenant.getId();
+        if (!inFlight.add(tenantId)) {
+            throw alreadyRunning();
+        }
+        boolean leased = false;
+        try {
+            leased = leaseRepository.acquire(tenantId, instanceId, leaseUntil());
+            if (!leased) {
+                throw alreadyRunning();
+            }
+            return workloadExecutors.submit(Workload.INGESTION, () -> ingestionService.syncTenant(tenant))
+                    .whenComplete((result, ex) -> release(tenantId));
+        } catch (RuntimeException ex) {
+            if (leased) {
+                release(tenantId);
+            } else {
+                inFlight.remove(tenantId);
+            }
+            throw ex;
+        }
+    }
+
+    public boolean isRunning(UUID tenantId) {
+        return inFlight.contains(tenantId) || leaseRepository.isLeased(tenantId);
+    }
+
+    @Scheduled(fixedDelayString = "${app.tenants.sync.renew-interval-ms}")
+    public void renewLeases() {
+        if (inFlight.isEmpty()) {
+            return;
+        }
+        WorkloadContext.run(Workload.INGESTION, () -> {
+            try {
+                leaseRepository.renew(instanceId, leaseUntil());
+            } catch (RuntimeException ex) {
+                log.warn("Failed to renew tenant sync leases", ex);
+            }
+        });
+    }
+
+    private void release(UUID tenantId) {
+        try {
+            leaseRepository.release(tenantId, instanceId);
+        } catch (RuntimeException ex) {
+            log.warn("Failed to release the sync lease of tenant {}, it expires on its own", tenantId, ex);
+        } finally {
+            inFlight.remove(tenantId);
+        }
+    }
+
+    private Instant leaseUntil() {
+        return Instant.now().plusMillis(properties.getTenants().getSync().getLeaseMs());
+    }
+
+    private static ApiException alreadyRunning() {
+        return new ApiException("A sync of this tenant is already running", HttpStatus.CONFLICT);
+    }
+}
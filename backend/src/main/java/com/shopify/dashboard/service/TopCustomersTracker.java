@@ -0,0 +1,161 @@
+package com.shopify.dashboard.service;
+
+import com.shopify.dashboard.config.AppProperties;
+import com.shopify.dashboard.dto.TopCustomerDto;
+import com.shopify.dashboard.entity.Customer;
+import com.shopify.dashboard.event.CustomerUpsertedEvent;
+import com.shopify.dashboard.event.TenantDeletedEvent;
+import com.shopify.dashboard.repository.CustomerRepository;
+import java.math.BigDecimal;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Per-tenant bounded ranking of the highest spenders, seeded from {@code idx_customers_tenant_total_spent}
+ * and kept current from committed customer upserts.
+ */
+@Component
+@RequiredArgsConstructor
+public class TopCustomersTracker {
+
+    private static final int MAX_RESEED_ATTEMPTS = 3;
+
+    private static final Comparator<TopCustomerDto> BY_SPEND_DESC = Comparator
+            .comparing((TopCustomerDto customer) -> spendOf(customer.totalSpent())).reversed()
+            .thenComparing(TopCustomerDto::id);
+
+    private final CustomerRepository customerRepository;
+    private final AppProperties properties;
+    private final Map<UUID, RankedCustomers> tenants = new ConcurrentHashMap<>();
+
+    public List<TopCustomerDto> topCustomers(UUID tenantId, int limit) {
+        int capacity = capacity();
+        if (limit > capacity) {
+            return loadFromIndex(tenantId, limit);
+        }
+        RankedCustomers ranked = tenants.computeIfAbsent(tenantId, id -> new RankedCustomers());
+        synchronized (ranked) {
+            if (ranked.canServe(limit)) {
+                return ranked.first(limit);
+            }
+        }
+        for (int attempt = 0; attempt < MAX_RESEED_ATTEMPTS; attempt++) {
+            long version;
+            synchronized (ranked) {
+                version = ranked.version;
+            }
+            List<TopCustomerDto> rows = loadFromIndex(tenantId, capacity);
+            synchronized (ranked) {
+                if (ranked.version == version) {
+                    ranked.seed(rows, capacity);
+                    return ranked.first(limit);
+                }
+            }
+        }
+        return loadFromIndex(tenantId, limit);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCustomerUpserted(CustomerUpsertedEvent event) {
+        RankedCustomers ranked = tenants.get(event.tenantId());
+        if (ranked == null) {
+            return;
+        }
+        TopCustomerDto customer = new TopCustomerDto(event.customerId(), event.email(), event.firstName(),
+                event.lastName(), event.totalSpent(), event.updatedAt());
+        synchronized (ranked) {
+            ranked.apply(customer, capacity());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTenantDeleted(TenantDeletedEvent event) {
+        tenants.remove(event.tenantId());
+    }
+
+    private List<TopCustomerDto> loadFromIndex(UUID tenantId, int limit) {
+        return customerRepository.findByTenantIdOrderByTotalSpentDesc(tenantId, PageRequest.of(0, Math.max(limit, 1)))
+                .stream()
+                .map(TopCustomersTracker::toDto)
+                .toList();
+    }
+
+    private int capacity() {
+        return Math.max(properties.getMetrics().getTopCustomersCapacity(), 1);
+    }
+
+    private static TopCustomerDto toDto(Customer customer) {
+        return new TopCustomerDto(customer.getId(), customer.getEmail(), customer.getFirstName(), customer.getLastName(),
+                customer.getTotalSpent(), customer.getUpdatedAt());
+    }
+
+    private static BigDecimal spendOf(BigDecimal totalSpent) {
+        return totalSpent == null ? BigDecimal.ZERO : totalSpent;
+    }
+
+    /**
+     * Ranked head of a tenant's customers. Every customer outside {@code ranked} is known to spend at most
+     * {@code floor}, unless {@code complete} says the set holds every customer of the tenant.
+     */
+    private static final class RankedCustomers {
+
+        private final TreeSet<TopCustomerDto> ranked = new TreeSet<>(BY_SPEND_DESC);
+        private final Map<UUID, TopCustomerDto> byId = new HashMap<>();
+        private boolean seeded;
+        private boolean complete;
+        private BigDecimal floor = BigDecimal.ZERO;
+        private long version;
+
+        void seed(List<TopCustomerDto> rows, int capacity) {
+            ranked.clear();
+            byId.clear();
+            rows.forEach(this::add);
+            seeded = true;
+            complete = rows.size() < capacity;
+            floor = rows.isEmpty() ? BigDecimal.ZERO : spendOf(rows.get(rows.size() - 1).totalSpent());
+        }
+
+        void apply(TopCustomerDto customer, int capacity) {
+            version++;
+            if (!seeded) {
+                return;
+            }
+            TopCustomerDto previous = byId.remove(customer.id());
+            if (previous != null) {
+                ranked.remove(previous);
+            }
+            if (!complete && spendOf(customer.totalSpent()).compareTo(floor) < 0) {
+                return;
+            }
+            add(customer);
+            while (ranked.size() > capacity) {
+                TopCustomerDto evicted = ranked.pollLast();
+                byId.remove(evicted.id());
+                floor = complete ? spendOf(evicted.totalSpent()) : floor.max(spendOf(evicted.totalSpent()));
+                complete = false;
+            }
+        }
+
+        boolean canServe(int limit) {
+            return seeded && (complete || ranked.size() >= limit);
+        }
+
+        List<TopCustomerDto> first(int limit) {
+            return ranked.stream().limit(Math.max(limit, 1)).toList();
+        }
+
+        private void add(TopCustomerDto customer) {
+            ranked.add(customer);
+            byId.put(customer.id(), customer);
+        }
+    }
+}
@@ -0,0 +1,305 @@
+package com.shopify.dashboard.stub;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shopify.dashboard.config.AppProperties;
+import com.shopify.dashboard.dto.shopify.ShopifyCustomersResponse;
+import com.shopify.dashboard.dto.shopify.ShopifyOrdersResponse;
+import com.shopify.dashboard.dto.shopify.ShopifyProductsResponse;
+import com.shopify.dashboard.util.HmacVerifier;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.http.server.reactive.HttpHandler;
+import org.springframework.http.server.reactive.ReactorHttpHandlerAdapter;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.server.HandlerStrategies;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+/**
+ * A local stand-in for the Shopify Admin REST API, serving {@link SyntheticShopData} for any shop domain under
+ * {@code /{shop}/admin/api/{version}/}. It pages with opaque {@code page_info} cursors and {@code Link} headers,
+ * enforces a leaky-bucket call limit per shop (reported in {@code X-Shopify-Shop-Api-Call-Limit}, 429 with
+ * {@code Retry-After} when full), and on {@code POST /{shop}/webhooks?topic=orders/create&count=N} delivers signed
+ * webhooks to the application. Point {@code app.shopify.base-url} at {@code http://localhost:<port>/{shop}} to
+ * ingest from it.
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.shopify.stub", name = "enabled", havingValue = "true")
+@Slf4j
+public class ShopifyStubServer implements SmartLifecycle {
+
+    private static final int DEFAULT_LIMIT = 50;
+    private static final int MAX_LIMIT = 250;
+
+    private final AppProperties.Shopify.Stub settings;
+    private final String webhookSecret;
+    private final String apiVersion;
+    private final HmacVerifier hmacVerifier;
+    private final ObjectMapper objectMapper;
+    private final HttpHandler httpHandler;
+    private final WebClient webhookClient;
+    private final Instant end;
+    private final Map<String, SyntheticShopData> shops = new ConcurrentHashMap<>();
+    private final Map<String, LeakyBucket> buckets = new ConcurrentHashMap<>();
+    private DisposableServer server;
+
+    public ShopifyStubServer(AppProperties properties, HmacVerifier hmacVerifier, ObjectMapper objectMapper) {
+        this.settings = properties.getShopify().getStub();
+        this.webhookSecret = properties.getShopify().getWebhookSecret();
+        this.apiVersion = properties.getShopify().getApiVersion();
+        this.hmacVerifier = hmacVerifier;
+        this.objectMapper = objectMapper;
+        this.end = StringUtils.hasText(settings.getEndDate())
+                ? LocalDate.parse(settings.getEndDate()).atStartOfDay(ZoneOffset.UTC).toInstant()
+                : LocalDate.now(ZoneOffset.UTC).atStartOfDay(ZoneOffset.UTC).toInstant();
+        this.webhookClient = WebClient.create();
+        RouterFunction<ServerResponse> routes = RouterFunctions.route()
+                .path("/{shop}/admin/api/{version}", api -> api
+                        .GET("/customers.json", request -> page(request, SyntheticShopData::customerCount,
+                                (shop, offset, limit) -> new ShopifyCustomersResponse(shop.customers(offset, limit))))
+                        .GET("/orders.json", request -> page(request, SyntheticShopData::orderCount,
+                                (shop, offset, limit) -> new ShopifyOrdersResponse(shop.orders(offset, limit))))
+                        .GET("/products.json", request -> page(request, SyntheticShopData::productCount,
+                                (shop, offset, limit) -> new ShopifyProductsResponse(shop.products(offset, limit)))))
+                .POST("/{shop}/webhooks", this::webhooks)
+                .build();
+        HandlerStrategies strategies = HandlerStrategies.builder()
+                .codecs(codecs -> {
+                    codecs.defaultCodecs().jackson2JsonEncoder(new Jackson2JsonEncoder(objectMapper));
+                    codecs.defaultCodecs().jackson2JsonDecoder(new Jackson2JsonDecoder(objectMapper));
+                })
+                .build();
+        this.httpHandler = RouterFunctions.toHttpHandler(routes, strategies);
+    }
+
+    public SyntheticShopData shop(String shopDomain) {
+        return shops.computeIfAbsent(shopDomain, domain -> new SyntheticShopData(
+                settings.getSeed() * 31 + domain.hashCode(),
+                settings.getCustomers(),
+                settings.getOrders(),
+                settings.getProducts(),
+                end,
+                Duration.ofDays(settings.getHistoryDays())));
+    }
+
+    public int port() {
+        return server.port();
+    }
+
+    private Mono<ServerResponse> page(ServerRequest request, Function<SyntheticShopData, Long> total,
+                                      PageRenderer renderer) {
+        String shopDomain = request.pathVariable("shop");
+        int used = buckets.computeIfAbsent(shopDomain, domain -> new LeakyBucket(settings.getBucketCapacity(),
+                settings.getLeakRatePerSecond())).tryAcquire(System.nanoTime());
+        if (used < 0) {
+            return ServerResponse.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header("Retry-After", "2.0")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .bodyValue(Map.of("errors", "Exceeded 2 calls per second for api client. Reduce request rates "
+                            + "to resume uninterrupted service."));
+        }
+        int limit;
+        long offset;
+        try {
+            limit = request.queryParam("limit").map(Integer::parseInt).orElse(DEFAULT_LIMIT);
+            offset = request.queryParam("page_info").map(ShopifyStubServer::decodeCursor).orElse(0L);
+        } catch (IllegalArgumentException ex) {
+            return ServerResponse.badRequest().bodyValue(Map.of("errors", "Invalid limit or page_info"));
+        }
+        if (limit < 1 || limit > MAX_LIMIT) {
+            return ServerResponse.badRequest().bodyValue(Map.of("errors", "limit must be between 1 and 250"));
+        }
+        SyntheticShopData shop = shop(shopDomain);
+        long count = total.apply(shop);
+        List<String> links = new ArrayList<>(2);
+        if (offset > 0) {
+            links.add(link(request, limit, Math.max(offset - limit, 0), "previous"));
+        }
+        if (offset + limit < count) {
+            links.add(link(request, limit, offset + limit, "next"));
+        }
+        ServerResponse.BodyBuilder response = ServerResponse.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .header("X-Shopify-Shop-Api-Call-Limit", used + "/" + settings.getBucketCapacity());
+        if (!links.isEmpty()) {
+            response.header("Link", String.join(", ", links));
+        }
+        return response.bodyValue(renderer.render(shop, offset, limit));
+    }
+
+    private Mono<ServerResponse> webhooks(ServerRequest request) {
+        String shopDomain = request.pathVariable("shop");
+        String topic = request.queryParam("topic").orElse("orders/create");
+        int count = request.queryParam("count").map(Integer::parseInt).orElse(1);
+        String target = request.queryParam("target").orElse(settings.getWebhookTarget());
+        SyntheticShopData shop = shop(shopDomain);
+        Function<Long, Object> payloads = payloads(shop, topic);
+        if (payloads == null) {
+            return ServerResponse.badRequest().bodyValue(Map.of("errors", "Unsupported topic " + topic));
+        }
+        return Flux.range(0, count)
+                .flatMap(i -> deliver(target, shopDomain, topic, payloads.apply((long) i)),
+                        settings.getWebhookConcurrency())
+                .reduce(new long[2], (totals, delivered) -> {
+                    totals[delivered ? 0 : 1]++;
+                    return totals;
+                })
+                .flatMap(totals -> ServerResponse.ok().bodyValue(Map.of("sent", totals[0], "failed", totals[1])));
+    }
+
+    /**
+     * {@code create} topics introduce the records that follow the generated ones; other topics touch existing
+     * records from the start.
+     */
+    private static Function<Long, Object> payloads(SyntheticShopData shop, String topic) {
+        boolean create = topic.endsWith("/create");
+        if (topic.startsWith("orders/")) {
+            long base = create ? shop.orderCount() : 0;
+            return i -> shop.order(base + (create ? i : i % Math.max(shop.orderCount(), 1)));
+        }
+        if (topic.startsWith("customers/")) {
+            long base = create ? shop.customerCount() : 0;
+            return i -> shop.customer(base + (create ? i : i % Math.max(shop.customerCount(), 1)));
+        }
+        if (topic.startsWith("products/")) {
+            long base = create ? shop.productCount() : 0;
+            return i -> shop.product(base + (create ? i : i % Math.max(shop.productCount(), 1)));
+        }
+        return null;
+    }
+
+    private Mono<Boolean> deliver(String target, String shopDomain, String topic, Object payload) {
+        String body;
+        try {
+            body = objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException ex) {
+            return Mono.error(ex);
+        }
+        return webhookClient.post()
+                .uri(target)
+                .contentType(MediaType.APPLICATION_JSON)
+                .header("X-Shopify-Topic", topic)
+                .header("X-Shopify-Shop-Domain", shopDomain)
+                .header("X-Shopify-Hmac-Sha256", hmacVerifier.sign(body, webhookSecret))
+                .header("X-Shopify-Webhook-Id", UUID.randomUUID().toString())
+                .header("X-Shopify-API-Version", apiVersion)
+                .header("X-Shopify-Triggered-At", Instant.now().toString())
+                .bodyValue(body)
+                .retrieve()
+                .toBodilessEntity()
+                .map(response -> true)
+                .onErrorResume(ex -> {
+                    log.debug("Stub webhook {} for {} failed: {}", topic, shopDomain, ex.getMessage());
+                    return Mono.just(false);
+                });
+    }
+
+    private static String link(ServerRequest request, int limit, long offset, String rel) {
+        String uri = UriComponentsBuilder.fromUri(request.uri())
+                .replaceQuery(null)
+                .queryParam("limit", limit)
+                .queryParam("page_info", encodeCursor(offset))
+                .build()
+                .toUriString();
+        return "<" + uri + ">; rel=\"" + rel + "\"";
+    }
+
+    static String encodeCursor(long offset) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(("offset:" + offset).getBytes(StandardCharsets.UTF_8));
+    }
+
+    static long decodeCursor(String cursor) {
+        String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        if (!decoded.startsWith("offset:")) {
+            throw new IllegalArgumentException("Invalid page_info");
+        }
+        return Long.parseLong(decoded.substring("offset:".length()));
+    }
+
+    @Override
+    public synchronized void start() {
+        server = HttpServer.create()
+                .port(settings.getPort())
+                .handle(new ReactorHttpHandlerAdapter(httpHandler))
+                .bindNow();
+        log.info("Shopify stub listening on port {} (seed {}, {} customers, {} orders, {} products per shop)",
+                server.port(), settings.getSeed(), settings.getCustomers(), settings.getOrders(),
+                settings.getProducts());
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (server != null) {
+            server.disposeNow(Duration.ofSeconds(10));
+            server = null;
+        }
+    }
+
+    @Override
+    public synchronized boolean isRunning() {
+        return server != null;
+    }
+
+    @FunctionalInterface
+    private interface PageRenderer {
+        Object render(SyntheticShopData shop, long offset, int limit);
+    }
+
+    /**
+     * Shopify's REST limit: a bucket of {@code capacity} calls that drains at {@code leakPerSecond}.
+     */
+    private static final class LeakyBucket {
+
+        private final int capacity;
+        private final double leakPerNano;
+        private double level;
+        private long lastNanos;
+
+        LeakyBucket(int capacity, double leakPerSecond) {
+            this.capacity = capacity;
+            this.leakPerNano = leakPerSecond / 1_000_000_000d;
+            this.lastNanos = System.nanoTime();
+        }
+
+        /**
+         * Returns the calls in the bucket after this one, or -1 when it is full.
+         */
+        synchronized int tryAcquire(long now) {
+            level = Math.max(0, level - (now - lastNanos) * leakPerNano);
+            lastNanos = now;
+            if (level + 1 > capacity) {
+                return -1;
+            }
+            level += 1;
+            return (int) Math.ceil(level);
+        }
+    }
+}
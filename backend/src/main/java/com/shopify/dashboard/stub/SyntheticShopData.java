@@ -0,0 +1,180 @@
+package com.shopify.dashboard.stub;
+
+import com.shopify.dashboard.dto.shopify.ShopifyCustomersResponse.ShopifyCustomer;
+import com.shopify.dashboard.dto.shopify.ShopifyOrdersResponse.ShopifyOrder;
+import com.shopify.dashboard.dto.shopify.ShopifyOrdersResponse.ShopifyOrderCustomer;
+import com.shopify.dashboard.dto.shopify.ShopifyProductsResponse.ShopifyProduct;
+import com.shopify.dashboard.dto.shopify.ShopifyProductsResponse.ShopifyVariant;
+import com.shopify.dashboard.util.MoneyUnits;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.function.LongFunction;
+
+/**
+ * A deterministic synthetic shop. Every record is derived from the seed and its index alone, so any page of millions
+ * of records can be produced on demand without holding the dataset, and the same seed always yields the same shop.
+ * Ids and {@code created_at} grow with the index, as they do in Shopify; indexes past the configured counts are the
+ * records a {@code create} webhook introduces.
+ */
+public final class SyntheticShopData {
+
+    static final long CUSTOMER_ID_BASE = 7_000_000_000_000L;
+    static final long ORDER_ID_BASE = 5_000_000_000_000L;
+    static final long PRODUCT_ID_BASE = 8_000_000_000_000L;
+
+    private static final String[] FIRST_NAMES = {"Ava", "Liam", "Mia", "Noah", "Zoe", "Omar", "Ines", "Kai", "Lena",
+            "Ravi", "Sara", "Tom", "Yuki", "Ella", "Arjun", "Nina"};
+    private static final String[] LAST_NAMES = {"Patel", "Smith", "Garcia", "Chen", "Muller", "Rossi", "Khan", "Silva",
+            "Novak", "Tanaka", "Dubois", "Murphy", "Singh", "Larsen"};
+    private static final String[] ADJECTIVES = {"Classic", "Organic", "Vintage", "Compact", "Deluxe", "Eco", "Urban",
+            "Everyday"};
+    private static final String[] NOUNS = {"Tee", "Mug", "Backpack", "Candle", "Sneaker", "Notebook", "Lamp", "Scarf",
+            "Bottle", "Hoodie"};
+    private static final String[] CURRENCIES = {"USD", "USD", "USD", "USD", "USD", "USD", "USD", "EUR", "EUR", "GBP",
+            "JPY"};
+
+    private static final long CUSTOMER_STREAM = 0x1L;
+    private static final long ORDER_STREAM = 0x2L;
+    private static final long PRODUCT_STREAM = 0x3L;
+
+    private final long seed;
+    private final long customers;
+    private final long orders;
+    private final long products;
+    private final Instant start;
+    private final Duration span;
+
+    public SyntheticShopData(long seed, long customers, long orders, long products, Instant end, Duration history) {
+        this.seed = seed;
+        this.customers = customers;
+        this.orders = orders;
+        this.products = products;
+        this.start = end.minus(history);
+        this.span = history;
+    }
+
+    public long customerCount() {
+        return customers;
+    }
+
+    public long orderCount() {
+        return orders;
+    }
+
+    public long productCount() {
+        return products;
+    }
+
+    public List<ShopifyCustomer> customers(long offset, int limit) {
+        return page(offset, limit, customers, this::customer);
+    }
+
+    public List<ShopifyOrder> orders(long offset, int limit) {
+        return page(offset, limit, orders, this::order);
+    }
+
+    public List<ShopifyProduct> products(long offset, int limit) {
+        return page(offset, limit, products, this::product);
+    }
+
+    public ShopifyCustomer customer(long index) {
+        SplittableRandom random = random(CUSTOMER_STREAM, index);
+        String first = pick(random, FIRST_NAMES);
+        String last = pick(random, LAST_NAMES);
+        Instant createdAt = createdAt(random, index, Math.max(customers, 1));
+        return new ShopifyCustomer(
+                CUSTOMER_ID_BASE + index,
+                "%s.%s.%d@example.com".formatted(first, last, index).toLowerCase(Locale.ROOT),
+                first,
+                last,
+                MoneyUnits.toMajor(random.nextLong(0, 500_000), "USD").toPlainString(),
+                createdAt.toString(),
+                updatedAt(random, createdAt).toString());
+    }
+
+    public ShopifyOrder order(long index) {
+        SplittableRandom random = random(ORDER_STREAM, index);
+        String currency = pick(random, CURRENCIES);
+        Instant createdAt = createdAt(random, index, Math.max(orders, 1));
+        ShopifyOrderCustomer customer = null;
+        String email = null;
+        if (customers > 0 && random.nextInt(20) != 0) {
+            long customerIndex = random.nextLong(customers);
+            customer = new ShopifyOrderCustomer(CUSTOMER_ID_BASE + customerIndex);
+            email = customer(customerIndex).email();
+        }
+        return new ShopifyOrder(
+                ORDER_ID_BASE + index,
+                "#" + (1001 + index),
+                MoneyUnits.toMajor(orderTotalMinor(random, currency), currency).toPlainString(),
+                currency,
+                createdAt.toString(),
+                updatedAt(random, createdAt).toString(),
+                email,
+                customer);
+    }
+
+    public ShopifyProduct product(long index) {
+        SplittableRandom random = random(PRODUCT_STREAM, index);
+        Instant createdAt = createdAt(random, index, Math.max(products, 1));
+        int variantCount = 1 + random.nextInt(3);
+        List<ShopifyVariant> variants = new ArrayList<>(variantCount);
+        for (int i = 0; i < variantCount; i++) {
+            variants.add(new ShopifyVariant(MoneyUnits.toMajor(random.nextLong(299, 25_000), "USD").toPlainString()));
+        }
+        return new ShopifyProduct(
+                PRODUCT_ID_BASE + index,
+                "%s %s %d".formatted(pick(random, ADJECTIVES), pick(random, NOUNS), index),
+                variants,
+                createdAt.toString(),
+                updatedAt(random, createdAt).toString());
+    }
+
+    private static <T> List<T> page(long offset, int limit, long total, LongFunction<T> generator) {
+        long end = Math.min(total, offset + limit);
+        List<T> page = new ArrayList<>((int) Math.max(end - offset, 0));
+        for (long index = offset; index < end; index++) {
+            page.add(generator.apply(index));
+        }
+        return page;
+    }
+
+    private SplittableRandom random(long stream, long index) {
+        return new SplittableRandom(seed * 0x9E3779B97F4A7C15L + stream * 0xC2B2AE3D27D4EB4FL + index);
+    }
+
+    /**
+     * Spreads records evenly over the history window in index order, with jitter inside each record's slot.
+     */
+    private Instant createdAt(SplittableRandom random, long index, long count) {
+        long slotMillis = Math.max(span.toMillis() / count, 1);
+        return start.plusMillis(index * slotMillis + random.nextLong(slotMillis)).truncatedTo(ChronoUnit.SECONDS);
+    }
+
+    private static Instant updatedAt(SplittableRandom random, Instant createdAt) {
+        return random.nextInt(4) == 0 ? createdAt.plusSeconds(random.nextLong(1, 7 * 24 * 3600)) : createdAt;
+    }
+
+    /**
+     * Roughly log-normal basket sizes: most orders are small, a long tail is large.
+     */
+    private static long orderTotalMinor(SplittableRandom random, String currency) {
+        double major = Math.exp(3.6 + 0.8 * gaussian(random));
+        return Math.round(major * Math.pow(10, MoneyUnits.scaleOf(currency)) * ("JPY".equals(currency) ? 150 : 1));
+    }
+
+    private static double gaussian(SplittableRandom random) {
+        double u = 1.0 - random.nextDouble();
+        double v = random.nextDouble();
+        return Math.sqrt(-2.0 * Math.log(u)) * Math.cos(2.0 * Math.PI * v);
+    }
+
+    private static String pick(SplittableRandom random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+}
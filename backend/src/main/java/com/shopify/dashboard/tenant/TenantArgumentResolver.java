@@ -0,0 +1,28 @@
+package com.shopify.dashboard.tenant;
+
+import com.shopify.dashboard.entity.Tenant;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.core.MethodParameter;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+
+/**
+ * Lets handlers under {@code /api/{tenantId}} take the checked {@link Tenant} as a parameter.
+ */
+@Component
+public class TenantArgumentResolver implements HandlerMethodArgumentResolver {
+
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        return Tenant.class.equals(parameter.getParameterType());
+    }
+
+    @Override
+    public Object resolveArgument(MethodParameter parameter, ModelAndViewContainer mavContainer,
+                                  NativeWebRequest webRequest, WebDataBinderFactory binderFactory) {
+        return TenantContext.get(webRequest.getNativeRequest(HttpServletRequest.class));
+    }
+}
@@ -0,0 +1,22 @@
+package com.shopify.dashboard.tenant;
+
+import com.shopify.dashboard.entity.Tenant;
+import com.shopify.dashboard.event.TenantChangedEvent;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class TenantChangeListener {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    @PostUpdate
+    @PostRemove
+    public void onChange(Tenant tenant) {
+        eventPublisher.publishEvent(new TenantChangedEvent(tenant.getId()));
+    }
+}
@@ -0,0 +1,28 @@
+package com.shopify.dashboard.tenant;
+
+import com.shopify.dashboard.entity.Tenant;
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * The tenant a request is scoped to, stored on the request by {@link TenantContextInterceptor} once access has been
+ * checked. Held on the request rather than a thread so it survives async dispatches.
+ */
+public final class TenantContext {
+
+    private static final String ATTRIBUTE = TenantContext.class.getName();
+
+    private TenantContext() {
+    }
+
+    static void set(HttpServletRequest request, Tenant tenant) {
+        request.setAttribute(ATTRIBUTE, tenant);
+    }
+
+    public static Tenant get(HttpServletRequest request) {
+        Tenant tenant = (Tenant) request.getAttribute(ATTRIBUTE);
+        if (tenant == null) {
+            throw new IllegalStateException("No tenant resolved for " + request.getRequestURI());
+        }
+        return tenant;
+    }
+}
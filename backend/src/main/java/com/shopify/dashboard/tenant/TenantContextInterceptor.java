@@ -0,0 +1,76 @@
+package com.shopify.dashboard.tenant;
+
+import com.shopify.dashboard.exception.ApiException;
+import com.shopify.dashboard.security.UserPrincipal;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.util.Map;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Resolves the {@code {tenantId}} path variable once per request. Tenant users may only reach their own tenant;
+ * platform admins may reach any. Access is checked before existence so other tenants' ids are not probeable.
+ */
+@Component
+@RequiredArgsConstructor
+public class TenantContextInterceptor implements HandlerInterceptor {
+
+    static final String PLATFORM_ADMIN = "PLATFORM_ADMIN";
+
+    private final TenantRegistry tenantRegistry;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (request.getDispatcherType() == DispatcherType.ASYNC) {
+            return true;
+        }
+        @SuppressWarnings("unchecked")
+        Map<String, String> variables =
+                (Map<String, String>) request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        String pathTenant = variables == null ? null : variables.get("tenantId");
+        if (pathTenant == null) {
+            return true;
+        }
+        UUID tenantId;
+        try {
+            tenantId = UUID.fromString(pathTenant);
+        } catch (IllegalArgumentException ex) {
+            throw new ApiException("Invalid tenant id", HttpStatus.BAD_REQUEST);
+        }
+        UserPrincipal principal = currentPrincipal();
+        if (principal == null || !canAccess(principal, tenantId)) {
+            throw new ApiException("Access to tenant denied", HttpStatus.FORBIDDEN);
+        }
+        TenantContext.set(request, tenantRegistry.get(tenantId));
+        return true;
+    }
+
+    public static boolean canAccess(UserPrincipal principal, UUID tenantId) {
+        return PLATFORM_ADMIN.equals(principal.role()) || tenantId.equals(principal.tenantId());
+    }
+
+    /**
+     * Guards operations that span tenants, such as listing or deleting them.
+     */
+    public static void requirePlatformAdmin() {
+        UserPrincipal principal = currentPrincipal();
+        if (principal == null || !PLATFORM_ADMIN.equals(principal.role())) {
+            throw new ApiException("Platform admin access required", HttpStatus.FORBIDDEN);
+        }
+    }
+
+    private static UserPrincipal currentPrincipal() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.getPrincipal() instanceof UserPrincipal principal
+                ? principal
+                : null;
+    }
+}
@@ -0,0 +1,57 @@
+package com.shopify.dashboard.tenant;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.shopify.dashboard.config.AppProperties;
+import com.shopify.dashboard.entity.Tenant;
+import com.shopify.dashboard.event.TenantChangedEvent;
+import com.shopify.dashboard.event.TenantDeletedEvent;
+import com.shopify.dashboard.exception.NotFoundException;
+import com.shopify.dashboard.repository.TenantRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Duration;
+import java.util.UUID;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Cached, read-only tenants for request handling. Entries are detached and shared between threads, so callers must
+ * not modify them; anything that writes a tenant loads it through {@link TenantRepository}. Local changes evict on
+ * commit and the TTL bounds how stale another instance's change can be. Misses are not cached.
+ */
+@Component
+public class TenantRegistry {
+
+    private final TenantRepository tenantRepository;
+    private final Cache<UUID, Tenant> tenants;
+
+    public TenantRegistry(TenantRepository tenantRepository, AppProperties properties, MeterRegistry meterRegistry) {
+        AppProperties.Tenants.Registry settings = properties.getTenants().getRegistry();
+        this.tenantRepository = tenantRepository;
+        this.tenants = Caffeine.newBuilder()
+                .maximumSize(settings.getMaxSize())
+                .expireAfterWrite(Duration.ofMillis(settings.getTtlMs()))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, tenants, "tenants");
+    }
+
+    public Tenant get(UUID tenantId) {
+        Tenant tenant = tenants.get(tenantId, id -> tenantRepository.findById(id).orElse(null));
+        if (tenant == null) {
+            throw new NotFoundException("Tenant not found");
+        }
+        return tenant;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTenantChanged(TenantChangedEvent event) {
+        tenants.invalidate(event.tenantId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTenantDeleted(TenantDeletedEvent event) {
+        tenants.invalidate(event.tenantId());
+    }
+}
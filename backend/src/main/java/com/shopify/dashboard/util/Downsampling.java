@@ -0,0 +1,59 @@
+package com.shopify.dashboard.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.ToDoubleFunction;
+
+public final class Downsampling {
+
+    private Downsampling() {
+    }
+
+    /**
+     * Largest-Triangle-Three-Buckets: keeps the first and last point and, from each of {@code threshold - 2}
+     * equal slices in between, the point forming the largest triangle with the previously kept point and the
+     * average of the next slice.
+     */
+    public static <T> List<T> lttb(List<T> points, int threshold, ToDoubleFunction<T> x, ToDoubleFunction<T> y) {
+        int size = points.size();
+        if (threshold >= size || threshold < 3) {
+            return points;
+        }
+        List<T> sampled = new ArrayList<>(threshold);
+        sampled.add(points.get(0));
+        double every = (double) (size - 2) / (threshold - 2);
+        int anchor = 0;
+        for (int bucket = 0; bucket < threshold - 2; bucket++) {
+            int nextStart = (int) Math.floor((bucket + 1) * every) + 1;
+            int nextEnd = Math.min((int) Math.floor((bucket + 2) * every) + 1, size);
+            double avgX = 0;
+            double avgY = 0;
+            for (int i = nextStart; i < nextEnd; i++) {
+                avgX += x.applyAsDouble(points.get(i));
+                avgY += y.applyAsDouble(points.get(i));
+            }
+            int nextLength = Math.max(nextEnd - nextStart, 1);
+            avgX /= nextLength;
+            avgY /= nextLength;
+
+            double anchorX = x.applyAsDouble(points.get(anchor));
+            double anchorY = y.applyAsDouble(points.get(anchor));
+            int start = (int) Math.floor(bucket * every) + 1;
+            int end = nextStart;
+            double maxArea = -1;
+            int selected = start;
+            for (int i = start; i < end; i++) {
+                double area = Math.abs((anchorX - avgX) * (y.applyAsDouble(points.get(i)) - anchorY)
+                        - (anchorX - x.applyAsDouble(points.get(i))) * (avgY - anchorY));
+                if (area > maxArea) {
+                    maxArea = area;
+                    selected = i;
+                }
+            }
+            sampled.add(points.get(selected));
+            anchor = selected;
+        }
+        sampled.add(points.get(size - 1));
+        return sampled;
+    }
+}
@@ -1,6 +1,7 @@
 package com.shopify.dashboard.util;
 
 import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
 import javax.crypto.Mac;
 import javax.crypto.spec.SecretKeySpec;
 import org.springframework.stereotype.Component;
@@ -13,14 +14,21 @@ public class HmacVerifier {
         if (!StringUtils.hasText(providedHmacBase64) || !StringUtils.hasText(secret)) {
             return false;
         }
+        try {
+            return constantTimeEquals(sign(body, secret), providedHmacBase64);
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    public String sign(String body, String secret) {
         try {
             Mac mac = Mac.getInstance("HmacSHA256");
             mac.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
             byte[] computed = mac.doFinal(body.getBytes(StandardCharsets.UTF_8));
-            String computedBase64 = java.util.Base64.getEncoder().encodeToString(computed);
-            return constantTimeEquals(computedBase64, providedHmacBase64);
-        } catch (Exception e) {
-            return false;
+            return java.util.Base64.getEncoder().encodeToString(computed);
+        } catch (GeneralSecurityException ex) {
+            throw new IllegalStateException("HmacSHA256 not available", ex);
         }
     }
 
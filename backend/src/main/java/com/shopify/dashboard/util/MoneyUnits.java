@@ -0,0 +1,136 @@
+package com.shopify.dashboard.util;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Currency;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Money as {@code long} minor units of its currency (cents, yen, fils). Amounts stay in minor units through parsing,
+ * storage and aggregation; {@link BigDecimal} is only built when a value leaves through the API.
+ */
+public final class MoneyUnits {
+
+    private static final int DEFAULT_SCALE = 2;
+    private static final int MAX_LONG_DIGITS = 19;
+    private static final long[] POWERS_OF_TEN = {1L, 10L, 100L, 1_000L, 10_000L};
+    private static final Map<String, Integer> SCALES = new ConcurrentHashMap<>();
+
+    private MoneyUnits() {
+    }
+
+    public static int scaleOf(String currency) {
+        if (currency == null || currency.isBlank()) {
+            return DEFAULT_SCALE;
+        }
+        return SCALES.computeIfAbsent(currency.trim().toUpperCase(Locale.ROOT), MoneyUnits::lookupScale);
+    }
+
+    public static long toMinor(BigDecimal amount, String currency) {
+        if (amount == null) {
+            return 0L;
+        }
+        return amount.setScale(scaleOf(currency), RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    public static BigDecimal toMajor(long minor, String currency) {
+        return BigDecimal.valueOf(minor, scaleOf(currency));
+    }
+
+    public static double toDouble(long minor, String currency) {
+        return (double) minor / POWERS_OF_TEN[scaleOf(currency)];
+    }
+
+    /**
+     * Parses a plain decimal such as Shopify's {@code "19.90"} straight into minor units, rounding extra fraction
+     * digits half-up. Anything unusual (exponents, overflow) falls back to {@link BigDecimal} parsing; unparseable
+     * input, and amounts whose minor units do not fit in a {@code long}, yield zero, as ingestion has always treated
+     * garbage.
+     */
+    public static long parseMinor(String amount, String currency) {
+        if (amount == null || amount.isBlank()) {
+            return 0L;
+        }
+        String value = amount.trim();
+        int scale = scaleOf(currency);
+        int index = 0;
+        boolean negative = false;
+        if (value.charAt(0) == '-' || value.charAt(0) == '+') {
+            negative = value.charAt(0) == '-';
+            index = 1;
+        }
+        long units = 0;
+        int fractionDigits = -1;
+        boolean digits = false;
+        boolean roundUp = false;
+        try {
+            for (; index < value.length(); index++) {
+                char c = value.charAt(index);
+                if (c == '.' && fractionDigits < 0) {
+                    fractionDigits = 0;
+                    continue;
+                }
+                if (c < '0' || c > '9') {
+                    return parseSlow(value, currency);
+                }
+                digits = true;
+                if (fractionDigits >= scale) {
+                    roundUp |= fractionDigits == scale && c >= '5';
+                    fractionDigits++;
+                    continue;
+                }
+                if (fractionDigits >= 0) {
+                    fractionDigits++;
+                }
+                units = Math.addExact(Math.multiplyExact(units, 10), c - '0');
+            }
+            if (!digits) {
+                return parseSlow(value, currency);
+            }
+            for (int pad = Math.max(fractionDigits, 0); pad < scale; pad++) {
+                units = Math.multiplyExact(units, 10);
+            }
+            if (roundUp) {
+                units = Math.addExact(units, 1);
+            }
+        } catch (ArithmeticException ex) {
+            return parseSlow(value, currency);
+        }
+        return negative ? -units : units;
+    }
+
+    private static int lookupScale(String code) {
+        try {
+            int digits = Currency.getInstance(code).getDefaultFractionDigits();
+            return digits < 0 ? DEFAULT_SCALE : digits;
+        } catch (IllegalArgumentException ex) {
+            return DEFAULT_SCALE;
+        }
+    }
+
+    private static long parseSlow(String value, String currency) {
+        BigDecimal amount;
+        try {
+            amount = new BigDecimal(value);
+        } catch (NumberFormatException ex) {
+            return 0L;
+        }
+        // Decide from the digit count before setScale: "1e999999999" or "1e-999999999" would otherwise make it
+        // build (or divide by) a power of ten with a billion digits.
+        long integerDigits = (long) amount.precision() - amount.scale();
+        int scale = scaleOf(currency);
+        if (amount.signum() == 0 || integerDigits + scale < 0) {
+            return 0L;
+        }
+        if (integerDigits + scale > MAX_LONG_DIGITS) {
+            return 0L;
+        }
+        try {
+            return toMinor(amount, currency);
+        } catch (ArithmeticException ex) {
+            return 0L;
+        }
+    }
+}
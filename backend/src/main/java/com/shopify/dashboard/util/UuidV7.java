@@ -0,0 +1,61 @@
+package com.shopify.dashboard.util;
+
+import java.security.SecureRandom;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.LongSupplier;
+
+/**
+ * RFC 9562 version 7 UUIDs: a 48-bit Unix millisecond timestamp followed by random bits, so values sort by creation
+ * time. The 12-bit {@code rand_a} field is a counter within the millisecond (method 1 of section 6.2), which keeps
+ * ids from one generator strictly increasing even when the clock stalls or steps back. {@link #next()} uses one
+ * generator shared by the JVM.
+ */
+public final class UuidV7 {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+    private static final int MAX_COUNTER = 0xFFF;
+    private static final int COUNTER_SEED_BOUND = 0x800;
+    private static final UuidV7 SHARED = new UuidV7(System::currentTimeMillis);
+
+    private final LongSupplier clock;
+    private long lastMillis = -1;
+    private int counter;
+
+    UuidV7(LongSupplier clock) {
+        this.clock = clock;
+    }
+
+    public static UUID next() {
+        return SHARED.generate();
+    }
+
+    UUID generate() {
+        long randomBits = RANDOM.nextLong();
+        long nowMillis = clock.getAsLong();
+        long millis;
+        int sequence;
+        synchronized (this) {
+            if (nowMillis > lastMillis) {
+                lastMillis = nowMillis;
+                counter = ThreadLocalRandom.current().nextInt(COUNTER_SEED_BOUND);
+            } else if (++counter > MAX_COUNTER) {
+                lastMillis++;
+                counter = 0;
+            }
+            millis = lastMillis;
+            sequence = counter;
+        }
+        return encode(millis, sequence, randomBits);
+    }
+
+    static UUID encode(long millis, int sequence, long randomBits) {
+        long mostSigBits = (millis & 0xFFFF_FFFF_FFFFL) << 16 | 0x7000L | sequence & MAX_COUNTER;
+        long leastSigBits = randomBits & 0x3FFF_FFFF_FFFF_FFFFL | 0x8000_0000_0000_0000L;
+        return new UUID(mostSigBits, leastSigBits);
+    }
+
+    public static long timestampMillis(UUID uuid) {
+        return uuid.getMostSignificantBits() >>> 16;
+    }
+}
@@ -0,0 +1,14 @@
+package com.shopify.dashboard.workload;
+
+import java.util.Locale;
+
+public enum Workload {
+    API,
+    INGESTION,
+    WEBHOOK,
+    EXPORT;
+
+    public String label() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,31 @@
+package com.shopify.dashboard.workload;
+
+/**
+ * Workload of the current thread, used to pick the connection pool. Threads without one count as {@link Workload#API}.
+ */
+public final class WorkloadContext {
+
+    private static final ThreadLocal<Workload> CURRENT = new ThreadLocal<>();
+
+    private WorkloadContext() {
+    }
+
+    public static Workload current() {
+        Workload workload = CURRENT.get();
+        return workload == null ? Workload.API : workload;
+    }
+
+    public static void run(Workload workload, Runnable task) {
+        Workload previous = CURRENT.get();
+        CURRENT.set(workload);
+        try {
+            task.run();
+        } finally {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.shopify.dashboard.workload;
+
+import com.shopify.dashboard.config.AppProperties;
+import com.shopify.dashboard.exception.ApiException;
+import com.shopify.dashboard.monitoring.RequestQueryStats;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Bounded executors per workload. Each has a fixed number of threads and a fixed queue so a backlog in
+ * one workload is rejected instead of spilling into the others; tasks run with their {@link WorkloadContext} set and
+ * count towards the submitting request's {@link RequestQueryStats}.
+ */
+@Component
+@Slf4j
+public class WorkloadExecutors {
+
+    private final Map<Workload, ExecutorService> executors = new EnumMap<>(Workload.class);
+
+    public WorkloadExecutors(AppProperties properties, MeterRegistry meterRegistry) {
+        AppProperties.Workloads workloads = properties.getWorkloads();
+        executors.put(Workload.API, create(Workload.API, workloads.getApi(), meterRegistry));
+        executors.put(Workload.INGESTION, create(Workload.INGESTION, workloads.getIngestion(), meterRegistry));
+        executors.put(Workload.WEBHOOK, create(Workload.WEBHOOK, workloads.getWebhook(), meterRegistry));
+    }
+
+    public <T> CompletableFuture<T> submit(Workload workload, Supplier<T> task) {
+        return CompletableFuture.supplyAsync(task, command -> execute(workload, command));
+    }
+
+    /**
+     * Unlike the {@link CompletableFuture} from {@link #submit}, the returned future's {@code cancel(true)}
+     * interrupts the task if it is running and keeps it from starting if it is still queued.
+     */
+    public <T> Future<T> submitInterruptible(Workload workload, Callable<T> task) {
+        FutureTask<T> future = new FutureTask<>(task);
+        execute(workload, future);
+        return future;
+    }
+
+    public <T> T call(Workload workload, Supplier<T> task) {
+        return await(submit(workload, task));
+    }
+
+    /**
+     * Joins a task submitted here, rethrowing its own exception rather than the {@link CompletionException}.
+     */
+    public static <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+
+    private void execute(Workload workload, Runnable command) {
+        try {
+            executors.get(workload).execute(RequestQueryStats.propagate(() -> WorkloadContext.run(workload, command)));
+        } catch (RejectedExecutionException ex) {
+            throw new ApiException("Too much %s work queued, retry later".formatted(workload.label()),
+                    HttpStatus.SERVICE_UNAVAILABLE);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        executors.values().forEach(ExecutorService::shutdown);
+        for (ExecutorService executor : executors.values()) {
+            if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+                log.warn("Workload executor did not drain in time");
+                executor.shutdownNow();
+            }
+        }
+    }
+
+    private static ExecutorService create(Workload workload, AppProperties.Workloads.Executor settings,
+                                          MeterRegistry meterRegistry) {
+        Counter rejected = Counter.builder("executor.rejected")
+                .tag("name", workload.label())
+                .register(meterRegistry);
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(settings.getThreads(), settings.getThreads(),
+                60, TimeUnit.SECONDS, new ArrayBlockingQueue<>(settings.getQueueCapacity()),
+                new CustomizableThreadFactory(workload.label() + "-"), (task, pool) -> {
+                    rejected.increment();
+                    throw new RejectedExecutionException(workload.label() + " executor saturated");
+                });
+        return ExecutorServiceMetrics.monitor(meterRegistry, executor, workload.label());
+    }
+}
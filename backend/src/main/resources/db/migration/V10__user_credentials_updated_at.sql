@@ -0,0 +1,5 @@
+-- Tokens issued before credentials_updated_at are rejected. Existing users start at the epoch so tokens handed out
+-- before this migration stay valid until they expire.
+
+ALTER TABLE users ADD COLUMN credentials_updated_at TIMESTAMPTZ NOT NULL DEFAULT 'epoch';
+ALTER TABLE users ALTER COLUMN credentials_updated_at SET DEFAULT NOW();
@@ -0,0 +1,11 @@
+-- Backfill state moves off the tenants row so that a backfill no longer holds a lock that tenant writes wait on.
+
+CREATE TABLE IF NOT EXISTS order_sketch_backfills (
+    tenant_id UUID PRIMARY KEY,
+    backfilled_at TIMESTAMPTZ NOT NULL DEFAULT NOW(),
+    CONSTRAINT fk_order_sketch_backfills_tenant FOREIGN KEY (tenant_id) REFERENCES tenants(id) ON DELETE CASCADE
+);
+
+-- Sketches built before deltas were written with their orders may be missing deltas lost on a crash, so every
+-- tenant is rebuilt on its next read instead of carrying the old flag over.
+ALTER TABLE tenants DROP COLUMN IF EXISTS sketches_backfilled_at;
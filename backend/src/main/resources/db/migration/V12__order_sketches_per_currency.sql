@@ -0,0 +1,9 @@
+-- Order values only compare within a currency, so sketches are kept per currency and bucketed by the tenant's local
+-- day like the rollups. Existing rows mixed currencies on UTC days; they are dropped and every tenant is rebuilt on
+-- its next read.
+DELETE FROM order_sketch_backfills;
+DELETE FROM order_daily_sketches;
+
+ALTER TABLE order_daily_sketches ADD COLUMN currency VARCHAR(32) NOT NULL;
+ALTER TABLE order_daily_sketches DROP CONSTRAINT pk_order_daily_sketches;
+ALTER TABLE order_daily_sketches ADD CONSTRAINT pk_order_daily_sketches PRIMARY KEY (tenant_id, day, currency);
@@ -0,0 +1,7 @@
+-- Orders that arrived without Shopify's created_at are stored with their ingestion time. The flag lets a later
+-- payload carrying the real value find them without probing every partition, and move them to the right one.
+-- Rows stored before this migration are not flagged.
+
+ALTER TABLE orders ADD COLUMN created_at_fallback BOOLEAN NOT NULL DEFAULT FALSE;
+
+CREATE INDEX idx_orders_created_at_fallback ON orders(tenant_id, shop_order_id) WHERE created_at_fallback;
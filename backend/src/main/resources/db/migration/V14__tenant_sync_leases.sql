@@ -0,0 +1,8 @@
+-- One row per tenant while a sync of it runs on some instance. The owner renews lease_until while it works, so a
+-- crashed instance stops blocking the tenant once the lease runs out.
+
+CREATE TABLE tenant_sync_leases (
+    tenant_id UUID PRIMARY KEY REFERENCES tenants(id) ON DELETE CASCADE,
+    lease_owner UUID NOT NULL,
+    lease_until TIMESTAMPTZ NOT NULL
+);
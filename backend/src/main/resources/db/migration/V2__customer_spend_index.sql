@@ -0,0 +1 @@
+CREATE INDEX IF NOT EXISTS idx_customers_tenant_total_spent ON customers(tenant_id, total_spent DESC);
@@ -0,0 +1,13 @@
+ALTER TABLE orders ADD COLUMN IF NOT EXISTS shop_customer_id BIGINT;
+
+ALTER TABLE tenants ADD COLUMN IF NOT EXISTS sketches_backfilled_at TIMESTAMPTZ;
+
+CREATE TABLE IF NOT EXISTS order_daily_sketches (
+    tenant_id UUID NOT NULL,
+    day DATE NOT NULL,
+    customers_hll BYTEA NOT NULL,
+    order_values_kll BYTEA NOT NULL,
+    updated_at TIMESTAMPTZ NOT NULL DEFAULT NOW(),
+    CONSTRAINT pk_order_daily_sketches PRIMARY KEY (tenant_id, day),
+    CONSTRAINT fk_order_daily_sketches_tenant FOREIGN KEY (tenant_id) REFERENCES tenants(id) ON DELETE CASCADE
+);
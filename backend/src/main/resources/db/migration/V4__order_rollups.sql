@@ -0,0 +1,42 @@
+ALTER TABLE tenants ADD COLUMN IF NOT EXISTS time_zone VARCHAR(64) NOT NULL DEFAULT 'UTC';
+
+CREATE TABLE IF NOT EXISTS order_hourly_rollups (
+    tenant_id UUID NOT NULL,
+    bucket_start TIMESTAMPTZ NOT NULL,
+    currency VARCHAR(32) NOT NULL,
+    order_count BIGINT NOT NULL,
+    revenue NUMERIC(19,4) NOT NULL,
+    CONSTRAINT pk_order_hourly_rollups PRIMARY KEY (tenant_id, bucket_start, currency),
+    CONSTRAINT fk_order_hourly_rollups_tenant FOREIGN KEY (tenant_id) REFERENCES tenants(id) ON DELETE CASCADE
+);
+
+CREATE TABLE IF NOT EXISTS order_daily_rollups (
+    tenant_id UUID NOT NULL,
+    day DATE NOT NULL,
+    currency VARCHAR(32) NOT NULL,
+    order_count BIGINT NOT NULL,
+    revenue NUMERIC(19,4) NOT NULL,
+    CONSTRAINT pk_order_daily_rollups PRIMARY KEY (tenant_id, day, currency),
+    CONSTRAINT fk_order_daily_rollups_tenant FOREIGN KEY (tenant_id) REFERENCES tenants(id) ON DELETE CASCADE
+);
+
+INSERT INTO order_hourly_rollups (tenant_id, bucket_start, currency, order_count, revenue)
+SELECT tenant_id,
+       date_trunc('hour', created_at AT TIME ZONE 'UTC') AT TIME ZONE 'UTC',
+       currency,
+       COUNT(*),
+       COALESCE(SUM(total_price), 0)
+FROM orders
+GROUP BY 1, 2, 3
+ON CONFLICT DO NOTHING;
+
+INSERT INTO order_daily_rollups (tenant_id, day, currency, order_count, revenue)
+SELECT o.tenant_id,
+       (o.created_at AT TIME ZONE t.time_zone)::date,
+       o.currency,
+       COUNT(*),
+       COALESCE(SUM(o.total_price), 0)
+FROM orders o
+JOIN tenants t ON t.id = o.tenant_id
+GROUP BY 1, 2, 3
+ON CONFLICT DO NOTHING;
@@ -0,0 +1,3 @@
+CREATE INDEX IF NOT EXISTS idx_products_tenant_created ON products(tenant_id, created_at, id);
+CREATE INDEX IF NOT EXISTS idx_orders_tenant_created ON orders(tenant_id, created_at, id);
+CREATE INDEX IF NOT EXISTS idx_tenants_created ON tenants(created_at, id);
@@ -0,0 +1,74 @@
+-- Orders become a declaratively partitioned table, one range partition per UTC month of created_at. Rows outside
+-- every monthly partition land in orders_default until ensure_orders_partition() carves their month out of it.
+
+ALTER TABLE orders RENAME TO orders_unpartitioned;
+ALTER TABLE orders_unpartitioned RENAME CONSTRAINT fk_orders_tenant TO fk_orders_unpartitioned_tenant;
+ALTER INDEX IF EXISTS idx_orders_tenant RENAME TO idx_orders_unpartitioned_tenant;
+ALTER INDEX IF EXISTS idx_orders_shop_id RENAME TO idx_orders_unpartitioned_shop_id;
+ALTER INDEX IF EXISTS idx_orders_tenant_created RENAME TO idx_orders_unpartitioned_tenant_created;
+
+CREATE TABLE orders (
+    id UUID NOT NULL,
+    tenant_id UUID NOT NULL,
+    shop_order_id BIGINT NOT NULL,
+    order_number VARCHAR(255) NOT NULL,
+    total_price NUMERIC(19,4),
+    currency VARCHAR(32) NOT NULL,
+    created_at TIMESTAMPTZ NOT NULL DEFAULT NOW(),
+    updated_at TIMESTAMPTZ,
+    shop_customer_id BIGINT,
+    CONSTRAINT pk_orders PRIMARY KEY (id, created_at),
+    CONSTRAINT fk_orders_tenant FOREIGN KEY (tenant_id) REFERENCES tenants(id) ON DELETE CASCADE
+) PARTITION BY RANGE (created_at);
+
+CREATE TABLE orders_default PARTITION OF orders DEFAULT;
+
+CREATE INDEX idx_orders_tenant_created ON orders(tenant_id, created_at, id);
+CREATE INDEX idx_orders_tenant_shop_order ON orders(tenant_id, shop_order_id);
+
+CREATE OR REPLACE FUNCTION ensure_orders_partition(p_month DATE) RETURNS BOOLEAN AS $$
+DECLARE
+    month_start DATE := date_trunc('month', p_month)::DATE;
+    range_start TIMESTAMPTZ := month_start::TIMESTAMP AT TIME ZONE 'UTC';
+    range_end TIMESTAMPTZ := (month_start + INTERVAL '1 month')::TIMESTAMP AT TIME ZONE 'UTC';
+    partition_name TEXT := 'orders_p' || to_char(month_start, 'YYYYMM');
+BEGIN
+    PERFORM pg_advisory_xact_lock(hashtext('orders_partitions'));
+    IF to_regclass(partition_name) IS NOT NULL THEN
+        RETURN FALSE;
+    END IF;
+    EXECUTE format('CREATE TABLE %I (LIKE orders INCLUDING DEFAULTS INCLUDING CONSTRAINTS)', partition_name);
+    EXECUTE format('WITH moved AS (DELETE FROM orders_default WHERE created_at >= $1 AND created_at < $2 RETURNING *) '
+                   'INSERT INTO %I SELECT * FROM moved', partition_name)
+        USING range_start, range_end;
+    EXECUTE format('ALTER TABLE orders ATTACH PARTITION %I FOR VALUES FROM (%L) TO (%L)',
+                   partition_name, range_start, range_end);
+    RETURN TRUE;
+END;
+$$ LANGUAGE plpgsql;
+
+DO $$
+DECLARE
+    first_month DATE;
+    next_month DATE;
+BEGIN
+    SELECT COALESCE(date_trunc('month', MIN(created_at) AT TIME ZONE 'UTC')::DATE,
+                    date_trunc('month', NOW() AT TIME ZONE 'UTC')::DATE)
+    INTO first_month
+    FROM orders_unpartitioned;
+    next_month := first_month;
+    WHILE next_month <= (date_trunc('month', NOW() AT TIME ZONE 'UTC') + INTERVAL '3 months')::DATE LOOP
+        PERFORM ensure_orders_partition(next_month);
+        next_month := (next_month + INTERVAL '1 month')::DATE;
+    END LOOP;
+END;
+$$;
+
+INSERT INTO orders (id, tenant_id, shop_order_id, order_number, total_price, currency, created_at, updated_at,
+                    shop_customer_id)
+SELECT id, tenant_id, shop_order_id, order_number, total_price, currency, created_at, updated_at, shop_customer_id
+FROM orders_unpartitioned;
+
+DROP TABLE orders_unpartitioned;
+
+ANALYZE orders;
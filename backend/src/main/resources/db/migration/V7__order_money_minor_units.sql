@@ -0,0 +1,35 @@
+-- Order amounts and revenue rollups move to BIGINT minor units of their own currency. The scales follow the ISO 4217
+-- minor unit table as shipped with the JDK (java.util.Currency), which MoneyUnits uses on the application side.
+
+CREATE OR REPLACE FUNCTION currency_minor_scale(code TEXT) RETURNS INT AS $$
+    SELECT CASE upper(btrim(code))
+        WHEN 'ADP' THEN 0 WHEN 'BEF' THEN 0 WHEN 'BIF' THEN 0 WHEN 'BYB' THEN 0 WHEN 'BYR' THEN 0
+        WHEN 'CLP' THEN 0 WHEN 'DJF' THEN 0 WHEN 'ESP' THEN 0 WHEN 'GNF' THEN 0 WHEN 'GRD' THEN 0
+        WHEN 'ISK' THEN 0 WHEN 'ITL' THEN 0 WHEN 'JPY' THEN 0 WHEN 'KMF' THEN 0 WHEN 'KRW' THEN 0
+        WHEN 'LUF' THEN 0 WHEN 'MGF' THEN 0 WHEN 'PTE' THEN 0 WHEN 'PYG' THEN 0 WHEN 'ROL' THEN 0
+        WHEN 'RWF' THEN 0 WHEN 'TPE' THEN 0 WHEN 'TRL' THEN 0 WHEN 'UGX' THEN 0 WHEN 'UYI' THEN 0
+        WHEN 'VND' THEN 0 WHEN 'VUV' THEN 0 WHEN 'XAF' THEN 0 WHEN 'XOF' THEN 0 WHEN 'XPF' THEN 0
+        WHEN 'BHD' THEN 3 WHEN 'IQD' THEN 3 WHEN 'JOD' THEN 3 WHEN 'KWD' THEN 3 WHEN 'LYD' THEN 3
+        WHEN 'OMR' THEN 3 WHEN 'TND' THEN 3
+        WHEN 'CLF' THEN 4
+        ELSE 2
+    END;
+$$ LANGUAGE sql IMMUTABLE;
+
+ALTER TABLE orders ADD COLUMN total_price_minor BIGINT NOT NULL DEFAULT 0;
+UPDATE orders
+SET total_price_minor = round(total_price * power(10::NUMERIC, currency_minor_scale(currency)))::BIGINT
+WHERE total_price IS NOT NULL;
+ALTER TABLE orders DROP COLUMN total_price;
+
+ALTER TABLE order_hourly_rollups ADD COLUMN revenue_minor BIGINT NOT NULL DEFAULT 0;
+UPDATE order_hourly_rollups
+SET revenue_minor = round(revenue * power(10::NUMERIC, currency_minor_scale(currency)))::BIGINT;
+ALTER TABLE order_hourly_rollups DROP COLUMN revenue;
+
+ALTER TABLE order_daily_rollups ADD COLUMN revenue_minor BIGINT NOT NULL DEFAULT 0;
+UPDATE order_daily_rollups
+SET revenue_minor = round(revenue * power(10::NUMERIC, currency_minor_scale(currency)))::BIGINT;
+ALTER TABLE order_daily_rollups DROP COLUMN revenue;
+
+ANALYZE orders;
@@ -0,0 +1,52 @@
+-- Orders older than a tenant's retention horizon move out of the hot orders table into compressed columnar segments,
+-- one per tenant, UTC month and currency. Rollups are left untouched so time series keep covering archived months.
+
+ALTER TABLE tenants ADD COLUMN order_retention_days INT;
+ALTER TABLE tenants ADD COLUMN orders_archived_before TIMESTAMPTZ;
+
+CREATE TABLE order_archive_segments (
+    id UUID PRIMARY KEY,
+    tenant_id UUID NOT NULL,
+    month DATE NOT NULL,
+    currency VARCHAR(32) NOT NULL,
+    row_count BIGINT NOT NULL,
+    revenue_minor BIGINT NOT NULL,
+    min_created_at TIMESTAMPTZ NOT NULL,
+    max_created_at TIMESTAMPTZ NOT NULL,
+    payload BYTEA NOT NULL,
+    archived_at TIMESTAMPTZ NOT NULL DEFAULT NOW(),
+    CONSTRAINT fk_order_archive_segments_tenant FOREIGN KEY (tenant_id) REFERENCES tenants(id) ON DELETE CASCADE
+);
+
+-- Payloads are already deflated; keep TOAST from spending CPU on compressing them again.
+ALTER TABLE order_archive_segments ALTER COLUMN payload SET STORAGE EXTERNAL;
+
+CREATE INDEX idx_order_archive_segments_tenant_month ON order_archive_segments(tenant_id, month);
+
+CREATE TABLE archived_order_keys (
+    tenant_id UUID NOT NULL,
+    shop_order_id BIGINT NOT NULL,
+    created_at TIMESTAMPTZ NOT NULL,
+    CONSTRAINT pk_archived_order_keys PRIMARY KEY (tenant_id, shop_order_id),
+    CONSTRAINT fk_archived_order_keys_tenant FOREIGN KEY (tenant_id) REFERENCES tenants(id) ON DELETE CASCADE
+);
+
+CREATE OR REPLACE FUNCTION drop_orders_partition_if_empty(p_month DATE) RETURNS BOOLEAN AS $$
+DECLARE
+    partition_name TEXT := 'orders_p' || to_char(date_trunc('month', p_month), 'YYYYMM');
+    has_rows BOOLEAN;
+BEGIN
+    PERFORM pg_advisory_xact_lock(hashtext('orders_partitions'));
+    IF to_regclass(partition_name) IS NULL THEN
+        RETURN FALSE;
+    END IF;
+    EXECUTE format('LOCK TABLE %I IN ACCESS EXCLUSIVE MODE', partition_name);
+    EXECUTE format('SELECT EXISTS (SELECT 1 FROM %I)', partition_name) INTO has_rows;
+    IF has_rows THEN
+        RETURN FALSE;
+    END IF;
+    EXECUTE format('ALTER TABLE orders DETACH PARTITION %I', partition_name);
+    EXECUTE format('DROP TABLE %I', partition_name);
+    RETURN TRUE;
+END;
+$$ LANGUAGE plpgsql;
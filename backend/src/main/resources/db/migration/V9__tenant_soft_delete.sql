@@ -0,0 +1,19 @@
+-- Deleting a tenant only marks it; TenantPurger then removes its rows in small batches and finally the tenant row.
+-- tenant_purges has no foreign key so the record of a purge outlives the tenant.
+
+ALTER TABLE tenants ADD COLUMN deleted_at TIMESTAMPTZ;
+
+CREATE TABLE tenant_purges (
+    tenant_id UUID PRIMARY KEY,
+    shop_domain VARCHAR(255) NOT NULL,
+    state VARCHAR(16) NOT NULL,
+    requested_at TIMESTAMPTZ NOT NULL DEFAULT NOW(),
+    started_at TIMESTAMPTZ,
+    completed_at TIMESTAMPTZ,
+    current_table VARCHAR(64),
+    rows_deleted BIGINT NOT NULL DEFAULT 0,
+    lease_owner UUID,
+    lease_until TIMESTAMPTZ
+);
+
+CREATE INDEX idx_tenant_purges_pending ON tenant_purges(requested_at) WHERE completed_at IS NULL;
@@ -0,0 +1,42 @@
+package com.shopify.dashboard.analytics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import org.junit.jupiter.api.Test;
+
+class DaySketchesTest {
+
+    @Test
+    void mergesDistinctCustomersAcrossDays() {
+        DaySketches monday = new DaySketches();
+        DaySketches tuesday = new DaySketches();
+        for (long customer = 1; customer <= 600; customer++) {
+            monday.record(customer, 10);
+        }
+        for (long customer = 401; customer <= 1000; customer++) {
+            tuesday.record(customer, 20);
+        }
+        tuesday.record(null, 30);
+
+        monday.merge(tuesday);
+
+        assertThat(monday.customers().getEstimate()).isCloseTo(1000, within(30.0));
+        assertThat(monday.orderValues().getN()).isEqualTo(1201);
+    }
+
+    @Test
+    void survivesSerializationRoundTrip() {
+        DaySketches sketches = new DaySketches();
+        for (int i = 1; i <= 100; i++) {
+            sketches.record((long) i, i);
+        }
+
+        DaySketches restored = DaySketches.deserialize(sketches.customersBytes(), sketches.orderValuesBytes());
+        restored.record(1L, 50);
+
+        assertThat(restored.customers().getEstimate()).isCloseTo(100, within(3.0));
+        assertThat(restored.orderValues().getN()).isEqualTo(101);
+        assertThat(restored.orderValues().getQuantile(0.5)).isCloseTo(50, within(3.0));
+    }
+}
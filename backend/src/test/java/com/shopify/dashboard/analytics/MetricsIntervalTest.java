@@ -0,0 +1,44 @@
+package com.shopify.dashboard.analytics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.shopify.dashboard.exception.ApiException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class MetricsIntervalTest {
+
+    @Test
+    void weekBucketsStartOnLocalMondaysAndAreClippedToTheRange() {
+        List<Instant> boundaries = MetricsInterval.WEEK.boundaries(LocalDate.of(2024, 3, 6), LocalDate.of(2024, 3, 20),
+                ZoneId.of("America/New_York"), 100);
+
+        assertThat(boundaries).containsExactly(
+                Instant.parse("2024-03-06T05:00:00Z"),
+                Instant.parse("2024-03-11T04:00:00Z"),
+                Instant.parse("2024-03-18T04:00:00Z"),
+                Instant.parse("2024-03-21T04:00:00Z"));
+    }
+
+    @Test
+    void dayBucketsFollowDaylightSavingTransitions() {
+        List<Instant> boundaries = MetricsInterval.DAY.boundaries(LocalDate.of(2024, 3, 9), LocalDate.of(2024, 3, 10),
+                ZoneId.of("America/New_York"), 100);
+
+        assertThat(boundaries).containsExactly(
+                Instant.parse("2024-03-09T05:00:00Z"),
+                Instant.parse("2024-03-10T05:00:00Z"),
+                Instant.parse("2024-03-11T04:00:00Z"));
+    }
+
+    @Test
+    void rejectsRangesWithTooManyBuckets() {
+        assertThatThrownBy(() -> MetricsInterval.HOUR.boundaries(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 12, 31),
+                ZoneId.of("UTC"), 1000))
+                .isInstanceOf(ApiException.class);
+    }
+}
@@ -0,0 +1,128 @@
+package com.shopify.dashboard.analytics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.shopify.dashboard.archive.OrderArchiveService;
+import com.shopify.dashboard.config.AppProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@ExtendWith(MockitoExtension.class)
+class OrderColumnStoreTest {
+
+    @Mock
+    private OrderArchiveService orderArchiveService;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final UUID first = UUID.randomUUID();
+    private final UUID second = UUID.randomUUID();
+    private OrderColumnStore store;
+
+    @BeforeEach
+    void setUp() {
+        AppProperties properties = new AppProperties();
+        properties.getAnalytics().getColumnStore().setEnabled(true);
+        properties.getAnalytics().getColumnStore().setMaxBytes(TenantOrderColumns.bytesFor(150));
+        store = new OrderColumnStore(orderArchiveService, transactionManager, properties, new SimpleMeterRegistry());
+        lenient().when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+    }
+
+    @Test
+    void evictsOtherTenantsBeforeLoadingOneThatWouldNotFit() {
+        stubTenant(first, 100);
+        stubTenant(second, 100);
+        assertThat(store.columns(first)).isPresent();
+
+        when(orderArchiveService.streamFacts(second)).thenAnswer(invocation -> {
+            assertThat(store.resident(first)).isEmpty();
+            return facts(100);
+        });
+
+        assertThat(store.columns(second)).hasValueSatisfying(columns ->
+                assertThat(columns.totals().counts()).containsExactly(100L));
+        assertThat(store.resident(first)).isEmpty();
+    }
+
+    @Test
+    void neverLoadsATenantLargerThanTheWholeBudget() {
+        when(orderArchiveService.countFacts(first)).thenReturn(151L);
+
+        assertThat(store.columns(first)).isEmpty();
+        assertThat(store.columns(first)).isEmpty();
+
+        verify(orderArchiveService, times(1)).countFacts(first);
+        verify(orderArchiveService, never()).streamFacts(any());
+    }
+
+    @Test
+    void onlyServesResidentColumnsInsideATransaction() {
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        try {
+            assertThat(store.columns(first)).isEmpty();
+        } finally {
+            TransactionSynchronizationManager.setActualTransactionActive(false);
+        }
+
+        verify(transactionManager, never()).getTransaction(any());
+        verify(orderArchiveService, never()).countFacts(any());
+    }
+
+    @Test
+    void waitsForAnotherThreadsLoadBeforeOpeningATransaction() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(orderArchiveService.countFacts(first)).thenReturn(100L);
+        when(orderArchiveService.streamFacts(first)).thenAnswer(invocation -> {
+            loading.countDown();
+            assertThat(release.await(5, TimeUnit.SECONDS)).isTrue();
+            return facts(100);
+        });
+        CompletableFuture<Optional<TenantOrderColumns>> loader =
+                CompletableFuture.supplyAsync(() -> store.columns(first));
+        assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+
+        CompletableFuture<Optional<TenantOrderColumns>> waiter =
+                CompletableFuture.supplyAsync(() -> store.columns(first));
+        Thread.sleep(100);
+        verify(transactionManager, times(1)).getTransaction(any());
+        release.countDown();
+
+        assertThat(loader.get(5, TimeUnit.SECONDS)).isPresent();
+        assertThat(waiter.get(5, TimeUnit.SECONDS)).isPresent();
+        verify(transactionManager, times(1)).getTransaction(any());
+        verify(orderArchiveService, times(1)).streamFacts(first);
+    }
+
+    private void stubTenant(UUID tenantId, long rows) {
+        when(orderArchiveService.countFacts(tenantId)).thenReturn(rows);
+        when(orderArchiveService.streamFacts(tenantId)).thenAnswer(invocation -> facts(rows));
+    }
+
+    private static Stream<OrderFact> facts(long rows) {
+        Instant start = Instant.parse("2025-01-01T00:00:00Z");
+        return LongStream.range(0, rows)
+                .mapToObj(i -> new OrderFact(i, null, start.plusSeconds(i * 60), 1_000, "USD"));
+    }
+}
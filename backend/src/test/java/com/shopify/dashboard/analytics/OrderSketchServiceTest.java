@@ -0,0 +1,178 @@
+package com.shopify.dashboard.analytics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.shopify.dashboard.archive.OrderArchiveService;
+import com.shopify.dashboard.dto.OrderValuePercentilesDto;
+import com.shopify.dashboard.dto.OrderValuePercentilesDto.CurrencyPercentiles;
+import com.shopify.dashboard.entity.Order;
+import com.shopify.dashboard.entity.Tenant;
+import com.shopify.dashboard.event.OrderUpsertedEvent;
+import com.shopify.dashboard.repository.OrderSketchRepository;
+import com.shopify.dashboard.tenant.TenantRegistry;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@ExtendWith(MockitoExtension.class)
+class OrderSketchServiceTest {
+
+    @Mock
+    private OrderSketchRepository sketchRepository;
+    @Mock
+    private OrderArchiveService orderArchiveService;
+    @Mock
+    private TenantRegistry tenantRegistry;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final UUID tenantId = UUID.randomUUID();
+    private final Tenant tenant = Tenant.builder().id(tenantId).timeZone("America/New_York").build();
+    private OrderSketchService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new OrderSketchService(sketchRepository, orderArchiveService, tenantRegistry, transactionManager);
+    }
+
+    @AfterEach
+    void clearTransaction() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+    }
+
+    @Test
+    void mergesCreatedOrdersPerTenantDayJustBeforeTheIngestionTransactionCommits() {
+        when(tenantRegistry.get(tenantId)).thenReturn(tenant);
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+
+        service.onOrderUpserted(created(1L, "2026-01-02T10:00:00Z", "USD"));
+        service.onOrderUpserted(created(2L, "2026-01-02T03:00:00Z", "USD"));
+        service.onOrderUpserted(created(3L, "2026-01-02T23:00:00Z", "JPY"));
+        verifyNoInteractions(sketchRepository);
+
+        commit();
+
+        InOrder order = inOrder(sketchRepository);
+        order.verify(sketchRepository).lockTenant(tenantId, false);
+        order.verify(sketchRepository).merge(eq(tenantId), eq(LocalDate.parse("2026-01-01")), eq("USD"), any());
+        order.verify(sketchRepository).merge(eq(tenantId), eq(LocalDate.parse("2026-01-02")), eq("JPY"), any());
+        order.verify(sketchRepository).merge(eq(tenantId), eq(LocalDate.parse("2026-01-02")), eq("USD"), any());
+        order.verifyNoMoreInteractions();
+    }
+
+    @Test
+    void rebuildsTheTenantDayOfAnOrderWhoseValueChanged() {
+        when(tenantRegistry.get(tenantId)).thenReturn(tenant);
+        Instant dayStart = Instant.parse("2026-01-01T05:00:00Z");
+        Instant dayEnd = Instant.parse("2026-01-02T05:00:00Z");
+        when(orderArchiveService.findFacts(tenantId, dayStart, dayEnd)).thenReturn(List.of(
+                new OrderFact(1L, 10L, Instant.parse("2026-01-02T03:00:00Z"), 2_500, "USD")));
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+
+        service.onOrderUpserted(created(2L, "2026-01-01T12:00:00Z", "USD"));
+        service.onOrderUpserted(OrderUpsertedEvent.updated(order(1L, "2026-01-02T03:00:00Z", "USD", 2_500),
+                1_999, "USD", Instant.parse("2026-01-02T03:00:00Z")));
+        service.onOrderUpserted(OrderUpsertedEvent.updated(order(3L, "2026-01-05T03:00:00Z", "USD", 1_999),
+                1_999, "USD", Instant.parse("2026-01-05T03:00:00Z")));
+        commit();
+
+        InOrder order = inOrder(sketchRepository);
+        order.verify(sketchRepository).lockTenant(tenantId, true);
+        order.verify(sketchRepository).replaceDay(eq(tenantId), eq(LocalDate.parse("2026-01-01")),
+                argThat(currencies -> currencies.keySet().equals(Set.of("USD"))
+                        && currencies.get("USD").orderValues().getN() == 1));
+        verify(sketchRepository, never()).merge(any(), any(), any(), any());
+    }
+
+    @Test
+    void backfillsUnderTheExclusiveTenantLockOnlyOnce() {
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        when(sketchRepository.isBackfilled(tenantId)).thenReturn(false);
+        when(orderArchiveService.streamFacts(tenantId)).thenReturn(Stream.of(
+                new OrderFact(1L, 10L, Instant.parse("2026-01-01T10:00:00Z"), 1_000, "USD")));
+
+        service.orderValuePercentiles(tenant, LocalDate.parse("2026-01-01"), LocalDate.parse("2026-01-01"));
+        service.orderValuePercentiles(tenant, LocalDate.parse("2026-01-01"), LocalDate.parse("2026-01-01"));
+
+        InOrder order = inOrder(sketchRepository);
+        order.verify(sketchRepository).lockTenant(tenantId, true);
+        order.verify(sketchRepository).isBackfilled(tenantId);
+        order.verify(sketchRepository).replaceAll(eq(tenantId), anyMap());
+        order.verify(sketchRepository).markBackfilled(tenantId);
+        verify(sketchRepository, never()).lockTenant(tenantId, false);
+    }
+
+    @Test
+    void reportsPercentilesPerCurrencyAtEachCurrencysScale() {
+        when(sketchRepository.isBackfilled(tenantId)).thenReturn(true);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        DaySketches usd = new DaySketches();
+        DaySketches jpy = new DaySketches();
+        for (int i = 1; i <= 100; i++) {
+            usd.record((long) i, 1_000 + i);
+            jpy.record((long) i, 150_000);
+        }
+        LocalDate day = LocalDate.parse("2026-01-01");
+        when(sketchRepository.findRange(tenantId, day, day)).thenReturn(Map.of(day, Map.of("USD", usd, "JPY", jpy)));
+
+        OrderValuePercentilesDto percentiles = service.orderValuePercentiles(tenant, day, day);
+
+        assertThat(percentiles.currencies()).extracting(CurrencyPercentiles::currency).containsExactly("JPY", "USD");
+        CurrencyPercentiles yen = percentiles.currencies().get(0);
+        assertThat(yen.orderCount()).isEqualTo(100);
+        assertThat(yen.p50()).isEqualByComparingTo(new BigDecimal("150000"));
+        assertThat(yen.p50().scale()).isZero();
+        assertThat(percentiles.currencies().get(1).p50().scale()).isEqualTo(2);
+    }
+
+    private void commit() {
+        TransactionSynchronizationManager.getSynchronizations().forEach(sync -> sync.beforeCommit(false));
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+    }
+
+    private OrderUpsertedEvent created(long shopOrderId, String createdAt, String currency) {
+        return OrderUpsertedEvent.created(order(shopOrderId, createdAt, currency, 1_999));
+    }
+
+    private Order order(long shopOrderId, String createdAt, String currency, long totalPriceMinor) {
+        return Order.builder()
+                .tenantId(tenantId)
+                .shopOrderId(shopOrderId)
+                .shopCustomerId(shopOrderId * 10)
+                .totalPriceMinor(totalPriceMinor)
+                .currency(currency)
+                .createdAt(Instant.parse(createdAt))
+                .build();
+    }
+}
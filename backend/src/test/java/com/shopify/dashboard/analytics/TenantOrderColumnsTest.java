@@ -0,0 +1,72 @@
+package com.shopify.dashboard.analytics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.shopify.dashboard.analytics.TenantOrderColumns.BucketTotals;
+import java.time.Instant;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class TenantOrderColumnsTest {
+
+    private static final long DAY = 86_400L;
+    private static final Instant START = Instant.parse("2024-11-01T00:00:00Z");
+
+    private TenantOrderColumns columns;
+
+    @BeforeEach
+    void setUp() {
+        columns = new TenantOrderColumns();
+        columns.ensureLoaded(() -> Stream.of(
+                new OrderFact(1L, 7L, START.plusSeconds(3600), 1050L, "USD"),
+                new OrderFact(2L, null, START.plusSeconds(DAY + 60), 425L, "USD")));
+    }
+
+    @Test
+    void bucketsOrdersByDayInMinorUnits() {
+        columns.upsert(3L, START.plusSeconds(120).getEpochSecond(), 1200L, "JPY");
+
+        long start = START.getEpochSecond();
+        BucketTotals totals = columns.totals(new long[] {start, start + DAY, start + 2 * DAY, start + 3 * DAY});
+
+        assertThat(totals.counts()).containsExactly(2L, 1L, 0L);
+        assertThat(totals.amount(0)).isEqualByComparingTo("1210.50");
+        assertThat(totals.amount(1)).isEqualByComparingTo("4.25");
+        assertThat(totals.amount(2)).isEqualByComparingTo("0");
+    }
+
+    @Test
+    void upsertReplacesExistingOrderInsteadOfAppending() {
+        columns.upsert(1L, START.plusSeconds(3600).getEpochSecond(), 2000L, "USD");
+
+        BucketTotals totals = columns.totals();
+
+        assertThat(totals.counts()).containsExactly(2L);
+        assertThat(totals.amount(0)).isEqualByComparingTo("24.25");
+    }
+
+    @Test
+    void loadsInBatchesIntoPresizedColumns() {
+        TenantOrderColumns large = new TenantOrderColumns();
+        large.reserve(10_000);
+        large.ensureLoaded(() -> IntStream.range(0, 10_000)
+                .mapToObj(i -> new OrderFact((long) i, null, START.plusSeconds(10_000L - i), 100L, "USD")));
+
+        assertThat(large.totals().counts()).containsExactly(10_000L);
+        assertThat(large.estimatedBytes()).isEqualTo(TenantOrderColumns.bytesFor(10_000));
+        long start = START.getEpochSecond();
+        assertThat(large.totals(new long[] {start, start + 5_001, start + DAY}).counts())
+                .containsExactly(5_000L, 5_000L);
+    }
+
+    @Test
+    void buffersUpsertsThatArriveWhileLoading() {
+        TenantOrderColumns loading = new TenantOrderColumns();
+        loading.upsert(9L, START.getEpochSecond(), 500L, "USD");
+        loading.ensureLoaded(Stream::empty);
+
+        assertThat(loading.totals().counts()).containsExactly(1L);
+    }
+}
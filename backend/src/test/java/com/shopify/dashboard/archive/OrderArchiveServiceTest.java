@@ -0,0 +1,113 @@
+package com.shopify.dashboard.archive;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.shopify.dashboard.config.AppProperties;
+import com.shopify.dashboard.entity.Tenant;
+import com.shopify.dashboard.event.TenantChangedEvent;
+import com.shopify.dashboard.repository.OrderArchiveRepository;
+import com.shopify.dashboard.repository.OrderPartitionRepository;
+import com.shopify.dashboard.repository.OrderRepository;
+import com.shopify.dashboard.repository.TenantRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+
+@ExtendWith(MockitoExtension.class)
+class OrderArchiveServiceTest {
+
+    @Mock
+    private OrderArchiveRepository archiveRepository;
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @Mock
+    private OrderPartitionRepository partitionRepository;
+
+    @Mock
+    private TenantRepository tenantRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private final UUID tenantId = UUID.randomUUID();
+    private final AppProperties properties = new AppProperties();
+    private OrderArchiveService service;
+
+    @BeforeEach
+    void setUp() {
+        properties.getOrders().getArchive().setEnabled(true);
+        service = new OrderArchiveService(archiveRepository, orderRepository, partitionRepository, tenantRepository,
+                transactionManager, properties, eventPublisher, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void looksUpOrdersPastTheRetentionHorizonEvenWhenTheTenantPredatesTheArchiveRun() {
+        Tenant stale = Tenant.builder().id(tenantId).orderRetentionDays(30).build();
+        Instant createdAt = Instant.now().minus(Duration.ofDays(90));
+        when(archiveRepository.isArchived(tenantId, 1001L)).thenReturn(true);
+
+        assertThat(service.isArchived(stale, 1001L, createdAt)).isTrue();
+    }
+
+    @Test
+    void skipsTheLookupForOrdersInsideTheRetentionHorizon() {
+        Tenant tenant = Tenant.builder().id(tenantId).orderRetentionDays(30).build();
+
+        assertThat(service.isArchived(tenant, 1001L, Instant.now().minus(Duration.ofDays(1)))).isFalse();
+
+        verifyNoInteractions(archiveRepository);
+    }
+
+    @Test
+    void trustsTheRecordedHorizonWhileArchivingIsDisabled() {
+        properties.getOrders().getArchive().setEnabled(false);
+        Tenant tenant = Tenant.builder().id(tenantId).orderRetentionDays(30).build();
+
+        assertThat(service.isArchived(tenant, 1001L, Instant.now().minus(Duration.ofDays(90)))).isFalse();
+
+        verifyNoInteractions(archiveRepository);
+    }
+
+    @Test
+    void evictsTheCachedTenantOnceTheHorizonMoves() {
+        LocalDate horizon = LocalDate.of(2024, 3, 1);
+        Instant createdAt = Instant.parse("2024-02-10T12:00:00Z");
+        ArchivedOrder order = new ArchivedOrder(UUID.randomUUID(), 1001L, null, "#1001", 1990, "USD", createdAt,
+                null);
+        when(archiveRepository.findOldestHotOrder(tenantId, startOf(horizon))).thenReturn(createdAt);
+        when(archiveRepository.lockHotOrders(tenantId, startOf(LocalDate.of(2024, 2, 1)), startOf(horizon)))
+                .thenReturn(List.of(order));
+
+        service.archiveTenant(tenantId, horizon);
+
+        verify(archiveRepository).insertKeys(eq(tenantId), anyList());
+        verify(archiveRepository, atLeastOnce()).markArchivedBefore(tenantId, startOf(horizon));
+        verify(eventPublisher).publishEvent(new TenantChangedEvent(tenantId));
+    }
+
+    private static Instant startOf(LocalDate day) {
+        return day.atStartOfDay(ZoneOffset.UTC).toInstant();
+    }
+}
@@ -0,0 +1,48 @@
+package com.shopify.dashboard.archive;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+class OrderSegmentCodecTest {
+
+    private static final Instant START = Instant.parse("2023-03-01T00:00:00.123456Z");
+
+    @Test
+    void roundTripsEveryColumnIncludingNullsAndNegativeAmounts() {
+        List<ArchivedOrder> orders = List.of(
+                new ArchivedOrder(UUID.randomUUID(), 9_000_000_001L, 42L, "#1001", 1990, "USD", START,
+                        START.plusSeconds(60)),
+                new ArchivedOrder(UUID.randomUUID(), 8_999_999_990L, null, "#1002 – refund", -500, "USD",
+                        START.plusMillis(1500), null),
+                new ArchivedOrder(UUID.randomUUID(), 9_000_000_050L, 7L, "", 0, "USD", START.plusSeconds(86_400),
+                        START.plusSeconds(10)));
+
+        List<ArchivedOrder> decoded = OrderSegmentCodec.decode(OrderSegmentCodec.encode(orders), "USD");
+
+        assertThat(decoded).containsExactlyElementsOf(orders);
+    }
+
+    @Test
+    void compressesTypicalMonthWellBelowRawSize() {
+        List<ArchivedOrder> orders = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            orders.add(new ArchivedOrder(UUID.randomUUID(), 5_000_000_000L + i, 1_000L + i % 300, "#" + (1000 + i),
+                    1000 + (i * 37) % 20_000, "EUR", START.plusSeconds(i * 240L), START.plusSeconds(i * 240L + 5)));
+        }
+
+        byte[] payload = OrderSegmentCodec.encode(orders);
+
+        assertThat(payload.length).isLessThan(orders.size() * 40);
+        assertThat(OrderSegmentCodec.decode(payload, "EUR")).containsExactlyElementsOf(orders);
+    }
+
+    @Test
+    void decodesEmptySegment() {
+        assertThat(OrderSegmentCodec.decode(OrderSegmentCodec.encode(List.of()), "JPY")).isEmpty();
+    }
+}
@@ -0,0 +1,76 @@
+package com.shopify.dashboard.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.web.ServerProperties;
+import org.springframework.boot.autoconfigure.web.embedded.TomcatWebServerFactoryCustomizer;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.env.YamlPropertySourceLoader;
+import org.springframework.boot.web.embedded.tomcat.TomcatServletWebServerFactory;
+import org.springframework.boot.web.server.WebServer;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.core.io.ClassPathResource;
+
+/**
+ * Starts Tomcat with the server settings from {@code application.yml} and checks what a controller sees as the
+ * remote address of a request that arrived through a proxy.
+ */
+class ForwardedHeadersTest {
+
+    private WebServer webServer;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        StandardEnvironment environment = new StandardEnvironment();
+        new YamlPropertySourceLoader().load("application", new ClassPathResource("application.yml"))
+                .forEach(environment.getPropertySources()::addLast);
+        ServerProperties serverProperties = Binder.get(environment).bind("server", ServerProperties.class).get();
+        TomcatServletWebServerFactory factory = new TomcatServletWebServerFactory(0);
+        new TomcatWebServerFactoryCustomizer(environment, serverProperties).customize(factory);
+        webServer = factory.getWebServer(servletContext -> servletContext
+                .addServlet("remoteAddress", new RemoteAddressServlet())
+                .addMapping("/"));
+        webServer.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        webServer.stop();
+    }
+
+    @Test
+    void resolvesTheClientBehindAPrivateProxy() throws Exception {
+        assertThat(remoteAddress("203.0.113.7")).isEqualTo("203.0.113.7");
+    }
+
+    @Test
+    void ignoresAddressesTheClientPrependedItself() throws Exception {
+        assertThat(remoteAddress("198.51.100.1, 203.0.113.7")).isEqualTo("203.0.113.7");
+    }
+
+    private String remoteAddress(String forwardedFor) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + webServer.getPort() + "/"))
+                .header("X-Forwarded-For", forwardedFor)
+                .build();
+        return HttpClient.newHttpClient().send(request, HttpResponse.BodyHandlers.ofString()).body();
+    }
+
+    private static class RemoteAddressServlet extends HttpServlet {
+
+        @Override
+        protected void doGet(HttpServletRequest request, HttpServletResponse response) throws IOException {
+            response.getWriter().write(request.getRemoteAddr());
+        }
+    }
+}
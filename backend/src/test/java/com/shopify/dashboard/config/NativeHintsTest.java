@@ -0,0 +1,39 @@
+package com.shopify.dashboard.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.shopify.dashboard.dto.shopify.ShopifyOrdersResponse;
+import com.shopify.dashboard.entity.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+class NativeHintsTest {
+
+    private final RuntimeHints hints = new RuntimeHints();
+
+    NativeHintsTest() {
+        new NativeHints().registerHints(hints, getClass().getClassLoader());
+    }
+
+    @Test
+    void registersNestedShopifyPayloadsForBinding() {
+        assertThat(RuntimeHintsPredicates.reflection().onType(ShopifyOrdersResponse.ShopifyOrderCustomer.class))
+                .accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection()
+                .onType(TypeReference.of("com.shopify.dashboard.service.MockShopifyDataService$MockTenantData")))
+                .accepts(hints);
+        assertThat(RuntimeHintsPredicates.resource().forResource("mock-data/mock-tenants.json")).accepts(hints);
+    }
+
+    @Test
+    void registersEntitiesAndJjwtImplementations() {
+        assertThat(RuntimeHintsPredicates.reflection().onType(User.class)
+                .withMemberCategory(MemberCategory.DECLARED_FIELDS)).accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection()
+                .onType(TypeReference.of("io.jsonwebtoken.impl.DefaultJwtParserBuilder"))
+                .withMemberCategory(MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS)).accepts(hints);
+    }
+}
@@ -0,0 +1,103 @@
+package com.shopify.dashboard.controller;
+
+import static org.mockito.ArgumentMatchers.same;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.shopify.dashboard.entity.Tenant;
+import com.shopify.dashboard.exception.GlobalExceptionHandler;
+import com.shopify.dashboard.security.UserPrincipal;
+import com.shopify.dashboard.service.TenantService;
+import com.shopify.dashboard.tenant.TenantArgumentResolver;
+import com.shopify.dashboard.tenant.TenantContextInterceptor;
+import com.shopify.dashboard.tenant.TenantRegistry;
+import java.util.UUID;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+@ExtendWith(MockitoExtension.class)
+class TenantControllerTest {
+
+    @Mock
+    private TenantService tenantService;
+    @Mock
+    private TenantRegistry tenantRegistry;
+
+    private final UUID tenantA = UUID.randomUUID();
+    private final UUID tenantB = UUID.randomUUID();
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(new TenantController(tenantService))
+                .addInterceptors(new TenantContextInterceptor(tenantRegistry))
+                .setCustomArgumentResolvers(new TenantArgumentResolver())
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+    }
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void refusesATenantAdminEveryRouteOfAnotherTenant() throws Exception {
+        authenticate(tenantA, "TENANT_ADMIN");
+
+        mockMvc.perform(get("/api/tenants/{id}", tenantB)).andExpect(status().isForbidden());
+        mockMvc.perform(post("/api/tenants/{id}/sync", tenantB)).andExpect(status().isForbidden());
+        mockMvc.perform(delete("/api/tenants/{id}", tenantB)).andExpect(status().isForbidden());
+        mockMvc.perform(get("/api/tenants/{id}/deletion", tenantB)).andExpect(status().isForbidden());
+
+        verifyNoInteractions(tenantService, tenantRegistry);
+    }
+
+    @Test
+    void leavesListingAndDeletingTenantsToPlatformAdmins() throws Exception {
+        authenticate(tenantA, "TENANT_ADMIN");
+        when(tenantRegistry.get(tenantA)).thenReturn(Tenant.builder().id(tenantA).build());
+
+        mockMvc.perform(get("/api/tenants")).andExpect(status().isForbidden());
+        mockMvc.perform(delete("/api/tenants/{id}", tenantA)).andExpect(status().isForbidden());
+        mockMvc.perform(get("/api/tenants/{id}", tenantA)).andExpect(status().isOk());
+
+        authenticate(null, "PLATFORM_ADMIN");
+        when(tenantRegistry.get(tenantB)).thenReturn(Tenant.builder().id(tenantB).build());
+        mockMvc.perform(delete("/api/tenants/{id}", tenantB)).andExpect(status().isAccepted());
+    }
+
+    @Test
+    void passesTheResolvedTenantToTheService() throws Exception {
+        authenticate(null, "PLATFORM_ADMIN");
+        Tenant tenant = Tenant.builder().id(tenantA).build();
+        when(tenantRegistry.get(tenantA)).thenReturn(tenant);
+
+        mockMvc.perform(get("/api/tenants/{id}", tenantA)).andExpect(status().isOk());
+        mockMvc.perform(post("/api/tenants/{id}/sync", tenantA)).andExpect(status().isOk());
+        mockMvc.perform(delete("/api/tenants/{id}", tenantA)).andExpect(status().isAccepted());
+
+        verify(tenantService).getTenant(same(tenant));
+        verify(tenantService).triggerSync(same(tenant));
+        verify(tenantService).deleteTenant(same(tenant));
+    }
+
+    private void authenticate(UUID userTenantId, String role) {
+        UserPrincipal principal = new UserPrincipal(UUID.randomUUID(), "user@example.com", null, userTenantId, role);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+    }
+}
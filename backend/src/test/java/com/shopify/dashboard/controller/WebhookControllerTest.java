@@ -0,0 +1,97 @@
+package com.shopify.dashboard.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.shopify.dashboard.config.AppProperties;
+import com.shopify.dashboard.entity.Tenant;
+import com.shopify.dashboard.exception.ApiException;
+import com.shopify.dashboard.exception.GlobalExceptionHandler;
+import com.shopify.dashboard.monitoring.SyncMetrics;
+import com.shopify.dashboard.service.ShopifyIngestionService;
+import com.shopify.dashboard.service.TenantService;
+import com.shopify.dashboard.util.HmacVerifier;
+import com.shopify.dashboard.workload.WorkloadExecutors;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+@ExtendWith(MockitoExtension.class)
+class WebhookControllerTest {
+
+    private static final String SECRET = "webhook-secret";
+    private static final String PAYLOAD = "{\"id\":1}";
+
+    @Mock
+    private TenantService tenantService;
+    @Mock
+    private ShopifyIngestionService ingestionService;
+
+    private final HmacVerifier hmacVerifier = new HmacVerifier();
+    private final Tenant tenant = Tenant.builder().shopDomain("demo.myshopify.com").build();
+    private SimpleMeterRegistry meterRegistry;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        AppProperties properties = new AppProperties();
+        properties.getShopify().setWebhookSecret(SECRET);
+        meterRegistry = new SimpleMeterRegistry();
+        WebhookController controller = new WebhookController(hmacVerifier, properties, tenantService,
+                ingestionService, new SyncMetrics(meterRegistry), new WorkloadExecutors(properties, meterRegistry));
+        mockMvc = MockMvcBuilders.standaloneSetup(controller)
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+        when(tenantService.getTenantByDomain(anyString())).thenReturn(tenant);
+    }
+
+    @Test
+    void answersAServerErrorWhenTheUpsertFailsSoShopifyRedelivers() throws Exception {
+        doThrow(new DataAccessResourceFailureException("database down"))
+                .when(ingestionService).upsertOrderFromWebhook(any(), anyString());
+
+        send("orders/create").andExpect(status().isInternalServerError());
+
+        assertThat(webhookEvents("failed")).isEqualTo(1);
+    }
+
+    @Test
+    void answersBadRequestForAMalformedPayload() throws Exception {
+        doThrow(new ApiException("Malformed order webhook payload", HttpStatus.BAD_REQUEST))
+                .when(ingestionService).upsertOrderFromWebhook(any(), anyString());
+
+        send("orders/create").andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void acknowledgesOnlyAfterProcessing() throws Exception {
+        send("orders/create").andExpect(status().isOk());
+
+        assertThat(webhookEvents("success")).isEqualTo(1);
+    }
+
+    private ResultActions send(String topic) throws Exception {
+        return mockMvc.perform(post("/api/webhooks/shopify")
+                .header("X-Shopify-Hmac-Sha256", hmacVerifier.sign(PAYLOAD, SECRET))
+                .header("X-Shopify-Topic", topic)
+                .header("X-Shopify-Shop-Domain", tenant.getShopDomain())
+                .content(PAYLOAD));
+    }
+
+    private double webhookEvents(String status) {
+        return meterRegistry.get("shopify.webhook.events").tag("status", status).counter().count();
+    }
+}
@@ -0,0 +1,94 @@
+package com.shopify.dashboard.datasource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.shopify.dashboard.config.AppProperties;
+import com.shopify.dashboard.workload.Workload;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+@Testcontainers(disabledWithoutDocker = true)
+class ReplicaRoutingDataSourceTest {
+
+    @Container
+    private static final PostgreSQLContainer<?> PRIMARY = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @Container
+    private static final PostgreSQLContainer<?> REPLICA = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    private ReplicaRoutingDataSource routing;
+    private ReplicaTarget replica;
+    private ReplicationLagMonitor monitor;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readOnly;
+    private TransactionTemplate readWrite;
+
+    @BeforeEach
+    void setUp() {
+        HikariDataSource primary = pool(PRIMARY);
+        replica = new ReplicaTarget("replica-0", pool(REPLICA));
+        routing = new ReplicaRoutingDataSource(Map.of(Workload.API, primary), List.of(replica));
+        monitor = new ReplicationLagMonitor(routing, new AppProperties(), new SimpleMeterRegistry());
+
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(routing);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        new JdbcTemplate(primary).execute("CREATE TABLE IF NOT EXISTS node AS SELECT 'primary' AS name");
+        new JdbcTemplate(replica.dataSource()).execute("CREATE TABLE IF NOT EXISTS node AS SELECT 'replica' AS name");
+    }
+
+    @AfterEach
+    void tearDown() {
+        routing.close();
+    }
+
+    @Test
+    void routesReadOnlyTransactionsToHealthyReplica() {
+        monitor.checkReplicas();
+
+        assertThat(replica.isHealthy()).isTrue();
+        assertThat(inTransaction(readOnly)).isEqualTo("replica");
+        assertThat(inTransaction(readWrite)).isEqualTo("primary");
+        assertThat(currentNode()).isEqualTo("primary");
+    }
+
+    @Test
+    void fallsBackToPrimaryWhileReplicaIsBehind() {
+        replica.update(60_000, false);
+
+        assertThat(inTransaction(readOnly)).isEqualTo("primary");
+    }
+
+    private String inTransaction(TransactionTemplate transaction) {
+        return transaction.execute(status -> currentNode());
+    }
+
+    private String currentNode() {
+        return jdbcTemplate.queryForObject("SELECT name FROM node", String.class);
+    }
+
+    private static HikariDataSource pool(PostgreSQLContainer<?> container) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl(container.getJdbcUrl());
+        dataSource.setUsername(container.getUsername());
+        dataSource.setPassword(container.getPassword());
+        dataSource.setMaximumPoolSize(2);
+        return dataSource;
+    }
+}
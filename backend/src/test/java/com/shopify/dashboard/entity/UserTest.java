@@ -0,0 +1,57 @@
+package com.shopify.dashboard.entity;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.shopify.dashboard.security.UserAuthState;
+import java.time.Instant;
+import java.util.Date;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+class UserTest {
+
+    private final Instant credentialsSetAt = Instant.now().minusSeconds(3600);
+    private final Date issuedAt = Date.from(credentialsSetAt.plusSeconds(60));
+    private final User user = User.builder()
+            .id(UUID.randomUUID())
+            .email("owner@example.com")
+            .passwordHash("hash")
+            .tenantId(UUID.randomUUID())
+            .role("USER")
+            .credentialsUpdatedAt(credentialsSetAt)
+            .build();
+
+    @Test
+    void nonCredentialUpdatesKeepIssuedTokensValid() {
+        user.setEmail("renamed@example.com");
+        user.setPasswordHash("hash");
+        user.setRole("USER");
+
+        assertThat(user.getCredentialsUpdatedAt()).isEqualTo(credentialsSetAt);
+        assertThat(UserAuthState.from(user).accepts(issuedAt, user.getTenantId(), "USER")).isTrue();
+    }
+
+    @Test
+    void passwordChangeRevokesIssuedTokens() {
+        user.setPasswordHash("new-hash");
+
+        assertThat(user.getCredentialsUpdatedAt()).isAfter(credentialsSetAt);
+        assertThat(UserAuthState.from(user).accepts(issuedAt, user.getTenantId(), "USER")).isFalse();
+    }
+
+    @Test
+    void tenantChangeMovesTheCredentialsTimestamp() {
+        user.setTenantId(null);
+
+        assertThat(user.getCredentialsUpdatedAt()).isAfter(credentialsSetAt);
+    }
+
+    @Test
+    void newUsersStartWithTheCurrentTime() {
+        Instant before = Instant.now();
+
+        User created = User.builder().email("new@example.com").passwordHash("hash").role("USER").build();
+
+        assertThat(created.getCredentialsUpdatedAt()).isBetween(before, Instant.now());
+    }
+}
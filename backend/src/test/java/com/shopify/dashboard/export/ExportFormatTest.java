@@ -0,0 +1,46 @@
+package com.shopify.dashboard.export;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class ExportFormatTest {
+
+    private static final List<String> COLUMNS = List.of("order_number", "total_price", "created_at");
+
+    @Test
+    void writesOneJsonObjectPerLine() throws Exception {
+        String output = render(ExportFormat.NDJSON,
+                new Object[] {"#1001", new BigDecimal("19.90"), Instant.parse("2024-11-01T10:00:00Z")},
+                new Object[] {"#1002", null, Instant.parse("2024-11-02T10:00:00Z")});
+
+        assertThat(output).isEqualTo("""
+                {"order_number":"#1001","total_price":19.90,"created_at":"2024-11-01T10:00:00Z"}
+                {"order_number":"#1002","total_price":null,"created_at":"2024-11-02T10:00:00Z"}
+                """);
+    }
+
+    @Test
+    void quotesCsvFieldsThatNeedIt() throws Exception {
+        String output = render(ExportFormat.CSV,
+                new Object[] {"Sofa, \"large\"", new BigDecimal("5.00"), null});
+
+        assertThat(output).isEqualTo("order_number,total_price,created_at\r\n\"Sofa, \"\"large\"\"\",5.00,\r\n");
+    }
+
+    private String render(ExportFormat format, Object[]... rows) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        RowWriter writer = format.open(out, COLUMNS, new ObjectMapper());
+        for (Object[] row : rows) {
+            writer.write(row);
+        }
+        writer.finish();
+        return out.toString(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,79 @@
+package com.shopify.dashboard.export;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shopify.dashboard.archive.OrderArchiveService;
+import com.shopify.dashboard.config.AppProperties;
+import com.shopify.dashboard.exception.TooManyRequestsException;
+import com.shopify.dashboard.monitoring.ExportMetrics;
+import com.shopify.dashboard.workload.Workload;
+import com.shopify.dashboard.workload.WorkloadContext;
+import java.io.ByteArrayOutputStream;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+@ExtendWith(MockitoExtension.class)
+class TenantExportServiceTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private ExportMetrics exportMetrics;
+
+    @Mock
+    private OrderArchiveService orderArchiveService;
+
+    private TenantExportService service;
+
+    @BeforeEach
+    void setUp() {
+        AppProperties properties = new AppProperties();
+        properties.getExport().setMaxConcurrent(1);
+        service = new TenantExportService(jdbcTemplate, transactionManager, new ObjectMapper(), properties,
+                exportMetrics, orderArchiveService);
+    }
+
+    @Test
+    void refusesExportsBeyondTheConcurrencyLimitUntilASlotIsReleased() {
+        ExportSlot slot = service.reserveSlot();
+
+        assertThatThrownBy(service::reserveSlot)
+                .isInstanceOfSatisfying(TooManyRequestsException.class,
+                        ex -> assertThat(ex.getRetryAfter()).isPositive());
+
+        slot.close();
+        slot.close();
+        ExportSlot next = service.reserveSlot();
+        assertThatThrownBy(service::reserveSlot).isInstanceOf(TooManyRequestsException.class);
+        next.close();
+    }
+
+    @Test
+    void readsThroughTheExportPool() throws Exception {
+        AtomicReference<Workload> workload = new AtomicReference<>();
+        when(transactionManager.getTransaction(any())).thenAnswer(invocation -> {
+            workload.set(WorkloadContext.current());
+            return null;
+        });
+
+        service.export(UUID.randomUUID(), ExportDataset.CUSTOMERS, ExportFormat.NDJSON, false,
+                new ByteArrayOutputStream());
+
+        assertThat(workload).hasValue(Workload.EXPORT);
+    }
+}
@@ -0,0 +1,130 @@
+package com.shopify.dashboard.live;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shopify.dashboard.config.AppProperties;
+import com.shopify.dashboard.event.UserChangedEvent;
+import com.shopify.dashboard.security.JwtTokenService;
+import com.shopify.dashboard.security.UserAuthState;
+import com.shopify.dashboard.security.UserAuthStateCache;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Instant;
+import java.util.Date;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@ExtendWith(MockitoExtension.class)
+class LiveMetricsHubTest {
+
+    @Mock
+    private UserAuthStateCache userAuthStateCache;
+
+    private final UUID tenantId = UUID.randomUUID();
+    private final UUID userId = UUID.randomUUID();
+    private final Instant issuedAt = Instant.now().minusSeconds(60);
+    private SimpleMeterRegistry meterRegistry;
+    private LiveMetricsHub hub;
+
+    @BeforeEach
+    void setUp() {
+        AppProperties properties = new AppProperties();
+        properties.getSecurity().getJwt().setSecret("0123456789abcdef0123456789abcdef");
+        properties.getSecurity().getJwt().setExpirationSeconds(3600);
+        meterRegistry = new SimpleMeterRegistry();
+        hub = new LiveMetricsHub(new ObjectMapper(), properties, meterRegistry,
+                new JwtTokenService(properties, meterRegistry), userAuthStateCache);
+        hub.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        hub.stop();
+    }
+
+    @Test
+    void timesOutNoLaterThanTheTokenExpires() {
+        SseEmitter emitter = hub.subscribe(tenantId, claims("TENANT_ADMIN", issuedAt.plusSeconds(120)));
+
+        assertThat(emitter.getTimeout()).isPositive().isLessThanOrEqualTo(120_000L);
+    }
+
+    @Test
+    void closesTheUsersStreamsWhenTheUserChanges() {
+        hub.subscribe(tenantId, claims("TENANT_ADMIN", issuedAt.plusSeconds(3600)));
+
+        hub.onUserChanged(new UserChangedEvent(userId));
+
+        assertThat(subscribers()).isZero();
+    }
+
+    @Test
+    void heartbeatClosesStreamsTheAuthStateNoLongerAccepts() {
+        hub.subscribe(tenantId, claims("TENANT_ADMIN", issuedAt.plusSeconds(3600)));
+        when(userAuthStateCache.get(userId))
+                .thenReturn(Optional.of(new UserAuthState("owner@example.com", tenantId, "TENANT_ADMIN", null)))
+                .thenReturn(Optional.of(new UserAuthState("owner@example.com", tenantId, "TENANT_ADMIN",
+                        Instant.now())));
+
+        hub.sweep();
+        assertThat(subscribers()).isOne();
+
+        hub.sweep();
+        assertThat(subscribers()).isZero();
+    }
+
+    @Test
+    void releasesTheSlotOfAStreamThatFailsToOpen() {
+        Claims claims = claims("TENANT_ADMIN", issuedAt.plusSeconds(3600));
+        claims.put("tenantId", "not-a-uuid");
+
+        assertThatThrownBy(() -> hub.subscribe(tenantId, claims)).isInstanceOf(IllegalArgumentException.class);
+
+        assertThat(subscribers()).isZero();
+    }
+
+    @Test
+    void heartbeatLeavesTheAuthStateLookupsToTheDispatcher() throws InterruptedException {
+        hub.subscribe(tenantId, claims("TENANT_ADMIN", issuedAt.plusSeconds(3600)));
+        AtomicReference<Thread> lookupThread = new AtomicReference<>();
+        CountDownLatch looked = new CountDownLatch(1);
+        when(userAuthStateCache.get(userId)).thenAnswer(invocation -> {
+            lookupThread.set(Thread.currentThread());
+            looked.countDown();
+            return Optional.empty();
+        });
+
+        hub.heartbeat();
+
+        assertThat(looked.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(lookupThread.get()).isNotSameAs(Thread.currentThread());
+        assertThat(lookupThread.get().getName()).startsWith("live-dispatch-");
+    }
+
+    private Claims claims(String role, Instant expiresAt) {
+        Claims claims = Jwts.claims().setSubject(userId.toString());
+        claims.setIssuedAt(Date.from(issuedAt));
+        claims.setExpiration(Date.from(expiresAt));
+        claims.put("tenantId", tenantId.toString());
+        claims.put("role", role);
+        return claims;
+    }
+
+    private double subscribers() {
+        return meterRegistry.get("live.subscribers").gauge().value();
+    }
+}
@@ -0,0 +1,55 @@
+package com.shopify.dashboard.live;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Set;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+class LiveSubscriberTest {
+
+    private static final Set<DataWithMediaType> RESYNC = SseEmitter.event().name("resync").build();
+
+    private final LiveSubscriber subscriber = new LiveSubscriber(UUID.randomUUID(), UUID.randomUUID(), state -> true, new SseEmitter(), 2);
+
+    @Test
+    void replacesBacklogWithResyncWhenFull() {
+        assertThat(subscriber.offer(frame("1"), RESYNC)).isFalse();
+        assertThat(subscriber.offer(frame("2"), RESYNC)).isFalse();
+
+        assertThat(subscriber.offer(frame("3"), RESYNC)).isTrue();
+
+        assertThat(subscriber.queued()).isEqualTo(1);
+        assertThat(subscriber.claim()).isTrue();
+        assertThat(subscriber.next()).isSameAs(RESYNC);
+    }
+
+    @Test
+    void allowsOneDrainerAtATime() {
+        subscriber.offer(frame("1"), RESYNC);
+
+        assertThat(subscriber.claim()).isTrue();
+        subscriber.offer(frame("2"), RESYNC);
+        assertThat(subscriber.claim()).isFalse();
+
+        assertThat(subscriber.next()).isNotNull();
+        assertThat(subscriber.next()).isNotNull();
+        assertThat(subscriber.next()).isNull();
+        subscriber.offer(frame("3"), RESYNC);
+        assertThat(subscriber.claim()).isTrue();
+    }
+
+    @Test
+    void dropsFramesAfterClose() {
+        subscriber.close();
+
+        assertThat(subscriber.offer(frame("1"), RESYNC)).isFalse();
+        assertThat(subscriber.claim()).isFalse();
+    }
+
+    private static Set<DataWithMediaType> frame(String data) {
+        return SseEmitter.event().data(data).build();
+    }
+}
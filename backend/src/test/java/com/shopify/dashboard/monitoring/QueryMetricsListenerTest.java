@@ -0,0 +1,34 @@
+package com.shopify.dashboard.monitoring;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.shopify.dashboard.config.AppProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class QueryMetricsListenerTest {
+
+    private final QueryMetricsListener listener = new QueryMetricsListener(new AppProperties(),
+            new SimpleMeterRegistry());
+
+    @AfterEach
+    void tearDown() {
+        RequestQueryStats.end();
+    }
+
+    @Test
+    void timesStatementsTheProxyRoundsDownToZeroMillis() {
+        RequestQueryStats stats = RequestQueryStats.begin();
+        ExecutionInfo execInfo = new ExecutionInfo();
+
+        listener.beforeQuery(execInfo, List.of());
+        execInfo.setElapsedTime(0);
+        listener.afterQuery(execInfo, List.of());
+
+        assertThat(stats.statements()).isOne();
+        assertThat(stats.statementNanos()).isPositive();
+    }
+}
@@ -0,0 +1,39 @@
+package com.shopify.dashboard.monitoring;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class RequestQueryStatsTest {
+
+    @AfterEach
+    void tearDown() {
+        RequestQueryStats.end();
+    }
+
+    @Test
+    void countsWorkHandedToOtherThreadsTowardsTheRequest() throws InterruptedException {
+        RequestQueryStats stats = RequestQueryStats.begin();
+        Runnable task = RequestQueryStats.propagate(() -> {
+            RequestQueryStats.statementExecuted(250_000);
+            RequestQueryStats.entityLoaded();
+        });
+
+        Thread worker = new Thread(task);
+        worker.start();
+        worker.join();
+        RequestQueryStats.statementExecuted(400);
+
+        assertThat(stats.statements()).isEqualTo(2);
+        assertThat(stats.statementNanos()).isEqualTo(250_400);
+        assertThat(stats.entityLoads()).isOne();
+    }
+
+    @Test
+    void leavesTasksSubmittedOutsideARequestUnbound() {
+        Runnable task = () -> { };
+
+        assertThat(RequestQueryStats.propagate(task)).isSameAs(task);
+    }
+}
@@ -0,0 +1,91 @@
+package com.shopify.dashboard.monitoring;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.shopify.dashboard.config.AppProperties;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.ServletRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+class RouteLatencyFilterTest {
+
+    private static final String ROUTE = "/api/{tenantId}/metrics/overview";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AppProperties properties = new AppProperties();
+    private RouteLatencyFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        filter = new RouteLatencyFilter(meterRegistry, properties);
+    }
+
+    @Test
+    void recordsLatencyPerRouteTemplateAndStatusClass() throws Exception {
+        filter.doFilter(request(), new MockHttpServletResponse(), (req, res) -> routed(req));
+        filter.doFilter(request(), new MockHttpServletResponse(), (req, res) -> {
+            routed(req);
+            ((MockHttpServletResponse) res).setStatus(404);
+        });
+        filter.doFilter(request(), new MockHttpServletResponse(), (req, res) -> routed(req));
+
+        assertThat(latency("2xx").count()).isEqualTo(2);
+        assertThat(latency("4xx").count()).isEqualTo(1);
+        assertThat(meterRegistry.find("request.db.statements").tag("uri", ROUTE).summary().count()).isEqualTo(3);
+        assertThat(meterRegistry.find("request.slow").counter().count()).isZero();
+    }
+
+    @Test
+    void countsEverySlowRequest() throws Exception {
+        properties.getObservability().setSlowRequestThresholdMs(0);
+        filter = new RouteLatencyFilter(meterRegistry, properties);
+
+        for (int i = 0; i < 3; i++) {
+            filter.doFilter(request(), new MockHttpServletResponse(), (req, res) -> routed(req));
+        }
+
+        assertThat(meterRegistry.find("request.slow").tag("uri", ROUTE).counter().count()).isEqualTo(3);
+    }
+
+    @Test
+    void recordsAsyncRequestsWhenTheyComplete() throws Exception {
+        MockHttpServletRequest request = request();
+        request.setAsyncSupported(true);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, (req, res) -> {
+            routed(req);
+            req.startAsync(req, res);
+        });
+        assertThat(meterRegistry.find("request.latency").timer()).isNull();
+
+        response.setStatus(503);
+        AsyncContext context = request.getAsyncContext();
+        for (AsyncListener listener : ((MockAsyncContext) context).getListeners()) {
+            listener.onComplete(new AsyncEvent(context));
+        }
+
+        assertThat(latency("5xx").count()).isEqualTo(1);
+    }
+
+    private Timer latency(String statusClass) {
+        return meterRegistry.find("request.latency").tag("uri", ROUTE).tag("status", statusClass).timer();
+    }
+
+    private static MockHttpServletRequest request() {
+        return new MockHttpServletRequest("GET", "/api/7b0e/metrics/overview");
+    }
+
+    private static void routed(ServletRequest request) {
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, ROUTE);
+    }
+}
@@ -0,0 +1,36 @@
+package com.shopify.dashboard.monitoring;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.lang.reflect.Method;
+import java.sql.PreparedStatement;
+import java.util.List;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import org.junit.jupiter.api.Test;
+
+class SqlRedactionTest {
+
+    @Test
+    void replacesLiteralsButKeepsIdentifiers() {
+        String sql = "select o.id from orders o\n  where o.email = 'ada@example.com' and o.total_price > 12.50"
+                + " and o.note = 'it''s' limit 10";
+
+        assertThat(SqlRedaction.redact(sql)).isEqualTo(
+                "select o.id from orders o where o.email = ? and o.total_price > ? and o.note = ? limit ?");
+        assertThat(SqlRedaction.redact("select * from order_hourly_rollups r2 where r2.tenant_id = ?"))
+                .isEqualTo("select * from order_hourly_rollups r2 where r2.tenant_id = ?");
+    }
+
+    @Test
+    void describesParametersByTypeOnly() throws NoSuchMethodException {
+        Method setString = PreparedStatement.class.getMethod("setString", int.class, String.class);
+        Method setLong = PreparedStatement.class.getMethod("setLong", int.class, long.class);
+        List<ParameterSetOperation> parameters = List.of(
+                new ParameterSetOperation(setString, new Object[] {1, "secret-token"}),
+                new ParameterSetOperation(setLong, new Object[] {2, 42L}));
+
+        String described = SqlRedaction.describeParameters(List.of(parameters, parameters));
+
+        assertThat(described).isEqualTo("[String, Long] x2").doesNotContain("secret-token");
+    }
+}
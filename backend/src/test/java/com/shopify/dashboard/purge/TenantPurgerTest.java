@@ -0,0 +1,106 @@
+package com.shopify.dashboard.purge;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.shopify.dashboard.config.AppProperties;
+import com.shopify.dashboard.datasource.ReplicaRoutingDataSource;
+import com.shopify.dashboard.datasource.ReplicaTarget;
+import com.shopify.dashboard.dto.TenantPurgeStatus;
+import com.shopify.dashboard.repository.TenantPurgeRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+@ExtendWith(MockitoExtension.class)
+class TenantPurgerTest {
+
+    @Mock
+    private TenantPurgeRepository purgeRepository;
+
+    @Mock
+    private ReplicaRoutingDataSource routingDataSource;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final UUID tenantId = UUID.randomUUID();
+    private TenantPurger purger;
+
+    @BeforeEach
+    void setUp() {
+        purger = new TenantPurger(purgeRepository, routingDataSource, transactionManager, new AppProperties(),
+                meterRegistry);
+    }
+
+    @Test
+    void deletesOneBatchFromTheCurrentTableAndRecordsProgress() {
+        when(routingDataSource.replicas()).thenReturn(List.of());
+        when(purgeRepository.claim(any(), any())).thenReturn(Optional.of(status("orders")));
+        when(purgeRepository.deleteBatch(PurgeTable.ORDERS, tenantId, 1000)).thenReturn(1000);
+
+        purger.purgeNextBatch();
+
+        verify(purgeRepository).recordProgress(tenantId, PurgeTable.ORDERS, 1000);
+        verify(purgeRepository, never()).deleteBatch(eq(PurgeTable.CUSTOMERS), any(), anyInt());
+        verify(purgeRepository, never()).complete(any());
+        assertThat(meterRegistry.counter("tenant.purge.rows", "table", "orders").count()).isEqualTo(1000);
+    }
+
+    @Test
+    void movesOnFromEmptyTablesAndRemovesTheTenantWhenNothingIsLeft() {
+        when(routingDataSource.replicas()).thenReturn(List.of());
+        when(purgeRepository.claim(any(), any())).thenReturn(Optional.of(status("customers")));
+
+        purger.purgeNextBatch();
+
+        verify(purgeRepository).deleteBatch(PurgeTable.CUSTOMERS, tenantId, 1000);
+        verify(purgeRepository).deleteBatch(PurgeTable.PRODUCTS, tenantId, 1000);
+        verify(purgeRepository, never()).deleteBatch(eq(PurgeTable.ORDERS), any(), anyInt());
+        verify(purgeRepository).complete(tenantId);
+    }
+
+    @Test
+    void capsArchiveSegmentBatches() {
+        when(routingDataSource.replicas()).thenReturn(List.of());
+        when(purgeRepository.claim(any(), any())).thenReturn(Optional.of(status("order_archive_segments")));
+        when(purgeRepository.deleteBatch(PurgeTable.ORDER_ARCHIVE_SEGMENTS, tenantId, 20)).thenReturn(20);
+
+        purger.purgeNextBatch();
+
+        verify(purgeRepository).recordProgress(tenantId, PurgeTable.ORDER_ARCHIVE_SEGMENTS, 20);
+    }
+
+    @Test
+    void skipsTheTickWhileAReplicaIsLagging() {
+        ReplicaTarget replica = mock(ReplicaTarget.class);
+        when(replica.lagMillis()).thenReturn(10_000L);
+        when(routingDataSource.replicas()).thenReturn(List.of(replica));
+
+        purger.purgeNextBatch();
+
+        verifyNoInteractions(purgeRepository);
+        assertThat(meterRegistry.counter("tenant.purge.throttled").count()).isEqualTo(1);
+    }
+
+    private TenantPurgeStatus status(String currentTable) {
+        return new TenantPurgeStatus(tenantId, "demo.myshopify.com", PurgeState.RUNNING, Instant.now(), Instant.now(),
+                null, currentTable, 0);
+    }
+}
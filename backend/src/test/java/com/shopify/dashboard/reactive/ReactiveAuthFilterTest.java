@@ -0,0 +1,126 @@
+package com.shopify.dashboard.reactive;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.shopify.dashboard.config.AppProperties;
+import com.shopify.dashboard.entity.Tenant;
+import com.shopify.dashboard.entity.User;
+import com.shopify.dashboard.repository.ReactiveMetricsRepository;
+import com.shopify.dashboard.repository.UserRepository;
+import com.shopify.dashboard.security.JwtTokenService;
+import com.shopify.dashboard.security.UserAuthState;
+import com.shopify.dashboard.security.UserAuthStateCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Instant;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.reactive.function.server.MockServerRequest;
+import org.springframework.web.reactive.function.server.HandlerFunction;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+
+@ExtendWith(MockitoExtension.class)
+class ReactiveAuthFilterTest {
+
+    @Mock
+    private ReactiveMetricsRepository repository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final UUID tenantId = UUID.randomUUID();
+    private final Tenant tenant = Tenant.builder().id(tenantId).shopDomain("demo.myshopify.com").build();
+    private final User user = User.builder()
+            .id(UUID.randomUUID())
+            .email("owner@example.com")
+            .passwordHash("hash")
+            .tenantId(tenantId)
+            .role("USER")
+            .build();
+    private JwtTokenService tokenService;
+    private ReactiveAuthFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        AppProperties properties = new AppProperties();
+        properties.getSecurity().getJwt().setSecret("0123456789abcdef0123456789abcdef");
+        properties.getSecurity().getJwt().setExpirationSeconds(3600);
+        tokenService = new JwtTokenService(properties, meterRegistry);
+        filter = new ReactiveAuthFilter(tokenService,
+                new UserAuthStateCache(userRepository, properties, meterRegistry), repository);
+    }
+
+    @Test
+    void resolvesTheTenantForAnAuthorizedUserWithoutTheBlockingRepository() {
+        when(repository.findUserAuthState(user.getId())).thenReturn(Mono.just(state(null)));
+        when(repository.findTenant(tenantId)).thenReturn(Mono.just(tenant));
+
+        ServerRequest request = request(tenantId, "Bearer " + tokenService.generateToken(user));
+        ServerResponse response = filter.filter(request, echoTenant()).block();
+
+        assertThat(response.statusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(ReactiveAuthFilter.tenant(request)).isSameAs(tenant);
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void rejectsMissingTokens() {
+        ServerResponse response = filter.filter(request(tenantId, null), echoTenant()).block();
+
+        assertThat(response.statusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    void rejectsTokensIssuedBeforeTheCredentialsChanged() {
+        when(repository.findUserAuthState(user.getId()))
+                .thenReturn(Mono.just(state(Instant.now().plusSeconds(60))));
+
+        ServerResponse response = filter.filter(request(tenantId, "Bearer " + tokenService.generateToken(user)),
+                echoTenant()).block();
+
+        assertThat(response.statusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+        verify(repository, never()).findTenant(any());
+    }
+
+    @Test
+    void forbidsOtherTenants() {
+        when(repository.findUserAuthState(user.getId())).thenReturn(Mono.just(state(null)));
+
+        ServerResponse response = filter.filter(request(UUID.randomUUID(),
+                "Bearer " + tokenService.generateToken(user)), echoTenant()).block();
+
+        assertThat(response.statusCode()).isEqualTo(HttpStatus.FORBIDDEN);
+        verify(repository, never()).findTenant(any());
+    }
+
+    private UserAuthState state(Instant credentialsUpdatedAt) {
+        return new UserAuthState(user.getEmail(), tenantId, user.getRole(), credentialsUpdatedAt);
+    }
+
+    private static ServerRequest request(UUID pathTenantId, String authorization) {
+        MockServerRequest.Builder builder = MockServerRequest.builder()
+                .pathVariable("tenantId", pathTenantId.toString());
+        if (authorization != null) {
+            builder.header(HttpHeaders.AUTHORIZATION, authorization);
+        }
+        return builder.build();
+    }
+
+    private static HandlerFunction<ServerResponse> echoTenant() {
+        return request -> ServerResponse.ok().bodyValue(ReactiveAuthFilter.tenant(request).getId());
+    }
+}
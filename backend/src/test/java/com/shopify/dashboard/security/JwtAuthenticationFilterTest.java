@@ -0,0 +1,138 @@
+package com.shopify.dashboard.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.shopify.dashboard.config.AppProperties;
+import com.shopify.dashboard.entity.User;
+import com.shopify.dashboard.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+@ExtendWith(MockitoExtension.class)
+class JwtAuthenticationFilterTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private UserAuthStateCache userAuthStateCache;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final UUID tenantId = UUID.randomUUID();
+    private final User user = User.builder()
+            .id(UUID.randomUUID())
+            .email("owner@example.com")
+            .passwordHash("hash")
+            .tenantId(tenantId)
+            .role("USER")
+            .build();
+    private JwtTokenService tokenService;
+    private JwtAuthenticationFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        AppProperties properties = new AppProperties();
+        properties.getSecurity().getJwt().setSecret("0123456789abcdef0123456789abcdef");
+        properties.getSecurity().getJwt().setExpirationSeconds(3600);
+        tokenService = new JwtTokenService(properties, meterRegistry);
+        filter = new JwtAuthenticationFilter(tokenService, userRepository, userAuthStateCache, properties,
+                meterRegistry);
+    }
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void authenticatesFromClaimsWithoutLoadingTheUser() throws Exception {
+        when(userAuthStateCache.get(user.getId())).thenReturn(Optional.of(state("USER", Instant.EPOCH)));
+
+        Authentication authentication = authenticate(tokenService.generateToken(user));
+
+        assertThat(authentication).isNotNull();
+        UserPrincipal principal = (UserPrincipal) authentication.getPrincipal();
+        assertThat(principal.id()).isEqualTo(user.getId());
+        assertThat(principal.email()).isEqualTo("owner@example.com");
+        assertThat(principal.tenantId()).isEqualTo(tenantId);
+        assertThat(principal.password()).isNull();
+        assertThat(authentication.getAuthorities()).extracting("authority").containsExactly("ROLE_USER");
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void rejectsTokensIssuedBeforeCredentialsChanged() throws Exception {
+        String token = tokenService.generateToken(user);
+        when(userAuthStateCache.get(user.getId()))
+                .thenReturn(Optional.of(state("USER", Instant.now().plusSeconds(5))));
+
+        assertThat(authenticate(token)).isNull();
+    }
+
+    @Test
+    void rejectsTokensWhoseRoleNoLongerMatches() throws Exception {
+        when(userAuthStateCache.get(user.getId())).thenReturn(Optional.of(state("ADMIN", Instant.EPOCH)));
+
+        assertThat(authenticate(tokenService.generateToken(user))).isNull();
+    }
+
+    @Test
+    void rejectsTokensOfDeletedUsers() throws Exception {
+        when(userAuthStateCache.get(user.getId())).thenReturn(Optional.empty());
+
+        assertThat(authenticate(tokenService.generateToken(user))).isNull();
+    }
+
+    @Test
+    void servesRepeatedTokensFromTheVerifiedCache() throws Exception {
+        when(userAuthStateCache.get(user.getId())).thenReturn(Optional.of(state("USER", Instant.EPOCH)));
+        String token = tokenService.generateToken(user);
+
+        authenticate(token);
+        SecurityContextHolder.clearContext();
+        authenticate(token);
+
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "auth.tokens").tag("result", "hit")
+                .functionCounter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("auth.filter").tag("outcome", "authenticated").timer().count()).isEqualTo(2);
+    }
+
+    @Test
+    void neverCachesTamperedTokens() throws Exception {
+        String token = tokenService.generateToken(user);
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+
+        assertThat(authenticate(tampered)).isNull();
+        assertThat(authenticate(tampered)).isNull();
+
+        assertThat(meterRegistry.get("cache.size").tag("cache", "auth.tokens").gauge().value()).isZero();
+        assertThat(meterRegistry.get("auth.filter").tag("outcome", "rejected").timer().count()).isEqualTo(2);
+    }
+
+    private UserAuthState state(String role, Instant credentialsUpdatedAt) {
+        return new UserAuthState(user.getEmail(), tenantId, role, credentialsUpdatedAt);
+    }
+
+    private Authentication authenticate(String token) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(HttpHeaders.AUTHORIZATION, "Bearer " + token);
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+}
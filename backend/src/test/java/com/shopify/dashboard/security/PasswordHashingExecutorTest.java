@@ -0,0 +1,88 @@
+package com.shopify.dashboard.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.shopify.dashboard.config.AppProperties;
+import com.shopify.dashboard.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+class PasswordHashingExecutorTest {
+
+    private final CountDownLatch gate = new CountDownLatch(1);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private PasswordHashingExecutor executor;
+
+    @BeforeEach
+    void setUp() {
+        AppProperties properties = new AppProperties();
+        AppProperties.Security.PasswordHashing settings = properties.getSecurity().getPasswordHashing();
+        settings.setThreads(1);
+        settings.setQueueCapacity(1);
+        settings.setMaxInFlightPerAddress(3);
+        settings.setMaxInFlightPerEmail(1);
+        executor = new PasswordHashingExecutor(new GatedEncoder(), properties, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        gate.countDown();
+        executor.shutdown();
+    }
+
+    @Test
+    void refusesASecondConcurrentCheckForTheSameAccount() throws Exception {
+        CompletableFuture<Boolean> first = executor.matches("10.0.0.1", "owner@example.com", "secret", "secret");
+
+        assertThatThrownBy(() -> executor.matches("10.0.0.2", "Owner@Example.com", "secret", "secret"))
+                .isInstanceOf(TooManyRequestsException.class);
+
+        gate.countDown();
+        assertThat(first.get(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(executor.matches("10.0.0.2", "owner@example.com", "wrong", "secret").get(5, TimeUnit.SECONDS))
+                .isFalse();
+        assertThat(meterRegistry.get("auth.password.rejected").tag("reason", "email").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void refusesWorkOnceThePoolAndQueueAreFull() throws Exception {
+        CompletableFuture<Boolean> running = executor.matches("10.0.0.1", "a@example.com", "secret", "secret");
+        CompletableFuture<Boolean> queued = executor.matches("10.0.0.1", "b@example.com", "secret", "secret");
+
+        assertThatThrownBy(() -> executor.matches("10.0.0.2", "c@example.com", "secret", "secret"))
+                .isInstanceOf(TooManyRequestsException.class);
+        assertThat(meterRegistry.get("auth.password.rejected").tag("reason", "saturated").counter().count())
+                .isEqualTo(1);
+
+        gate.countDown();
+        CompletableFuture.allOf(running, queued).get(5, TimeUnit.SECONDS);
+        assertThat(executor.matches("10.0.0.2", "c@example.com", "secret", "secret").get(5, TimeUnit.SECONDS))
+                .isTrue();
+    }
+
+    private final class GatedEncoder implements PasswordEncoder {
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            return rawPassword.toString();
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            try {
+                gate.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            return rawPassword.toString().equals(encodedPassword);
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.shopify.dashboard.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.shopify.dashboard.dto.AuthResponse;
+import com.shopify.dashboard.dto.RegisterRequest;
+import com.shopify.dashboard.entity.Tenant;
+import com.shopify.dashboard.entity.User;
+import com.shopify.dashboard.exception.ApiException;
+import com.shopify.dashboard.repository.UserRepository;
+import com.shopify.dashboard.security.JwtTokenService;
+import com.shopify.dashboard.security.PasswordHashingExecutor;
+import com.shopify.dashboard.workload.Workload;
+import com.shopify.dashboard.workload.WorkloadExecutors;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+@ExtendWith(MockitoExtension.class)
+class AuthServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+    @Mock
+    private TenantService tenantService;
+    @Mock
+    private JwtTokenService jwtTokenService;
+    @Mock
+    private PasswordHashingExecutor passwordHashingExecutor;
+    @Mock
+    private WorkloadExecutors workloadExecutors;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    @InjectMocks
+    private AuthService authService;
+
+    private final UUID tenantId = UUID.randomUUID();
+    private final RegisterRequest request = new RegisterRequest("owner@example.com", "secret", tenantId);
+
+    @BeforeEach
+    void setUp() {
+        when(tenantService.getTenantEntity(tenantId)).thenReturn(Tenant.builder().id(tenantId).build());
+        when(passwordHashingExecutor.encode(anyString(), anyString(), anyString()))
+                .thenReturn(CompletableFuture.completedFuture("hashed"));
+        when(workloadExecutors.submit(eq(Workload.API), any())).thenAnswer(invocation ->
+                CompletableFuture.supplyAsync(invocation.<Supplier<?>>getArgument(1)));
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+    }
+
+    @Test
+    void savesTheUserOnTheApiPoolInOneTransaction() throws Exception {
+        when(userRepository.findByEmail(request.email())).thenReturn(Optional.empty());
+        when(userRepository.save(any(User.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        AuthResponse response = authService.register(request, "10.0.0.1").get(5, TimeUnit.SECONDS);
+
+        assertThat(response.tenantId()).isEqualTo(tenantId);
+        verify(workloadExecutors).submit(eq(Workload.API), any());
+        verify(transactionManager).commit(any());
+    }
+
+    @Test
+    void rollsBackWhenTheEmailWasTakenWhileHashing() {
+        when(userRepository.findByEmail(request.email()))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(User.builder().email(request.email()).build()));
+
+        assertThatThrownBy(() -> authService.register(request, "10.0.0.1").get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .cause()
+                .isInstanceOfSatisfying(ApiException.class,
+                        ex -> assertThat(ex.getStatus()).isEqualTo(HttpStatus.CONFLICT));
+        verify(userRepository, never()).save(any());
+        verify(transactionManager).rollback(any());
+    }
+}
@@ -0,0 +1,136 @@
+package com.shopify.dashboard.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.shopify.dashboard.analytics.MetricsInterval;
+import com.shopify.dashboard.config.AppProperties;
+import com.shopify.dashboard.dto.DashboardRequest;
+import com.shopify.dashboard.dto.DashboardRequest.WidgetSpec;
+import com.shopify.dashboard.dto.MetricsOverviewDto;
+import com.shopify.dashboard.dto.WidgetResult;
+import com.shopify.dashboard.entity.Tenant;
+import com.shopify.dashboard.exception.ApiException;
+import com.shopify.dashboard.workload.Workload;
+import com.shopify.dashboard.workload.WorkloadExecutors;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+
+@ExtendWith(MockitoExtension.class)
+class DashboardServiceTest {
+
+    @Mock
+    private MetricsService metricsService;
+
+    @Mock
+    private WorkloadExecutors workloadExecutors;
+
+    private AppProperties properties;
+    private DashboardService dashboardService;
+    private UUID tenantId;
+    private Tenant tenant;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(workloadExecutors.submitInterruptible(eq(Workload.API), any()))
+                .thenAnswer(invocation -> {
+                    FutureTask<Object> future = new FutureTask<>(invocation.<Callable<Object>>getArgument(1));
+                    future.run();
+                    return future;
+                });
+        properties = new AppProperties();
+        dashboardService = new DashboardService(metricsService, workloadExecutors, properties);
+        tenantId = UUID.randomUUID();
+        tenant = Tenant.builder().id(tenantId).shopDomain("demo.myshopify.com").build();
+    }
+
+    @Test
+    void keysResultsByWidget() {
+        MetricsOverviewDto overview = new MetricsOverviewDto(1, 2, 3, BigDecimal.TEN, null);
+        when(metricsService.getOverview(tenant)).thenReturn(overview);
+        when(metricsService.getRecentOrders(tenantId, 10)).thenReturn(List.of());
+
+        Map<String, WidgetResult> results = dashboardService.load(tenant, new DashboardRequest(List.of(
+                widget(null, "overview"), widget("latest", "recent-orders"))));
+
+        assertThat(results).containsOnlyKeys("overview", "latest");
+        assertThat(results.get("overview").data()).isEqualTo(overview);
+        assertThat(results.get("latest").success()).isTrue();
+    }
+
+    @Test
+    void reportsFailingWidgetWithoutFailingOthers() {
+        LocalDate day = LocalDate.of(2024, 1, 1);
+        when(metricsService.getOrderMetrics(eq(tenant), eq(day), eq(day), eq(MetricsInterval.DAY), any()))
+                .thenThrow(new ApiException("maxPoints must be at least 3", HttpStatus.BAD_REQUEST));
+        when(metricsService.getTopCustomers(tenantId, 5)).thenReturn(List.of());
+
+        Map<String, WidgetResult> results = dashboardService.load(tenant, new DashboardRequest(List.of(
+                new WidgetSpec(null, "orders", day, day, null, 2, null), widget(null, "top_customers"))));
+
+        assertThat(results.get("orders").success()).isFalse();
+        assertThat(results.get("orders").message()).isEqualTo("maxPoints must be at least 3");
+        assertThat(results.get("top_customers").success()).isTrue();
+    }
+
+    @Test
+    void rejectsInvalidSpecsBeforeRunningAnything() {
+        assertThrows(ApiException.class, () -> dashboardService.load(tenant, new DashboardRequest(List.of(
+                widget(null, "overview"), widget(null, "unique_customers")))));
+        assertThrows(ApiException.class, () -> dashboardService.load(tenant, new DashboardRequest(List.of(
+                widget(null, "overview"), widget(null, "overview")))));
+        verifyNoInteractions(metricsService);
+    }
+
+    @Test
+    void interruptsWidgetsStillRunningAtTheDeadline() throws InterruptedException {
+        properties.getDashboard().setWidgetTimeoutMs(50);
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        doAnswer(invocation -> pool.submit(invocation.<Callable<Object>>getArgument(1)))
+                .when(workloadExecutors).submitInterruptible(eq(Workload.API), any());
+        CountDownLatch interrupted = new CountDownLatch(1);
+        when(metricsService.getOverview(tenant)).thenAnswer(invocation -> {
+            try {
+                Thread.sleep(10_000);
+            } catch (InterruptedException ex) {
+                interrupted.countDown();
+            }
+            return null;
+        });
+
+        try {
+            Map<String, WidgetResult> results = dashboardService.load(tenant, new DashboardRequest(List.of(
+                    widget(null, "overview"))));
+
+            assertThat(results.get("overview").message()).isEqualTo("Widget timed out");
+            assertThat(interrupted.await(5, TimeUnit.SECONDS)).isTrue();
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private static WidgetSpec widget(String id, String type) {
+        return new WidgetSpec(id, type, null, null, null, null, null);
+    }
+}
@@ -7,7 +7,9 @@ import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.when;
 
+import com.shopify.dashboard.config.AppProperties;
 import com.shopify.dashboard.dto.CreateProductRequest;
+import com.shopify.dashboard.dto.CursorPage;
 import com.shopify.dashboard.dto.ProductResponse;
 import com.shopify.dashboard.entity.Product;
 import com.shopify.dashboard.entity.Tenant;
@@ -23,6 +25,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 @ExtendWith(MockitoExtension.class)
@@ -31,39 +34,53 @@ class ProductServiceTest {
     @Mock
     private ProductRepository productRepository;
 
-    @Mock
-    private TenantService tenantService;
+    @Spy
+    private AppProperties properties = new AppProperties();
 
     @InjectMocks
     private ProductService productService;
 
     private UUID tenantId;
+    private Tenant tenant;
 
     @BeforeEach
     void setUp() {
         tenantId = UUID.randomUUID();
-        when(tenantService.getTenantEntity(tenantId))
-                .thenReturn(Tenant.builder().id(tenantId).shopDomain("demo").build());
+        tenant = Tenant.builder().id(tenantId).shopDomain("demo").build();
     }
 
     @Test
     void listProductsReturnsMappedResponses() {
-        Product product = Product.builder()
-                .id(UUID.randomUUID())
-                .tenantId(tenantId)
-                .shopProductId(1001L)
-                .title("Aurora Sofa")
-                .price(new BigDecimal("1899.00"))
-                .createdAt(Instant.now())
-                .updatedAt(Instant.now())
-                .build();
-        when(productRepository.findAllByTenantId(tenantId)).thenReturn(List.of(product));
+        Product product = product("Aurora Sofa", 1001L);
+        when(productRepository.findFirstPage(tenantId, 51)).thenReturn(List.of(product));
 
-        List<ProductResponse> responses = productService.listProducts(tenantId);
+        CursorPage<ProductResponse> page = productService.listProducts(tenant, null, null);
 
-        assertThat(responses).hasSize(1);
-        assertThat(responses.get(0).title()).isEqualTo("Aurora Sofa");
-        assertThat(responses.get(0).shopProductId()).isEqualTo(1001L);
+        assertThat(page.items()).hasSize(1);
+        assertThat(page.items().get(0).title()).isEqualTo("Aurora Sofa");
+        assertThat(page.items().get(0).shopProductId()).isEqualTo(1001L);
+        assertThat(page.nextCursor()).isNull();
+    }
+
+    @Test
+    void listProductsContinuesAfterCursorOfLastReturnedRow() {
+        Product first = product("Aurora Sofa", 1001L);
+        Product second = product("Birch Table", 1002L);
+        when(productRepository.findFirstPage(tenantId, 2)).thenReturn(List.of(first, second));
+        when(productRepository.findPageAfter(tenantId, first.getCreatedAt(), first.getId(), 2))
+                .thenReturn(List.of(second));
+
+        CursorPage<ProductResponse> page = productService.listProducts(tenant, null, 1);
+        CursorPage<ProductResponse> next = productService.listProducts(tenant, page.nextCursor(), 1);
+
+        assertThat(page.items()).extracting(ProductResponse::title).containsExactly("Aurora Sofa");
+        assertThat(next.items()).extracting(ProductResponse::title).containsExactly("Birch Table");
+        assertThat(next.nextCursor()).isNull();
+    }
+
+    @Test
+    void listProductsRejectsMalformedCursor() {
+        assertThrows(ApiException.class, () -> productService.listProducts(tenant, "not-a-cursor", null));
     }
 
     @Test
@@ -71,7 +88,7 @@ class ProductServiceTest {
         when(productRepository.findByTenantIdAndShopProductId(tenantId, 2002L)).thenReturn(Optional.of(Product.builder().build()));
         CreateProductRequest request = new CreateProductRequest("Duplicate", 2002L, BigDecimal.ONE);
 
-        assertThrows(ApiException.class, () -> productService.createProduct(tenantId, request));
+        assertThrows(ApiException.class, () -> productService.createProduct(tenant, request));
     }
 
     @Test
@@ -89,9 +106,21 @@ class ProductServiceTest {
         when(productRepository.save(any(Product.class))).thenReturn(saved);
 
         CreateProductRequest request = new CreateProductRequest("New Lamp", null, BigDecimal.TEN);
-        ProductResponse response = productService.createProduct(tenantId, request);
+        ProductResponse response = productService.createProduct(tenant, request);
 
         assertThat(response.shopProductId()).isEqualTo(5555L);
         assertThat(response.title()).isEqualTo("New Lamp");
     }
+
+    private Product product(String title, long shopProductId) {
+        return Product.builder()
+                .id(UUID.randomUUID())
+                .tenantId(tenantId)
+                .shopProductId(shopProductId)
+                .title(title)
+                .price(new BigDecimal("1899.00"))
+                .createdAt(Instant.now())
+                .updatedAt(Instant.now())
+                .build();
+    }
 }
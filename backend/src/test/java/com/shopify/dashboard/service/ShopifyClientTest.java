@@ -0,0 +1,144 @@
+package com.shopify.dashboard.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shopify.dashboard.config.AppProperties;
+import com.shopify.dashboard.config.WebClientConfig;
+import com.shopify.dashboard.dto.shopify.ShopifyOrdersResponse.ShopifyOrder;
+import com.shopify.dashboard.exception.ShopifyClientException;
+import com.shopify.dashboard.stub.ShopifyStubServer;
+import com.shopify.dashboard.util.HmacVerifier;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+class ShopifyClientTest {
+
+    private static final String SHOP = "bench.myshopify.com";
+
+    private final AppProperties properties = new AppProperties();
+    private final HmacVerifier hmacVerifier = new HmacVerifier();
+    private ShopifyStubServer stub;
+
+    @BeforeEach
+    void setUp() {
+        properties.getShopify().setApiVersion("2024-10");
+        properties.getShopify().setWebhookSecret("stub-secret");
+        properties.getShopify().setRequestTimeoutMs(5000);
+        properties.getShopify().setRateLimitBackoffSeconds(1);
+        AppProperties.Shopify.Stub settings = properties.getShopify().getStub();
+        settings.setPort(0);
+        settings.setCustomers(300);
+        settings.setOrders(1_234);
+        settings.setProducts(10);
+        settings.setEndDate("2026-01-01");
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (stub != null) {
+            stub.stop();
+        }
+    }
+
+    @Test
+    void followsLinkHeadersThroughEveryPage() {
+        properties.getShopify().getStub().setLeakRatePerSecond(1_000);
+        ShopifyClient client = startStubAndClient();
+
+        List<ShopifyOrder> orders = new ArrayList<>();
+        List<Integer> pageSizes = new ArrayList<>();
+        long total = client.fetchOrders(SHOP, "token", page -> {
+            pageSizes.add(page.size());
+            orders.addAll(page);
+        });
+
+        assertThat(total).isEqualTo(1_234);
+        assertThat(pageSizes).containsExactly(250, 250, 250, 250, 234);
+        Set<Long> ids = new HashSet<>();
+        orders.forEach(order -> ids.add(order.id()));
+        assertThat(ids).hasSize(1_234);
+        assertThat(orders.get(1_233)).isEqualTo(stub.shop(SHOP).order(1_233));
+    }
+
+    @Test
+    void slowsDownBeforeTheCallLimitAndRecoversFromRateLimits() {
+        properties.getShopify().setPageSize(10);
+        properties.getShopify().getStub().setBucketCapacity(4);
+        properties.getShopify().getStub().setLeakRatePerSecond(20);
+        properties.getShopify().setCallLimitHeadroom(2);
+        properties.getShopify().setLeakRatePerSecond(20);
+        ShopifyClient client = startStubAndClient();
+
+        assertThat(client.fetchCustomers(SHOP, "token", page -> { })).isEqualTo(300);
+
+        properties.getShopify().setCallLimitHeadroom(0);
+        properties.getShopify().setPageSize(50);
+        assertThat(client.fetchCustomers(SHOP, "token", page -> { })).isEqualTo(300);
+    }
+
+    @Test
+    void deliversSignedWebhooks() {
+        Map<String, String> received = new ConcurrentHashMap<>();
+        DisposableServer receiver = HttpServer.create()
+                .port(0)
+                .handle((request, response) -> request.receive().aggregate().asString().flatMap(body -> {
+                    boolean valid = hmacVerifier.isValid(body, request.requestHeaders().get("X-Shopify-Hmac-Sha256"),
+                            "stub-secret");
+                    received.put(body, request.requestHeaders().get("X-Shopify-Topic") + ":" + valid);
+                    return response.status(200).send().then();
+                }))
+                .bindNow();
+        try {
+            startStubAndClient();
+            Map<String, Object> result = WebClient.create()
+                    .post()
+                    .uri(URI.create("http://localhost:%d/%s/webhooks?topic=orders/create&count=25&target=%s"
+                            .formatted(stub.port(), SHOP, "http://localhost:" + receiver.port() + "/hooks")))
+                    .retrieve()
+                    .bodyToMono(new ParameterizedTypeReference<Map<String, Object>>() { })
+                    .block();
+
+            assertThat(result).containsEntry("sent", 25).containsEntry("failed", 0);
+            assertThat(received).hasSize(25).allSatisfy((body, header) ->
+                    assertThat(header).isEqualTo("orders/create:true"));
+        } finally {
+            receiver.disposeNow();
+        }
+    }
+
+    @Test
+    void followsNextLinksOnlyWithinTheShopOfTheFirstPage() {
+        URI first = URI.create("https://bench.myshopify.com/admin/api/2024-10/orders.json?limit=250");
+
+        assertThat(ShopifyClient.nextPage(
+                "<https://bench.myshopify.com/admin/api/2024-10/orders.json?page_info=abc>; rel=\"next\"", first))
+                .isEqualTo(URI.create("https://bench.myshopify.com/admin/api/2024-10/orders.json?page_info=abc"));
+        assertThatThrownBy(() -> ShopifyClient.nextPage(
+                "<https://attacker.example/admin/api/2024-10/orders.json?page_info=abc>; rel=\"next\"", first))
+                .isInstanceOf(ShopifyClientException.class);
+        assertThatThrownBy(() -> ShopifyClient.nextPage(
+                "<http://bench.myshopify.com/admin/api/2024-10/orders.json?page_info=abc>; rel=\"next\"", first))
+                .isInstanceOf(ShopifyClientException.class);
+    }
+
+    private ShopifyClient startStubAndClient() {
+        stub = new ShopifyStubServer(properties, hmacVerifier, new ObjectMapper());
+        stub.start();
+        properties.getShopify().setBaseUrl("http://localhost:" + stub.port() + "/{shop}");
+        return new ShopifyClient(new WebClientConfig().shopifyWebClient(properties), properties);
+    }
+}
@@ -0,0 +1,186 @@
+package com.shopify.dashboard.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shopify.dashboard.archive.OrderArchiveService;
+import com.shopify.dashboard.dto.shopify.ShopifyOrdersResponse;
+import com.shopify.dashboard.entity.Customer;
+import com.shopify.dashboard.entity.Order;
+import com.shopify.dashboard.entity.Product;
+import com.shopify.dashboard.entity.Tenant;
+import com.shopify.dashboard.event.CustomerUpsertedEvent;
+import com.shopify.dashboard.monitoring.SyncMetrics;
+import com.shopify.dashboard.repository.CustomerRepository;
+import com.shopify.dashboard.repository.OrderRepository;
+import com.shopify.dashboard.repository.OrderRollupRepository;
+import com.shopify.dashboard.repository.ProductRepository;
+import com.shopify.dashboard.repository.TenantRepository;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+
+@ExtendWith(MockitoExtension.class)
+class ShopifyIngestionServiceTest {
+
+    @Mock
+    private ShopifyClient shopifyClient;
+    @Mock
+    private MockShopifyDataService mockShopifyDataService;
+    @Mock
+    private CustomerRepository customerRepository;
+    @Mock
+    private OrderRepository orderRepository;
+    @Mock
+    private ProductRepository productRepository;
+    @Mock
+    private TenantRepository tenantRepository;
+    @Mock
+    private SyncMetrics syncMetrics;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    @Mock
+    private OrderRollupRepository rollupRepository;
+    @Mock
+    private OrderArchiveService orderArchiveService;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final Tenant tenant = Tenant.builder().id(UUID.randomUUID()).shopDomain("demo.myshopify.com").build();
+    private ShopifyIngestionService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new ShopifyIngestionService(shopifyClient, mockShopifyDataService, customerRepository,
+                orderRepository, productRepository, tenantRepository, new ObjectMapper(), syncMetrics,
+                eventPublisher, rollupRepository, orderArchiveService, transactionManager);
+    }
+
+    @Test
+    void movesAnOrderFirstStoredWithoutItsCreatedAtOnceTheRealValueArrives() {
+        Instant createdAt = Instant.parse("2024-03-01T10:00:00Z");
+        Instant ingestedAt = Instant.parse("2024-03-02T08:30:00Z");
+        Order stored = Order.builder()
+                .id(UUID.randomUUID())
+                .tenantId(tenant.getId())
+                .shopOrderId(42L)
+                .totalPriceMinor(1000)
+                .currency("USD")
+                .createdAt(ingestedAt)
+                .createdAtFallback(true)
+                .build();
+        when(orderRepository.findByTenantIdAndShopOrderIdAndCreatedAt(tenant.getId(), 42L, createdAt))
+                .thenReturn(Optional.empty());
+        when(orderRepository.findByTenantIdAndShopOrderIdAndCreatedAtFallbackTrue(tenant.getId(), 42L))
+                .thenReturn(Optional.of(stored));
+        when(orderRepository.save(stored)).thenReturn(stored);
+
+        service.upsertOrderFromWebhook(tenant, """
+                {"id": 42, "name": "#1042", "total_price": "12.50", "currency": "USD",
+                 "created_at": "2024-03-01T10:00:00Z", "updated_at": "2024-03-03T09:00:00Z"}
+                """);
+
+        verify(orderRepository).correctCreatedAt(tenant.getId(), stored.getId(), ingestedAt, createdAt);
+        assertThat(stored.getCreatedAt()).isEqualTo(createdAt);
+        assertThat(stored.isCreatedAtFallback()).isFalse();
+        assertThat(stored.getTotalPriceMinor()).isEqualTo(1250);
+        verify(orderRepository, never()).save(argThat(order -> order != stored));
+        verify(rollupRepository).apply(eq(tenant.getId()), any(), eq(ingestedAt), eq("USD"), eq(-1L), eq(-1000L));
+        verify(rollupRepository).apply(eq(tenant.getId()), any(), eq(createdAt), eq("USD"), eq(1L), eq(1250L));
+    }
+
+    @Test
+    void insertsANewOrderWithoutLookingItUpAcrossEveryPartition() {
+        Instant createdAt = Instant.parse("2024-03-01T10:00:00Z");
+        when(orderRepository.findByTenantIdAndShopOrderIdAndCreatedAt(tenant.getId(), 42L, createdAt))
+                .thenReturn(Optional.empty());
+        when(orderRepository.findByTenantIdAndShopOrderIdAndCreatedAtFallbackTrue(tenant.getId(), 42L))
+                .thenReturn(Optional.empty());
+        when(orderRepository.save(any(Order.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        service.upsertOrderFromWebhook(tenant, """
+                {"id": 42, "name": "#1042", "total_price": "12.50", "currency": "USD",
+                 "created_at": "2024-03-01T10:00:00Z"}
+                """);
+
+        verify(orderRepository, never()).findByTenantIdAndShopOrderId(any(), any());
+        verify(orderRepository).save(argThat(order -> createdAt.equals(order.getCreatedAt())
+                && !order.isCreatedAtFallback()));
+    }
+
+    @Test
+    void flagsAnOrderStoredWithoutItsCreatedAt() {
+        when(orderRepository.findByTenantIdAndShopOrderId(tenant.getId(), 42L)).thenReturn(Optional.empty());
+        when(orderRepository.save(any(Order.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        service.upsertOrderFromWebhook(tenant, """
+                {"id": 42, "name": "#1042", "total_price": "12.50", "currency": "USD"}
+                """);
+
+        verify(orderRepository).save(argThat(order -> order.isCreatedAtFallback() && order.getCreatedAt() != null));
+    }
+
+    @Test
+    void commitsEachPageOfASyncBeforeFetchingTheNext() {
+        when(shopifyClient.fetchOrders(eq(tenant.getShopDomain()), any(), any())).thenAnswer(invocation -> {
+            Consumer<List<ShopifyOrdersResponse.ShopifyOrder>> pages = invocation.getArgument(2);
+            pages.accept(List.of(order(1L)));
+            pages.accept(List.of(order(2L)));
+            return 2L;
+        });
+        when(orderRepository.save(any(Order.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        service.syncTenant(tenant);
+
+        InOrder inOrder = inOrder(transactionManager, orderRepository);
+        inOrder.verify(transactionManager).getTransaction(any());
+        inOrder.verify(orderRepository).save(argThat(order -> order.getShopOrderId() == 1L));
+        inOrder.verify(transactionManager).commit(any());
+        inOrder.verify(transactionManager).getTransaction(any());
+        inOrder.verify(orderRepository).save(argThat(order -> order.getShopOrderId() == 2L));
+        inOrder.verify(transactionManager).commit(any());
+    }
+
+    @Test
+    void upsertsCustomerAndProductWebhooksInTheirOwnTransactions() {
+        when(customerRepository.save(any(Customer.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        service.upsertCustomerFromWebhook(tenant, """
+                {"id": 7, "email": "buyer@example.com", "created_at": "2024-03-01T10:00:00Z"}
+                """);
+        service.upsertProductFromWebhook(tenant, """
+                {"id": 9, "title": "Mug", "variants": [{"price": "12.00"}]}
+                """);
+
+        InOrder inOrder = inOrder(transactionManager, customerRepository, eventPublisher, productRepository);
+        inOrder.verify(transactionManager).getTransaction(any());
+        inOrder.verify(customerRepository).save(any(Customer.class));
+        inOrder.verify(eventPublisher).publishEvent(any(CustomerUpsertedEvent.class));
+        inOrder.verify(transactionManager).commit(any());
+        inOrder.verify(transactionManager).getTransaction(any());
+        inOrder.verify(productRepository).save(any(Product.class));
+        inOrder.verify(transactionManager).commit(any());
+    }
+
+    private static ShopifyOrdersResponse.ShopifyOrder order(long id) {
+        return new ShopifyOrdersResponse.ShopifyOrder(id, "#" + id, "10.00", "USD", "2024-03-01T10:00:00Z",
+                "2024-03-01T10:00:00Z", null, null);
+    }
+}
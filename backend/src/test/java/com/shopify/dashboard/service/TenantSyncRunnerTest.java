@@ -0,0 +1,96 @@
+package com.shopify.dashboard.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.shopify.dashboard.config.AppProperties;
+import com.shopify.dashboard.dto.SyncResponse;
+import com.shopify.dashboard.entity.Tenant;
+import com.shopify.dashboard.exception.ApiException;
+import com.shopify.dashboard.repository.TenantSyncLeaseRepository;
+import com.shopify.dashboard.workload.WorkloadExecutors;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+
+@ExtendWith(MockitoExtension.class)
+class TenantSyncRunnerTest {
+
+    @Mock
+    private ShopifyIngestionService ingestionService;
+
+    @Mock
+    private TenantSyncLeaseRepository leaseRepository;
+
+    private final Tenant tenant = Tenant.builder().id(UUID.randomUUID()).shopDomain("demo.myshopify.com").build();
+    private TenantSyncRunner runner;
+
+    @BeforeEach
+    void setUp() {
+        AppProperties properties = new AppProperties();
+        runner = new TenantSyncRunner(ingestionService, new WorkloadExecutors(properties, new SimpleMeterRegistry()),
+                leaseRepository, properties);
+    }
+
+    @Test
+    void refusesASecondSyncOfATenantUntilTheFirstFinishes() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        SyncResponse response = new SyncResponse(tenant.getId(), Instant.now(), Instant.now(), 0, 0, 0);
+        when(leaseRepository.acquire(eq(tenant.getId()), any(), any())).thenReturn(true);
+        when(ingestionService.syncTenant(tenant)).thenAnswer(invocation -> {
+            release.await();
+            return response;
+        });
+
+        CompletableFuture<SyncResponse> first = runner.submit(tenant);
+
+        assertThat(runner.isRunning(tenant.getId())).isTrue();
+        assertThatThrownBy(() -> runner.submit(tenant))
+                .isInstanceOfSatisfying(ApiException.class,
+                        ex -> assertThat(ex.getStatus()).isEqualTo(HttpStatus.CONFLICT));
+
+        release.countDown();
+        assertThat(first.join()).isSameAs(response);
+        assertThat(runner.isRunning(tenant.getId())).isFalse();
+        assertThat(runner.submit(tenant).join()).isSameAs(response);
+        verify(leaseRepository, times(2)).release(eq(tenant.getId()), any());
+    }
+
+    @Test
+    void refusesATenantWhoseLeaseIsHeldByAnotherInstance() {
+        when(leaseRepository.acquire(eq(tenant.getId()), any(), any())).thenReturn(false);
+        when(leaseRepository.isLeased(tenant.getId())).thenReturn(true);
+
+        assertThatThrownBy(() -> runner.submit(tenant))
+                .isInstanceOfSatisfying(ApiException.class,
+                        ex -> assertThat(ex.getStatus()).isEqualTo(HttpStatus.CONFLICT));
+
+        verifyNoInteractions(ingestionService);
+        assertThat(runner.isRunning(tenant.getId())).isTrue();
+    }
+
+    @Test
+    void releasesTheTenantWhenTheSyncFails() {
+        when(leaseRepository.acquire(eq(tenant.getId()), any(), any())).thenReturn(true);
+        when(ingestionService.syncTenant(tenant)).thenThrow(new IllegalStateException("shopify down"));
+
+        assertThatThrownBy(() -> WorkloadExecutors.await(runner.submit(tenant)))
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(runner.isRunning(tenant.getId())).isFalse();
+        verify(leaseRepository).release(eq(tenant.getId()), any());
+    }
+}
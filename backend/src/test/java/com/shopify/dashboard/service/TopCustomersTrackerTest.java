@@ -0,0 +1,100 @@
+package com.shopify.dashboard.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.shopify.dashboard.config.AppProperties;
+import com.shopify.dashboard.dto.TopCustomerDto;
+import com.shopify.dashboard.entity.Customer;
+import com.shopify.dashboard.event.CustomerUpsertedEvent;
+import com.shopify.dashboard.repository.CustomerRepository;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+
+@ExtendWith(MockitoExtension.class)
+class TopCustomersTrackerTest {
+
+    @Mock
+    private CustomerRepository customerRepository;
+
+    private TopCustomersTracker tracker;
+    private UUID tenantId;
+
+    @BeforeEach
+    void setUp() {
+        AppProperties properties = new AppProperties();
+        properties.getMetrics().setTopCustomersCapacity(3);
+        tracker = new TopCustomersTracker(customerRepository, properties);
+        tenantId = UUID.randomUUID();
+    }
+
+    @Test
+    void servesRepeatedReadsFromMemoryAfterSeeding() {
+        when(customerRepository.findByTenantIdOrderByTotalSpentDesc(eq(tenantId), any(Pageable.class)))
+                .thenReturn(List.of(customer("Ada", "500"), customer("Bo", "300")));
+
+        tracker.topCustomers(tenantId, 2);
+        List<TopCustomerDto> top = tracker.topCustomers(tenantId, 2);
+
+        assertThat(top).extracting(TopCustomerDto::firstName).containsExactly("Ada", "Bo");
+        verify(customerRepository, times(1)).findByTenantIdOrderByTotalSpentDesc(eq(tenantId), any(Pageable.class));
+    }
+
+    @Test
+    void promotesUpsertedCustomerWithoutQuerying() {
+        Customer ada = customer("Ada", "500");
+        when(customerRepository.findByTenantIdOrderByTotalSpentDesc(eq(tenantId), any(Pageable.class)))
+                .thenReturn(List.of(ada, customer("Bo", "300")));
+        tracker.topCustomers(tenantId, 2);
+
+        Customer cy = customer("Cy", "900");
+        tracker.onCustomerUpserted(CustomerUpsertedEvent.from(cy, true));
+        ada.setTotalSpent(new BigDecimal("100"));
+        tracker.onCustomerUpserted(CustomerUpsertedEvent.from(ada, false));
+
+        assertThat(tracker.topCustomers(tenantId, 3)).extracting(TopCustomerDto::firstName)
+                .containsExactly("Cy", "Bo", "Ada");
+        verify(customerRepository, times(1)).findByTenantIdOrderByTotalSpentDesc(eq(tenantId), any(Pageable.class));
+    }
+
+    @Test
+    void reseedsWhenDemotionLeavesTooFewKnownLeaders() {
+        Customer ada = customer("Ada", "500");
+        Customer bo = customer("Bo", "300");
+        Customer cy = customer("Cy", "200");
+        when(customerRepository.findByTenantIdOrderByTotalSpentDesc(eq(tenantId), any(Pageable.class)))
+                .thenReturn(List.of(ada, bo, cy))
+                .thenReturn(List.of(bo, cy, customer("Dee", "150")));
+        tracker.topCustomers(tenantId, 3);
+
+        ada.setTotalSpent(new BigDecimal("10"));
+        tracker.onCustomerUpserted(CustomerUpsertedEvent.from(ada, false));
+
+        assertThat(tracker.topCustomers(tenantId, 3)).extracting(TopCustomerDto::firstName)
+                .containsExactly("Bo", "Cy", "Dee");
+        verify(customerRepository, times(2)).findByTenantIdOrderByTotalSpentDesc(eq(tenantId), any(Pageable.class));
+    }
+
+    private Customer customer(String firstName, String totalSpent) {
+        return Customer.builder()
+                .id(UUID.randomUUID())
+                .tenantId(tenantId)
+                .shopCustomerId(Math.abs(firstName.hashCode()) + 1L)
+                .firstName(firstName)
+                .totalSpent(new BigDecimal(totalSpent))
+                .updatedAt(Instant.now())
+                .build();
+    }
+}
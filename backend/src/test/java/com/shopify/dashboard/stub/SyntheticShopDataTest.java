@@ -0,0 +1,50 @@
+package com.shopify.dashboard.stub;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.shopify.dashboard.dto.shopify.ShopifyOrdersResponse.ShopifyOrder;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class SyntheticShopDataTest {
+
+    private static final Instant END = Instant.parse("2026-01-01T00:00:00Z");
+
+    @Test
+    void sameSeedYieldsTheSameShop() {
+        SyntheticShopData first = new SyntheticShopData(7, 1_000, 5_000, 100, END, Duration.ofDays(90));
+        SyntheticShopData second = new SyntheticShopData(7, 1_000, 5_000, 100, END, Duration.ofDays(90));
+        SyntheticShopData other = new SyntheticShopData(8, 1_000, 5_000, 100, END, Duration.ofDays(90));
+
+        assertThat(second.orders(4_000, 50)).isEqualTo(first.orders(4_000, 50));
+        assertThat(second.customer(999)).isEqualTo(first.customer(999));
+        assertThat(other.orders(4_000, 50)).isNotEqualTo(first.orders(4_000, 50));
+    }
+
+    @Test
+    void ordersGrowInIdAndTimeAndReferenceGeneratedCustomers() {
+        SyntheticShopData shop = new SyntheticShopData(1, 200, 2_000, 10, END, Duration.ofDays(30));
+
+        List<ShopifyOrder> orders = shop.orders(0, 2_000);
+
+        assertThat(orders).hasSize(2_000);
+        for (int i = 1; i < orders.size(); i++) {
+            assertThat(orders.get(i).id()).isGreaterThan(orders.get(i - 1).id());
+            assertThat(Instant.parse(orders.get(i).created_at()))
+                    .isAfterOrEqualTo(Instant.parse(orders.get(i - 1).created_at()));
+        }
+        assertThat(Instant.parse(orders.get(orders.size() - 1).created_at())).isBefore(END);
+        orders.stream().filter(order -> order.customer() != null).forEach(order -> assertThat(order.customer().id())
+                .isBetween(SyntheticShopData.CUSTOMER_ID_BASE, SyntheticShopData.CUSTOMER_ID_BASE + 199));
+    }
+
+    @Test
+    void pagesStopAtTheConfiguredCount() {
+        SyntheticShopData shop = new SyntheticShopData(1, 120, 0, 0, END, Duration.ofDays(30));
+
+        assertThat(shop.customers(100, 50)).hasSize(20);
+        assertThat(shop.customers(120, 50)).isEmpty();
+    }
+}
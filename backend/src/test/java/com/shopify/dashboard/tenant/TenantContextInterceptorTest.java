@@ -0,0 +1,90 @@
+package com.shopify.dashboard.tenant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.shopify.dashboard.entity.Tenant;
+import com.shopify.dashboard.exception.ApiException;
+import com.shopify.dashboard.security.UserPrincipal;
+import java.util.Map;
+import java.util.UUID;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.servlet.HandlerMapping;
+
+@ExtendWith(MockitoExtension.class)
+class TenantContextInterceptorTest {
+
+    @Mock
+    private TenantRegistry tenantRegistry;
+
+    private final UUID tenantId = UUID.randomUUID();
+    private final Tenant tenant = Tenant.builder().id(tenantId).shopDomain("demo.myshopify.com").build();
+    private TenantContextInterceptor interceptor;
+
+    @BeforeEach
+    void setUp() {
+        interceptor = new TenantContextInterceptor(tenantRegistry);
+    }
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void resolvesTheTokenTenantOntoTheRequest() {
+        authenticate(tenantId, "TENANT_ADMIN");
+        when(tenantRegistry.get(tenantId)).thenReturn(tenant);
+        MockHttpServletRequest request = request(tenantId);
+
+        assertThat(interceptor.preHandle(request, new MockHttpServletResponse(), new Object())).isTrue();
+
+        assertThat(TenantContext.get(request)).isSameAs(tenant);
+    }
+
+    @Test
+    void refusesAnotherTenantBeforeLookingItUp() {
+        authenticate(UUID.randomUUID(), "TENANT_ADMIN");
+
+        assertThatThrownBy(() -> interceptor.preHandle(request(tenantId), new MockHttpServletResponse(), new Object()))
+                .isInstanceOfSatisfying(ApiException.class,
+                        ex -> assertThat(ex.getStatus()).isEqualTo(HttpStatus.FORBIDDEN));
+        verifyNoInteractions(tenantRegistry);
+    }
+
+    @Test
+    void letsPlatformAdminsReachAnyTenant() {
+        authenticate(null, TenantContextInterceptor.PLATFORM_ADMIN);
+        when(tenantRegistry.get(tenantId)).thenReturn(tenant);
+        MockHttpServletRequest request = request(tenantId);
+
+        interceptor.preHandle(request, new MockHttpServletResponse(), new Object());
+
+        assertThat(TenantContext.get(request)).isSameAs(tenant);
+    }
+
+    private void authenticate(UUID userTenantId, String role) {
+        UserPrincipal principal = new UserPrincipal(UUID.randomUUID(), "user@example.com", null, userTenantId, role);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+    }
+
+    private MockHttpServletRequest request(UUID pathTenantId) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/" + pathTenantId + "/orders");
+        request.setAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE,
+                Map.of("tenantId", pathTenantId.toString()));
+        return request;
+    }
+}
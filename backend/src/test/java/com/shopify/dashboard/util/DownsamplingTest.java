@@ -0,0 +1,31 @@
+package com.shopify.dashboard.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+class DownsamplingTest {
+
+    @Test
+    void keepsEndpointsAndPeaks() {
+        List<double[]> series = IntStream.range(0, 100)
+                .mapToObj(i -> new double[] {i, i == 37 ? 500 : i == 71 ? -300 : 10})
+                .toList();
+
+        List<double[]> sampled = Downsampling.lttb(series, 10, point -> point[0], point -> point[1]);
+
+        assertThat(sampled).hasSize(10);
+        assertThat(sampled.get(0)[0]).isEqualTo(0);
+        assertThat(sampled.get(9)[0]).isEqualTo(99);
+        assertThat(sampled).extracting(point -> point[0]).contains(37.0, 71.0);
+    }
+
+    @Test
+    void returnsSeriesUntouchedWhenAlreadySmallEnough() {
+        List<double[]> series = List.of(new double[] {0, 1}, new double[] {1, 2});
+
+        assertThat(Downsampling.lttb(series, 10, point -> point[0], point -> point[1])).isSameAs(series);
+    }
+}
@@ -0,0 +1,57 @@
+package com.shopify.dashboard.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import org.junit.jupiter.api.Test;
+
+class MoneyUnitsTest {
+
+    @Test
+    void parsesPlainDecimalsIntoMinorUnitsOfTheCurrency() {
+        assertThat(MoneyUnits.parseMinor("19.90", "USD")).isEqualTo(1990);
+        assertThat(MoneyUnits.parseMinor("19.9", "USD")).isEqualTo(1990);
+        assertThat(MoneyUnits.parseMinor("19", "USD")).isEqualTo(1900);
+        assertThat(MoneyUnits.parseMinor(".5", "USD")).isEqualTo(50);
+        assertThat(MoneyUnits.parseMinor("1500", "JPY")).isEqualTo(1500);
+        assertThat(MoneyUnits.parseMinor("1.250", "KWD")).isEqualTo(1250);
+        assertThat(MoneyUnits.parseMinor("-3.10", "EUR")).isEqualTo(-310);
+    }
+
+    @Test
+    void roundsExtraFractionDigitsHalfUpLikeBigDecimal() {
+        for (String amount : new String[] {"1.005", "1.0049", "2.995", "-1.005", "0.125", "1500.5", "7.99999"}) {
+            for (String currency : new String[] {"USD", "JPY", "KWD"}) {
+                assertThat(MoneyUnits.parseMinor(amount, currency))
+                        .as("%s %s", amount, currency)
+                        .isEqualTo(MoneyUnits.toMinor(new BigDecimal(amount), currency));
+            }
+        }
+    }
+
+    @Test
+    void fallsBackForUnusualInputAndTreatsGarbageAsZero() {
+        assertThat(MoneyUnits.parseMinor("1.5E2", "USD")).isEqualTo(15000);
+        assertThat(MoneyUnits.parseMinor("abc", "USD")).isZero();
+        assertThat(MoneyUnits.parseMinor("  ", "USD")).isZero();
+        assertThat(MoneyUnits.parseMinor(null, "USD")).isZero();
+    }
+
+    @Test
+    void treatsAmountsOutsideTheLongRangeAsZeroWithoutExpandingTheExponent() {
+        assertThat(MoneyUnits.parseMinor("1e30", "USD")).isZero();
+        assertThat(MoneyUnits.parseMinor("-1e30", "USD")).isZero();
+        assertThat(MoneyUnits.parseMinor("92233720368547758.08", "USD")).isZero();
+        assertThat(MoneyUnits.parseMinor("92233720368547758.07", "USD")).isEqualTo(Long.MAX_VALUE);
+        assertThat(MoneyUnits.parseMinor("1e999999999", "USD")).isZero();
+        assertThat(MoneyUnits.parseMinor("1e-999999999", "USD")).isZero();
+        assertThat(MoneyUnits.parseMinor("5e-3", "USD")).isEqualTo(1);
+    }
+
+    @Test
+    void convertsBackOnlyAtTheBoundary() {
+        assertThat(MoneyUnits.toMajor(1990, "USD")).isEqualByComparingTo("19.90");
+        assertThat(MoneyUnits.toMajor(1500, "JPY")).isEqualByComparingTo("1500");
+        assertThat(MoneyUnits.toDouble(1250, "KWD")).isEqualTo(1.25);
+    }
+}
@@ -0,0 +1,44 @@
+package com.shopify.dashboard.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+class UuidV7Test {
+
+    @Test
+    void encodesVersionVariantAndTimestamp() {
+        long millis = 1_767_225_600_000L;
+
+        UUID uuid = UuidV7.encode(millis, 0xABC, -1L);
+
+        assertThat(uuid.version()).isEqualTo(7);
+        assertThat(uuid.variant()).isEqualTo(2);
+        assertThat(UuidV7.timestampMillis(uuid)).isEqualTo(millis);
+        assertThat(uuid.getMostSignificantBits() & 0xFFF).isEqualTo(0xABC);
+    }
+
+    @Test
+    void staysStrictlyIncreasingWithinAndAcrossMilliseconds() {
+        AtomicLong clock = new AtomicLong(1_767_225_600_000L);
+        UuidV7 generator = new UuidV7(clock::get);
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            if (i == 5_000) {
+                clock.incrementAndGet();
+            }
+            ids.add(generator.generate());
+        }
+        clock.addAndGet(-1_000);
+        ids.add(generator.generate());
+
+        for (int i = 1; i < ids.size(); i++) {
+            assertThat(ids.get(i)).isGreaterThan(ids.get(i - 1));
+            assertThat(ids.get(i).toString()).isGreaterThan(ids.get(i - 1).toString());
+        }
+    }
+}
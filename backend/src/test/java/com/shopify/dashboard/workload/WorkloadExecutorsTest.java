@@ -0,0 +1,61 @@
+package com.shopify.dashboard.workload;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.shopify.dashboard.config.AppProperties;
+import com.shopify.dashboard.exception.ApiException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.CountDownLatch;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+class WorkloadExecutorsTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private WorkloadExecutors executors;
+
+    @BeforeEach
+    void setUp() {
+        AppProperties properties = new AppProperties();
+        properties.getWorkloads().getWebhook().setThreads(1);
+        properties.getWorkloads().getWebhook().setQueueCapacity(1);
+        meterRegistry = new SimpleMeterRegistry();
+        executors = new WorkloadExecutors(properties, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        executors.shutdown();
+    }
+
+    @Test
+    void runsTasksUnderTheirWorkload() {
+        assertThat(executors.call(Workload.INGESTION, WorkloadContext::current)).isEqualTo(Workload.INGESTION);
+        assertThat(WorkloadContext.current()).isEqualTo(Workload.API);
+    }
+
+    @Test
+    void rejectsWorkBeyondQueueCapacityWithServiceUnavailable() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        executors.submit(Workload.WEBHOOK, () -> await(release));
+        executors.submit(Workload.WEBHOOK, () -> await(release));
+
+        assertThatThrownBy(() -> executors.submit(Workload.WEBHOOK, () -> null))
+                .isInstanceOfSatisfying(ApiException.class,
+                        ex -> assertThat(ex.getStatus()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE));
+        assertThat(meterRegistry.get("executor.rejected").tag("name", "webhook").counter().count()).isEqualTo(1);
+        release.countDown();
+    }
+
+    private static Object await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        return null;
+    }
+}
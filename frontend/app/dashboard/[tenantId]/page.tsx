@@ -1,19 +1,43 @@
 "use client"
 
-import { use, useEffect, useState } from "react"
+import { use, useEffect, useRef, useState } from "react"
 import { Users, ShoppingCart, DollarSign, TrendingUp } from "lucide-react"
+import { format, subDays } from "date-fns"
 import { MetricCard } from "@/components/dashboard/metric-card"
-import { OrdersChart } from "@/components/dashboard/orders-chart"
+import { OrdersChart, type DateRange } from "@/components/dashboard/orders-chart"
 import { TopCustomersTable } from "@/components/dashboard/top-customers-table"
 import { RecentOrdersList } from "@/components/dashboard/recent-orders-list"
-import { getOverviewMetrics, type OverviewMetrics } from "@/lib/api"
+import {
+  getDashboardOverview,
+  getOrderMetrics,
+  subscribeLiveMetrics,
+  type LiveMetricsDelta,
+  type OrderMetric,
+  type OverviewMetrics,
+  type RecentOrder,
+  type TopCustomer,
+  type WidgetState,
+} from "@/lib/api"
 import { useStore } from "@/lib/store"
 
+const toDay = (date: Date) => format(date, "yyyy-MM-dd")
+const RECENT_ORDERS_LIMIT = 10
+const LIVE_RECONNECT_DELAY_MS = 5000
+
 export default function DashboardOverviewPage({ params }: { params: Promise<{ tenantId: string }> }) {
   const { tenantId } = use(params)
   const [metrics, setMetrics] = useState<OverviewMetrics | null>(null)
   const [loading, setLoading] = useState(true)
   const [error, setError] = useState<string | null>(null)
+  const [orders, setOrders] = useState<WidgetState<OrderMetric[]>>({ data: null, error: null })
+  const [ordersLoading, setOrdersLoading] = useState(true)
+  const [topCustomers, setTopCustomers] = useState<WidgetState<TopCustomer[]>>({ data: null, error: null })
+  const [recentOrders, setRecentOrders] = useState<WidgetState<RecentOrder[]>>({ data: null, error: null })
+  const [dateRange, setDateRange] = useState<DateRange>(() => ({ from: subDays(new Date(), 30), to: new Date() }))
+  const dateRangeRef = useRef(dateRange)
+  const ordersRequest = useRef(0)
+  const [reloadKey, setReloadKey] = useState(0)
+  const [streamKey, setStreamKey] = useState(0)
   const token = useStore((state) => state.token)
 
   useEffect(() => {
@@ -21,30 +45,119 @@ export default function DashboardOverviewPage({ params }: { params: Promise<{ te
 
     let cancelled = false
 
-    async function loadMetrics() {
+    async function loadDashboard() {
+      const request = ++ordersRequest.current
       try {
         setLoading(true)
+        setOrdersLoading(true)
         setError(null)
-        const data = await getOverviewMetrics(tenantId, token)
+        const range = dateRangeRef.current
+        const data = await getDashboardOverview(tenantId, { from: toDay(range.from), to: toDay(range.to) }, token)
         if (!cancelled) {
-          setMetrics(data)
+          setMetrics(data.overview.data)
+          setError(data.overview.error)
+          setTopCustomers(data.topCustomers)
+          setRecentOrders(data.recentOrders)
+          if (request === ordersRequest.current) {
+            setOrders(data.orders)
+          }
         }
       } catch (err) {
         if (!cancelled) {
-          setError(err instanceof Error ? err.message : "Failed to load metrics")
+          const message = err instanceof Error ? err.message : "Failed to load metrics"
+          setError(message)
+          setTopCustomers({ data: null, error: message })
+          setRecentOrders({ data: null, error: message })
+          if (request === ordersRequest.current) {
+            setOrders({ data: null, error: message })
+          }
         }
       } finally {
         if (!cancelled) {
           setLoading(false)
+          if (request === ordersRequest.current) {
+            setOrdersLoading(false)
+          }
         }
       }
     }
-    loadMetrics()
+    loadDashboard()
 
     return () => {
       cancelled = true
     }
-  }, [tenantId, token])
+  }, [tenantId, token, reloadKey])
+
+  // Keeps the cards and recent orders current between loads; a resync or a dropped stream refetches everything.
+  useEffect(() => {
+    if (!token) return
+
+    let retry: ReturnType<typeof setTimeout> | undefined
+
+    function applyDelta(delta: LiveMetricsDelta) {
+      setMetrics((current) => {
+        if (!current) return current
+        const totalOrders = current.totalOrders + delta.orderCountDelta
+        const totalRevenue = current.totalRevenue + delta.revenueDelta
+        return {
+          ...current,
+          totalCustomers: current.totalCustomers + delta.customerCountDelta,
+          totalOrders,
+          totalRevenue,
+          averageOrderValue: totalOrders > 0 ? totalRevenue / totalOrders : 0,
+        }
+      })
+      const order = delta.order
+      if (!order) return
+      setRecentOrders((current) => {
+        if (!current.data) return current
+        if (current.data.some((existing) => existing.id === order.id)) {
+          return { ...current, data: current.data.map((existing) => (existing.id === order.id ? order : existing)) }
+        }
+        if (delta.orderCountDelta <= 0) return current
+        return { ...current, data: [order, ...current.data].slice(0, RECENT_ORDERS_LIMIT) }
+      })
+    }
+
+    const unsubscribe = subscribeLiveMetrics(tenantId, token, {
+      onDelta: applyDelta,
+      onResync: () => setReloadKey((key) => key + 1),
+      onClosed: () => {
+        retry = setTimeout(() => {
+          setReloadKey((key) => key + 1)
+          setStreamKey((key) => key + 1)
+        }, LIVE_RECONNECT_DELAY_MS)
+      },
+    })
+
+    return () => {
+      unsubscribe()
+      if (retry) clearTimeout(retry)
+    }
+  }, [tenantId, token, streamKey])
+
+  // Only the chart depends on the range, so a new range refetches just its series.
+  async function changeDateRange(range: DateRange) {
+    setDateRange(range)
+    dateRangeRef.current = range
+    if (!token) return
+    const request = ++ordersRequest.current
+    setOrdersLoading(true)
+    try {
+      const data = await getOrderMetrics(tenantId, toDay(range.from), toDay(range.to), token)
+      if (request === ordersRequest.current) {
+        setOrders({ data, error: null })
+      }
+    } catch (err) {
+      if (request === ordersRequest.current) {
+        setOrders({ data: null, error: err instanceof Error ? err.message : "Failed to load order metrics" })
+      }
+    } finally {
+      if (request === ordersRequest.current) {
+        setOrdersLoading(false)
+      }
+    }
+  }
 
   const formatCurrency = (value: number) => {
     return new Intl.NumberFormat("en-US", {
@@ -99,12 +212,18 @@ export default function DashboardOverviewPage({ params }: { params: Promise<{ te
 
       {/* Charts Section */}
       <div className="grid grid-cols-1 lg:grid-cols-2 gap-6">
-        <OrdersChart tenantId={tenantId} />
-        <TopCustomersTable tenantId={tenantId} />
+        <OrdersChart
+          data={orders.data ?? []}
+          loading={ordersLoading}
+          error={orders.error}
+          dateRange={dateRange}
+          onDateRangeChange={changeDateRange}
+        />
+        <TopCustomersTable customers={topCustomers.data ?? []} loading={loading} error={topCustomers.error} />
       </div>
 
       {/* Recent Orders */}
-      <RecentOrdersList tenantId={tenantId} />
+      <RecentOrdersList orders={recentOrders.data ?? []} loading={loading} error={recentOrders.error} />
     </div>
   )
 }
@@ -27,7 +27,9 @@ export default function ProductsPage({ params }: { params: Promise<{ tenantId: s
   const [products, setProducts] = useState<ProductRecord[]>([])
   const [searchQuery, setSearchQuery] = useState("")
   const [viewMode, setViewMode] = useState<ViewMode>("grid")
+  const [nextCursor, setNextCursor] = useState<string | null>(null)
   const [loading, setLoading] = useState(true)
+  const [loadingMore, setLoadingMore] = useState(false)
   const [error, setError] = useState<string | null>(null)
   const [dialogOpen, setDialogOpen] = useState(false)
   const [submitting, setSubmitting] = useState(false)
@@ -39,8 +41,9 @@ export default function ProductsPage({ params }: { params: Promise<{ tenantId: s
     setLoading(true)
     setError(null)
     try {
-      const data = await getProducts(tenantId, token)
-      setProducts(data)
+      const page = await getProducts(tenantId, token)
+      setProducts(page.items)
+      setNextCursor(page.next_cursor ?? null)
     } catch (err) {
       setError(err instanceof Error ? err.message : "Failed to load products")
     } finally {
@@ -48,6 +51,21 @@ export default function ProductsPage({ params }: { params: Promise<{ tenantId: s
     }
   }, [tenantId, token])
 
+  const loadMoreProducts = async () => {
+    if (!token || !nextCursor) return
+    setLoadingMore(true)
+    setError(null)
+    try {
+      const page = await getProducts(tenantId, token, nextCursor)
+      setProducts((prev) => [...prev, ...page.items])
+      setNextCursor(page.next_cursor ?? null)
+    } catch (err) {
+      setError(err instanceof Error ? err.message : "Failed to load products")
+    } finally {
+      setLoadingMore(false)
+    }
+  }
+
   useEffect(() => {
     if (!token) return
     void loadProducts()
@@ -224,6 +242,14 @@ export default function ProductsPage({ params }: { params: Promise<{ tenantId: s
               ))}
             </div>
           )}
+          {!loading && nextCursor && (
+            <div className="flex justify-center mt-6">
+              <Button variant="outline" onClick={() => loadMoreProducts()} disabled={loadingMore} className="gap-2">
+                {loadingMore && <RefreshCcw className="w-4 h-4 animate-spin" />}
+                Load more
+              </Button>
+            </div>
+          )}
         </CardContent>
       </Card>
 
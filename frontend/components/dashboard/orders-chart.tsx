@@ -1,60 +1,30 @@
 "use client"
 
-import { useEffect, useState } from "react"
 import { AreaChart, Area, XAxis, YAxis, CartesianGrid, Tooltip, ResponsiveContainer } from "recharts"
 import { CalendarDays } from "lucide-react"
 import { Button } from "@/components/ui/button"
 import { Card, CardContent, CardDescription, CardHeader, CardTitle } from "@/components/ui/card"
 import { Popover, PopoverContent, PopoverTrigger } from "@/components/ui/popover"
 import { Calendar } from "@/components/ui/calendar"
-import { getOrderMetrics, type OrderMetric } from "@/lib/api"
-import { format, subDays } from "date-fns"
-import { useStore } from "@/lib/store"
+import type { OrderMetric } from "@/lib/api"
+import { format } from "date-fns"
 
-export function OrdersChart({ tenantId }: { tenantId: string }) {
-  const [data, setData] = useState<OrderMetric[]>([])
-  const [loading, setLoading] = useState(true)
-  const [error, setError] = useState<string | null>(null)
-  const [dateRange, setDateRange] = useState<{ from: Date; to: Date }>({
-    from: subDays(new Date(), 30),
-    to: new Date(),
-  })
-  const chartColor = "#0EA5E9"
-  const token = useStore((state) => state.token)
-
-  useEffect(() => {
-    if (!token) return
+export type DateRange = { from: Date; to: Date }
 
-    let cancelled = false
-    async function loadData() {
-      setLoading(true)
-      setError(null)
-      try {
-        const metrics = await getOrderMetrics(
-          tenantId,
-          format(dateRange.from, "yyyy-MM-dd"),
-          format(dateRange.to, "yyyy-MM-dd"),
-          token,
-        )
-        if (!cancelled) {
-          setData(metrics)
-        }
-      } catch (err) {
-        if (!cancelled) {
-          setError(err instanceof Error ? err.message : "Failed to load order metrics")
-          setData([])
-        }
-      } finally {
-        if (!cancelled) {
-          setLoading(false)
-        }
-      }
-    }
-    loadData()
-    return () => {
-      cancelled = true
-    }
-  }, [tenantId, dateRange, token])
+export function OrdersChart({
+  data,
+  loading,
+  error,
+  dateRange,
+  onDateRangeChange,
+}: {
+  data: OrderMetric[]
+  loading: boolean
+  error?: string | null
+  dateRange: DateRange
+  onDateRangeChange: (range: DateRange) => void
+}) {
+  const chartColor = "#0EA5E9"
 
   return (
     <Card>
@@ -76,7 +46,7 @@ export function OrdersChart({ tenantId }: { tenantId: string }) {
               selected={{ from: dateRange.from, to: dateRange.to }}
               onSelect={(range) => {
                 if (range?.from && range?.to) {
-                  setDateRange({ from: range.from, to: range.to })
+                  onDateRangeChange({ from: range.from, to: range.to })
                 }
               }}
               className="rounded-md"
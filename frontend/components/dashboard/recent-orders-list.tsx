@@ -1,47 +1,21 @@
 "use client"
 
-import { useEffect, useState } from "react"
 import { Package, ArrowRight } from "lucide-react"
 import { Button } from "@/components/ui/button"
 import { Badge } from "@/components/ui/badge"
 import { Card, CardContent, CardDescription, CardHeader, CardTitle } from "@/components/ui/card"
-import { getRecentOrders, type RecentOrder } from "@/lib/api"
+import type { RecentOrder } from "@/lib/api"
 import { format } from "date-fns"
-import { useStore } from "@/lib/store"
 
-export function RecentOrdersList({ tenantId }: { tenantId: string }) {
-  const [orders, setOrders] = useState<RecentOrder[]>([])
-  const [loading, setLoading] = useState(true)
-  const [error, setError] = useState<string | null>(null)
-  const token = useStore((state) => state.token)
-
-  useEffect(() => {
-    if (!token) return
-
-    let cancelled = false
-    async function loadData() {
-      setLoading(true)
-      setError(null)
-      try {
-        const data = await getRecentOrders(tenantId, 10, token)
-        if (!cancelled) {
-          setOrders(data)
-        }
-      } catch (err) {
-        if (!cancelled) {
-          setError(err instanceof Error ? err.message : "Failed to load orders")
-        }
-      } finally {
-        if (!cancelled) {
-          setLoading(false)
-        }
-      }
-    }
-    loadData()
-    return () => {
-      cancelled = true
-    }
-  }, [tenantId, token])
+export function RecentOrdersList({
+  orders,
+  loading,
+  error,
+}: {
+  orders: RecentOrder[]
+  loading: boolean
+  error?: string | null
+}) {
 
   const getStatusConfig = (status: RecentOrder["status"]) => {
     switch (status) {
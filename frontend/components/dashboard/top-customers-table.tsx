@@ -1,45 +1,19 @@
 "use client"
 
-import { useEffect, useState } from "react"
 import { Crown, Mail, ShoppingBag } from "lucide-react"
 import { Avatar, AvatarFallback } from "@/components/ui/avatar"
 import { Card, CardContent, CardDescription, CardHeader, CardTitle } from "@/components/ui/card"
-import { getTopCustomers, type TopCustomer } from "@/lib/api"
-import { useStore } from "@/lib/store"
+import type { TopCustomer } from "@/lib/api"
 
-export function TopCustomersTable({ tenantId }: { tenantId: string }) {
-  const [customers, setCustomers] = useState<TopCustomer[]>([])
-  const [loading, setLoading] = useState(true)
-  const [error, setError] = useState<string | null>(null)
-  const token = useStore((state) => state.token)
-
-  useEffect(() => {
-    if (!token) return
-
-    let cancelled = false
-    async function loadData() {
-      setLoading(true)
-      setError(null)
-      try {
-        const data = await getTopCustomers(tenantId, 5, token)
-        if (!cancelled) {
-          setCustomers(data)
-        }
-      } catch (err) {
-        if (!cancelled) {
-          setError(err instanceof Error ? err.message : "Failed to load customers")
-        }
-      } finally {
-        if (!cancelled) {
-          setLoading(false)
-        }
-      }
-    }
-    loadData()
-    return () => {
-      cancelled = true
-    }
-  }, [tenantId, token])
+export function TopCustomersTable({
+  customers,
+  loading,
+  error,
+}: {
+  customers: TopCustomer[]
+  loading: boolean
+  error?: string | null
+}) {
 
   const formatCurrency = (value: number) => {
     return new Intl.NumberFormat("en-US", {
@@ -37,11 +37,11 @@ export interface LoginPayload {
 
 export interface AuthResponse {
   token: string
-  expiresInSeconds: number
-  userId: string
-  tenantId?: string | null
+  expires_in_seconds: number
+  user_id: string
+  tenant_id?: string | null
   role: string
-  issuedAt: string
+  issued_at: string
 }
 
 export async function login(payload: LoginPayload): Promise<AuthResponse> {
@@ -72,8 +72,36 @@ export async function onboardTenant(payload: OnboardTenantPayload, token?: strin
   }, token)
 }
 
+export interface CursorPage<T> {
+  items: T[]
+  next_cursor?: string | null
+}
+
+async function fetchPage<T>(path: string, token?: string | null, cursor?: string | null, limit = 200): Promise<CursorPage<T>> {
+  const params = new URLSearchParams({ limit: String(limit) })
+  if (cursor) {
+    params.set("cursor", cursor)
+  }
+  return apiRequest<CursorPage<T>>(`${path}?${params}`, { method: "GET" }, token)
+}
+
+async function fetchAllPages<T>(path: string, token?: string | null): Promise<T[]> {
+  const items: T[] = []
+  let cursor: string | null | undefined
+  do {
+    const page = await fetchPage<T>(path, token, cursor)
+    items.push(...page.items)
+    cursor = page.next_cursor
+  } while (cursor)
+  return items
+}
+
 export async function getTenants(token: string): Promise<TenantResponse[]> {
-  return apiRequest<TenantResponse[]>("/api/tenants", { method: "GET" }, token)
+  return fetchAllPages<TenantResponse>("/api/tenants", token)
+}
+
+export async function getTenant(tenantId: string, token: string): Promise<TenantResponse> {
+  return apiRequest<TenantResponse>(`/api/tenants/${tenantId}`, { method: "GET" }, token)
 }
 
 export interface OverviewMetrics {
@@ -85,47 +113,66 @@ export interface OverviewMetrics {
 }
 
 interface MetricsOverviewDto {
-  customerCount: number
-  orderCount: number
-  productCount: number
-  totalRevenue: number
-  lastSyncAt?: string | null
+  customer_count: number
+  order_count: number
+  product_count: number
+  total_revenue: number
+  last_sync_at?: string | null
 }
 
-export async function getOverviewMetrics(tenantId: string, token: string): Promise<OverviewMetrics> {
-  const data = await apiRequest<MetricsOverviewDto>(`/api/${tenantId}/metrics/overview`, { method: "GET" }, token)
-  const totalRevenue = Number(data.totalRevenue || 0)
-  const totalOrders = Number(data.orderCount || 0)
+function toOverviewMetrics(data: MetricsOverviewDto): OverviewMetrics {
+  const totalRevenue = Number(data.total_revenue || 0)
+  const totalOrders = Number(data.order_count || 0)
 
   return {
-    totalCustomers: data.customerCount,
+    totalCustomers: data.customer_count,
     totalOrders,
     totalRevenue,
     averageOrderValue: totalOrders > 0 ? totalRevenue / totalOrders : 0,
-    lastSyncAt: data.lastSyncAt,
+    lastSyncAt: data.last_sync_at,
   }
 }
 
+export async function getOverviewMetrics(tenantId: string, token: string): Promise<OverviewMetrics> {
+  return toOverviewMetrics(await apiRequest<MetricsOverviewDto>(`/api/${tenantId}/metrics/overview`, { method: "GET" }, token))
+}
+
 export interface OrderMetric {
   date: string
   orders: number
   revenue: number
 }
 
+export type OrderMetricsInterval = "hour" | "day" | "week" | "month"
+
 interface OrderMetricsPointDto {
   date: string
-  orderCount: number
-  totalSales: number
+  bucket_start: string
+  order_count: number
+  total_sales: number
 }
 
-export async function getOrderMetrics(tenantId: string, from: string, to: string, token: string): Promise<OrderMetric[]> {
-  const params = new URLSearchParams({ from, to })
-  const data = await apiRequest<OrderMetricsPointDto[]>(`/api/${tenantId}/metrics/orders?${params}`, { method: "GET" }, token)
-  return data.map((point) => ({
+function toOrderMetric(point: OrderMetricsPointDto): OrderMetric {
+  return {
     date: point.date,
-    orders: point.orderCount,
-    revenue: Number(point.totalSales || 0),
-  }))
+    orders: point.order_count,
+    revenue: Number(point.total_sales || 0),
+  }
+}
+
+export async function getOrderMetrics(
+  tenantId: string,
+  from: string,
+  to: string,
+  token: string,
+  options: { interval?: OrderMetricsInterval; maxPoints?: number } = {},
+): Promise<OrderMetric[]> {
+  const params = new URLSearchParams({ from, to, interval: options.interval ?? "day" })
+  if (options.maxPoints) {
+    params.set("maxPoints", String(options.maxPoints))
+  }
+  const data = await apiRequest<OrderMetricsPointDto[]>(`/api/${tenantId}/metrics/orders?${params}`, { method: "GET" }, token)
+  return data.map(toOrderMetric)
 }
 
 export interface TopCustomer {
@@ -139,21 +186,25 @@ export interface TopCustomer {
 interface TopCustomerDto {
   id: string
   email: string
-  firstName?: string | null
-  lastName?: string | null
-  totalSpent: number
-  updatedAt?: string | null
+  first_name?: string | null
+  last_name?: string | null
+  total_spent: number
+  updated_at?: string | null
+}
+
+function toTopCustomer(customer: TopCustomerDto): TopCustomer {
+  return {
+    id: customer.id,
+    name: [customer.first_name, customer.last_name].filter(Boolean).join(" ") || customer.email,
+    email: customer.email,
+    totalSpent: Number(customer.total_spent || 0),
+  }
 }
 
 export async function getTopCustomers(tenantId: string, limit: number, token: string): Promise<TopCustomer[]> {
   const params = new URLSearchParams({ limit: String(limit) })
   const data = await apiRequest<TopCustomerDto[]>(`/api/${tenantId}/metrics/top-customers?${params}`, { method: "GET" }, token)
-  return data.map((customer) => ({
-    id: customer.id,
-    name: [customer.firstName, customer.lastName].filter(Boolean).join(" ") || customer.email,
-    email: customer.email,
-    totalSpent: Number(customer.totalSpent || 0),
-  }))
+  return data.map(toTopCustomer)
 }
 
 export interface RecentOrder {
@@ -167,23 +218,186 @@ export interface RecentOrder {
 
 interface RecentOrderDto {
   id: string
-  orderNumber: string
-  totalPrice: number
+  order_number: string
+  total_price: number
   currency: string
-  createdAt: string
+  created_at: string
 }
 
-export async function getRecentOrders(tenantId: string, limit: number, token: string): Promise<RecentOrder[]> {
-  const params = new URLSearchParams({ limit: String(limit) })
-  const data = await apiRequest<RecentOrderDto[]>(`/api/${tenantId}/metrics/recent-orders?${params}`, { method: "GET" }, token)
-  return data.map((order) => ({
+function toRecentOrder(order: RecentOrderDto): RecentOrder {
+  return {
     id: order.id,
-    orderNumber: order.orderNumber,
-    totalPrice: Number(order.totalPrice || 0),
+    orderNumber: order.order_number,
+    totalPrice: Number(order.total_price || 0),
     currency: order.currency || "USD",
-    date: order.createdAt,
+    date: order.created_at,
     status: "synced",
-  }))
+  }
+}
+
+export interface LiveMetricsDelta {
+  orderCountDelta: number
+  customerCountDelta: number
+  revenueDelta: number
+  order?: RecentOrder
+  emittedAt: string
+}
+
+interface LiveMetricsDeltaDto {
+  order_count_delta: number
+  customer_count_delta: number
+  revenue_delta?: number
+  order?: RecentOrderDto
+  emitted_at: string
+}
+
+function toLiveMetricsDelta(delta: LiveMetricsDeltaDto): LiveMetricsDelta {
+  return {
+    orderCountDelta: delta.order_count_delta || 0,
+    customerCountDelta: delta.customer_count_delta || 0,
+    revenueDelta: Number(delta.revenue_delta || 0),
+    order: delta.order ? toRecentOrder(delta.order) : undefined,
+    emittedAt: delta.emitted_at,
+  }
+}
+
+export type LiveMetricsHandlers = {
+  onDelta: (delta: LiveMetricsDelta) => void
+  // The server dropped deltas for this client; refetch, the stream stays open.
+  onResync: () => void
+  // The stream ended or failed; deltas are no longer arriving until the caller subscribes again.
+  onClosed?: () => void
+}
+
+// Streams live metric deltas; EventSource cannot send the bearer token, so the SSE frames are parsed from fetch.
+export function subscribeLiveMetrics(tenantId: string, token: string, handlers: LiveMetricsHandlers): () => void {
+  const controller = new AbortController()
+  const run = async () => {
+    const response = await fetch(`${API_BASE}/api/${tenantId}/metrics/stream`, {
+      headers: { Accept: "text/event-stream", Authorization: `Bearer ${token}` },
+      cache: "no-store",
+      signal: controller.signal,
+    })
+    if (!response.ok || !response.body) {
+      throw new Error(`Live metrics stream failed with status ${response.status}`)
+    }
+    const reader = response.body.pipeThrough(new TextDecoderStream()).getReader()
+    let buffer = ""
+    for (;;) {
+      const { value, done } = await reader.read()
+      if (done) {
+        break
+      }
+      buffer += value
+      let boundary = buffer.indexOf("\n\n")
+      while (boundary >= 0) {
+        const frame = buffer.slice(0, boundary)
+        buffer = buffer.slice(boundary + 2)
+        boundary = buffer.indexOf("\n\n")
+        const lines = frame.split("\n")
+        const event = lines.find((line) => line.startsWith("event:"))?.slice(6).trim()
+        const data = lines.filter((line) => line.startsWith("data:")).map((line) => line.slice(5)).join("\n")
+        if (event === "resync") {
+          handlers.onResync()
+        } else if (event && data) {
+          handlers.onDelta(toLiveMetricsDelta(JSON.parse(data) as LiveMetricsDeltaDto))
+        }
+      }
+    }
+  }
+  const closed = () => {
+    if (controller.signal.aborted) {
+      return
+    }
+    if (handlers.onClosed) {
+      handlers.onClosed()
+    } else {
+      handlers.onResync()
+    }
+  }
+  run().then(closed, closed)
+  return () => controller.abort()
+}
+
+export async function getRecentOrders(tenantId: string, limit: number, token: string): Promise<RecentOrder[]> {
+  const params = new URLSearchParams({ limit: String(limit) })
+  const data = await apiRequest<RecentOrderDto[]>(`/api/${tenantId}/metrics/recent-orders?${params}`, { method: "GET" }, token)
+  return data.map(toRecentOrder)
+}
+
+export interface DashboardWidgetSpec {
+  id?: string
+  type: "overview" | "orders" | "unique_customers" | "order_value_percentiles" | "top_customers" | "recent_orders"
+  from?: string
+  to?: string
+  interval?: "hour" | "day" | "week" | "month"
+  max_points?: number
+  limit?: number
+}
+
+export interface DashboardWidgetResult<T = unknown> {
+  success: boolean
+  data: T | null
+  message?: string | null
+}
+
+// Loads several widgets in one round trip; results are keyed by widget id, or by type when no id is given.
+export async function getDashboard(
+  tenantId: string,
+  widgets: DashboardWidgetSpec[],
+  token: string,
+): Promise<Record<string, DashboardWidgetResult>> {
+  return apiRequest<Record<string, DashboardWidgetResult>>(
+    `/api/${tenantId}/dashboard`,
+    {
+      method: "POST",
+      body: JSON.stringify({ widgets }),
+    },
+    token,
+  )
+}
+
+export interface WidgetState<T> {
+  data: T | null
+  error: string | null
+}
+
+export interface DashboardOverview {
+  overview: WidgetState<OverviewMetrics>
+  orders: WidgetState<OrderMetric[]>
+  topCustomers: WidgetState<TopCustomer[]>
+  recentOrders: WidgetState<RecentOrder[]>
+}
+
+function widgetState<D, T>(result: DashboardWidgetResult | undefined, map: (data: D) => T): WidgetState<T> {
+  if (!result || !result.success || result.data == null) {
+    return { data: null, error: result?.message || "Widget failed" }
+  }
+  return { data: map(result.data as D), error: null }
+}
+
+// Everything the overview page shows, in the one dashboard request instead of a request per card.
+export async function getDashboardOverview(
+  tenantId: string,
+  range: { from: string; to: string },
+  token: string,
+): Promise<DashboardOverview> {
+  const results = await getDashboard(
+    tenantId,
+    [
+      { type: "overview" },
+      { type: "orders", from: range.from, to: range.to, interval: "day" },
+      { type: "top_customers", limit: 5 },
+      { type: "recent_orders", limit: 10 },
+    ],
+    token,
+  )
+  return {
+    overview: widgetState(results.overview, toOverviewMetrics),
+    orders: widgetState(results.orders, (points: OrderMetricsPointDto[]) => points.map(toOrderMetric)),
+    topCustomers: widgetState(results.top_customers, (customers: TopCustomerDto[]) => customers.map(toTopCustomer)),
+    recentOrders: widgetState(results.recent_orders, (orders: RecentOrderDto[]) => orders.map(toRecentOrder)),
+  }
 }
 
 export async function triggerSync(tenantId: string, token?: string | null) {
@@ -219,9 +433,15 @@ const mapProduct = (product: ProductDto): ProductRecord => ({
   price: Number(product.price || 0),
 })
 
-export async function getProducts(tenantId: string, token: string): Promise<ProductRecord[]> {
-  const data = await apiRequest<ProductDto[]>(`/api/${tenantId}/products`, { method: "GET" }, token)
-  return data.map(mapProduct)
+// One page of the catalog, oldest first; pass the previous page's next_cursor to continue.
+export async function getProducts(
+  tenantId: string,
+  token: string,
+  cursor?: string | null,
+  limit = 50,
+): Promise<CursorPage<ProductRecord>> {
+  const page = await fetchPage<ProductDto>(`/api/${tenantId}/products`, token, cursor, limit)
+  return { items: page.items.map(mapProduct), next_cursor: page.next_cursor }
 }
 
 export async function createProduct(
@@ -1,6 +1,6 @@
 import { create } from "zustand"
 import { persist } from "zustand/middleware"
-import { getTenants as fetchTenantsFromApi, login as loginApi, type TenantResponse } from "@/lib/api"
+import { getTenant, getTenants as fetchTenantsFromApi, login as loginApi, type TenantResponse } from "@/lib/api"
 
 export interface Tenant {
   id: string
@@ -13,7 +13,7 @@ export interface Tenant {
 
 interface AuthState {
   token: string | null
-  user: { email: string; name: string } | null
+  user: { email: string; name: string; role?: string; tenantId?: string | null } | null
   tenants: Tenant[]
   selectedTenantId: string | null
   login: (email: string, password: string) => Promise<boolean>
@@ -51,7 +51,7 @@ export const useStore = create<AuthState>()(
         const auth = await loginApi({ email, password })
         set({
           token: auth.token,
-          user: { email, name: email.split("@")[0] },
+          user: { email, name: email.split("@")[0], role: auth.role, tenantId: auth.tenant_id },
         })
         await get().fetchTenants()
         return true
@@ -90,7 +90,11 @@ export const useStore = create<AuthState>()(
         if (!token) {
           throw new Error("Not authenticated")
         }
-        const tenants = await fetchTenantsFromApi(token)
+        // only platform admins may list tenants; everyone else sees their own
+        const user = get().user
+        const tenants = user?.role === "PLATFORM_ADMIN" || !user?.tenantId
+          ? await fetchTenantsFromApi(token)
+          : [await getTenant(user.tenantId, token)]
         const mapped = tenants.map(mapTenantResponse)
         set((state) => ({
           tenants: mapped,